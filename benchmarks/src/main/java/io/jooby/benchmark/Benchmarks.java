@@ -0,0 +1,38 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmark launcher. Accepts the same arguments as the JMH command line, but writes results as
+ * JSON to <code>jmh-result.json</code> unless <code>-rf</code> or <code>-rff</code> says
+ * otherwise.
+ *
+ * <pre>{@code
+ * java -jar benchmarks/target/benchmarks.jar                  # everything
+ * java -jar benchmarks/target/benchmarks.jar Chi -prof gc     # router only, with allocation rate
+ * java -jar benchmarks/target/benchmarks.jar Server -p server=netty
+ * }</pre>
+ */
+public class Benchmarks {
+  public static void main(String[] args) throws Exception {
+    CommandLineOptions cmd = new CommandLineOptions(args);
+    OptionsBuilder builder = new OptionsBuilder();
+    if (!cmd.getResultFormat().hasValue()) {
+      builder.resultFormat(ResultFormatType.JSON);
+    }
+    if (!cmd.getResult().hasValue()) {
+      builder.result("jmh-result.json");
+    }
+    Options options = builder.parent(cmd).build();
+    new Runner(options).run();
+  }
+}
@@ -0,0 +1,147 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.benchmark;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.jooby.Jooby;
+import io.jooby.Reified;
+import io.jooby.Value;
+import io.jooby.ValueNode;
+import io.jooby.internal.ValueConverters;
+import io.jooby.internal.converter.ReflectiveBeanConverter;
+import io.jooby.test.MockContext;
+
+/** Conversion of parameters to simple types and beans. */
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ConverterBenchmark {
+
+  public enum Sort {
+    ASC,
+    DESC
+  }
+
+  public static class Search {
+    private String q;
+
+    private int page;
+
+    private int size;
+
+    private Sort sort;
+
+    public String getQ() {
+      return q;
+    }
+
+    public void setQ(String q) {
+      this.q = q;
+    }
+
+    public int getPage() {
+      return page;
+    }
+
+    public void setPage(int page) {
+      this.page = page;
+    }
+
+    public int getSize() {
+      return size;
+    }
+
+    public void setSize(int size) {
+      this.size = size;
+    }
+
+    public Sort getSort() {
+      return sort;
+    }
+
+    public void setSort(Sort sort) {
+      this.sort = sort;
+    }
+  }
+
+  private Jooby router;
+
+  private ValueNode number;
+
+  private ValueNode uuid;
+
+  private ValueNode sort;
+
+  private ValueNode search;
+
+  private ReflectiveBeanConverter beanConverter;
+
+  @Setup
+  public void setup() {
+    router = new Jooby();
+    MockContext ctx = new MockContext().setRouter(router);
+    number = Value.value(ctx, "page", "42");
+    uuid = Value.value(ctx, "id", UUID.randomUUID().toString());
+    sort = Value.value(ctx, "sort", "desc");
+    Map<String, Collection<String>> form =
+        Map.of(
+            "q", List.of("jooby"),
+            "page", List.of("2"),
+            "size", List.of("25"),
+            "sort", List.of("asc"));
+    search = Value.hash(ctx, form);
+    beanConverter = new ReflectiveBeanConverter();
+  }
+
+  @Benchmark
+  public Object intValue() {
+    return ValueConverters.convert(number, int.class, router);
+  }
+
+  @Benchmark
+  public Object optionalInt() {
+    return ValueConverters.convert(number, Reified.optional(Integer.class).getType(), router);
+  }
+
+  @Benchmark
+  public Object enumValue() {
+    return ValueConverters.convert(sort, Sort.class, router);
+  }
+
+  @Benchmark
+  public Object uuid() {
+    return ValueConverters.convert(uuid, UUID.class, router);
+  }
+
+  @Benchmark
+  public Object bean() {
+    return ValueConverters.convert(search, Search.class, router);
+  }
+
+  @Benchmark
+  public Object reflectiveBean() {
+    return beanConverter.convert(search, Search.class, false);
+  }
+}
@@ -0,0 +1,131 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.benchmark;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.jooby.MediaType;
+import io.jooby.ServerHeaders;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpResponseEncoder;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.util.AsciiString;
+
+/**
+ * Header values computed on every response.
+ *
+ * <p><code>netty*</code> benchmarks measure the write path: default headers are set on a response
+ * and the response is encoded by Netty, using the values from {@link ServerHeaders#encode(String,
+ * ServerHeaders.Encoder)} or values formatted on every response.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class HeadersBenchmark {
+
+  private static final ServerHeaders.Encoded<AsciiString> HEADERS =
+      ServerHeaders.encode("N", (name, value) -> new AsciiString(value, false));
+
+  @State(Scope.Thread)
+  public static class Netty {
+    EmbeddedChannel channel;
+
+    ByteBuf body = Unpooled.unreleasableBuffer(Unpooled.copiedBuffer("Hello, World!", UTF_8));
+
+    @Setup
+    public void setup() {
+      channel = new EmbeddedChannel(new HttpResponseEncoder());
+    }
+
+    @TearDown
+    public void tearDown() {
+      channel.finishAndReleaseAll();
+    }
+
+    int write(FullHttpResponse response) {
+      channel.writeOutbound(response);
+      int size = 0;
+      ByteBuf output;
+      while ((output = channel.readOutbound()) != null) {
+        size += output.readableBytes();
+        output.release();
+      }
+      return size;
+    }
+
+    FullHttpResponse response() {
+      FullHttpResponse response =
+          new DefaultFullHttpResponse(
+              HttpVersion.HTTP_1_1, HttpResponseStatus.OK, body.duplicate());
+      response.headers().set(HttpHeaderNames.CONTENT_LENGTH, body.readableBytes());
+      return response;
+    }
+  }
+
+  @Benchmark
+  public byte[] date() {
+    return ServerHeaders.date();
+  }
+
+  @Benchmark
+  public int nettyEncodedHeaders(Netty netty) {
+    FullHttpResponse response = netty.response();
+    HttpHeaders headers = response.headers();
+    headers.set(HttpHeaderNames.DATE, HEADERS.date());
+    headers.set(HttpHeaderNames.SERVER, HEADERS.server());
+    headers.set(HttpHeaderNames.CONTENT_TYPE, HEADERS.contentType());
+    return netty.write(response);
+  }
+
+  @Benchmark
+  public int nettyFormattedHeaders(Netty netty) {
+    FullHttpResponse response = netty.response();
+    HttpHeaders headers = response.headers();
+    headers.set(
+        HttpHeaderNames.DATE,
+        DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC)));
+    headers.set(HttpHeaderNames.SERVER, "N");
+    headers.set(HttpHeaderNames.CONTENT_TYPE, MediaType.TEXT);
+    return netty.write(response);
+  }
+
+  @Benchmark
+  public String contentTypeUtf8() {
+    return MediaType.json.toContentTypeHeader(StandardCharsets.UTF_8);
+  }
+
+  @Benchmark
+  public String contentTypeOtherCharset() {
+    return MediaType.text.toContentTypeHeader(StandardCharsets.ISO_8859_1);
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.benchmark;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.jooby.Body;
+import io.jooby.MessageDecoder;
+import io.jooby.MessageEncoder;
+import io.jooby.Reified;
+import io.jooby.avaje.jsonb.AvajeJsonbModule;
+import io.jooby.gson.GsonModule;
+import io.jooby.jackson.JacksonModule;
+import io.jooby.test.MockContext;
+import io.jooby.yasson.YassonModule;
+
+/**
+ * Encode/decode through each JSON module, as done by a route returning or consuming JSON. Payload
+ * is a map/list tree, so every module can handle it without code generation.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class JsonBenchmark {
+
+  private static final Type MAP = Reified.map(String.class, Object.class).getType();
+
+  @Param({"jackson", "gson", "yasson", "avaje-jsonb"})
+  public String module;
+
+  private MessageEncoder encoder;
+
+  private MessageDecoder decoder;
+
+  private MockContext ctx;
+
+  private Map<String, Object> value;
+
+  @Setup
+  public void setup() throws Exception {
+    switch (module) {
+      case "jackson" -> {
+        JacksonModule jackson = new JacksonModule();
+        encoder = jackson;
+        decoder = jackson;
+      }
+      case "gson" -> {
+        GsonModule gson = new GsonModule();
+        encoder = gson;
+        decoder = gson;
+      }
+      case "yasson" -> {
+        YassonModule yasson = new YassonModule();
+        encoder = yasson;
+        decoder = yasson;
+      }
+      case "avaje-jsonb" -> {
+        AvajeJsonbModule avaje = new AvajeJsonbModule();
+        encoder = avaje;
+        decoder = avaje;
+      }
+      default -> throw new IllegalArgumentException("Unknown module: " + module);
+    }
+    value = payload();
+    ctx = new MockContext();
+    byte[] json = encoder.encode(ctx, value);
+    ctx.setBody(Body.of(ctx, json));
+  }
+
+  @Benchmark
+  public byte[] encode() throws Exception {
+    return encoder.encode(ctx, value);
+  }
+
+  @Benchmark
+  public Object decode() throws Exception {
+    return decoder.decode(ctx, MAP);
+  }
+
+  private static Map<String, Object> payload() {
+    List<Object> items = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      Map<String, Object> item = new LinkedHashMap<>();
+      item.put("id", i);
+      item.put("name", "item " + i);
+      item.put("price", i * 1.5);
+      item.put("available", i % 2 == 0);
+      items.add(item);
+    }
+    Map<String, Object> value = new LinkedHashMap<>();
+    value.put("message", "Hello, World!");
+    value.put("total", items.size());
+    value.put("items", items);
+    return value;
+  }
+}
@@ -0,0 +1,126 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.benchmark;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Minimal HTTP/1.1 client over a keep-alive connection: writes a fixed GET request and reads the
+ * response, no pooling, no redirects and no chunked encoding. Good enough to drive a server over
+ * loopback without pulling a client library whose own cost would show up in the numbers.
+ */
+class LoadGenerator implements Closeable {
+
+  private static final byte[] CONTENT_LENGTH =
+      "content-length:".getBytes(StandardCharsets.US_ASCII);
+
+  private final Socket socket;
+
+  private final OutputStream output;
+
+  private final InputStream input;
+
+  private final byte[] request;
+
+  private final byte[] line = new byte[1024];
+
+  private final byte[] body = new byte[8192];
+
+  LoadGenerator(int port, String path) throws IOException {
+    this.socket = new Socket(InetAddress.getLoopbackAddress(), port);
+    this.socket.setTcpNoDelay(true);
+    this.output = socket.getOutputStream();
+    this.input = new BufferedInputStream(socket.getInputStream(), 16384);
+    this.request =
+        ("GET " + path + " HTTP/1.1\r\nHost: localhost\r\nAccept: */*\r\n\r\n")
+            .getBytes(StandardCharsets.US_ASCII);
+  }
+
+  /**
+   * Send the request and consume the response.
+   *
+   * @return Response body length.
+   * @throws IOException On connection error or unexpected response.
+   */
+  public int request() throws IOException {
+    output.write(request);
+    output.flush();
+
+    int len = readLine();
+    // HTTP/1.1 200 OK
+    if (len < 12 || line[9] != '2' || line[10] != '0' || line[11] != '0') {
+      throw new IOException("Unexpected response: " + new String(line, 0, len));
+    }
+    int contentLength = -1;
+    while ((len = readLine()) > 0) {
+      if (startsWithIgnoreCase(CONTENT_LENGTH, len)) {
+        contentLength = parseInt(CONTENT_LENGTH.length, len);
+      }
+    }
+    if (contentLength < 0) {
+      throw new IOException("Missing content-length");
+    }
+    int remaining = contentLength;
+    while (remaining > 0) {
+      int n = input.read(body, 0, Math.min(remaining, body.length));
+      if (n < 0) {
+        throw new IOException("Connection closed");
+      }
+      remaining -= n;
+    }
+    return contentLength;
+  }
+
+  @Override
+  public void close() throws IOException {
+    socket.close();
+  }
+
+  /** Read a header line into the line buffer, returns its length without the line terminator. */
+  private int readLine() throws IOException {
+    int len = 0;
+    int ch;
+    while ((ch = input.read()) != '\n') {
+      if (ch < 0) {
+        throw new IOException("Connection closed");
+      }
+      if (ch != '\r' && len < line.length) {
+        line[len++] = (byte) ch;
+      }
+    }
+    return len;
+  }
+
+  private boolean startsWithIgnoreCase(byte[] prefix, int len) {
+    if (len < prefix.length) {
+      return false;
+    }
+    for (int i = 0; i < prefix.length; i++) {
+      if (Character.toLowerCase(line[i]) != prefix[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private int parseInt(int offset, int len) {
+    int value = 0;
+    for (int i = offset; i < len; i++) {
+      byte ch = line[i];
+      if (ch >= '0' && ch <= '9') {
+        value = value * 10 + (ch - '0');
+      }
+    }
+    return value;
+  }
+}
@@ -0,0 +1,83 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.jooby.MediaType;
+import io.jooby.QueryString;
+import io.jooby.internal.UrlParser;
+import io.jooby.test.MockContext;
+
+/** Parsing of request line and headers: query string, content type and content negotiation. */
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ParserBenchmark {
+
+  private static final String QUERY_STRING =
+      "q=jooby%20framework&page=2&size=25&sort=name,asc&tag=java&tag=kotlin&debug";
+
+  private static final String BROWSER_ACCEPT =
+      "text/html,application/xhtml+xml,application/xml;q=0.9,image/avif,image/webp,*/*;q=0.8";
+
+  private static final List<MediaType> PRODUCES = List.of(MediaType.json, MediaType.html);
+
+  private MockContext ctx;
+
+  private MockContext browser;
+
+  @Setup
+  public void setup() {
+    ctx = new MockContext();
+    browser = new MockContext().setRequestHeader("Accept", BROWSER_ACCEPT);
+  }
+
+  @Benchmark
+  public QueryString queryString() {
+    return UrlParser.queryString(ctx, QUERY_STRING);
+  }
+
+  @Benchmark
+  public String queryStringValue() {
+    return UrlParser.queryString(ctx, QUERY_STRING).get("q").value();
+  }
+
+  @Benchmark
+  public MediaType contentType() {
+    return MediaType.valueOf("application/json; charset=utf-8");
+  }
+
+  @Benchmark
+  public List<MediaType> parseAccept() {
+    return MediaType.parse(BROWSER_ACCEPT);
+  }
+
+  @Benchmark
+  public MediaType accept() {
+    return browser.accept(PRODUCES);
+  }
+
+  @Benchmark
+  public MediaType acceptMissing() {
+    return ctx.accept(PRODUCES);
+  }
+}
@@ -0,0 +1,88 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.benchmark;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.jooby.Context;
+import io.jooby.ExecutionMode;
+import io.jooby.MessageEncoder;
+import io.jooby.Route;
+import io.jooby.internal.Pipeline;
+import io.jooby.test.MockContext;
+
+/**
+ * Handler chain produced by {@link Pipeline#build}: cost of building it at startup and of running
+ * it per request. <code>filters</code> adds a before, a decorator and an after filter to the
+ * route.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class PipelineBenchmark {
+
+  @Param({"false", "true"})
+  public boolean filters;
+
+  private Route.Handler pipeline;
+
+  private Context ctx;
+
+  @Setup
+  public void setup() throws Exception {
+    pipeline = build(newRoute());
+    ctx =
+        new MockContext() {
+          @Override
+          public boolean isResponseStarted() {
+            // keep rendering on every call
+            return false;
+          }
+        };
+  }
+
+  @Benchmark
+  public Route.Handler build() {
+    return build(newRoute());
+  }
+
+  @Benchmark
+  public Object execute() throws Exception {
+    return pipeline.apply(ctx);
+  }
+
+  private Route.Handler build(Route route) {
+    return Pipeline.build(route, ExecutionMode.EVENT_LOOP, null, null, Set.of());
+  }
+
+  private Route newRoute() {
+    Route route =
+        new Route("GET", "/plaintext", ctx -> "Hello, World!").setEncoder(MessageEncoder.TO_STRING);
+    if (filters) {
+      Route.Before before = ctx -> ctx.setResponseHeader("Server", "jooby");
+      Route.Filter decorator = next -> ctx -> next.apply(ctx);
+      route.setFilter(before.then(decorator));
+      route.setAfter((ctx, result, failure) -> {});
+    }
+    return route;
+  }
+}
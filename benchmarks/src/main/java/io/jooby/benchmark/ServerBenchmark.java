@@ -0,0 +1,135 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.benchmark;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.jooby.ExecutionMode;
+import io.jooby.Jooby;
+import io.jooby.MediaType;
+import io.jooby.Server;
+import io.jooby.ServerOptions;
+import io.jooby.StartupSummary;
+import io.jooby.jackson.JacksonModule;
+import io.jooby.jetty.JettyServer;
+import io.jooby.netty.NettyServer;
+import io.jooby.undertow.UndertowServer;
+
+/**
+ * End to end plaintext/JSON throughput over loopback. Each benchmark thread owns a keep-alive
+ * connection (see {@link LoadGenerator}) and sends one request at a time, so <code>-t</code>
+ * controls the number of concurrent connections.
+ *
+ * <p>Add <code>-prof gc</code> to report bytes allocated per request; it includes the client, which
+ * allocates the same on every server.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(8)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ServerBenchmark {
+
+  private static final byte[] MESSAGE = "Hello, World!".getBytes(StandardCharsets.UTF_8);
+
+  @State(Scope.Benchmark)
+  public static class App {
+    @Param({"netty", "undertow", "jetty"})
+    public String server;
+
+    @Param({"EVENT_LOOP", "WORKER"})
+    public ExecutionMode mode;
+
+    int port;
+
+    private Server instance;
+
+    @Setup
+    public void start() throws IOException {
+      port = freePort();
+
+      Jooby app = new Jooby();
+      app.setStartupSummary(List.of(StartupSummary.NONE));
+      app.setExecutionMode(mode);
+      app.install(new JacksonModule());
+
+      app.get("/plaintext", ctx -> ctx.setResponseType(MediaType.text).send(MESSAGE));
+      app.get("/json", ctx -> Map.of("message", "Hello, World!"));
+
+      instance = newServer(server).setOptions(new ServerOptions().setPort(port));
+      instance.start(app);
+    }
+
+    @TearDown
+    public void stop() {
+      instance.stop();
+    }
+
+    private static Server newServer(String name) {
+      return switch (name) {
+        case "netty" -> new NettyServer();
+        case "undertow" -> new UndertowServer();
+        case "jetty" -> new JettyServer();
+        default -> throw new IllegalArgumentException("Unknown server: " + name);
+      };
+    }
+
+    private static int freePort() throws IOException {
+      try (ServerSocket socket = new ServerSocket(0)) {
+        return socket.getLocalPort();
+      }
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class Connection {
+    LoadGenerator plaintext;
+
+    LoadGenerator json;
+
+    @Setup
+    public void connect(App app) throws IOException {
+      plaintext = new LoadGenerator(app.port, "/plaintext");
+      json = new LoadGenerator(app.port, "/json");
+    }
+
+    @TearDown
+    public void close() throws IOException {
+      plaintext.close();
+      json.close();
+    }
+  }
+
+  @Benchmark
+  public int plaintext(Connection connection) throws IOException {
+    return connection.plaintext.request();
+  }
+
+  @Benchmark
+  public int json(Connection connection) throws IOException {
+    return connection.json.request();
+  }
+}
@@ -0,0 +1,122 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.benchmark;
+
+import java.time.Duration;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.jooby.Jooby;
+import io.jooby.Session;
+import io.jooby.SessionStore;
+import io.jooby.SessionToken;
+import io.jooby.test.MockContext;
+
+/**
+ * In-memory session store: lookup of an existing session and the per request save. Run it with
+ * <code>-t 4</code> (or more) to see contention on the session map.
+ *
+ * <p><code>sessions</code> is the number of live sessions, lookup cost must not depend on it. Setup
+ * prints the approximate retained heap per session (one attribute each).
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SessionBenchmark {
+
+  @State(Scope.Benchmark)
+  public static class Store {
+    @Param({"1000", "200000"})
+    public int sessions;
+
+    SessionStore store;
+
+    Jooby application;
+
+    @Setup
+    public void setup() {
+      store = SessionStore.memory(SessionToken.header("sid"), Duration.ofMinutes(30));
+      application = new Jooby();
+      application.setSessionStore(store);
+      application.setWorker(ForkJoinPool.commonPool());
+
+      long before = usedMemory();
+      for (int i = 0; i < sessions; i++) {
+        Session session = store.newSession(newContext());
+        session.put("user", "user" + i);
+      }
+      long after = usedMemory();
+      System.out.printf(
+          "%n%,d sessions, ~%,d bytes per session%n", sessions, (after - before) / sessions);
+    }
+
+    MockContext newContext() {
+      return new MockContext().setRouter(application);
+    }
+
+    private static long usedMemory() {
+      Runtime runtime = Runtime.getRuntime();
+      for (int i = 0; i < 3; i++) {
+        System.gc();
+      }
+      return runtime.totalMemory() - runtime.freeMemory();
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class Request {
+    MockContext ctx;
+
+    @Setup
+    public void setup(Store store) {
+      ctx = store.newContext();
+      Session session = store.store.newSession(ctx);
+      ctx.setRequestHeader("sid", session.getId());
+    }
+  }
+
+  @Benchmark
+  public Session findSession(Store store, Request request) {
+    return store.store.findSession(request.ctx);
+  }
+
+  @Benchmark
+  public Session readOnlyRequest(Store store, Request request) {
+    Session session = store.store.findSession(request.ctx);
+    session.get("user");
+    store.store.saveSession(request.ctx, session);
+    return session;
+  }
+
+  @Benchmark
+  public Session modifyRequest(Store store, Request request) {
+    Session session = store.store.findSession(request.ctx);
+    session.put("lastSeen", "now");
+    store.store.saveSession(request.ctx, session);
+    return session;
+  }
+
+  @Benchmark
+  public Session newSession(Store store, Request request) {
+    Session session = store.store.newSession(request.ctx);
+    store.store.deleteSession(request.ctx, session);
+    return session;
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import io.jooby.MessageEncoder;
+import io.jooby.Route;
+import io.jooby.Router;
+
+/**
+ * Route lookup. Lives in the internal package because {@link Chi} is package private.
+ *
+ * <p><code>routes</code> is the number of extra routes (half static, half with path variables)
+ * registered next to the ones being looked up.
+ *
+ * <p>Run {@link #main(String[])} (or add <code>-prof gc</code>) to get the bytes allocated per
+ * lookup (<code>gc.alloc.rate.norm</code>): static paths return a prebuilt match and must report
+ * <code>~0</code>; paths with variables allocate one match plus one path map, the variable values
+ * are created only when they are read.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ChiBenchmark {
+
+  @Param({"0", "500"})
+  public int routes;
+
+  private Chi router;
+
+  @Setup
+  public void setup() {
+    router = new Chi();
+    router.setEncoder(MessageEncoder.TO_STRING);
+    for (int i = 0; i < routes / 2; i++) {
+      router.insert(route("GET", "/api/resource" + i));
+      router.insert(route("GET", "/api/resource" + i + "/{id}/items/{item}"));
+    }
+    router.insert(route("GET", "/plaintext"));
+    router.insert(route("GET", "/user/{id}"));
+    router.insert(route("GET", "/article/{id:[0-9]+}"));
+    router.insert(route("GET", "/assets/*"));
+    router.freeze();
+  }
+
+  @Benchmark
+  public Router.Match staticPath() {
+    return router.find("GET", "/plaintext");
+  }
+
+  @Benchmark
+  public Router.Match paramPath() {
+    return router.find("GET", "/user/123");
+  }
+
+  @Benchmark
+  public Router.Match regexPath() {
+    return router.find("GET", "/article/123");
+  }
+
+  @Benchmark
+  public Router.Match catchAll() {
+    return router.find("GET", "/assets/js/index.js");
+  }
+
+  @Benchmark
+  public Router.Match notFound() {
+    return router.find("GET", "/missing/123");
+  }
+
+  @Benchmark
+  public Router.Match methodNotAllowed() {
+    return router.find("POST", "/plaintext");
+  }
+
+  public static void main(String[] args) throws Exception {
+    new Runner(
+            new OptionsBuilder()
+                .include(ChiBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+        .run();
+  }
+
+  private static Route route(String method, String pattern) {
+    return new Route(method, pattern, ctx -> "OK")
+        .setPathKeys(Router.pathKeys(pattern))
+        .setEncoder(MessageEncoder.TO_STRING);
+  }
+}
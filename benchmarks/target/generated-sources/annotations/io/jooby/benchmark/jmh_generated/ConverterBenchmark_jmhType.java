@@ -0,0 +1,4 @@
+package io.jooby.benchmark.jmh_generated;
+public class ConverterBenchmark_jmhType extends ConverterBenchmark_jmhType_B3 {
+}
+
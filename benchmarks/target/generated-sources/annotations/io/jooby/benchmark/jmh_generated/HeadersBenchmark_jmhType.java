@@ -0,0 +1,4 @@
+package io.jooby.benchmark.jmh_generated;
+public class HeadersBenchmark_jmhType extends HeadersBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package io.jooby.benchmark.jmh_generated;
+public class JsonBenchmark_jmhType extends JsonBenchmark_jmhType_B3 {
+}
+
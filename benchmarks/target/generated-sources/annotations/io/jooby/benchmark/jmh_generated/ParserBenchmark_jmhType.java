@@ -0,0 +1,4 @@
+package io.jooby.benchmark.jmh_generated;
+public class ParserBenchmark_jmhType extends ParserBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package io.jooby.benchmark.jmh_generated;
+public class PipelineBenchmark_jmhType extends PipelineBenchmark_jmhType_B3 {
+}
+
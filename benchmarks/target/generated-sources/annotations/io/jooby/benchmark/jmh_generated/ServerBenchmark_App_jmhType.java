@@ -0,0 +1,4 @@
+package io.jooby.benchmark.jmh_generated;
+public class ServerBenchmark_App_jmhType extends ServerBenchmark_App_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package io.jooby.benchmark.jmh_generated;
+public class ServerBenchmark_Connection_jmhType extends ServerBenchmark_Connection_jmhType_B3 {
+}
+
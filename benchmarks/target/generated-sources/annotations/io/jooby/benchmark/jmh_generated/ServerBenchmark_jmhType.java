@@ -0,0 +1,4 @@
+package io.jooby.benchmark.jmh_generated;
+public class ServerBenchmark_jmhType extends ServerBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package io.jooby.benchmark.jmh_generated;
+public class SessionBenchmark_Request_jmhType extends SessionBenchmark_Request_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package io.jooby.benchmark.jmh_generated;
+public class SessionBenchmark_jmhType extends SessionBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package io.jooby.internal.jmh_generated;
+public class ChiBenchmark_jmhType extends ChiBenchmark_jmhType_B3 {
+}
+
@@ -2,4 +2,4 @@
 
 DIR=$(cd "$(dirname "$0")"; pwd)
 
-sh $DIR/maven.sh -pl '!tests' clean deploy -P bom,central,gradlePlugin
+sh $DIR/maven.sh -pl '!tests,!benchmarks' clean deploy -P bom,central,gradlePlugin
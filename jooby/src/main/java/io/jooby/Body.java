@@ -7,12 +7,14 @@ package io.jooby;
 
 import java.io.InputStream;
 import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
 import java.nio.channels.ReadableByteChannel;
 import java.nio.charset.Charset;
 import java.nio.file.Path;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Flow;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
@@ -20,6 +22,7 @@ import io.jooby.exception.MissingValueException;
 import io.jooby.internal.ByteArrayBody;
 import io.jooby.internal.FileBody;
 import io.jooby.internal.InputStreamBody;
+import io.jooby.internal.InputStreamPublisher;
 
 /**
  * HTTP body value. Allows to access HTTP body as string, byte[], stream, etc..
@@ -82,6 +85,17 @@ public interface Body extends ValueNode {
    */
   @NonNull InputStream stream();
 
+  /**
+   * Body as a reactive stream of byte buffers. Single subscriber only. For routes with a streaming
+   * body (see {@link Route#setStreamingBody(boolean)}) buffers are published as they arrive from
+   * the client, otherwise reading happens on the thread that requests data.
+   *
+   * @return Body publisher.
+   */
+  default @NonNull Flow.Publisher<ByteBuffer> publisher() {
+    return new InputStreamPublisher(this::stream);
+  }
+
   @NonNull @Override
   default <T> List<T> toList(@NonNull Class<T> type) {
     return to(Reified.list(type).getType());
@@ -876,6 +876,14 @@ public interface Context extends Registry {
    */
   boolean isInIoThread();
 
+  /**
+   * Executor backed by the IO thread (event loop) handling this request. Tasks submitted to it run
+   * on the IO thread, so they must never block.
+   *
+   * @return IO thread executor or <code>null</code> when the server doesn't expose it.
+   */
+  @Nullable Executor getIoExecutor();
+
   /**
    * Dispatch context to a worker threads. Worker threads allow to execute blocking code. The
    * default worker thread pool is provided by web server or by application code using the {@link
@@ -1380,6 +1388,26 @@ public interface Context extends Registry {
    */
   @NonNull Context onComplete(@NonNull Route.Complete task);
 
+  /**
+   * Add a task to execute when the client closes the connection before the response was sent, so
+   * abandoned requests can stop pending work. The task runs on the IO thread and must not block.
+   *
+   * <p>Not all servers report early disconnects, on those this method does nothing.
+   *
+   * @param task Task to run.
+   * @return This context.
+   */
+  @NonNull Context onDisconnect(@NonNull Runnable task);
+
+  /**
+   * Abort the response by closing the connection. Use it when the response was started and can't
+   * be completed: client sees a broken connection, not a truncated (but successful) response.
+   * Completion listeners still run.
+   *
+   * @return This context.
+   */
+  @NonNull Context abort();
+
   /* **********************************************************************************************
    * Factory methods
    * **********************************************************************************************
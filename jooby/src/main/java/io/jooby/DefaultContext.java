@@ -25,6 +25,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
@@ -32,7 +33,9 @@ import org.slf4j.Logger;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
 import io.jooby.exception.RegistryException;
+import io.jooby.internal.EncoderOutputStream;
 import io.jooby.internal.HashValue;
+import io.jooby.internal.HttpMessageEncoder;
 import io.jooby.internal.MissingValue;
 import io.jooby.internal.SingleValue;
 import io.jooby.internal.UrlParser;
@@ -458,11 +461,45 @@ public interface DefaultContext extends Context {
     return setResponseCode(statusCode.value());
   }
 
+  @Override
+  default @Nullable Executor getIoExecutor() {
+    return null;
+  }
+
+  @Override
+  default @NonNull Context onDisconnect(@NonNull Runnable task) {
+    return this;
+  }
+
+  @Override
+  default @NonNull Context abort() {
+    throw new UnsupportedOperationException("Abort is not supported by: " + getClass().getName());
+  }
+
   @Override
   default @NonNull Context render(@NonNull Object value) {
     try {
       Route route = getRoute();
       MessageEncoder encoder = route.getEncoder();
+      if (!(encoder instanceof HttpMessageEncoder)
+          || ((HttpMessageEncoder) encoder).isStreaming(value)) {
+        EncoderOutputStream output = new EncoderOutputStream(this);
+        boolean encoded;
+        try {
+          encoded = encoder.encode(this, value, output);
+        } catch (Throwable x) {
+          try {
+            output.abort();
+          } catch (Throwable cause) {
+            x.addSuppressed(cause);
+          }
+          throw x;
+        }
+        if (encoded) {
+          output.send();
+          return this;
+        }
+      }
       byte[] bytes = encoder.encode(this, value);
       if (bytes == null) {
         if (!isResponseStarted()) {
@@ -0,0 +1,117 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby;
+
+import java.time.Duration;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import io.jooby.exception.StatusCodeException;
+import io.jooby.internal.DispatchListenerList;
+
+/**
+ * Listen for blocking routes being dispatched to a worker executor: when the request is queued,
+ * when a worker thread picks it up, when the handler returns and when the executor rejects it.
+ *
+ * <p>Listeners are registered with {@link Router#dispatchListener(DispatchListener)} and are
+ * resolved per route at application startup via {@link #forRoute(Route, String)}, which allows
+ * listener to precompute any per route or per executor state.
+ *
+ * <p>A listener might shed load by throwing from {@link #onStart(Context, String, long)}, the
+ * exception is sent as error response and the route handler is never executed. See {@link
+ * #maxQueueWait(Duration)}.
+ *
+ * <p>Rejected requests (executor queue full or shutting down) are sent as {@link
+ * StatusCode#SERVICE_UNAVAILABLE} when at least one listener is registered.
+ *
+ * @author edgar
+ * @since 3.0.0
+ */
+public interface DispatchListener {
+
+  /**
+   * Resolve the listener for a route. Called once per route at startup.
+   *
+   * @param route Route.
+   * @param executor Executor name: executor's key or <code>worker</code> for the default worker.
+   * @return Listener for the route, defaults to this listener.
+   */
+  default @NonNull DispatchListener forRoute(@NonNull Route route, @NonNull String executor) {
+    return this;
+  }
+
+  /**
+   * Request is about to be handed to the executor. Runs on the calling (usually IO) thread.
+   *
+   * @param ctx Web context.
+   * @param executor Executor name.
+   */
+  default void onEnqueue(@NonNull Context ctx, @NonNull String executor) {}
+
+  /**
+   * A worker thread picked up the request. Runs on the worker thread, right before the route
+   * pipeline. Throw an exception to reject the request, it is sent as error response.
+   *
+   * @param ctx Web context.
+   * @param executor Executor name.
+   * @param waitNanos Time spent in executor queue, in nanoseconds.
+   * @throws Exception To reject request.
+   */
+  default void onStart(@NonNull Context ctx, @NonNull String executor, long waitNanos)
+      throws Exception {}
+
+  /**
+   * Route pipeline returned and the worker thread is released. For async/reactive responses this
+   * doesn't mean the response has been sent. Always called after {@link #onStart(Context, String,
+   * long)}, even if it failed.
+   *
+   * @param ctx Web context.
+   * @param executor Executor name.
+   * @param runNanos Time spent on worker thread, in nanoseconds.
+   */
+  default void onEnd(@NonNull Context ctx, @NonNull String executor, long runNanos) {}
+
+  /**
+   * Executor rejected the request. Runs on the calling (usually IO) thread.
+   *
+   * @param ctx Web context.
+   * @param executor Executor name.
+   * @param cause Rejection cause.
+   */
+  default void onReject(
+      @NonNull Context ctx, @NonNull String executor, @NonNull Throwable cause) {}
+
+  /**
+   * Chain this listener with next one.
+   *
+   * @param next Next listener.
+   * @return A new listener.
+   */
+  default @NonNull DispatchListener then(@NonNull DispatchListener next) {
+    return new DispatchListenerList(this, next);
+  }
+
+  /**
+   * Load shedding: reject requests with {@link StatusCode#SERVICE_UNAVAILABLE} when they spent
+   * more than given budget waiting for a worker thread. Under overload, late requests fail fast
+   * instead of running for clients that probably gave up.
+   *
+   * @param budget Max time a request can wait for a worker thread.
+   * @return A listener.
+   */
+  static @NonNull DispatchListener maxQueueWait(@NonNull Duration budget) {
+    long max = budget.toNanos();
+    return new DispatchListener() {
+      @Override
+      public void onStart(@NonNull Context ctx, @NonNull String executor, long waitNanos) {
+        if (waitNanos > max) {
+          throw new StatusCodeException(
+              StatusCode.SERVICE_UNAVAILABLE,
+              "Queue wait exceeded on " + executor + ": " + (waitNanos / 1_000_000) + "ms");
+        }
+      }
+    };
+  }
+}
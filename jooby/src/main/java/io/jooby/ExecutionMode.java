@@ -86,5 +86,32 @@ public enum ExecutionMode {
    * }
    * }</pre>
    */
-  DEFAULT
+  DEFAULT,
+
+  /**
+   * Like {@link ExecutionMode#DEFAULT} but blocking route handlers run in a new virtual thread
+   * (one per request) instead of the worker executor. Reactive route handlers run in the
+   * event-loop thread.
+   *
+   * <p>Virtual threads require Java 21 or higher. On older versions, this mode fallback to {@link
+   * ExecutionMode#DEFAULT}.
+   *
+   * <p>Virtual thread pinning events (a virtual thread blocked while holding a monitor) are
+   * reported as warnings in the router log.
+   *
+   * <p>Examples:
+   *
+   * <pre>{@code
+   * {
+   *
+   *   mode(VIRTUAL);
+   *
+   *   get("/blocking", ctx -> {
+   *     // remote call: another service, database, etc..
+   *     return "Safe to block, I'm running on a virtual thread";
+   *   });
+   * }
+   * }</pre>
+   */
+  VIRTUAL
 }
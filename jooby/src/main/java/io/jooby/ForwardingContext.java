@@ -406,6 +406,11 @@ public class ForwardingContext implements Context {
     return ctx.isInIoThread();
   }
 
+  @Override
+  @Nullable public Executor getIoExecutor() {
+    return ctx.getIoExecutor();
+  }
+
   @Override
   @NonNull public Context dispatch(@NonNull Runnable action) {
     ctx.dispatch(action);
@@ -729,6 +734,18 @@ public class ForwardingContext implements Context {
     return this;
   }
 
+  @NonNull @Override
+  public Context onDisconnect(@NonNull Runnable task) {
+    ctx.onDisconnect(task);
+    return this;
+  }
+
+  @NonNull @Override
+  public Context abort() {
+    ctx.abort();
+    return this;
+  }
+
   @NonNull @Override
   public <T> T require(@NonNull Class<T> type) throws RegistryException {
     return ctx.require(type);
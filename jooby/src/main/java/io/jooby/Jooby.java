@@ -641,6 +641,12 @@ public class Jooby implements Router, Registry {
     return this;
   }
 
+  @NonNull @Override
+  public Jooby dispatchListener(@NonNull DispatchListener listener) {
+    this.router.dispatchListener(listener);
+    return this;
+  }
+
   @NonNull @Override
   public Logger getLog() {
     return LoggerFactory.getLogger(getClass());
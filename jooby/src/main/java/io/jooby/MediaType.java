@@ -109,6 +109,9 @@ public final class MediaType implements Comparable<MediaType> {
 
   private final String value;
 
+  /** Cached UTF-8 content type header, the most common value by far. */
+  private String utf8ContentType;
+
   private MediaType(@NonNull String value, Charset charset) {
     this.raw = value;
     this.subtypeStart = value.indexOf('/');
@@ -192,6 +195,15 @@ public final class MediaType implements Comparable<MediaType> {
       }
       charset = paramCharset;
     }
+    if (UTF_8.equals(charset)) {
+      // racy but safe: String is immutable and always computed to the same value
+      String header = utf8ContentType;
+      if (header == null) {
+        header = value + ";charset=" + UTF_8.name();
+        utf8ContentType = header;
+      }
+      return header;
+    }
     return value + ";charset=" + charset.name();
   }
 
@@ -236,6 +248,29 @@ public final class MediaType implements Comparable<MediaType> {
         || subtype.endsWith("yaml");
   }
 
+  /**
+   * Indicates whenever this mediatype is worth to compress. True for textual types and a few
+   * uncompressed binary formats (fonts, web assembly). Images, audio, video and archives are
+   * already compressed.
+   *
+   * @return True when this mediatype is worth to compress.
+   */
+  public boolean isCompressible() {
+    if (isTextual()) {
+      return true;
+    }
+    String type = getType();
+    String subtype = getSubtype();
+    if (type.equals("font")) {
+      return subtype.equals("ttf") || subtype.equals("otf");
+    }
+    return subtype.equals("wasm")
+        || subtype.equals("x-www-form-urlencoded")
+        || subtype.equals("vnd.ms-fontobject")
+        || subtype.equals("x-font-ttf")
+        || subtype.equals("x-font-otf");
+  }
+
   /**
    * Indicates whenever this is a json mediatype.
    *
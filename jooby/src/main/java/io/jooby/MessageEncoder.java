@@ -5,6 +5,7 @@
  */
 package io.jooby;
 
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
@@ -38,4 +39,28 @@ public interface MessageEncoder {
    * @throws Exception If something goes wrong.
    */
   @Nullable byte[] encode(@NonNull Context ctx, @NonNull Object value) throws Exception;
+
+  /**
+   * Streaming version of {@link #encode(Context, Object)}, value is written straight into the
+   * given output. Small outputs are sent as a single response, large outputs are streamed to the
+   * server response buffers. Implementations must not close the output.
+   *
+   * <p>Outputs up to {@link ServerOptions#_16KB} are sent with a <code>Content-Length</code> header.
+   * Larger outputs are sent as a chunked response, unless the encoder sets the response length
+   * before writing to the output.
+   *
+   * <p>Default implementation does nothing and returns <code>false</code>, so the value is encoded
+   * with {@link #encode(Context, Object)}.
+   *
+   * @param ctx Web context.
+   * @param value Value to render.
+   * @param output Response output.
+   * @return True when the value was written to the output (or sent), false when this encoder
+   *     doesn't support streaming for the given value.
+   * @throws Exception If something goes wrong.
+   */
+  default boolean encode(@NonNull Context ctx, @NonNull Object value, @NonNull OutputStream output)
+      throws Exception {
+    return false;
+  }
 }
@@ -412,6 +412,8 @@ public class Route {
 
   private Boolean nonBlocking;
 
+  private boolean streamingBody;
+
   private Method mvcMethod;
 
   /**
@@ -638,6 +640,33 @@ public class Route {
     return this;
   }
 
+  /**
+   * True when the request body is streamed to the route handler. See {@link
+   * #setStreamingBody(boolean)}.
+   *
+   * @return True when the request body is streamed to the route handler.
+   */
+  public boolean isStreamingBody() {
+    return streamingBody;
+  }
+
+  /**
+   * Stream the request body to the route handler. The handler runs as soon as request headers
+   * arrive and consumes the body while it is being received, using {@link Body#stream()} (blocking
+   * routes) or {@link Body#publisher()}. Reading from the connection is suspended while the
+   * handler doesn't keep up, so memory usage is constant regardless of the body size.
+   *
+   * <p>Form and multipart bodies are not parsed and {@link ServerOptions#getMaxRequestSize()} is
+   * not enforced for streaming routes. Default is: <code>false</code>.
+   *
+   * @param streamingBody True for streaming the request body.
+   * @return This route.
+   */
+  public @NonNull Route setStreamingBody(boolean streamingBody) {
+    this.streamingBody = streamingBody;
+    return this;
+  }
+
   /**
    * Return return type.
    *
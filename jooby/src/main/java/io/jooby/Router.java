@@ -522,6 +522,16 @@ public interface Router extends Registry {
    */
   @NonNull Router setDefaultWorker(@NonNull Executor worker);
 
+  /**
+   * Add a listener for blocking routes dispatched to a worker executor. Listeners are notified
+   * when a request is queued, starts/ends on a worker thread or is rejected. Must be called before
+   * application starts.
+   *
+   * @param listener Dispatch listener.
+   * @return This router.
+   */
+  @NonNull Router dispatchListener(@NonNull DispatchListener listener);
+
   /**
    * Attach a filter to the route pipeline.
    *
@@ -17,6 +17,7 @@ package io.jooby;
  *       (slashes).
  *   <li>RESET_HEADERS_ON_ERROR: Indicates whenever response headers are clear/reset in case of
  *       exception.
+ *   <li>MUTABLE_ROUTE_TREE: Keep the mutable route tree after application start.
  * </ul>
  *
  * @author edgar
@@ -36,5 +37,11 @@ public enum RouterOption {
   NORMALIZE_SLASH,
 
   /** Indicates whenever response headers are clear/reset in case of exception. */
-  RESET_HEADERS_ON_ERROR
+  RESET_HEADERS_ON_ERROR,
+
+  /**
+   * Keep the mutable route tree after application start. By default, the route tree is frozen into
+   * an immutable lookup table at application start. Useful for development/debugging.
+   */
+  MUTABLE_ROUTE_TREE
 }
@@ -0,0 +1,159 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * Precomputed values of headers sent on every response, for server implementations.
+ *
+ * <p>The <code>Date</code> header is formatted at most once per second and shared by all the
+ * server threads as an ASCII byte array. There is no background ticker: the first caller that
+ * finds an expired value formats a new one, concurrent callers might format it twice which is
+ * harmless.
+ *
+ * <p>Servers don't write the byte array directly, they write their own header type (Netty
+ * <code>AsciiString</code>, Jetty <code>HttpField</code>, etc.). {@link #encode(String, Encoder)}
+ * keeps these values: <code>Server</code> and <code>Content-Type</code> are encoded once and
+ * <code>Date</code> is encoded once per second.
+ */
+public final class ServerHeaders {
+
+  /**
+   * Convert a header value to a server specific type.
+   *
+   * @param <T> Server header type.
+   */
+  public interface Encoder<T> {
+    /**
+     * Encode a header value.
+     *
+     * @param name Header name.
+     * @param value Header value as ASCII bytes. Callers must not modify it.
+     * @return Encoded value.
+     */
+    @NonNull T encode(@NonNull String name, @NonNull byte[] value);
+  }
+
+  /**
+   * Default response headers encoded with a server specific type.
+   *
+   * @param <T> Server header type.
+   */
+  public static final class Encoded<T> {
+    private final Encoder<T> encoder;
+
+    private final T server;
+
+    private final T contentType;
+
+    private volatile EncodedDate<T> date;
+
+    private Encoded(String server, Encoder<T> encoder) {
+      this.encoder = encoder;
+      this.server = encoder.encode("Server", server.getBytes(StandardCharsets.US_ASCII));
+      this.contentType =
+          encoder.encode("Content-Type", MediaType.TEXT.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * <code>Server</code> header.
+     *
+     * @return <code>Server</code> header.
+     */
+    public @NonNull T server() {
+      return server;
+    }
+
+    /**
+     * Default <code>Content-Type</code> header: <code>text/plain</code>.
+     *
+     * @return Default <code>Content-Type</code> header.
+     */
+    public @NonNull T contentType() {
+      return contentType;
+    }
+
+    /**
+     * <code>Date</code> header of {@link ServerHeaders#date()}, changes once per second.
+     *
+     * @return <code>Date</code> header.
+     */
+    public @NonNull T date() {
+      byte[] value = ServerHeaders.date();
+      EncodedDate<T> current = date;
+      if (current == null || current.bytes != value) {
+        current = new EncodedDate<>(value, encoder.encode("Date", value));
+        date = current;
+      }
+      return current.value;
+    }
+  }
+
+  private static final class EncodedDate<T> {
+    private final byte[] bytes;
+
+    private final T value;
+
+    private EncodedDate(byte[] bytes, T value) {
+      this.bytes = bytes;
+      this.value = value;
+    }
+  }
+
+  private static final class CachedDate {
+    private final byte[] value;
+
+    private final long expires;
+
+    private CachedDate(long now) {
+      String value =
+          DateTimeFormatter.RFC_1123_DATE_TIME.format(
+              Instant.ofEpochMilli(now).atOffset(ZoneOffset.UTC));
+      this.value = value.getBytes(StandardCharsets.US_ASCII);
+      // refresh at the start of next second
+      this.expires = now - now % 1000 + 1000;
+    }
+  }
+
+  private static volatile CachedDate date;
+
+  private ServerHeaders() {}
+
+  /**
+   * Creates the default response headers of a server, encoded with its own header type.
+   *
+   * @param server Value of the <code>Server</code> header.
+   * @param encoder Header encoder.
+   * @param <T> Server header type.
+   * @return Default response headers.
+   */
+  public static @NonNull <T> Encoded<T> encode(
+      @NonNull String server, @NonNull Encoder<T> encoder) {
+    return new Encoded<>(server, encoder);
+  }
+
+  /**
+   * Current value of the <code>Date</code> header as ASCII bytes. The same array is returned until
+   * the next second, callers must not modify it.
+   *
+   * @return Date header value.
+   */
+  public static @NonNull byte[] date() {
+    long now = System.currentTimeMillis();
+    CachedDate current = date;
+    if (current == null || now >= current.expires) {
+      current = new CachedDate(now);
+      date = current;
+    }
+    return current.value;
+  }
+}
@@ -14,10 +14,12 @@ import java.security.Security;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.ServiceLoader;
 import java.util.Set;
 import java.util.Spliterator;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import javax.net.ssl.SSLContext;
@@ -56,6 +58,9 @@ public class ServerOptions {
   /** Default compression level for gzip. */
   public static final int DEFAULT_COMPRESSION_LEVEL = 6;
 
+  /** Default content codings: <code>gzip</code> and <code>deflate</code>. */
+  public static final List<String> DEFAULT_COMPRESSION_ENCODINGS = List.of("gzip", "deflate");
+
   /** 4kb constant in bytes. */
   public static final int _4KB = 4096;
 
@@ -70,6 +75,8 @@ public class ServerOptions {
 
   private static final String LOCAL_HOST = "0.0.0.0";
 
+  private static final Set<String> SUPPORTED_ENCODINGS = Set.of("br", "zstd", "gzip", "deflate");
+
   /** Buffer size used by server. Usually for reading/writing data. */
   private int bufferSize = _16KB;
 
@@ -117,6 +124,12 @@ public class ServerOptions {
 
   private Integer compressionLevel;
 
+  private List<String> compressionEncodings = DEFAULT_COMPRESSION_ENCODINGS;
+
+  private int compressionMinSize;
+
+  private List<MediaType> compressionMediaTypes;
+
   private Boolean http2;
 
   private Boolean expectContinue;
@@ -156,6 +169,19 @@ public class ServerOptions {
       if (conf.hasPath("server.compressionLevel")) {
         options.setCompressionLevel(conf.getInt("server.compressionLevel"));
       }
+      if (conf.hasPath("server.compressionEncodings")) {
+        options.setCompressionEncodings(conf.getStringList("server.compressionEncodings"));
+      }
+      if (conf.hasPath("server.compressionMinSize")) {
+        options.setCompressionMinSize(
+            (int) conf.getMemorySize("server.compressionMinSize").toBytes());
+      }
+      if (conf.hasPath("server.compressionMediaTypes")) {
+        options.setCompressionMediaTypes(
+            conf.getStringList("server.compressionMediaTypes").stream()
+                .map(MediaType::valueOf)
+                .collect(Collectors.toList()));
+      }
       if (conf.hasPath("server.maxRequestSize")) {
         options.setMaxRequestSize((int) conf.getMemorySize("server.maxRequestSize").toBytes());
       }
@@ -195,7 +221,7 @@ public class ServerOptions {
     buff.append(", maxRequestSize: ").append(maxRequestSize);
     buff.append(", httpsOnly: ").append(httpsOnly);
     if (compressionLevel != null) {
-      buff.append(", gzip");
+      buff.append(", compression: ").append(compressionEncodings);
     }
     buff.append("}");
 
@@ -382,6 +408,119 @@ public class ServerOptions {
     return this;
   }
 
+  /**
+   * Content codings to use when compression is on, see {@link #setCompressionLevel(Integer)}.
+   * Default is: <code>gzip</code> and <code>deflate</code>.
+   *
+   * @return Content codings.
+   */
+  public @NonNull List<String> getCompressionEncodings() {
+    return compressionEncodings;
+  }
+
+  /**
+   * Set content codings to use when compression is on. Supported values are: <code>br</code>,
+   * <code>zstd</code>, <code>gzip</code> and <code>deflate</code>. The coding is negotiated
+   * with the client from the <code>Accept-Encoding</code> header (including q-values).
+   *
+   * <p>Brotli and zstd are supported by Netty only and require <code>
+   * com.aayushatharva.brotli4j:brotli4j</code> and <code>com.github.luben:zstd-jni</code> to be
+   * present. Servers ignore (and log) codings they don't support.
+   *
+   * @param encodings Content codings.
+   * @return This options.
+   */
+  public @NonNull ServerOptions setCompressionEncodings(@NonNull List<String> encodings) {
+    List<String> result = new ArrayList<>();
+    for (String encoding : encodings) {
+      String value = encoding.trim().toLowerCase();
+      if (!SUPPORTED_ENCODINGS.contains(value)) {
+        throw new IllegalArgumentException("Unsupported content coding: " + encoding);
+      }
+      result.add(value);
+    }
+    this.compressionEncodings = List.copyOf(result);
+    return this;
+  }
+
+  /**
+   * Set content codings to use when compression is on. Supported values are: <code>br</code>,
+   * <code>zstd</code>, <code>gzip</code> and <code>deflate</code>.
+   *
+   * @param encodings Content codings.
+   * @return This options.
+   */
+  public @NonNull ServerOptions setCompressionEncodings(@NonNull String... encodings) {
+    return setCompressionEncodings(List.of(encodings));
+  }
+
+  /**
+   * Responses with a <code>Content-Length</code> smaller than this value are not compressed.
+   * Default is: <code>0</code>.
+   *
+   * @return Minimum response size to compress.
+   */
+  public int getCompressionMinSize() {
+    return compressionMinSize;
+  }
+
+  /**
+   * Set minimum response size to compress. Small responses don't compress well and aren't worth
+   * the CPU. Responses of unknown size (chunked) are always compressed.
+   *
+   * @param compressionMinSize Minimum response size in bytes.
+   * @return This options.
+   */
+  public @NonNull ServerOptions setCompressionMinSize(int compressionMinSize) {
+    this.compressionMinSize = Math.max(0, compressionMinSize);
+    return this;
+  }
+
+  /**
+   * Media types to compress or <code>null</code> for default rule. See {@link
+   * #isCompressible(String)}.
+   *
+   * @return Media types to compress or <code>null</code>.
+   */
+  public @Nullable List<MediaType> getCompressionMediaTypes() {
+    return compressionMediaTypes;
+  }
+
+  /**
+   * Set media types to compress. Wildcards like <code>text/*</code> are supported. Default rule
+   * is {@link MediaType#isCompressible()}.
+   *
+   * @param mediaTypes Media types to compress or <code>null</code> for default rule.
+   * @return This options.
+   */
+  public @NonNull ServerOptions setCompressionMediaTypes(@Nullable List<MediaType> mediaTypes) {
+    this.compressionMediaTypes = mediaTypes == null ? null : List.copyOf(mediaTypes);
+    return this;
+  }
+
+  /**
+   * True when a response of the given content type must be compressed. Already compressed
+   * formats (images, audio, video, archives, etc.) are never compressed.
+   *
+   * @param contentType Response content type or <code>null</code>.
+   * @return True when a response of the given content type must be compressed.
+   */
+  public boolean isCompressible(@Nullable String contentType) {
+    if (contentType == null) {
+      return false;
+    }
+    MediaType type = MediaType.valueOf(contentType);
+    if (compressionMediaTypes == null) {
+      return type.isCompressible();
+    }
+    for (MediaType mediaType : compressionMediaTypes) {
+      if (mediaType.matches(type)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   /**
    * True if default headers: <code>Date</code>, <code>Content-Type</code> and <code>Server</code>
    * are enabled.
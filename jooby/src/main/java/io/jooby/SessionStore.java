@@ -35,7 +35,7 @@ public interface SessionStore {
    */
   abstract class InMemory implements SessionStore {
     protected static class Data {
-      private Instant lastAccessedTime;
+      private volatile Instant lastAccessedTime;
       private Instant creationTime;
       private Map hash;
 
@@ -49,6 +49,17 @@ public interface SessionStore {
         Duration timeElapsed = Duration.between(lastAccessedTime, Instant.now());
         return timeElapsed.compareTo(timeout) > 0;
       }
+
+      /**
+       * Allocation free version of {@link #isExpired(Duration)}.
+       *
+       * @param now Current time in millis.
+       * @param timeout Timeout in millis.
+       * @return True when expired.
+       */
+      public boolean isExpired(long now, long timeout) {
+        return now - lastAccessedTime.toEpochMilli() > timeout;
+      }
     }
 
     private SessionToken token;
@@ -69,7 +80,7 @@ public interface SessionStore {
           getOrCreate(
               sessionId, sid -> new Data(Instant.now(), Instant.now(), new ConcurrentHashMap()));
 
-      Session session = restore(ctx, sessionId, data);
+      Session session = restore(ctx, sessionId, data).setNew(true);
 
       token.saveToken(ctx, sessionId);
       return session;
@@ -128,14 +139,21 @@ public interface SessionStore {
 
     @Override
     public void touchSession(@NonNull Context ctx, @NonNull Session session) {
-      saveSession(ctx, session);
+      // data is saved once at the end of the request, see saveSession
       token.saveToken(ctx, session.getId());
     }
 
     @Override
     public void saveSession(Context ctx, @NonNull Session session) {
       String sessionId = session.getId();
-      put(sessionId, new Data(session.getCreationTime(), Instant.now(), session.toMap()));
+      Instant now = Instant.now();
+      Data data;
+      if (!session.isNew() && !session.isModify() && (data = getOrNull(sessionId)) != null) {
+        // nothing changed, just keep session alive
+        data.lastAccessedTime = now;
+      } else {
+        put(sessionId, new Data(session.getCreationTime(), now, session.toMap()));
+      }
     }
 
     @Override
@@ -190,7 +208,9 @@ public interface SessionStore {
 
   /**
    * Session attributes/state has changed. Every time a session attribute is put or removed it, this
-   * method is executed as notification callback.
+   * method is executed as notification callback. Session is marked as modified {@link
+   * Session#isModify()}, so stores might defer persistence to {@link #saveSession(Context,
+   * Session)}.
    *
    * @param ctx Web context.
    * @param session Current session.
@@ -206,6 +226,10 @@ public interface SessionStore {
    * <p>This method is call after response is send to client, so context and response shouldn't be
    * modified.
    *
+   * <p>It is called at the end of every request that has a session. When the session is neither
+   * {@link Session#isNew()} nor {@link Session#isModify()}, stores should skip serialization and
+   * persistence and just refresh the session expiration.
+   *
    * @param ctx Web context.
    * @param session Current session.
    */
@@ -0,0 +1,488 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+/**
+ * Request body for routes with {@link Route#isStreamingBody()}. Servers {@link #offer(ByteBuffer)}
+ * content as it arrives from the client and the application consumes it from {@link #stream()},
+ * {@link #channel()} or {@link #publisher()}.
+ *
+ * <p>Received content is queued. Once the queue goes over the high watermark, the server is asked
+ * to stop reading from the connection (see {@link FlowControl}) until the application consumes
+ * half of it.
+ *
+ * <p>Servers might offer a view of their own read buffers, with a release callback: the stream
+ * reads straight from them and releases each one once fully read. Subscribers own the buffers
+ * they receive, so these are copied before they are published.
+ *
+ * <p>This class is used by server implementations, applications don't need to create it.
+ */
+public class StreamingBody implements Body, Flow.Publisher<ByteBuffer> {
+
+  /** Connection flow control. Implemented by servers. */
+  public interface FlowControl {
+    /** Stop reading from the connection. */
+    void pause();
+
+    /** Resume reading from the connection. */
+    void resume();
+  }
+
+  private static final long HIGH_WATERMARK = ServerOptions._16KB * 4;
+
+  private static final Runnable NOOP = () -> {};
+
+  private static final class Chunk {
+    final ByteBuffer buffer;
+
+    final Runnable release;
+
+    Chunk(ByteBuffer buffer, Runnable release) {
+      this.buffer = buffer;
+      this.release = release;
+    }
+  }
+
+  private final Context ctx;
+
+  private final long contentLength;
+
+  private final FlowControl flowControl;
+
+  private final ReentrantLock lock = new ReentrantLock();
+
+  private final Condition available = lock.newCondition();
+
+  private final ArrayDeque<Chunk> queue = new ArrayDeque<>();
+
+  private final AtomicInteger wip = new AtomicInteger();
+
+  private long queued;
+
+  private boolean paused;
+
+  private boolean completed;
+
+  private Throwable failure;
+
+  private boolean discarded;
+
+  private InputStream stream;
+
+  private volatile Flow.Subscriber<? super ByteBuffer> subscriber;
+
+  private long demand;
+
+  private boolean terminated;
+
+  /**
+   * Creates a new streaming body.
+   *
+   * @param ctx Web context.
+   * @param contentLength Content length or <code>-1</code> when unknown.
+   * @param flowControl Connection flow control.
+   */
+  public StreamingBody(
+      @NonNull Context ctx, long contentLength, @NonNull FlowControl flowControl) {
+    this.ctx = ctx;
+    this.contentLength = contentLength;
+    this.flowControl = flowControl;
+  }
+
+  /**
+   * Add content received from client. Called by server on every read. Buffer ownership is
+   * transferred to this body.
+   *
+   * @param chunk Content.
+   */
+  public void offer(@NonNull ByteBuffer chunk) {
+    offer(chunk, NOOP);
+  }
+
+  /**
+   * Add content received from client, without copying it. Called by server on every read. Given
+   * buffer is a view of server memory, which is released once the content has been consumed or
+   * dropped.
+   *
+   * @param chunk Content.
+   * @param release Release server memory. Called once, from any thread.
+   */
+  public void offer(@NonNull ByteBuffer chunk, @NonNull Runnable release) {
+    if (!chunk.hasRemaining()) {
+      release.run();
+      return;
+    }
+    lock.lock();
+    try {
+      if (discarded || completed || failure != null) {
+        release.run();
+        return;
+      }
+      queue.add(new Chunk(chunk, release));
+      queued += chunk.remaining();
+      if (!paused && queued >= HIGH_WATERMARK) {
+        paused = true;
+        flowControl.pause();
+      }
+      available.signalAll();
+    } finally {
+      lock.unlock();
+    }
+    drain();
+  }
+
+  /** Mark the end of the body. Called by server once the last chunk has been offered. */
+  public void complete() {
+    lock.lock();
+    try {
+      completed = true;
+      available.signalAll();
+    } finally {
+      lock.unlock();
+    }
+    drain();
+  }
+
+  /**
+   * Abort the body. Called by server when the connection is closed or reading fails. Pending and
+   * future reads fail with the given cause.
+   *
+   * @param cause Failure.
+   */
+  public void fail(@NonNull Throwable cause) {
+    lock.lock();
+    try {
+      if (!completed && failure == null) {
+        failure = cause;
+        available.signalAll();
+      }
+    } finally {
+      lock.unlock();
+    }
+    drain();
+  }
+
+  /**
+   * Drop queued and future content, resuming reads from the connection if required. Called by
+   * server once the response has been sent, so a handler that doesn't consume the body doesn't
+   * leave the connection suspended.
+   */
+  public void discard() {
+    lock.lock();
+    try {
+      discarded = true;
+      Chunk chunk;
+      while ((chunk = queue.poll()) != null) {
+        chunk.release.run();
+      }
+      queued = 0;
+      resumeIfPaused();
+      available.signalAll();
+    } finally {
+      lock.unlock();
+    }
+    drain();
+  }
+
+  @Override
+  public boolean isInMemory() {
+    return false;
+  }
+
+  @Override
+  public long getSize() {
+    return contentLength;
+  }
+
+  @NonNull @Override
+  public byte[] bytes() {
+    try (InputStream in = stream()) {
+      return in.readAllBytes();
+    } catch (IOException x) {
+      throw SneakyThrows.propagate(x);
+    }
+  }
+
+  @NonNull @Override
+  public ReadableByteChannel channel() {
+    return Channels.newChannel(stream());
+  }
+
+  @NonNull @Override
+  public InputStream stream() {
+    lock.lock();
+    try {
+      if (stream == null) {
+        if (subscriber != null) {
+          throw new IllegalStateException("Body was already consumed");
+        }
+        stream = new QueueInputStream();
+      }
+      return stream;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @NonNull @Override
+  public Flow.Publisher<ByteBuffer> publisher() {
+    return this;
+  }
+
+  @Override
+  public void subscribe(Flow.Subscriber<? super ByteBuffer> subscriber) {
+    lock.lock();
+    boolean consumed;
+    try {
+      consumed = stream != null || this.subscriber != null;
+      if (!consumed) {
+        this.subscriber = subscriber;
+      }
+    } finally {
+      lock.unlock();
+    }
+    if (consumed) {
+      subscriber.onSubscribe(new Subscription(true));
+      subscriber.onError(new IllegalStateException("Body was already consumed"));
+    } else {
+      subscriber.onSubscribe(new Subscription(false));
+      drain();
+    }
+  }
+
+  @NonNull @Override
+  public String value() {
+    return value(StandardCharsets.UTF_8);
+  }
+
+  @NonNull @Override
+  public ValueNode get(@NonNull int index) {
+    return index == 0 ? this : get(Integer.toString(index));
+  }
+
+  @NonNull @Override
+  public ValueNode get(@NonNull String name) {
+    return Value.missing(name);
+  }
+
+  @Override
+  public String name() {
+    return "body";
+  }
+
+  @NonNull @Override
+  public <T> T to(@NonNull Type type) {
+    return ctx.decode(type, ctx.getRequestType(MediaType.text));
+  }
+
+  @Nullable @Override
+  public <T> T toNullable(@NonNull Type type) {
+    return ctx.decode(type, ctx.getRequestType(MediaType.text));
+  }
+
+  @NonNull @Override
+  public List<String> toList() {
+    return Collections.singletonList(value());
+  }
+
+  @Override
+  public Map<String, List<String>> toMultimap() {
+    return Collections.emptyMap();
+  }
+
+  /* Must be called while holding the lock. */
+  private void consumed(long bytes) {
+    queued -= bytes;
+    if (queued <= HIGH_WATERMARK / 2) {
+      resumeIfPaused();
+    }
+  }
+
+  /* Must be called while holding the lock. */
+  private void resumeIfPaused() {
+    if (paused) {
+      paused = false;
+      flowControl.resume();
+    }
+  }
+
+  private void drain() {
+    Flow.Subscriber<? super ByteBuffer> subscriber = this.subscriber;
+    if (subscriber == null || wip.getAndIncrement() != 0) {
+      return;
+    }
+    do {
+      while (true) {
+        Chunk next = null;
+        Throwable error = null;
+        boolean complete = false;
+        lock.lock();
+        try {
+          if (!terminated && demand > 0 && !queue.isEmpty()) {
+            next = queue.poll();
+            demand -= 1;
+            consumed(next.buffer.remaining());
+          } else if (!terminated
+              && queue.isEmpty()
+              && (completed || failure != null || discarded)) {
+            terminated = true;
+            error = failure;
+            complete = error == null;
+          }
+        } finally {
+          lock.unlock();
+        }
+        if (next != null) {
+          subscriber.onNext(publish(next));
+        } else if (error != null) {
+          subscriber.onError(error);
+          break;
+        } else if (complete) {
+          subscriber.onComplete();
+          break;
+        } else {
+          // no demand or no content
+          break;
+        }
+      }
+    } while (wip.decrementAndGet() != 0);
+  }
+
+  private static ByteBuffer publish(Chunk chunk) {
+    if (chunk.release == NOOP) {
+      return chunk.buffer;
+    }
+    // subscriber owns the buffer, server memory can't be handed off
+    ByteBuffer copy = ByteBuffer.allocate(chunk.buffer.remaining()).put(chunk.buffer).flip();
+    chunk.release.run();
+    return copy;
+  }
+
+  private class Subscription implements Flow.Subscription {
+    private final boolean cancelled;
+
+    Subscription(boolean cancelled) {
+      this.cancelled = cancelled;
+    }
+
+    @Override
+    public void request(long n) {
+      if (cancelled) {
+        return;
+      }
+      if (n <= 0) {
+        cancel();
+        subscriber.onError(new IllegalArgumentException("Non-positive request: " + n));
+        return;
+      }
+      lock.lock();
+      try {
+        demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+      } finally {
+        lock.unlock();
+      }
+      drain();
+    }
+
+    @Override
+    public void cancel() {
+      if (cancelled) {
+        return;
+      }
+      lock.lock();
+      try {
+        terminated = true;
+      } finally {
+        lock.unlock();
+      }
+      discard();
+    }
+  }
+
+  private class QueueInputStream extends InputStream {
+    @Override
+    public int read() throws IOException {
+      byte[] b = new byte[1];
+      int len = read(b, 0, 1);
+      return len == -1 ? -1 : b[0] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      if (len == 0) {
+        return 0;
+      }
+      lock.lock();
+      try {
+        Chunk current;
+        while ((current = queue.peek()) == null) {
+          if (discarded) {
+            return -1;
+          }
+          if (failure != null) {
+            throw failure instanceof IOException
+                ? (IOException) failure
+                : new IOException("Failed to read request body", failure);
+          }
+          if (completed) {
+            return -1;
+          }
+          try {
+            available.await();
+          } catch (InterruptedException x) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+          }
+        }
+        int n = Math.min(len, current.buffer.remaining());
+        current.buffer.get(b, off, n);
+        if (!current.buffer.hasRemaining()) {
+          queue.poll();
+          current.release.run();
+        }
+        consumed(n);
+        return n;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    @Override
+    public int available() {
+      lock.lock();
+      try {
+        return (int) Math.min(Integer.MAX_VALUE, queued);
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    @Override
+    public void close() {
+      discard();
+    }
+  }
+}
@@ -5,11 +5,14 @@
  */
 package io.jooby;
 
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
+import io.jooby.internal.LayeredMap;
 
 /**
  * Template engine renderer. This class renderer instances of {@link ModelAndView} objects. Template
@@ -36,17 +39,41 @@ public interface TemplateEngine extends MessageEncoder {
    */
   String render(Context ctx, ModelAndView modelAndView) throws Exception;
 
+  /**
+   * Render a model and view instance straight into the response output, <code>UTF-8</code> encoded.
+   * Small pages are sent as a single response, large pages are flushed progressively to the server
+   * response buffers. Implementations must not close the output.
+   *
+   * <p>Default implementation does nothing and returns <code>false</code>, so the template is
+   * rendered with {@link #render(Context, ModelAndView)}.
+   *
+   * @param ctx Web context.
+   * @param modelAndView Model and view.
+   * @param output Response output.
+   * @return True when the template was written to the output, false when this engine doesn't
+   *     support streaming.
+   * @throws Exception If something goes wrong.
+   */
+  default boolean render(
+      @NonNull Context ctx, @NonNull ModelAndView modelAndView, @NonNull OutputStream output)
+      throws Exception {
+    return false;
+  }
+
   @Override
   default byte[] encode(@NonNull Context ctx, @NonNull Object value) throws Exception {
-    // initialize flash and session attributes (if any)
-    ctx.flash();
-    ctx.sessionOrNull();
-
-    ctx.setDefaultResponseType(MediaType.html);
+    initialize(ctx);
     String output = render(ctx, (ModelAndView) value);
     return output.getBytes(StandardCharsets.UTF_8);
   }
 
+  @Override
+  default boolean encode(@NonNull Context ctx, @NonNull Object value, @NonNull OutputStream output)
+      throws Exception {
+    initialize(ctx);
+    return render(ctx, (ModelAndView) value, output);
+  }
+
   /**
    * True if the template engine is able to render the given view. This method checks if the view
    * name matches one of the {@link #extensions()}.
@@ -74,6 +101,28 @@ public interface TemplateEngine extends MessageEncoder {
     return Collections.singletonList(".html");
   }
 
+  private static void initialize(Context ctx) {
+    // initialize flash and session attributes (if any)
+    ctx.flash();
+    ctx.sessionOrNull();
+
+    ctx.setDefaultResponseType(MediaType.html);
+  }
+
+  /**
+   * Template model: {@link ModelAndView#getModel()} on top of {@link Context#getAttributes()}. The
+   * returned map is a view, attributes and model are not copied. Writes made by templates go to
+   * the view, never to the model or attributes.
+   *
+   * @param ctx Web context.
+   * @param modelAndView Model and view.
+   * @return Template model.
+   */
+  static @NonNull Map<String, Object> model(
+      @NonNull Context ctx, @NonNull ModelAndView modelAndView) {
+    return new LayeredMap(modelAndView.getModel(), ctx.getAttributes());
+  }
+
   /**
    * Normalize a template path by removing the leading `/` when present.
    *
@@ -0,0 +1,123 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import io.jooby.internal.DirectoryWatcher;
+
+/**
+ * Compiled template cache keyed by view name. Used by {@link TemplateEngine template engines} to
+ * skip template lookup and compilation on each request.
+ *
+ * <p>The cache is bounded: once full, an existing template is evicted for each new one. Use {@link
+ * #create(Jooby, Path)} to get a cache setup for the application environment.
+ *
+ * @param <T> Compiled template type.
+ * @since 3.0.0
+ */
+public class ViewCache<T> {
+
+  /** Default maximum number of templates: <code>1024</code>. */
+  public static final int MAX_SIZE = 1024;
+
+  private final ConcurrentHashMap<String, T> templates = new ConcurrentHashMap<>();
+
+  private final int maxSize;
+
+  /** Creates a cache with default {@link #MAX_SIZE}. */
+  public ViewCache() {
+    this(MAX_SIZE);
+  }
+
+  /**
+   * Creates a cache.
+   *
+   * @param maxSize Maximum number of templates. Zero turns off caching.
+   */
+  public ViewCache(int maxSize) {
+    if (maxSize < 0) {
+      throw new IllegalArgumentException("maxSize should be greater or equal to 0");
+    }
+    this.maxSize = maxSize;
+  }
+
+  /**
+   * Get a compiled template, compiles and caches the template when missing.
+   *
+   * @param view View name.
+   * @param compiler Template compiler.
+   * @return Compiled template.
+   */
+  public @NonNull T get(@NonNull String view, @NonNull SneakyThrows.Function<String, T> compiler) {
+    T template = templates.get(view);
+    if (template == null) {
+      if (maxSize == 0) {
+        return compiler.apply(view);
+      }
+      if (templates.size() >= maxSize) {
+        evict();
+      }
+      template = templates.computeIfAbsent(view, compiler);
+    }
+    return template;
+  }
+
+  /** Remove all the compiled templates. */
+  public void invalidate() {
+    templates.clear();
+  }
+
+  /**
+   * Number of compiled templates.
+   *
+   * @return Number of compiled templates.
+   */
+  public int size() {
+    return templates.size();
+  }
+
+  private void evict() {
+    Iterator<String> iterator = templates.keySet().iterator();
+    if (iterator.hasNext()) {
+      iterator.next();
+      iterator.remove();
+    }
+  }
+
+  /**
+   * Creates a view cache for the given application. Templates are cached in every environment.
+   * While running in <code>dev</code> and when the template directory exists, the cache is
+   * invalidated each time a file under the template directory changes.
+   *
+   * @param application Application.
+   * @param directory Template directory.
+   * @param <T> Compiled template type.
+   * @return A view cache.
+   */
+  public static @NonNull <T> ViewCache<T> create(
+      @NonNull Jooby application, @NonNull Path directory) {
+    if (application.getEnvironment().isActive("dev") && Files.isDirectory(directory)) {
+      try {
+        ViewCache<T> cache = new ViewCache<>();
+        DirectoryWatcher watcher = new DirectoryWatcher(directory, cache::invalidate);
+        application.onStarted(() -> watcher.start("view-cache"));
+        application.onStop(watcher);
+        return cache;
+      } catch (IOException x) {
+        // changes can't be detected, compile on each request so they are picked up
+        application.getLog().warn("unable to watch: {}, templates won't be cached", directory, x);
+        return new ViewCache<>(0);
+      }
+    }
+    return new ViewCache<>();
+  }
+}
@@ -0,0 +1,70 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * Virtual thread support. Jooby is compiled against Java 17, so virtual threads are looked up at
+ * runtime and only available on Java 21 or higher. Java 19/20 are reported as not supported, they
+ * require preview features.
+ *
+ * @since 3.0.0
+ */
+public final class VirtualThreads {
+  private static final MethodHandle NEW_EXECUTOR = newExecutorHandle();
+
+  private VirtualThreads() {}
+
+  /**
+   * True when virtual threads are available.
+   *
+   * @return True when virtual threads are available.
+   */
+  public static boolean isSupported() {
+    return NEW_EXECUTOR != null;
+  }
+
+  /**
+   * Creates an executor that starts a new virtual thread per task.
+   *
+   * @return A new executor.
+   * @throws UnsupportedOperationException When virtual threads are not available.
+   */
+  public static @NonNull ExecutorService newExecutor() {
+    if (NEW_EXECUTOR == null) {
+      throw new UnsupportedOperationException(
+          "Virtual threads require Java 21 or higher, found: " + Runtime.version().feature());
+    }
+    try {
+      return (ExecutorService) NEW_EXECUTOR.invoke();
+    } catch (Throwable x) {
+      throw SneakyThrows.propagate(x);
+    }
+  }
+
+  private static MethodHandle newExecutorHandle() {
+    if (Runtime.version().feature() < 21) {
+      // Java 19/20 have the method, but it fails unless preview features are enabled
+      return null;
+    }
+    try {
+      return MethodHandles.publicLookup()
+          .findStatic(
+              Executors.class,
+              "newVirtualThreadPerTaskExecutor",
+              MethodType.methodType(ExecutorService.class));
+    } catch (NoSuchMethodException | IllegalAccessException x) {
+      return null;
+    }
+  }
+}
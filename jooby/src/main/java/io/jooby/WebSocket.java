@@ -10,6 +10,7 @@ import java.util.Map;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
+import io.jooby.internal.WebSocketSender;
 
 /**
  * Websocket. Usage:
@@ -193,6 +194,73 @@ public interface WebSocket {
    */
   void forEach(SneakyThrows.Consumer<WebSocket> callback);
 
+  /**
+   * Encode a value once and send it as text message to all the live sessions (including this).
+   *
+   * <pre>{@code
+   * ws.broadcast(new ChatMessage(...));
+   * }</pre>
+   *
+   * @param value Value to send.
+   * @return This websocket.
+   */
+  default @NonNull WebSocket broadcast(@NonNull Object value) {
+    return broadcast(value, WriteCallback.NOOP);
+  }
+
+  /**
+   * Encode a value once and send it as text message to all the live sessions (including this).
+   * Sending is asynchronous, the callback is notified once per recipient with the recipient
+   * websocket and write error (if any).
+   *
+   * @param value Value to send.
+   * @param callback Write callback.
+   * @return This websocket.
+   */
+  default @NonNull WebSocket broadcast(@NonNull Object value, @NonNull WriteCallback callback) {
+    byte[] message = encode(value, false);
+    forEach(ws -> ws.send(message, callback));
+    return this;
+  }
+
+  /**
+   * Encode a value once and send it as binary message to all the live sessions (including this).
+   *
+   * @param value Value to send.
+   * @return This websocket.
+   */
+  default @NonNull WebSocket broadcastBinary(@NonNull Object value) {
+    return broadcastBinary(value, WriteCallback.NOOP);
+  }
+
+  /**
+   * Encode a value once and send it as binary message to all the live sessions (including this).
+   * Sending is asynchronous, the callback is notified once per recipient with the recipient
+   * websocket and write error (if any).
+   *
+   * @param value Value to send.
+   * @param callback Write callback.
+   * @return This websocket.
+   */
+  default @NonNull WebSocket broadcastBinary(
+      @NonNull Object value, @NonNull WriteCallback callback) {
+    byte[] message = encode(value, true);
+    forEach(ws -> ws.sendBinary(message, callback));
+    return this;
+  }
+
+  /**
+   * Encode a value with the route encoder, the same way {@link #render(Object)} does. Broadcast
+   * uses it to encode a message once for all the sessions.
+   *
+   * @param value Value to encode.
+   * @param binary True for a binary message.
+   * @return Encoded value.
+   */
+  default @NonNull byte[] encode(@NonNull Object value, boolean binary) {
+    return new WebSocketSender(getContext(), this, binary, WriteCallback.NOOP).encode(value);
+  }
+
   /**
    * Send a text message to client.
    *
@@ -52,4 +52,23 @@ public @interface Transactional {
    * }</pre>
    */
   String ATTRIBUTE = Transactional.class.getSimpleName();
+
+  /**
+   * Context attribute where {@code TransactionalRequest} reports how long (in nanoseconds) the
+   * current request held a connection/transaction. The attribute is absent when the route didn't
+   * use one.
+   *
+   * <pre>{@code
+   * {
+   *   use(next -> ctx -> {
+   *     ctx.onComplete(context -> {
+   *       Long holdTime = context.getAttribute(Transactional.HOLD_TIME);
+   *       ...
+   *     });
+   *     return next.apply(ctx);
+   *   });
+   * }
+   * }</pre>
+   */
+  String HOLD_TIME = "transactional.holdTime";
 }
@@ -11,11 +11,13 @@ import java.net.JarURLConnection;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Base64;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
 import io.jooby.MediaType;
 import io.jooby.SneakyThrows;
 import io.jooby.internal.FileAsset;
@@ -111,4 +113,14 @@ public interface Asset extends AutoCloseable {
    * @return Asset content.
    */
   InputStream stream();
+
+  /**
+   * File channel for assets backed by a file on local disk. Servers send file channels using
+   * zero-copy transfer (sendfile) when possible.
+   *
+   * @return Asset content as file channel or <code>null</code> when the asset isn't a local file.
+   */
+  default @Nullable FileChannel channel() {
+    return null;
+  }
 }
@@ -7,15 +7,19 @@ package io.jooby.handler;
 
 import static java.util.Objects.requireNonNull;
 
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 import java.util.function.Function;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
+import io.jooby.ByteRange;
 import io.jooby.Context;
 import io.jooby.Route;
 import io.jooby.StatusCode;
+import io.jooby.internal.handler.AssetCache;
 
 /**
  * Handler for static resources represented by the {@link Asset} contract.
@@ -38,6 +42,8 @@ public class AssetHandler implements Route.Handler {
 
   private Function<String, CacheControl> cacheControl = path -> defaults;
 
+  private AssetCache cache;
+
   /**
    * Creates a new asset handler that fallback to the given fallback asset when the asset is not
    * found. Instead of produces a <code>404</code> its fallback to the given asset.
@@ -71,9 +77,22 @@ public class AssetHandler implements Route.Handler {
   public Object apply(@NonNull Context ctx) throws Exception {
     final String resolvedPath;
     String filepath = ctx.pathMap().getOrDefault(filekey, "index.html");
+    AssetCache cache = this.cache;
+    if (cache != null) {
+      AssetCache.Entry entry = cache.get(filepath);
+      if (entry != null) {
+        return send(ctx, filepath, entry);
+      }
+    }
     Asset asset = resolve(filepath);
     if (asset == null) {
       if (fallback != null) {
+        if (cache != null) {
+          AssetCache.Entry entry = cache.get(fallback);
+          if (entry != null) {
+            return send(ctx, fallback, entry);
+          }
+        }
         asset = resolve(fallback);
       }
       // Still null?
@@ -87,29 +106,84 @@ public class AssetHandler implements Route.Handler {
       resolvedPath = filepath;
     }
 
+    if (cache != null) {
+      AssetCache.Entry entry = cache.load(resolvedPath, asset, this::resolve);
+      if (entry != null) {
+        return send(ctx, resolvedPath, entry);
+      }
+    }
+
+    if (notModified(ctx, resolvedPath, asset.getEtag(), asset.getLastModified())) {
+      asset.close();
+      return ctx;
+    }
+
+    long length = asset.getSize();
+    if (length != -1) {
+      ctx.setResponseLength(length);
+    }
+    ctx.setResponseType(asset.getContentType());
+    FileChannel channel = asset.channel();
+    if (channel != null) {
+      return ctx.send(channel);
+    }
+    return ctx.send(asset.stream());
+  }
+
+  private Object send(Context ctx, String resolvedPath, AssetCache.Entry entry) {
+    String range = ctx.header("Range").value((String) null);
+    String encoding = null;
+    if (entry.isCompressed()) {
+      ctx.setResponseHeader("Vary", "Accept-Encoding");
+      // byte ranges are served from the identity content
+      if (range == null) {
+        encoding = entry.encoding(ctx.header("Accept-Encoding").value((String) null));
+      }
+    }
+    if (notModified(ctx, resolvedPath, entry.getEtag(encoding), entry.getLastModified())) {
+      return ctx;
+    }
+    if (encoding != null) {
+      ctx.setResponseHeader("Content-Encoding", encoding);
+    }
+    ByteBuffer content = entry.content(encoding);
+    ctx.setResponseType(entry.getContentType());
+    ByteRange byteRange = ByteRange.parse(range, content.remaining()).apply(ctx);
+    if (byteRange.getStatusCode() == StatusCode.PARTIAL_CONTENT) {
+      int start = (int) byteRange.getStart();
+      content.position(start).limit(start + (int) byteRange.getContentLength());
+    } else {
+      ctx.setResponseLength(content.remaining());
+    }
+    return ctx.send(content);
+  }
+
+  /**
+   * Handle conditional headers and set cache headers.
+   *
+   * @return True when a <code>304</code> response was sent.
+   */
+  private boolean notModified(Context ctx, String resolvedPath, String etag, long lastModified) {
     CacheControl cacheParams = cacheControl.apply(resolvedPath);
 
     // handle If-None-Match
     if (cacheParams.isEtag()) {
       String ifnm = ctx.header("If-None-Match").value((String) null);
-      if (ifnm != null && ifnm.equals(asset.getEtag())) {
+      if (ifnm != null && ifnm.equals(etag)) {
         ctx.send(StatusCode.NOT_MODIFIED);
-        asset.close();
-        return ctx;
+        return true;
       } else {
-        ctx.setResponseHeader("ETag", asset.getEtag());
+        ctx.setResponseHeader("ETag", etag);
       }
     }
 
     // Handle If-Modified-Since
     if (cacheParams.isLastModified()) {
-      long lastModified = asset.getLastModified();
       if (lastModified > 0) {
         long ifms = ctx.header("If-Modified-Since").longValue(-1);
         if (lastModified / ONE_SEC <= ifms / ONE_SEC) {
           ctx.send(StatusCode.NOT_MODIFIED);
-          asset.close();
-          return ctx;
+          return true;
         }
         ctx.setResponseHeader("Last-Modified", Instant.ofEpochMilli(lastModified));
       }
@@ -121,13 +195,28 @@ public class AssetHandler implements Route.Handler {
     } else if (cacheParams.getMaxAge() == CacheControl.NO_CACHE) {
       ctx.setResponseHeader("Cache-Control", "no-store, must-revalidate");
     }
+    return false;
+  }
 
-    long length = asset.getSize();
-    if (length != -1) {
-      ctx.setResponseLength(length);
-    }
-    ctx.setResponseType(asset.getContentType());
-    return ctx.send(asset.stream());
+  /**
+   * Keep assets in memory, up to the given number of bytes. Cached assets are served from
+   * (read-only) direct buffers, with precomputed e-tag, last modified and content type. Least
+   * recently used assets are evicted first. Assets larger than a quarter of the cache size are
+   * never cached.
+   *
+   * <p>Textual assets are gzipped once, when loaded. Precompressed <code>.br</code> and <code>.gz
+   * </code> siblings (like <code>app.js.br</code>) are loaded too. Compressed content is sent when
+   * accepted by the client, see <code>Accept-Encoding</code>.
+   *
+   * <p>Cached assets are never reloaded, so this is intended for immutable assets (usually
+   * packaged inside a jar). Off by default.
+   *
+   * @param maxMemory Max number of bytes to keep in memory or <code>0</code> to turn off caching.
+   * @return This handler.
+   */
+  public AssetHandler setCacheSize(long maxMemory) {
+    this.cache = maxMemory > 0 ? new AssetCache(maxMemory) : null;
+    return this;
   }
 
   /**
@@ -7,8 +7,8 @@ package io.jooby.handler;
 
 import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
@@ -18,6 +18,7 @@ import io.jooby.Context;
 import io.jooby.Route;
 import io.jooby.SneakyThrows;
 import io.jooby.StatusCode;
+import io.jooby.internal.handler.RateLimitTable;
 
 /**
  * Rate limit handler using https://github.com/vladimir-bukhtoyarov/bucket4j.
@@ -73,12 +74,46 @@ import io.jooby.StatusCode;
  * }
  * }</pre>
  *
+ * Example 5: 10 requests per minute per IP address using the built-in token bucket (bucket4j is
+ * not required):
+ *
+ * <pre>{@code
+ * {
+ *   before(RateLimitHandler.of(10, Duration.ofMinutes(1)));
+ * }
+ * }</pre>
+ *
+ * <p>Per key rate limiters keep one bucket per key in a bounded table. Least recently used keys
+ * are evicted when the table is full (see {@link #setMaxKeys(int)}) and idle keys are evicted
+ * after {@link #setIdleTimeout(Duration)}. Hits, rejections and evictions are available via
+ * {@link #getHits()}, {@link #getRejections()} and {@link #getEvictions()}.
+ *
  * @author edgar
  * @since 2.5.2
  */
 public class RateLimitHandler implements Route.Before {
 
-  private final Function<Context, Bucket> factory;
+  /** Default max number of keys for per key rate limiters. */
+  public static final int DEFAULT_MAX_KEYS = 100_000;
+
+  private interface Limiter {
+    /**
+     * Try to consume one token, set rate limit response headers.
+     *
+     * @param ctx Web context.
+     * @return True when consumed.
+     * @throws Exception If something goes wrong.
+     */
+    boolean tryConsume(Context ctx) throws Exception;
+  }
+
+  private final Limiter limiter;
+
+  private final RateLimitTable<?> table;
+
+  private final LongAdder hits = new LongAdder();
+
+  private final LongAdder rejections = new LongAdder();
 
   /**
    * Rate limit per IP/Remote Address.
@@ -109,7 +144,16 @@ public class RateLimitHandler implements Route.Before {
   public RateLimitHandler(
       @NonNull SneakyThrows.Function<String, Bucket> bucketFactory,
       @NonNull SneakyThrows.Function<Context, String> classifier) {
-    this(byKey(bucketFactory, classifier));
+    this(new RateLimitTable<Bucket>(DEFAULT_MAX_KEYS, 0), bucketFactory, classifier);
+  }
+
+  private RateLimitHandler(
+      RateLimitTable<Bucket> table,
+      SneakyThrows.Function<String, Bucket> bucketFactory,
+      SneakyThrows.Function<Context, String> classifier) {
+    this(
+        new BucketLimiter(ctx -> table.slot(classifier.apply(ctx), bucketFactory, 0).getValue()),
+        table);
   }
 
   /**
@@ -118,11 +162,61 @@ public class RateLimitHandler implements Route.Before {
    * @param bucket Bucket to use.
    */
   public RateLimitHandler(@NonNull Bucket bucket) {
-    this((Function<Context, Bucket>) ctx -> bucket);
+    this(new BucketLimiter(ctx -> bucket), null);
   }
 
-  private RateLimitHandler(Function<Context, Bucket> factory) {
-    this.factory = factory;
+  private RateLimitHandler(Limiter limiter, RateLimitTable<?> table) {
+    this.limiter = limiter;
+    this.table = table;
+  }
+
+  /**
+   * Rate limiter per IP/Remote address using the built-in token bucket. The bucket starts full
+   * and refills <code>permits</code> tokens every <code>period</code>. State is one primitive
+   * <code>long</code> per key.
+   *
+   * @param permits Number of requests allowed per period.
+   * @param period Period.
+   * @return Rate limiter.
+   */
+  public static @NonNull RateLimitHandler of(long permits, @NonNull Duration period) {
+    return of(permits, period, Context::getRemoteAddress);
+  }
+
+  /**
+   * Rate limiter per header key using the built-in token bucket.
+   *
+   * @param permits Number of requests allowed per period.
+   * @param period Period.
+   * @param headerName Header to use as key.
+   * @return Rate limiter.
+   */
+  public static @NonNull RateLimitHandler of(
+      long permits, @NonNull Duration period, @NonNull String headerName) {
+    return of(permits, period, ctx -> ctx.header(headerName).value());
+  }
+
+  /**
+   * Rate limiter per key using the built-in token bucket.
+   *
+   * @param permits Number of requests allowed per period.
+   * @param period Period.
+   * @param classifier Key provider.
+   * @return Rate limiter.
+   */
+  public static @NonNull RateLimitHandler of(
+      long permits,
+      @NonNull Duration period,
+      @NonNull SneakyThrows.Function<Context, String> classifier) {
+    if (permits <= 0) {
+      throw new IllegalArgumentException("Permits must be greater than zero: " + permits);
+    }
+    if (period.isNegative() || period.isZero()) {
+      throw new IllegalArgumentException("Period must be greater than zero: " + period);
+    }
+    RateLimitTable<Void> table = new RateLimitTable<>(DEFAULT_MAX_KEYS, 0);
+    return new RateLimitHandler(
+        new TokenLimiter(table, classifier, permits, period.toNanos()), table);
   }
 
   /**
@@ -159,28 +253,149 @@ public class RateLimitHandler implements Route.Before {
       @NonNull SneakyThrows.Function<String, Bucket> proxyManager,
       @NonNull SneakyThrows.Function<Context, String> classifier) {
     return new RateLimitHandler(
-        (Function<Context, Bucket>) ctx -> proxyManager.apply(classifier.apply(ctx)));
+        new BucketLimiter(ctx -> proxyManager.apply(classifier.apply(ctx))), null);
+  }
+
+  /**
+   * Set the max number of keys (buckets) kept in memory. Least recently used keys are evicted
+   * once this limit is reached. Default is: {@link #DEFAULT_MAX_KEYS}. Only for per key rate
+   * limiters.
+   *
+   * @param maxKeys Max number of keys.
+   * @return This handler.
+   */
+  public @NonNull RateLimitHandler setMaxKeys(int maxKeys) {
+    keyedTable().setCapacity(maxKeys);
+    return this;
+  }
+
+  /**
+   * Evict keys (buckets) that haven't been used for the given duration. Default is: no idle
+   * timeout. Only for per key rate limiters.
+   *
+   * @param idleTimeout Idle timeout.
+   * @return This handler.
+   */
+  public @NonNull RateLimitHandler setIdleTimeout(@NonNull Duration idleTimeout) {
+    keyedTable().setIdleTimeout(idleTimeout.toMillis());
+    return this;
+  }
+
+  /**
+   * Number of accepted requests.
+   *
+   * @return Number of accepted requests.
+   */
+  public long getHits() {
+    return hits.sum();
+  }
+
+  /**
+   * Number of rejected requests.
+   *
+   * @return Number of rejected requests.
+   */
+  public long getRejections() {
+    return rejections.sum();
+  }
+
+  /**
+   * Number of evicted keys (buckets). Always zero for global or cluster rate limiters.
+   *
+   * @return Number of evicted keys.
+   */
+  public long getEvictions() {
+    return table == null ? 0 : table.getEvictions();
   }
 
   @Override
   public void apply(@NonNull Context ctx) throws Exception {
-    Bucket bucket = factory.apply(ctx);
-    // tryConsume returns false immediately if no tokens available with the bucket
-    ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(1);
-    if (probe.isConsumed()) {
-      ctx.setResponseHeader("X-Rate-Limit-Remaining", probe.getRemainingTokens());
+    if (limiter.tryConsume(ctx)) {
+      hits.increment();
     } else {
-      ctx.setResponseHeader(
-          "X-Rate-Limit-Retry-After-Milliseconds",
-          NANOSECONDS.toMillis(probe.getNanosToWaitForRefill()));
+      rejections.increment();
       ctx.send(StatusCode.TOO_MANY_REQUESTS);
     }
   }
 
-  private static Function<Context, Bucket> byKey(
-      SneakyThrows.Function<String, Bucket> bucketFactory,
-      SneakyThrows.Function<Context, String> classifier) {
-    Map<String, Bucket> buckets = new ConcurrentHashMap<>();
-    return ctx -> buckets.computeIfAbsent(classifier.apply(ctx), bucketFactory);
+  private RateLimitTable<?> keyedTable() {
+    if (table == null) {
+      throw new IllegalStateException("Not a per key rate limiter");
+    }
+    return table;
+  }
+
+  private static class BucketLimiter implements Limiter {
+    private final Function<Context, Bucket> factory;
+
+    BucketLimiter(Function<Context, Bucket> factory) {
+      this.factory = factory;
+    }
+
+    @Override
+    public boolean tryConsume(Context ctx) {
+      Bucket bucket = factory.apply(ctx);
+      // tryConsume returns false immediately if no tokens available with the bucket
+      ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(1);
+      if (probe.isConsumed()) {
+        ctx.setResponseHeader("X-Rate-Limit-Remaining", probe.getRemainingTokens());
+        return true;
+      } else {
+        ctx.setResponseHeader(
+            "X-Rate-Limit-Retry-After-Milliseconds",
+            NANOSECONDS.toMillis(probe.getNanosToWaitForRefill()));
+        return false;
+      }
+    }
+  }
+
+  /**
+   * Token bucket implemented as a generic cell rate algorithm (GCRA). The only state per key is
+   * the theoretical arrival time (TAT) of the next request, updated with compare and set.
+   */
+  private static class TokenLimiter implements Limiter {
+    private final RateLimitTable<Void> table;
+
+    private final SneakyThrows.Function<Context, String> classifier;
+
+    /** Time to earn one token. */
+    private final long interval;
+
+    /** Max time the TAT can be ahead of now (burst). */
+    private final long tolerance;
+
+    TokenLimiter(
+        RateLimitTable<Void> table,
+        SneakyThrows.Function<Context, String> classifier,
+        long permits,
+        long period) {
+      this.table = table;
+      this.classifier = classifier;
+      this.interval = Math.max(1, period / permits);
+      this.tolerance = interval * (permits - 1);
+    }
+
+    @Override
+    public boolean tryConsume(Context ctx) {
+      RateLimitTable.Slot<Void> slot =
+          table.slot(classifier.apply(ctx), key -> null, Long.MIN_VALUE);
+      while (true) {
+        long now = System.nanoTime();
+        long state = slot.getState();
+        long tat = state == Long.MIN_VALUE || state - now < 0 ? now : state;
+        long wait = tat - now - tolerance;
+        if (wait > 0) {
+          ctx.setResponseHeader(
+              "X-Rate-Limit-Retry-After-Milliseconds", NANOSECONDS.toMillis(wait));
+          return false;
+        }
+        long next = tat + interval;
+        if (slot.compareAndSet(state, next)) {
+          ctx.setResponseHeader(
+              "X-Rate-Limit-Remaining", (tolerance - (next - now - interval)) / interval);
+          return true;
+        }
+      }
+    }
   }
 }
@@ -6,10 +6,11 @@
 package io.jooby.internal;
 
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -88,9 +89,70 @@ class Chi implements RouteTree {
     }
   }
 
+  /** Well-known HTTP methods, indexed by {@link #methodOrdinal(String)}. */
+  private static final List<String> METHODS =
+      List.of(
+          Router.GET,
+          Router.POST,
+          Router.PUT,
+          Router.DELETE,
+          Router.PATCH,
+          Router.HEAD,
+          Router.OPTIONS,
+          Router.TRACE,
+          Router.WS,
+          Router.SSE);
+
+  private static int methodOrdinal(String method) {
+    switch (method) {
+      case Router.GET:
+        return 0;
+      case Router.POST:
+        return 1;
+      case Router.PUT:
+        return 2;
+      case Router.DELETE:
+        return 3;
+      case Router.PATCH:
+        return 4;
+      case Router.HEAD:
+        return 5;
+      case Router.OPTIONS:
+        return 6;
+      case Router.TRACE:
+        return 7;
+      case Router.WS:
+        return 8;
+      case Router.SSE:
+        return 9;
+      default:
+        return -1;
+    }
+  }
+
   static class StaticRoute {
     private MethodMatcher matcher;
 
+    // frozen matchers, indexed by method ordinal
+    private StaticRouterMatch[] methods;
+
+    public StaticRouterMatch get(String method) {
+      if (methods != null) {
+        int ordinal = methodOrdinal(method);
+        if (ordinal >= 0) {
+          return methods[ordinal];
+        }
+      }
+      return matcher.get(method);
+    }
+
+    void freeze() {
+      methods = new StaticRouterMatch[METHODS.size()];
+      for (int i = 0; i < methods.length; i++) {
+        methods[i] = matcher.get(METHODS.get(i));
+      }
+    }
+
     public void put(String method, Route route) {
       if (matcher == null) {
         matcher = new SingleMethodMatcher();
@@ -136,11 +198,14 @@ class Chi implements RouteTree {
     String prefix;
 
     // regexp matcher for regexp nodes
-    Pattern rex;
+    SegmentMatcher rex;
 
     // HTTP handler endpoints on the leaf node
     Map<String, Route> endpoints;
 
+    // frozen HTTP handler endpoints, indexed by method ordinal
+    Route[] methods;
+
     // subroutes on the leaf node
     // Routes subroutes;
 
@@ -325,7 +390,7 @@ class Chi implements RouteTree {
 
           if (segTyp == ntRegexp) {
             child.prefix = seg.rexPat;
-            child.rex = Pattern.compile(seg.rexPat);
+            child.rex = SegmentMatcher.create(seg.rexPat);
           }
 
           if (segStartIdx == 0) {
@@ -433,30 +498,31 @@ class Chi implements RouteTree {
     }
 
     // Recursive edge traversal by checking all nodeTyp groups along the way.
-    // It's like searching through a multi-dimensional radix trie.
-    Route findRoute(RouterMatch rctx, String method, String path) {
-
+    // It's like searching through a multi-dimensional radix trie. The search key is the
+    // remaining of path starting at offset, path variables are captured as offsets too.
+    Route findRoute(RouterMatch rctx, String method, String path, int offset) {
+      int len = path.length();
       for (int ntyp = 0; ntyp < NODE_SIZE; ntyp++) {
         Node[] nds = this.children[ntyp];
         if (nds != null) {
           Node xn = null;
-          String xsearch = path;
+          int xsearch = offset;
 
-          char label = path.length() > 0 ? path.charAt(0) : ZERO_CHAR;
+          char label = offset < len ? path.charAt(offset) : ZERO_CHAR;
 
           switch (ntyp) {
             case ntStatic:
               xn = findEdge(nds, label);
-              if (xn == null || !xsearch.startsWith(xn.prefix)) {
+              if (xn == null || !path.startsWith(xn.prefix, xsearch)) {
                 continue;
               }
-              xsearch = xsearch.substring(xn.prefix.length());
+              xsearch += xn.prefix.length();
               break;
 
             case ntParam:
             case ntRegexp:
               // short-circuit and return no matching route for empty param values
-              if (xsearch.length() == 0) {
+              if (xsearch == len) {
                 continue;
               }
               // serially loop through each node grouped by the tail delimiter
@@ -464,33 +530,33 @@ class Chi implements RouteTree {
                 xn = nds[idx];
 
                 // label for param nodes is the delimiter byte
-                int p = xsearch.indexOf(xn.tail);
+                int p = path.indexOf(xn.tail, xsearch);
 
                 if (p < 0) {
                   if (xn.tail == '/') {
-                    p = xsearch.length();
+                    p = len;
                   } else {
                     continue;
                   }
                 }
 
                 if (ntyp == ntRegexp && xn.rex != null) {
-                  if (!xn.rex.matcher(xsearch.substring(0, p)).matches()) {
+                  if (!xn.rex.matches(path, xsearch, p)) {
                     continue;
                   }
-                } else if (xsearch.substring(0, p).indexOf('/') != -1) {
+                } else if (xn.tail != '/' && hasSlash(path, xsearch, p)) {
                   // avoid a newRuntimeRoute across path segments
                   continue;
                 }
 
                 // rctx.routeParams.Values = append(rctx.routeParams.Values, xsearch[:p])
-                int prevlen = rctx.vars.size();
-                rctx.value(xsearch.substring(0, p));
-                xsearch = xsearch.substring(p);
+                int prevlen = rctx.size();
+                rctx.value(xsearch, p);
+                xsearch = p;
 
-                if (xsearch.length() == 0) {
+                if (xsearch == len) {
                   if (xn.isLeaf()) {
-                    Route h = xn.endpoints.get(method);
+                    Route h = xn.endpoint(method);
                     if (h != null) {
                       rctx.key(h.getPathKeys());
                       return h;
@@ -500,24 +566,24 @@ class Chi implements RouteTree {
                 }
 
                 // recursively find the next node on this branch
-                Route fin = xn.findRoute(rctx, method, xsearch);
+                Route fin = xn.findRoute(rctx, method, path, xsearch);
                 if (fin != null) {
                   return fin;
                 }
 
                 // not found on this branch, reset vars
                 rctx.truncate(prevlen);
-                xsearch = path;
+                xsearch = offset;
               }
               break;
             default:
               // catch-all nodes
               // rctx.routeParams.Values = append(rctx.routeParams.Values, search)
-              if (xsearch.length() > 0) {
-                rctx.value(xsearch);
+              if (xsearch < len) {
+                rctx.value(xsearch, len);
               }
               xn = nds[0];
-              xsearch = EMPTY_STRING;
+              xsearch = len;
           }
 
           if (xn == null) {
@@ -525,9 +591,9 @@ class Chi implements RouteTree {
           }
 
           // did we returnType it yet?
-          if (xsearch.length() == 0) {
+          if (xsearch == len) {
             if (xn.isLeaf()) {
-              Route h = xn.endpoints.get(method);
+              Route h = xn.endpoint(method);
               if (h != null) {
                 // rctx.routeParams.Keys = append(rctx.routeParams.Keys, h.paramKeys...)
                 rctx.key(h.getPathKeys());
@@ -541,7 +607,7 @@ class Chi implements RouteTree {
           }
 
           // recursively returnType the next node..
-          Route fin = xn.findRoute(rctx, method, xsearch);
+          Route fin = xn.findRoute(rctx, method, path, xsearch);
           if (fin != null) {
             return fin;
           }
@@ -560,6 +626,15 @@ class Chi implements RouteTree {
       return null;
     }
 
+    private static boolean hasSlash(String path, int start, int end) {
+      for (int i = start; i < end; i++) {
+        if (path.charAt(i) == '/') {
+          return true;
+        }
+      }
+      return false;
+    }
+
     Node findEdge(Node[] ns, char label) {
       int num = ns.length;
       int idx = 0;
@@ -584,6 +659,33 @@ class Chi implements RouteTree {
       return endpoints != null;
     }
 
+    Route endpoint(String method) {
+      if (methods != null) {
+        int ordinal = methodOrdinal(method);
+        if (ordinal >= 0) {
+          return methods[ordinal];
+        }
+      }
+      return endpoints.get(method);
+    }
+
+    void freeze() {
+      if (endpoints != null) {
+        endpoints = new HashMap<>(endpoints);
+        methods = new Route[METHODS.size()];
+        for (int i = 0; i < methods.length; i++) {
+          methods[i] = endpoints.get(METHODS.get(i));
+        }
+      }
+      for (Node[] nds : children) {
+        if (nds != null) {
+          for (Node nd : nds) {
+            nd.freeze();
+          }
+        }
+      }
+    }
+
     // longestPrefix finds the filesize of the shared prefix of two strings
     int longestPrefix(String k1, String k2) {
       int len = Math.min(k1.length(), k2.length());
@@ -726,7 +828,75 @@ class Chi implements RouteTree {
    */
   private final Map<Object, StaticRoute> staticPaths = new ConcurrentHashMap<>();
 
+  /** Immutable snapshot of static paths, available once the tree has been frozen. */
+  private StaticTable staticTable;
+
+  /**
+   * Open addressing table of static paths. Table size is chosen (when possible) so there is no
+   * collision between keys, lookup is then a single array access plus string comparison.
+   */
+  private static class StaticTable {
+    private final String[] keys;
+
+    private final StaticRoute[] values;
+
+    private final int mask;
+
+    StaticTable(Map<Object, StaticRoute> paths) {
+      int capacity = Integer.highestOneBit(Math.max(paths.size(), 1) * 2 - 1) << 1;
+      // try to find a perfect hash table, use linear probing otherwise
+      int limit = capacity << 3;
+      while (capacity < limit && !collisionFree(paths, capacity - 1)) {
+        capacity <<= 1;
+      }
+      this.keys = new String[capacity];
+      this.values = new StaticRoute[capacity];
+      this.mask = capacity - 1;
+      for (Map.Entry<Object, StaticRoute> e : paths.entrySet()) {
+        String key = (String) e.getKey();
+        int i = hash(key) & mask;
+        while (keys[i] != null) {
+          i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = e.getValue();
+      }
+    }
+
+    StaticRoute get(String path) {
+      int i = hash(path) & mask;
+      String key;
+      while ((key = keys[i]) != null) {
+        if (key.equals(path)) {
+          return values[i];
+        }
+        i = (i + 1) & mask;
+      }
+      return null;
+    }
+
+    private static boolean collisionFree(Map<Object, StaticRoute> paths, int mask) {
+      boolean[] used = new boolean[mask + 1];
+      for (Object key : paths.keySet()) {
+        int i = hash((String) key) & mask;
+        if (used[i]) {
+          return false;
+        }
+        used[i] = true;
+      }
+      return true;
+    }
+
+    private static int hash(String key) {
+      int h = key.hashCode();
+      return h ^ (h >>> 16);
+    }
+  }
+
   public void insert(String method, String pattern, Route route) {
+    if (staticTable != null) {
+      throw new IllegalStateException("Route tree is frozen: " + method + " " + pattern);
+    }
     String baseCatchAll = baseCatchAll(pattern);
     if (baseCatchAll.length() > 1) {
       // Add route pattern: /static/?* => /static
@@ -760,25 +930,38 @@ class Chi implements RouteTree {
     root.destroy();
   }
 
+  /**
+   * Freeze the route tree: static paths are moved to an immutable hash table and node endpoints are
+   * indexed by method ordinal. No routes can be added after this call.
+   */
+  public void freeze() {
+    if (staticTable == null) {
+      staticPaths.values().forEach(StaticRoute::freeze);
+      root.freeze();
+      staticTable = new StaticTable(staticPaths);
+    }
+  }
+
   public boolean exists(String method, String path) {
     return find(method, path).matches();
   }
 
   @Override
   public Router.Match find(String method, String path) {
-    StaticRoute staticRoute = staticPaths.get(path);
+    StaticTable table = this.staticTable;
+    StaticRoute staticRoute = table == null ? staticPaths.get(path) : table.get(path);
     if (staticRoute == null) {
       return findInternal(method, path);
     } else {
-      StaticRouterMatch match = staticRoute.matcher.get(method);
+      StaticRouterMatch match = staticRoute.get(method);
       return match == null ? findInternal(method, path) : match;
     }
   }
 
   private Router.Match findInternal(String method, String path) {
     // use radix tree
-    RouterMatch result = new RouterMatch();
-    Route route = root.findRoute(result, method, path);
+    RouterMatch result = new RouterMatch(path);
+    Route route = root.findRoute(result, method, path, 0);
     if (route == null) {
       return result.missing(method, path, encoder);
     }
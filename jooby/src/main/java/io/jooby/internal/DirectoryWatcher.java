@@ -0,0 +1,89 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Watch a directory tree and run an action on every change. Events are processed by a daemon
+ * thread, until {@link #close()}.
+ */
+public class DirectoryWatcher implements Runnable, AutoCloseable {
+  private final Logger log = LoggerFactory.getLogger(getClass());
+
+  private final WatchService watcher;
+
+  private final Runnable onChange;
+
+  public DirectoryWatcher(Path directory, Runnable onChange) throws IOException {
+    this.watcher = directory.getFileSystem().newWatchService();
+    this.onChange = onChange;
+    register(directory);
+  }
+
+  public void start(String name) {
+    Thread thread = new Thread(this, name);
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  @Override
+  public void run() {
+    try {
+      while (true) {
+        WatchKey key = watcher.take();
+        Path dir = (Path) key.watchable();
+        for (WatchEvent<?> event : key.pollEvents()) {
+          if (event.kind() == ENTRY_CREATE) {
+            Path path = dir.resolve((Path) event.context());
+            if (Files.isDirectory(path)) {
+              register(path);
+            }
+          }
+        }
+        key.reset();
+        onChange.run();
+      }
+    } catch (InterruptedException x) {
+      Thread.currentThread().interrupt();
+    } catch (ClosedWatchServiceException x) {
+      // stopped
+    } catch (IOException x) {
+      log.error("directory watcher stopped", x);
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    watcher.close();
+  }
+
+  private void register(Path directory) throws IOException {
+    List<Path> directories;
+    try (Stream<Path> tree = Files.walk(directory)) {
+      directories = tree.filter(Files::isDirectory).collect(Collectors.toList());
+    }
+    for (Path dir : directories) {
+      dir.register(watcher, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY);
+    }
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import io.jooby.Context;
+import io.jooby.DispatchListener;
+import io.jooby.Route;
+
+public class DispatchListenerList implements DispatchListener {
+  private final DispatchListener[] listeners;
+
+  public DispatchListenerList(DispatchListener... listeners) {
+    this.listeners = listeners;
+  }
+
+  @NonNull @Override
+  public DispatchListener forRoute(@NonNull Route route, @NonNull String executor) {
+    DispatchListener[] result = new DispatchListener[listeners.length];
+    for (int i = 0; i < listeners.length; i++) {
+      result[i] = listeners[i].forRoute(route, executor);
+    }
+    return new DispatchListenerList(result);
+  }
+
+  @NonNull @Override
+  public DispatchListener then(@NonNull DispatchListener next) {
+    DispatchListener[] result = new DispatchListener[listeners.length + 1];
+    System.arraycopy(listeners, 0, result, 0, listeners.length);
+    result[listeners.length] = next;
+    return new DispatchListenerList(result);
+  }
+
+  @Override
+  public void onEnqueue(@NonNull Context ctx, @NonNull String executor) {
+    for (DispatchListener listener : listeners) {
+      listener.onEnqueue(ctx, executor);
+    }
+  }
+
+  @Override
+  public void onStart(@NonNull Context ctx, @NonNull String executor, long waitNanos)
+      throws Exception {
+    // notify everyone, so listeners see balanced start/end calls when one of them rejects
+    Exception failure = null;
+    for (DispatchListener listener : listeners) {
+      try {
+        listener.onStart(ctx, executor, waitNanos);
+      } catch (Exception x) {
+        if (failure == null) {
+          failure = x;
+        }
+      }
+    }
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
+  @Override
+  public void onEnd(@NonNull Context ctx, @NonNull String executor, long runNanos) {
+    for (DispatchListener listener : listeners) {
+      listener.onEnd(ctx, executor, runNanos);
+    }
+  }
+
+  @Override
+  public void onReject(@NonNull Context ctx, @NonNull String executor, @NonNull Throwable cause) {
+    for (DispatchListener listener : listeners) {
+      listener.onReject(ctx, executor, cause);
+    }
+  }
+}
@@ -0,0 +1,146 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import io.jooby.Context;
+import io.jooby.ServerOptions;
+
+/**
+ * Output used by streaming {@link io.jooby.MessageEncoder encoders}.
+ *
+ * <p>Output is buffered up to {@link ServerOptions#_16KB}. If the encoded value fits in the buffer,
+ * it is sent as a single (fixed length) response without copying the buffer. Otherwise, the
+ * buffer is flushed to {@link Context#responseStream()} and the rest of the value is written
+ * straight to the server output (chunked response).
+ *
+ * <p>Response stream is blocking, so when running in the IO thread the whole value is buffered.
+ *
+ * <p>Calling {@link #close()} has no effect, so a failing encoder can't commit a partial response
+ * by closing the stream. Caller must call {@link #send()} once encoding completes. Nothing is sent
+ * if the encoder already sent the response by itself. If encoding fails, caller must call {@link
+ * #abort()}: buffered output is discarded, so the error handler is free to send an error response;
+ * but once output went to the response stream, the response can't be completed and the connection
+ * is closed.
+ */
+public class EncoderOutputStream extends OutputStream {
+  private static final int INITIAL_SIZE = 1024;
+
+  private static final int MAX_BUFFER_SIZE = ServerOptions._16KB;
+
+  private final Context ctx;
+
+  private final boolean blocking;
+
+  private byte[] buffer;
+
+  private int count;
+
+  private OutputStream out;
+
+  public EncoderOutputStream(@NonNull Context ctx) {
+    this.ctx = ctx;
+    this.blocking = !ctx.isInIoThread();
+  }
+
+  @Override
+  public void write(int b) throws IOException {
+    if (out != null) {
+      out.write(b);
+    } else {
+      ensureCapacity(1);
+      if (out == null) {
+        buffer[count++] = (byte) b;
+      } else {
+        out.write(b);
+      }
+    }
+  }
+
+  @Override
+  public void write(@NonNull byte[] b, int off, int len) throws IOException {
+    if (out != null) {
+      out.write(b, off, len);
+    } else {
+      ensureCapacity(len);
+      if (out == null) {
+        System.arraycopy(b, off, buffer, count, len);
+        count += len;
+      } else {
+        out.write(b, off, len);
+      }
+    }
+  }
+
+  @Override
+  public void flush() throws IOException {
+    // while buffering, flush is ignored: it would force a chunked response
+    if (out != null) {
+      out.flush();
+    }
+  }
+
+  @Override
+  public void close() {
+    // NOOP, see send()
+  }
+
+  /**
+   * Complete the response. Buffered content is sent as a single response, otherwise response
+   * stream is closed.
+   *
+   * @throws IOException If something goes wrong.
+   */
+  public void send() throws IOException {
+    if (out == null) {
+      // encoder might send the response by itself
+      if (!ctx.isResponseStarted()) {
+        ctx.send(buffer == null ? ByteBuffer.allocate(0) : ByteBuffer.wrap(buffer, 0, count));
+      }
+    } else {
+      out.close();
+    }
+    buffer = null;
+  }
+
+  /**
+   * Discard buffered output after an encoding failure. If output was already written to the
+   * response stream, the connection is {@link Context#abort() aborted}.
+   */
+  public void abort() {
+    buffer = null;
+    count = 0;
+    if (out != null) {
+      out = null;
+      ctx.abort();
+    }
+  }
+
+  private void ensureCapacity(int len) throws IOException {
+    int size = count + len;
+    if (buffer == null) {
+      buffer = new byte[Math.max(INITIAL_SIZE, Math.min(size, MAX_BUFFER_SIZE))];
+    }
+    if (size > buffer.length) {
+      if (blocking && size > MAX_BUFFER_SIZE) {
+        // switch to response stream
+        out = ctx.responseStream();
+        out.write(buffer, 0, count);
+        buffer = null;
+        count = 0;
+      } else {
+        int newSize = Math.max(buffer.length << 1, size);
+        byte[] newBuffer = new byte[blocking ? Math.min(newSize, MAX_BUFFER_SIZE) : newSize];
+        System.arraycopy(buffer, 0, newBuffer, 0, count);
+        buffer = newBuffer;
+      }
+    }
+  }
+}
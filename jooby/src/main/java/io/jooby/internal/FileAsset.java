@@ -8,6 +8,7 @@ package io.jooby.internal;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 
@@ -68,6 +69,15 @@ public class FileAsset implements Asset {
     }
   }
 
+  @Override
+  public FileChannel channel() {
+    try {
+      return FileChannel.open(file);
+    } catch (IOException x) {
+      throw SneakyThrows.propagate(x);
+    }
+  }
+
   @Override
   public void close() {
     // NOOP
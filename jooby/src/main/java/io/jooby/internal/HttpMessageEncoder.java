@@ -7,6 +7,7 @@ package io.jooby.internal;
 
 import java.io.File;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
@@ -47,13 +48,7 @@ public class HttpMessageEncoder implements MessageEncoder {
   @Override
   public byte[] encode(@NonNull Context ctx, @NonNull Object value) throws Exception {
     if (value instanceof ModelAndView) {
-      ModelAndView modelAndView = (ModelAndView) value;
-      for (TemplateEngine engine : templateEngineList) {
-        if (engine.supports(modelAndView)) {
-          return engine.encode(ctx, modelAndView);
-        }
-      }
-      throw new IllegalArgumentException("No template engine for: " + modelAndView.getView());
+      return templateEngine((ModelAndView) value).encode(ctx, value);
     }
     /** InputStream: */
     if (value instanceof InputStream) {
@@ -99,16 +94,75 @@ public class HttpMessageEncoder implements MessageEncoder {
       return null;
     }
     if (encoders != null) {
-      // Content negotiation, find best:
-      List<MediaType> produces = ctx.getRoute().getProduces();
-      if (produces.isEmpty()) {
-        produces = new ArrayList<>(encoders.keySet());
-      }
-      MediaType type = ctx.accept(produces);
-      MessageEncoder encoder = encoders.getOrDefault(type, MessageEncoder.TO_STRING);
-      return encoder.encode(ctx, value);
+      return negotiate(ctx).encode(ctx, value);
     } else {
       return MessageEncoder.TO_STRING.encode(ctx, value);
     }
   }
+
+  @Override
+  public boolean encode(@NonNull Context ctx, @NonNull Object value, @NonNull OutputStream output)
+      throws Exception {
+    if (value instanceof ModelAndView) {
+      return templateEngine((ModelAndView) value).encode(ctx, value, output);
+    }
+    if (encoders == null || isBuiltIn(value)) {
+      return false;
+    }
+    MessageEncoder encoder = negotiate(ctx);
+    if (!encoder.encode(ctx, value, output)) {
+      byte[] bytes = encoder.encode(ctx, value);
+      if (bytes == null) {
+        if (!ctx.isResponseStarted()) {
+          throw new IllegalStateException("The response was not encoded");
+        }
+      } else {
+        ctx.send(bytes);
+      }
+    }
+    return true;
+  }
+
+  /**
+   * True when the value might be encoded by the streaming {@link #encode(Context, Object,
+   * OutputStream)} method. Built-in values are always sent as they are.
+   *
+   * @param value Value to encode.
+   * @return True when the value might be streamed.
+   */
+  public boolean isStreaming(@NonNull Object value) {
+    return value instanceof ModelAndView || (encoders != null && !isBuiltIn(value));
+  }
+
+  private TemplateEngine templateEngine(ModelAndView modelAndView) {
+    for (TemplateEngine engine : templateEngineList) {
+      if (engine.supports(modelAndView)) {
+        return engine;
+      }
+    }
+    throw new IllegalArgumentException("No template engine for: " + modelAndView.getView());
+  }
+
+  private MessageEncoder negotiate(Context ctx) {
+    // Content negotiation, find best:
+    List<MediaType> produces = ctx.getRoute().getProduces();
+    if (produces.isEmpty()) {
+      produces = new ArrayList<>(encoders.keySet());
+    }
+    MediaType type = ctx.accept(produces);
+    return encoders.getOrDefault(type, MessageEncoder.TO_STRING);
+  }
+
+  private static boolean isBuiltIn(Object value) {
+    return value instanceof InputStream
+        || value instanceof StatusCode
+        || value instanceof FileChannel
+        || value instanceof File
+        || value instanceof Path
+        || value instanceof FileDownload
+        || value instanceof CharSequence
+        || value instanceof Number
+        || value instanceof byte[]
+        || value instanceof ByteBuffer;
+  }
 }
@@ -0,0 +1,124 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import io.jooby.ServerOptions;
+
+/**
+ * Publish the content of an input stream as byte buffers. Reads are blocking and happen on the
+ * thread that requests data. Single subscriber only.
+ */
+public class InputStreamPublisher implements Flow.Publisher<ByteBuffer> {
+  private static final int BUFFER_SIZE = ServerOptions._16KB;
+
+  private final Supplier<InputStream> source;
+
+  private final AtomicBoolean subscribed = new AtomicBoolean();
+
+  public InputStreamPublisher(Supplier<InputStream> source) {
+    this.source = source;
+  }
+
+  @Override
+  public void subscribe(Flow.Subscriber<? super ByteBuffer> subscriber) {
+    if (subscribed.compareAndSet(false, true)) {
+      subscriber.onSubscribe(new StreamSubscription(subscriber));
+    } else {
+      subscriber.onSubscribe(CancelledSubscription.INSTANCE);
+      subscriber.onError(new IllegalStateException("Body was already consumed"));
+    }
+  }
+
+  private class StreamSubscription implements Flow.Subscription {
+    private final Flow.Subscriber<? super ByteBuffer> subscriber;
+
+    private final AtomicLong demand = new AtomicLong();
+
+    private final AtomicInteger wip = new AtomicInteger();
+
+    private volatile boolean done;
+
+    private InputStream in;
+
+    StreamSubscription(Flow.Subscriber<? super ByteBuffer> subscriber) {
+      this.subscriber = subscriber;
+    }
+
+    @Override
+    public void request(long n) {
+      if (n <= 0) {
+        cancel();
+        subscriber.onError(new IllegalArgumentException("Non-positive request: " + n));
+        return;
+      }
+      demand.getAndAccumulate(n, (a, b) -> a + b < 0 ? Long.MAX_VALUE : a + b);
+      drain();
+    }
+
+    @Override
+    public void cancel() {
+      done = true;
+      close();
+    }
+
+    private void drain() {
+      if (wip.getAndIncrement() != 0) {
+        return;
+      }
+      do {
+        while (!done && demand.get() > 0) {
+          try {
+            if (in == null) {
+              in = source.get();
+            }
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int len = in.read(buffer);
+            if (len == -1) {
+              done = true;
+              close();
+              subscriber.onComplete();
+            } else {
+              demand.decrementAndGet();
+              subscriber.onNext(ByteBuffer.wrap(buffer, 0, len));
+            }
+          } catch (Throwable x) {
+            done = true;
+            close();
+            subscriber.onError(x);
+          }
+        }
+      } while (wip.decrementAndGet() != 0);
+    }
+
+    private void close() {
+      try {
+        if (in != null) {
+          in.close();
+        }
+      } catch (Exception x) {
+        // ignored
+      }
+    }
+  }
+
+  static class CancelledSubscription implements Flow.Subscription {
+    static final CancelledSubscription INSTANCE = new CancelledSubscription();
+
+    @Override
+    public void request(long n) {}
+
+    @Override
+    public void cancel() {}
+  }
+}
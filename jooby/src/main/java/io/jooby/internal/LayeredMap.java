@@ -0,0 +1,124 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Read through view of two maps, values from <code>top</code> take precedence over values from
+ * <code>bottom</code>. Nothing is copied on lookup. Iteration (or size) merges both maps once.
+ *
+ * <p>Writes (and removals) go to a local map (created on first write) on top of both maps, so the
+ * source maps are never modified.
+ */
+public class LayeredMap extends AbstractMap<String, Object> {
+  /** Marks a key removed from this view. */
+  private static final Object REMOVED = new Object();
+
+  private final Map<String, Object> top;
+
+  private final Map<String, Object> bottom;
+
+  private Map<String, Object> local;
+
+  private Map<String, Object> merged;
+
+  public LayeredMap(Map<String, Object> top, Map<String, Object> bottom) {
+    this.top = top;
+    this.bottom = bottom;
+  }
+
+  @Override
+  public Object get(Object key) {
+    if (local != null && local.containsKey(key)) {
+      Object value = local.get(key);
+      return value == REMOVED ? null : value;
+    }
+    Object value = top.get(key);
+    if (value != null || top.containsKey(key)) {
+      return value;
+    }
+    return bottom.get(key);
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    if (local != null && local.containsKey(key)) {
+      return local.get(key) != REMOVED;
+    }
+    return top.containsKey(key) || bottom.containsKey(key);
+  }
+
+  @Override
+  public Object put(String key, Object value) {
+    if (local == null) {
+      local = new HashMap<>();
+    }
+    Object previous = get(key);
+    local.put(key, value);
+    merged = null;
+    return previous;
+  }
+
+  @Override
+  public Object remove(Object key) {
+    if (!containsKey(key)) {
+      return null;
+    }
+    Object previous = get(key);
+    if (top.containsKey(key) || bottom.containsKey(key)) {
+      if (local == null) {
+        local = new HashMap<>();
+      }
+      local.put((String) key, REMOVED);
+    } else {
+      // only present in local
+      local.remove(key);
+    }
+    merged = null;
+    return previous;
+  }
+
+  @Override
+  public int size() {
+    return merged().size();
+  }
+
+  @Override
+  public boolean isEmpty() {
+    if (local == null) {
+      return top.isEmpty() && bottom.isEmpty();
+    }
+    return merged().isEmpty();
+  }
+
+  @Override
+  public Set<Entry<String, Object>> entrySet() {
+    return merged().entrySet();
+  }
+
+  private Map<String, Object> merged() {
+    if (merged == null) {
+      Map<String, Object> result = new HashMap<>(bottom);
+      result.putAll(top);
+      if (local != null) {
+        for (Entry<String, Object> entry : local.entrySet()) {
+          if (entry.getValue() == REMOVED) {
+            result.remove(entry.getKey());
+          } else {
+            result.put(entry.getKey(), entry.getValue());
+          }
+        }
+      }
+      merged = Collections.unmodifiableMap(result);
+    }
+    return merged;
+  }
+}
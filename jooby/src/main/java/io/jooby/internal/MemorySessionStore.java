@@ -6,21 +6,32 @@
 package io.jooby.internal;
 
 import java.time.Duration;
-import java.util.Iterator;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 
 import io.jooby.Context;
+import io.jooby.Router;
 import io.jooby.Session;
 import io.jooby.SessionStore;
 import io.jooby.SessionToken;
 
+/**
+ * Memory session store. Expired sessions are detected on lookup (constant time) and reclaimed by a
+ * sweep that runs on the application {@link Router#getWorker() worker} at most once per {@link
+ * #MAX_PURGE_INTERVAL} (or timeout, when shorter).
+ */
 public class MemorySessionStore extends SessionStore.InMemory {
 
+  private static final long MAX_PURGE_INTERVAL = Duration.ofMinutes(1).toMillis();
+
   private ConcurrentHashMap<String, Data> sessions = new ConcurrentHashMap<>();
 
+  private final AtomicLong nextPurge = new AtomicLong();
+
   private Duration timeout;
 
   public MemorySessionStore(SessionToken token, Duration timeout) {
@@ -35,7 +46,15 @@ public class MemorySessionStore extends SessionStore.InMemory {
 
   @Override
   protected Data getOrNull(String sessionId) {
-    return sessions.get(sessionId);
+    Data data = sessions.get(sessionId);
+    Duration timeout = this.timeout;
+    if (data != null
+        && timeout != null
+        && data.isExpired(System.currentTimeMillis(), timeout.toMillis())) {
+      sessions.remove(sessionId, data);
+      return null;
+    }
+    return data;
   }
 
   @Override
@@ -50,24 +69,51 @@ public class MemorySessionStore extends SessionStore.InMemory {
 
   @Override
   public Session findSession(Context ctx) {
-    purge();
+    purge(ctx);
     return super.findSession(ctx);
   }
 
-  /** Check for expired session and delete them. */
-  private void purge() {
+  /**
+   * Schedule a sweep of expired sessions, when the purge interval has elapsed.
+   *
+   * @param ctx Web context.
+   */
+  private void purge(Context ctx) {
+    Duration timeout = this.timeout;
     if (timeout != null) {
-      Iterator<Map.Entry<String, Data>> iterator = sessions.entrySet().iterator();
-      while (iterator.hasNext()) {
-        Map.Entry<String, Data> entry = iterator.next();
-        Data session = entry.getValue();
-        if (session.isExpired(timeout)) {
-          iterator.remove();
+      long now = System.currentTimeMillis();
+      long next = nextPurge.get();
+      if (now >= next) {
+        long timeoutMillis = timeout.toMillis();
+        long interval = Math.min(timeoutMillis, MAX_PURGE_INTERVAL);
+        if (nextPurge.compareAndSet(next, now + interval)) {
+          worker(ctx).execute(() -> purge(timeoutMillis));
         }
       }
     }
   }
 
+  private static Executor worker(Context ctx) {
+    Router router = ctx.getRouter();
+    // contexts created outside of an application (mostly tests) sweep in the caller thread
+    return router == null ? Runnable::run : router.getWorker();
+  }
+
+  /**
+   * Check for expired session and delete them.
+   *
+   * @param timeout Timeout in millis.
+   */
+  private void purge(long timeout) {
+    long now = System.currentTimeMillis();
+    for (Map.Entry<String, Data> entry : sessions.entrySet()) {
+      Data session = entry.getValue();
+      if (session.isExpired(now, timeout)) {
+        sessions.remove(entry.getKey(), session);
+      }
+    }
+  }
+
   public SessionStore setTimeout(Duration timeout) {
     this.timeout = timeout;
     return this;
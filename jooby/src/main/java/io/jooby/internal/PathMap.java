@@ -0,0 +1,154 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Path variables captured by {@link Chi} while matching a request path. Captures are recorded as
+ * start/end offsets into the original path, so matching does not create a map entry (nor a
+ * substring) per variable. Values are materialized on first read.
+ *
+ * <p>Variables are positional until {@link #keys(List)} is called, which happens once a route
+ * matches. Before that, this map is empty.
+ */
+class PathMap extends AbstractMap<String, String> {
+  private static final int INITIAL_CAPACITY = 4;
+
+  private final String path;
+
+  private int[] offsets = new int[INITIAL_CAPACITY * 2];
+
+  private int size;
+
+  private List<String> keys;
+
+  private String[] values;
+
+  private Set<Entry<String, String>> entrySet;
+
+  PathMap(String path) {
+    this.path = path;
+  }
+
+  void push(int start, int end) {
+    int i = size * 2;
+    if (i == offsets.length) {
+      int[] newOffsets = new int[offsets.length * 2];
+      System.arraycopy(offsets, 0, newOffsets, 0, offsets.length);
+      offsets = newOffsets;
+    }
+    offsets[i] = start;
+    offsets[i + 1] = end;
+    size += 1;
+  }
+
+  void pop() {
+    if (size > 0) {
+      size -= 1;
+    }
+  }
+
+  void truncate(int size) {
+    if (size < this.size) {
+      this.size = size;
+    }
+  }
+
+  int captures() {
+    return size;
+  }
+
+  void keys(List<String> keys) {
+    this.keys = keys;
+  }
+
+  @Override
+  public int size() {
+    return keys == null ? 0 : Math.min(keys.size(), size);
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return indexOf(key) >= 0;
+  }
+
+  @Override
+  public String get(Object key) {
+    int i = indexOf(key);
+    return i < 0 ? null : valueAt(i);
+  }
+
+  @Override
+  public Set<Entry<String, String>> entrySet() {
+    if (entrySet == null) {
+      entrySet = new EntrySet();
+    }
+    return entrySet;
+  }
+
+  private int indexOf(Object key) {
+    int size = size();
+    for (int i = 0; i < size; i++) {
+      if (keys.get(i).equals(key)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private String valueAt(int index) {
+    if (values == null) {
+      values = new String[size];
+    }
+    String value = values[index];
+    if (value == null) {
+      int i = index * 2;
+      value = path.substring(offsets[i], offsets[i + 1]);
+      values[index] = value;
+    }
+    return value;
+  }
+
+  private class EntrySet extends AbstractSet<Entry<String, String>> {
+    @Override
+    public Iterator<Entry<String, String>> iterator() {
+      return new Iterator<>() {
+        private int index;
+
+        @Override
+        public boolean hasNext() {
+          return index < size();
+        }
+
+        @Override
+        public Entry<String, String> next() {
+          if (!hasNext()) {
+            throw new NoSuchElementException();
+          }
+          int i = index++;
+          return new SimpleImmutableEntry<>(keys.get(i), valueAt(i));
+        }
+      };
+    }
+
+    @Override
+    public int size() {
+      return PathMap.this.size();
+    }
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal;
+
+import java.time.Duration;
+
+import org.slf4j.Logger;
+
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * Reports virtual thread pinning events (a virtual thread blocked while holding a monitor or inside
+ * a native frame). It requires the <code>jdk.jfr</code> module.
+ */
+final class PinningMonitor {
+  private PinningMonitor() {}
+
+  /**
+   * Report virtual thread pinning events to the given logger.
+   *
+   * @param log Logger.
+   * @return A handle that stops monitoring on close or <code>null</code> when JFR is not available.
+   */
+  public static AutoCloseable start(Logger log) {
+    try {
+      return Recorder.start(log);
+    } catch (LinkageError | Exception x) {
+      log.debug("virtual thread pinning events are not available", x);
+      return null;
+    }
+  }
+
+  /** Isolate JFR classes so they are loaded only when pinning monitoring is requested. */
+  private static class Recorder {
+    private static final String PINNED = "jdk.VirtualThreadPinned";
+
+    static AutoCloseable start(Logger log) {
+      RecordingStream stream = new RecordingStream();
+      stream.enable(PINNED).withThreshold(Duration.ofMillis(20)).withStackTrace();
+      stream.onEvent(
+          PINNED,
+          event -> {
+            RecordedThread thread = event.getThread();
+            RecordedStackTrace stackTrace = event.getStackTrace();
+            StringBuilder frames = new StringBuilder();
+            if (stackTrace != null) {
+              stackTrace
+                  .getFrames()
+                  .forEach(
+                      frame ->
+                          frames
+                              .append(System.lineSeparator())
+                              .append("\tat ")
+                              .append(frame.getMethod().getType().getName())
+                              .append('.')
+                              .append(frame.getMethod().getName())
+                              .append(':')
+                              .append(frame.getLineNumber()));
+            }
+            log.warn(
+                "virtual thread {} pinned its carrier for {}ms{}",
+                thread == null ? "?" : thread.getJavaName(),
+                event.getDuration().toMillis(),
+                frames);
+          });
+      stream.setReuse(true);
+      stream.startAsync();
+      return stream;
+    }
+  }
+}
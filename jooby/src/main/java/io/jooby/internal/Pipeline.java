@@ -18,12 +18,14 @@ import java.util.concurrent.Executor;
 import java.util.concurrent.Flow;
 
 import io.jooby.Context;
+import io.jooby.DispatchListener;
 import io.jooby.ExecutionMode;
 import io.jooby.Reified;
 import io.jooby.ResultHandler;
 import io.jooby.Route;
 import io.jooby.Route.Handler;
 import io.jooby.internal.handler.DispatchHandler;
+import io.jooby.internal.handler.InstrumentedDispatchHandler;
 import io.jooby.internal.handler.PostDispatchInitializerHandler;
 
 public class Pipeline {
@@ -34,6 +36,17 @@ public class Pipeline {
       Executor executor,
       ContextInitializer initializer,
       Set<ResultHandler> responseHandler) {
+    return build(route, mode, executor, initializer, responseHandler, "worker", null);
+  }
+
+  public static Handler build(
+      Route route,
+      ExecutionMode mode,
+      Executor executor,
+      ContextInitializer initializer,
+      Set<ResultHandler> responseHandler,
+      String executorName,
+      DispatchListener listener) {
     // Set default wrapper and blocking mode
     if (!route.isNonBlockingSet()) {
       route.setNonBlocking(isDefaultNonblocking(executor, mode));
@@ -84,8 +97,9 @@ public class Pipeline {
     } else {
       pipeline = route.getPipeline();
     }
+    Dispatch dispatch = new Dispatch(route, executor, executorName, listener);
     return dispatchHandler(
-        mode, executor, decorate(initializer, wrapper.then(pipeline)), route.isNonBlocking());
+        mode, dispatch, decorate(initializer, wrapper.then(pipeline)), route.isNonBlocking());
   }
 
   private static boolean isDefaultNonblocking(Executor executor, ExecutionMode mode) {
@@ -99,16 +113,37 @@ public class Pipeline {
   }
 
   private static Handler dispatchHandler(
-      ExecutionMode mode, Executor executor, Handler handler, boolean nonblocking) {
-    if (executor == null) {
+      ExecutionMode mode, Dispatch dispatch, Handler handler, boolean nonblocking) {
+    if (mode == ExecutionMode.VIRTUAL) {
+      // executor is the virtual thread executor, reactive/non-blocking routes stay on event loop
+      return nonblocking ? handler : dispatch.filter().apply(handler);
+    }
+    if (dispatch.executor() == null) {
       if (mode == ExecutionMode.WORKER) {
-        return WORKER.then(handler);
+        return dispatch.worker(handler);
       }
       if (mode == ExecutionMode.DEFAULT && !nonblocking) {
-        return WORKER.then(handler);
+        return dispatch.worker(handler);
       }
       return handler;
     }
-    return new DispatchHandler(executor).apply(handler);
+    return dispatch.filter().apply(handler);
+  }
+
+  private record Dispatch(
+      Route route, Executor executor, String executorName, DispatchListener listener) {
+    /** Dispatch to router worker. */
+    Handler worker(Handler handler) {
+      return listener == null ? WORKER.then(handler) : filter().apply(handler);
+    }
+
+    /** Dispatch to executor or to router worker when executor is null. */
+    Route.Filter filter() {
+      if (listener == null) {
+        return new DispatchHandler(executor);
+      }
+      return new InstrumentedDispatchHandler(
+          executor, executorName, listener.forRoute(route, executorName));
+    }
   }
 }
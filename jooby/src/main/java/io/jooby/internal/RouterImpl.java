@@ -27,6 +27,7 @@ import java.util.ServiceLoader;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.IntStream;
@@ -40,6 +41,7 @@ import edu.umd.cs.findbugs.annotations.NonNull;
 import io.jooby.BeanConverter;
 import io.jooby.Context;
 import io.jooby.Cookie;
+import io.jooby.DispatchListener;
 import io.jooby.Environment;
 import io.jooby.ErrorHandler;
 import io.jooby.ExecutionMode;
@@ -59,6 +61,7 @@ import io.jooby.ServiceRegistry;
 import io.jooby.SessionStore;
 import io.jooby.StatusCode;
 import io.jooby.ValueConverter;
+import io.jooby.VirtualThreads;
 import io.jooby.WebSocket;
 import io.jooby.exception.RegistryException;
 import io.jooby.exception.StatusCodeException;
@@ -160,6 +163,10 @@ public class RouterImpl implements Router {
 
   private Executor worker = new ForwardingExecutor();
 
+  private ExecutorService virtualWorker;
+
+  private AutoCloseable pinningMonitor;
+
   private Map<Route, Executor> routeExecutor = new HashMap<>();
 
   private Map<String, MessageDecoder> decoders = new HashMap<>();
@@ -182,6 +189,8 @@ public class RouterImpl implements Router {
 
   private ContextInitializer postDispatchInitializer;
 
+  private DispatchListener dispatchListener;
+
   private Set<RouterOption> routerOptions = EnumSet.of(RouterOption.RESET_HEADERS_ON_ERROR);
 
   private boolean trustProxy;
@@ -379,6 +388,12 @@ public class RouterImpl implements Router {
     return this;
   }
 
+  @NonNull @Override
+  public Router dispatchListener(@NonNull DispatchListener listener) {
+    this.dispatchListener = dispatchListener == null ? listener : dispatchListener.then(listener);
+    return this;
+  }
+
   @NonNull @Override
   public Router setDefaultWorker(@NonNull Executor worker) {
     ForwardingExecutor workerRef = (ForwardingExecutor) this.worker;
@@ -561,6 +576,19 @@ public class RouterImpl implements Router {
     }
 
     ExecutionMode mode = app.getExecutionMode();
+    if (mode == ExecutionMode.VIRTUAL) {
+      if (VirtualThreads.isSupported()) {
+        virtualWorker = VirtualThreads.newExecutor();
+        pinningMonitor = PinningMonitor.start(getLog());
+      } else {
+        getLog()
+            .warn(
+                "virtual threads require Java 21 or higher, found: {}. Using execution mode: {}",
+                Runtime.version().feature(),
+                ExecutionMode.DEFAULT.name().toLowerCase());
+        mode = ExecutionMode.DEFAULT;
+      }
+    }
     for (Route route : routes) {
       String executorKey = route.getExecutorKey();
       Executor executor;
@@ -600,16 +628,39 @@ public class RouterImpl implements Router {
         resultSet.addAll(resultHandlers);
       }
       ServiceLoader.load(ResultHandler.class).forEach(resultSet::add);
+      ExecutionMode routeMode = forceMode(route, mode);
+      if (routeMode == ExecutionMode.VIRTUAL) {
+        if (executor == null) {
+          executor = virtualWorker;
+        } else {
+          // explicit executor wins
+          routeMode = ExecutionMode.DEFAULT;
+        }
+      }
       /** Response handler: */
       Route.Handler pipeline =
           Pipeline.build(
-              route, forceMode(route, mode), executor, postDispatchInitializer, resultSet);
+              route,
+              routeMode,
+              executor,
+              postDispatchInitializer,
+              resultSet,
+              dispatchListener == null ? null : executorName(executorKey, executor),
+              dispatchListener);
       route.setPipeline(pipeline);
       /** Final render */
       route.setEncoder(encoder);
     }
     ((Chi) chi).setEncoder(encoder);
 
+    /** Freeze route tree: */
+    if (!routerOptions.contains(RouterOption.MUTABLE_ROUTE_TREE)) {
+      ((Chi) chi).freeze();
+      if (predicateMap != null) {
+        predicateMap.values().forEach(tree -> ((Chi) tree).freeze());
+      }
+    }
+
     /** router options: */
     if (routerOptions.contains(RouterOption.IGNORE_CASE)) {
       chi = new RouteTreeLowerCasePath(chi);
@@ -659,6 +710,18 @@ public class RouterImpl implements Router {
 
   public void destroy() {
     stopped = true;
+    if (pinningMonitor != null) {
+      try {
+        pinningMonitor.close();
+      } catch (Exception x) {
+        getLog().debug("failed to stop virtual thread pinning monitor", x);
+      }
+      pinningMonitor = null;
+    }
+    if (virtualWorker != null) {
+      virtualWorker.shutdown();
+      virtualWorker = null;
+    }
     routes.clear();
     routes = null;
     chi.destroy();
@@ -891,6 +954,33 @@ public class RouterImpl implements Router {
     predicateMap.put(predicate, tree);
   }
 
+  /** Name of route executor, for reporting. */
+  private String executorName(String executorKey, Executor executor) {
+    if (executorKey != null) {
+      return executorKey;
+    }
+    if (executor == null) {
+      return "worker";
+    }
+    if (executor == virtualWorker) {
+      return "virtual";
+    }
+    if (worker instanceof ForwardingExecutor forwarding && forwarding.executor == executor) {
+      return "worker";
+    }
+    // look at registered instances only, providers might be lazy or have side effects
+    for (Map.Entry<ServiceKey<?>, Provider<?>> service : services.entrySet()) {
+      ServiceKey<?> key = service.getKey();
+      if (key.getType() == Executor.class
+          && key.getName() != null
+          && service.getValue() instanceof ServiceRegistryImpl.Singleton<?> singleton
+          && singleton.service == executor) {
+        return key.getName();
+      }
+    }
+    return executor.getClass().getSimpleName();
+  }
+
   private void removePreDispatchInitializer(ContextInitializer initializer) {
     if (this.preDispatchInitializer instanceof ContextInitializerList) {
       ((ContextInitializerList) initializer).remove(initializer);
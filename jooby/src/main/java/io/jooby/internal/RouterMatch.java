@@ -6,7 +6,6 @@
 package io.jooby.internal;
 
 import java.util.Collections;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -24,33 +23,49 @@ public class RouterMatch implements Router.Match {
 
   private Route route;
 
-  Map vars = Collections.EMPTY_MAP;
+  private final String path;
+
+  private PathMap vars;
 
   private Route.Handler handler;
 
-  public RouterMatch() {}
+  public RouterMatch(String path) {
+    this.path = path;
+  }
 
   public void key(List<String> keys) {
-    for (int i = 0; i < Math.min(keys.size(), vars.size()); i++) {
-      vars.put(keys.get(i), vars.remove(i));
+    if (vars != null) {
+      vars.keys(keys);
     }
   }
 
+  public int size() {
+    return vars == null ? 0 : vars.captures();
+  }
+
   public void truncate(int size) {
-    while (size < vars.size()) {
-      vars.remove(size++);
+    if (vars != null) {
+      vars.truncate(size);
     }
   }
 
-  public void value(String value) {
-    if (vars == Collections.EMPTY_MAP) {
-      vars = new LinkedHashMap();
+  /**
+   * Capture a path variable.
+   *
+   * @param start Start offset (inclusive) of the variable in the request path.
+   * @param end End offset (exclusive) of the variable in the request path.
+   */
+  public void value(int start, int end) {
+    if (vars == null) {
+      vars = new PathMap(path);
     }
-    vars.put(vars.size(), value);
+    vars.push(start, end);
   }
 
   public void pop() {
-    vars.remove(vars.size() - 1);
+    if (vars != null) {
+      vars.pop();
+    }
   }
 
   public void methodNotAllowed(Set<String> allow) {
@@ -76,7 +91,7 @@ public class RouterMatch implements Router.Match {
 
   @Override
   public Map<String, String> pathMap() {
-    return vars;
+    return vars == null ? Collections.emptyMap() : vars;
   }
 
   public RouterMatch found(Route route) {
@@ -87,7 +102,7 @@ public class RouterMatch implements Router.Match {
 
   @Override
   public Object execute(@NonNull Context context, @NonNull Route.Handler pipeline) {
-    context.setPathMap(vars);
+    context.setPathMap(pathMap());
     context.setRoute(route);
     try {
       return pipeline.apply(context);
@@ -0,0 +1,335 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Matches a path segment against the regular expression of a route param, like <code>
+ * {id:[0-9]+}</code>.
+ *
+ * <p>Common constraints (digits, hex, alpha, alphanumeric, fixed-length and UUID-like sequences)
+ * are compiled to a char-scanning matcher. Anything else falls back to {@link Pattern}.
+ */
+interface SegmentMatcher {
+
+  /**
+   * True when the region <code>[start, end)</code> of the given path matches.
+   *
+   * @param path Request path.
+   * @param start Start offset (inclusive).
+   * @param end End offset (exclusive).
+   * @return True for matches.
+   */
+  boolean matches(String path, int start, int end);
+
+  /**
+   * Creates a segment matcher for the given regular expression.
+   *
+   * @param regex Regular expression.
+   * @return Segment matcher.
+   */
+  static SegmentMatcher create(String regex) {
+    SegmentMatcher matcher = CharClassMatcher.parse(regex);
+    return matcher == null ? new RegexMatcher(Pattern.compile(regex)) : matcher;
+  }
+
+  class RegexMatcher implements SegmentMatcher {
+    private final Pattern pattern;
+
+    RegexMatcher(Pattern pattern) {
+      this.pattern = pattern;
+    }
+
+    @Override
+    public boolean matches(String path, int start, int end) {
+      return pattern.matcher(path).region(start, end).matches();
+    }
+
+    @Override
+    public String toString() {
+      return pattern.pattern();
+    }
+  }
+
+  /**
+   * Sequence of ASCII character classes, each one with a repetition range. At most one of them is
+   * allowed to have a variable length, so matching never needs backtracking.
+   */
+  class CharClassMatcher implements SegmentMatcher {
+    /** Character class as a 128 bits set. */
+    private final long[] lo;
+
+    private final long[] hi;
+
+    private final int[] min;
+
+    private final int[] max;
+
+    /** Index of the variable length class or <code>-1</code>. */
+    private final int variable;
+
+    /** Sum of the min length of all the classes. */
+    private final int fixedLength;
+
+    private final String regex;
+
+    private CharClassMatcher(String regex, List<long[]> classes, List<int[]> ranges) {
+      this.regex = regex;
+      int size = classes.size();
+      this.lo = new long[size];
+      this.hi = new long[size];
+      this.min = new int[size];
+      this.max = new int[size];
+      int variable = -1;
+      int fixedLength = 0;
+      for (int i = 0; i < size; i++) {
+        lo[i] = classes.get(i)[0];
+        hi[i] = classes.get(i)[1];
+        min[i] = ranges.get(i)[0];
+        max[i] = ranges.get(i)[1];
+        if (min[i] != max[i]) {
+          variable = i;
+        }
+        fixedLength += min[i];
+      }
+      this.variable = variable;
+      this.fixedLength = fixedLength;
+    }
+
+    @Override
+    public boolean matches(String path, int start, int end) {
+      int len = end - start;
+      if (variable < 0) {
+        if (len != fixedLength) {
+          return false;
+        }
+      } else {
+        int extra = len - fixedLength;
+        if (extra < 0 || extra > max[variable] - min[variable]) {
+          return false;
+        }
+      }
+      int offset = start;
+      for (int i = 0; i < lo.length; i++) {
+        int count = i == variable ? len - fixedLength + min[i] : min[i];
+        long lo = this.lo[i];
+        long hi = this.hi[i];
+        for (int j = offset + count; offset < j; offset++) {
+          char c = path.charAt(offset);
+          if (c >= 128) {
+            return false;
+          }
+          long bits = c < 64 ? lo : hi;
+          if ((bits & (1L << c)) == 0) {
+            return false;
+          }
+        }
+      }
+      return true;
+    }
+
+    @Override
+    public String toString() {
+      return regex;
+    }
+
+    /**
+     * Parse a regular expression into a char class matcher.
+     *
+     * @param regex Regular expression.
+     * @return A matcher or <code>null</code> when the expression isn't supported.
+     */
+    static CharClassMatcher parse(String regex) {
+      int start = 0;
+      int end = regex.length();
+      if (start < end && regex.charAt(start) == '^') {
+        start++;
+      }
+      if (end > start && regex.charAt(end - 1) == '$') {
+        if (end - 2 >= start && regex.charAt(end - 2) == '\\') {
+          return null;
+        }
+        end--;
+      }
+      List<long[]> classes = new ArrayList<>();
+      List<int[]> ranges = new ArrayList<>();
+      boolean variable = false;
+      int i = start;
+      while (i < end) {
+        long[] set = new long[2];
+        char c = regex.charAt(i);
+        if (c == '[') {
+          int close = charClass(regex, i + 1, end, set);
+          if (close < 0) {
+            return null;
+          }
+          i = close + 1;
+        } else if (c == '\\') {
+          if (i + 1 >= end || !escape(regex.charAt(i + 1), set)) {
+            return null;
+          }
+          i += 2;
+        } else if (isLiteral(c)) {
+          add(set, c);
+          i += 1;
+        } else {
+          return null;
+        }
+        int[] range = {1, 1};
+        if (i < end) {
+          i = quantifier(regex, i, end, range);
+          if (i < 0) {
+            return null;
+          }
+        }
+        if (range[0] != range[1]) {
+          if (variable) {
+            return null;
+          }
+          variable = true;
+        }
+        classes.add(set);
+        ranges.add(range);
+      }
+      return classes.isEmpty() ? null : new CharClassMatcher(regex, classes, ranges);
+    }
+
+    private static int charClass(String regex, int i, int end, long[] set) {
+      if (i < end && regex.charAt(i) == '^') {
+        // negated classes are not supported
+        return -1;
+      }
+      boolean empty = true;
+      while (i < end) {
+        char c = regex.charAt(i);
+        if (c == ']') {
+          return empty ? -1 : i;
+        }
+        if (c == '\\') {
+          if (i + 1 >= end || !escape(regex.charAt(i + 1), set)) {
+            return -1;
+          }
+          i += 2;
+        } else if (isLiteral(c) || c == '.') {
+          if (i + 2 < end && regex.charAt(i + 1) == '-' && regex.charAt(i + 2) != ']') {
+            char to = regex.charAt(i + 2);
+            if (!isLiteral(to) || to < c) {
+              return -1;
+            }
+            for (char x = c; x <= to; x++) {
+              add(set, x);
+            }
+            i += 3;
+          } else {
+            add(set, c);
+            i += 1;
+          }
+        } else {
+          return -1;
+        }
+        empty = false;
+      }
+      return -1;
+    }
+
+    private static int quantifier(String regex, int i, int end, int[] range) {
+      char c = regex.charAt(i);
+      switch (c) {
+        case '+':
+          range[1] = Integer.MAX_VALUE;
+          i += 1;
+          break;
+        case '*':
+          range[0] = 0;
+          range[1] = Integer.MAX_VALUE;
+          i += 1;
+          break;
+        case '?':
+          range[0] = 0;
+          i += 1;
+          break;
+        case '{':
+          int close = regex.indexOf('}', i);
+          if (close < 0 || close >= end) {
+            return -1;
+          }
+          String spec = regex.substring(i + 1, close);
+          int comma = spec.indexOf(',');
+          try {
+            if (comma < 0) {
+              range[0] = Integer.parseInt(spec);
+              range[1] = range[0];
+            } else {
+              range[0] = Integer.parseInt(spec.substring(0, comma));
+              String to = spec.substring(comma + 1);
+              range[1] = to.isEmpty() ? Integer.MAX_VALUE : Integer.parseInt(to);
+            }
+          } catch (NumberFormatException x) {
+            return -1;
+          }
+          if (range[0] < 0 || range[1] < range[0]) {
+            return -1;
+          }
+          i = close + 1;
+          break;
+        default:
+          return i;
+      }
+      if (i < end) {
+        char next = regex.charAt(i);
+        if (next == '?' || next == '+' || next == '*' || next == '{') {
+          // lazy, possessive or nested quantifiers are not supported
+          return -1;
+        }
+      }
+      return i;
+    }
+
+    private static boolean escape(char c, long[] set) {
+      switch (c) {
+        case 'd':
+          addRange(set, '0', '9');
+          return true;
+        case 'w':
+          addRange(set, '0', '9');
+          addRange(set, 'a', 'z');
+          addRange(set, 'A', 'Z');
+          add(set, '_');
+          return true;
+        case '-':
+        case '.':
+        case '_':
+        case '~':
+          add(set, c);
+          return true;
+        default:
+          return false;
+      }
+    }
+
+    private static boolean isLiteral(char c) {
+      return (c >= 'a' && c <= 'z')
+          || (c >= 'A' && c <= 'Z')
+          || (c >= '0' && c <= '9')
+          || c == '-'
+          || c == '_'
+          || c == '~';
+    }
+
+    private static void addRange(long[] set, char from, char to) {
+      for (char c = from; c <= to; c++) {
+        add(set, c);
+      }
+    }
+
+    private static void add(long[] set, char c) {
+      set[c >> 6] |= 1L << c;
+    }
+  }
+}
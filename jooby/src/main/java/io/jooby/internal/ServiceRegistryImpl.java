@@ -59,6 +59,25 @@ public class ServiceRegistryImpl implements ServiceRegistry {
   }
 
   private static <T> Provider<T> singleton(T service) {
-    return () -> service;
+    return new Singleton<>(service);
+  }
+
+  /**
+   * Provider of a registered instance. Lets callers look at the instance without invoking
+   * (possibly lazy) providers.
+   *
+   * @param <T> Service type.
+   */
+  static final class Singleton<T> implements Provider<T> {
+    final T service;
+
+    private Singleton(T service) {
+      this.service = service;
+    }
+
+    @Override
+    public T get() {
+      return service;
+    }
   }
 }
@@ -7,6 +7,7 @@ package io.jooby.internal;
 
 import java.time.Instant;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
@@ -83,15 +84,19 @@ public class SessionImpl implements Session {
 
   @Override
   public @NonNull Session put(@NonNull String name, String value) {
-    attributes.put(name, value);
-    updateState();
+    String existing = attributes.put(name, value);
+    if (!Objects.equals(value, existing)) {
+      updateState();
+    }
     return this;
   }
 
   @Override
   public @NonNull ValueNode remove(@NonNull String name) {
     String value = attributes.remove(name);
-    updateState();
+    if (value != null) {
+      updateState();
+    }
     return value == null ? Value.missing(name) : Value.value(ctx, name, value);
   }
 
@@ -124,8 +129,10 @@ public class SessionImpl implements Session {
 
   @Override
   public Session clear() {
-    attributes.clear();
-    updateState();
+    if (!attributes.isEmpty()) {
+      attributes.clear();
+      updateState();
+    }
     return this;
   }
 
@@ -143,6 +150,7 @@ public class SessionImpl implements Session {
     return this;
   }
 
+  /** Mark session as modified, so store persists it at the end of the request. */
   private void updateState() {
     modify = true;
     lastAccessedTime = Instant.now();
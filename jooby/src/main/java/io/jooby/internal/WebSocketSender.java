@@ -16,6 +16,7 @@ import io.jooby.Cookie;
 import io.jooby.DefaultContext;
 import io.jooby.ForwardingContext;
 import io.jooby.MediaType;
+import io.jooby.SneakyThrows;
 import io.jooby.StatusCode;
 import io.jooby.WebSocket;
 
@@ -58,8 +59,26 @@ public class WebSocketSender extends ForwardingContext implements DefaultContext
 
   @NonNull @Override
   public Context render(@NonNull Object value) {
-    DefaultContext.super.render(value);
-    return this;
+    // websocket messages are always buffered, streaming encoders write to the HTTP response
+    return send(encode(value));
+  }
+
+  /**
+   * Encode a value using the route encoder.
+   *
+   * @param value Value to encode.
+   * @return Encoded value.
+   */
+  public @NonNull byte[] encode(@NonNull Object value) {
+    try {
+      byte[] bytes = getRoute().getEncoder().encode(this, value);
+      if (bytes == null) {
+        throw new IllegalStateException("The message was not encoded: " + value);
+      }
+      return bytes;
+    } catch (Exception x) {
+      throw SneakyThrows.propagate(x);
+    }
   }
 
   @Override
@@ -0,0 +1,348 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal.handler;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import io.jooby.MediaType;
+import io.jooby.handler.Asset;
+
+/**
+ * In-memory cache of static assets. Content is kept in read-only direct buffers, together with
+ * precomputed e-tag, last modified and content type. Memory is bounded, least recently used
+ * entries are evicted first.
+ *
+ * <p>Compressed variants are loaded from <code>.br</code> and <code>.gz</code> siblings. Textual
+ * assets without a <code>.gz</code> sibling are gzipped once, at load time.
+ */
+public class AssetCache {
+
+  /** Cached asset. */
+  public static class Entry {
+    private final ByteBuffer content;
+
+    private final ByteBuffer gzip;
+
+    private final ByteBuffer br;
+
+    private final String etag;
+
+    private final String gzipEtag;
+
+    private final String brEtag;
+
+    private final long lastModified;
+
+    private final MediaType contentType;
+
+    private Entry(
+        ByteBuffer content,
+        ByteBuffer gzip,
+        ByteBuffer br,
+        String etag,
+        long lastModified,
+        MediaType contentType) {
+      this.content = content;
+      this.gzip = gzip;
+      this.br = br;
+      this.etag = etag;
+      this.gzipEtag = gzip == null ? null : etag(etag, "gzip");
+      this.brEtag = br == null ? null : etag(etag, "br");
+      this.lastModified = lastModified;
+      this.contentType = contentType;
+    }
+
+    /**
+     * E-tag for the given encoding. Each encoding is a different representation, so it gets its
+     * own e-tag.
+     *
+     * @param encoding Encoding, as returned by {@link #encoding(String)}.
+     * @return Asset e-tag.
+     */
+    public @NonNull String getEtag(@Nullable String encoding) {
+      if ("br".equals(encoding)) {
+        return brEtag;
+      }
+      if ("gzip".equals(encoding)) {
+        return gzipEtag;
+      }
+      return etag;
+    }
+
+    /**
+     * Last modified date or <code>-1</code>.
+     *
+     * @return Last modified date or <code>-1</code>.
+     */
+    public long getLastModified() {
+      return lastModified;
+    }
+
+    /**
+     * Asset content type.
+     *
+     * @return Asset content type.
+     */
+    public @NonNull MediaType getContentType() {
+      return contentType;
+    }
+
+    /**
+     * True when there is at least one compressed variant.
+     *
+     * @return True when there is at least one compressed variant.
+     */
+    public boolean isCompressed() {
+      return gzip != null || br != null;
+    }
+
+    /**
+     * Pick the best content encoding for the given <code>Accept-Encoding</code> header.
+     *
+     * @param acceptEncoding Accept-Encoding header or <code>null</code>.
+     * @return <code>br</code>, <code>gzip</code> or <code>null</code> for identity.
+     */
+    public @Nullable String encoding(@Nullable String acceptEncoding) {
+      if (acceptEncoding == null || !isCompressed()) {
+        return null;
+      }
+      if (br != null && accepts(acceptEncoding, "br")) {
+        return "br";
+      }
+      if (gzip != null && accepts(acceptEncoding, "gzip")) {
+        return "gzip";
+      }
+      return null;
+    }
+
+    /**
+     * Content for the given encoding. The returned buffer is a view, so callers are free to
+     * consume it.
+     *
+     * @param encoding Encoding, as returned by {@link #encoding(String)}.
+     * @return Asset content.
+     */
+    public @NonNull ByteBuffer content(@Nullable String encoding) {
+      if ("br".equals(encoding)) {
+        return br.duplicate();
+      }
+      if ("gzip".equals(encoding)) {
+        return gzip.duplicate();
+      }
+      return content.duplicate();
+    }
+
+    private static String etag(String etag, String encoding) {
+      // keep it quoted: W/"xyz" -> W/"xyz-gzip"
+      int end = etag.length() - 1;
+      if (end > 0 && etag.charAt(end) == '"') {
+        return etag.substring(0, end) + "-" + encoding + "\"";
+      }
+      return etag + "-" + encoding;
+    }
+
+    private long memory() {
+      return content.capacity()
+          + (gzip == null ? 0 : gzip.capacity())
+          + (br == null ? 0 : br.capacity());
+    }
+  }
+
+  private static final int MIN_COMPRESS_SIZE = 256;
+
+  private final long maxMemory;
+
+  private final long maxEntrySize;
+
+  private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+  private long memory;
+
+  /**
+   * Creates a new cache.
+   *
+   * @param maxMemory Max number of bytes to keep in memory.
+   */
+  public AssetCache(long maxMemory) {
+    if (maxMemory <= 0) {
+      throw new IllegalArgumentException("Max memory must be greater than zero: " + maxMemory);
+    }
+    this.maxMemory = maxMemory;
+    // don't let a single large asset flush the whole cache
+    this.maxEntrySize = Math.max(1, maxMemory / 4);
+  }
+
+  /**
+   * Find a cached asset.
+   *
+   * @param path Asset path.
+   * @return Cached asset or <code>null</code>.
+   */
+  public synchronized @Nullable Entry get(@NonNull String path) {
+    return entries.get(path);
+  }
+
+  /**
+   * Load an asset into the cache. The asset is closed by this method, unless it is too large to be
+   * cached.
+   *
+   * @param path Asset path.
+   * @param asset Asset.
+   * @param resolver Asset resolver, used for looking for compressed siblings.
+   * @return Cached asset or <code>null</code> when the asset can't be cached.
+   * @throws Exception If something goes wrong while reading the asset.
+   */
+  public @Nullable Entry load(
+      @NonNull String path, @NonNull Asset asset, @NonNull Function<String, Asset> resolver)
+      throws Exception {
+    long size = asset.getSize();
+    if (size < 0 || size > maxEntrySize || asset.isDirectory()) {
+      return null;
+    }
+    String etag = asset.getEtag();
+    long lastModified = asset.getLastModified();
+    MediaType contentType = asset.getContentType();
+    byte[] bytes;
+    try (asset;
+        InputStream in = asset.stream()) {
+      bytes = in.readAllBytes();
+    }
+    ByteBuffer br = sibling(resolver, path + ".br");
+    ByteBuffer gzip = sibling(resolver, path + ".gz");
+    if (gzip == null && contentType.isTextual() && bytes.length >= MIN_COMPRESS_SIZE) {
+      byte[] compressed = gzip(bytes);
+      if (compressed.length < bytes.length) {
+        gzip = direct(compressed);
+      }
+    }
+    Entry entry = new Entry(direct(bytes), gzip, br, etag, lastModified, contentType);
+    if (entry.memory() > maxEntrySize) {
+      return entry;
+    }
+    synchronized (this) {
+      Entry existing = entries.put(path, entry);
+      if (existing != null) {
+        memory -= existing.memory();
+      }
+      memory += entry.memory();
+      Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+      while (memory > maxMemory && iterator.hasNext()) {
+        memory -= iterator.next().getValue().memory();
+        iterator.remove();
+      }
+    }
+    return entry;
+  }
+
+  /**
+   * Number of cached assets.
+   *
+   * @return Number of cached assets.
+   */
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  /**
+   * Number of bytes used by cached assets.
+   *
+   * @return Number of bytes used by cached assets.
+   */
+  public synchronized long getMemory() {
+    return memory;
+  }
+
+  private ByteBuffer sibling(Function<String, Asset> resolver, String path) throws Exception {
+    Asset asset = resolver.apply(path);
+    if (asset == null) {
+      return null;
+    }
+    try (asset) {
+      if (asset.isDirectory() || asset.getSize() < 0 || asset.getSize() > maxEntrySize) {
+        return null;
+      }
+      try (InputStream in = asset.stream()) {
+        return direct(in.readAllBytes());
+      }
+    }
+  }
+
+  private static ByteBuffer direct(byte[] bytes) {
+    ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+    buffer.put(bytes).flip();
+    return buffer.asReadOnlyBuffer();
+  }
+
+  private static byte[] gzip(byte[] bytes) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 2);
+    try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+      gzip.write(bytes);
+    }
+    return out.toByteArray();
+  }
+
+  private static boolean accepts(String acceptEncoding, String encoding) {
+    int start = 0;
+    int len = acceptEncoding.length();
+    while (start < len) {
+      int end = acceptEncoding.indexOf(',', start);
+      if (end < 0) {
+        end = len;
+      }
+      String token = acceptEncoding.substring(start, end).trim();
+      int params = token.indexOf(';');
+      String name = params < 0 ? token : token.substring(0, params).trim();
+      if (name.equalsIgnoreCase(encoding) || name.equals("*")) {
+        // q=0 means not acceptable
+        return params < 0 || !isZeroQuality(token, params + 1);
+      }
+      start = end + 1;
+    }
+    return false;
+  }
+
+  /** Match <code>q=0</code>, <code>q=0.0</code>, <code>q = 0.000</code>, etc. */
+  private static boolean isZeroQuality(String token, int offset) {
+    int len = token.length();
+    int i = skipSpaces(token, offset);
+    if (i == len || Character.toLowerCase(token.charAt(i)) != 'q') {
+      return false;
+    }
+    i = skipSpaces(token, i + 1);
+    if (i == len || token.charAt(i) != '=') {
+      return false;
+    }
+    i = skipSpaces(token, i + 1);
+    if (i == len || token.charAt(i++) != '0') {
+      return false;
+    }
+    if (i < len && token.charAt(i) == '.') {
+      i += 1;
+    }
+    while (i < len && token.charAt(i) == '0') {
+      i += 1;
+    }
+    return skipSpaces(token, i) == len;
+  }
+
+  private static int skipSpaces(String value, int offset) {
+    int i = offset;
+    while (i < value.length() && value.charAt(i) == ' ') {
+      i += 1;
+    }
+    return i;
+  }
+}
@@ -0,0 +1,83 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal.handler;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import io.jooby.Context;
+import io.jooby.DispatchListener;
+import io.jooby.Route;
+import io.jooby.StatusCode;
+import io.jooby.exception.StatusCodeException;
+
+/**
+ * Same as {@link DispatchHandler} or {@link WorkerHandler} (when executor is <code>null</code>) but
+ * notifying a {@link DispatchListener}.
+ */
+public class InstrumentedDispatchHandler implements Route.Filter {
+  private final Executor executor;
+
+  private final String name;
+
+  private final DispatchListener listener;
+
+  public InstrumentedDispatchHandler(Executor executor, String name, DispatchListener listener) {
+    this.executor = executor;
+    this.name = name;
+    this.listener = listener;
+  }
+
+  @NonNull @Override
+  public Route.Handler apply(@NonNull Route.Handler next) {
+    return ctx -> {
+      long enqueued = System.nanoTime();
+      listener.onEnqueue(ctx, name);
+      Runnable action =
+          () -> {
+            long start = System.nanoTime();
+            try {
+              listener.onStart(ctx, name, start - enqueued);
+              next.apply(ctx);
+            } catch (Throwable x) {
+              ctx.sendError(x);
+            } finally {
+              listener.onEnd(ctx, name, System.nanoTime() - start);
+            }
+          };
+      try {
+        if (executor == null) {
+          return ctx.dispatch(action);
+        }
+        // Some servers (undertow) defer the submit until the request handler returns, so the
+        // rejection must be caught at submit time, not around the dispatch call
+        return ctx.dispatch(task -> submit(ctx, task), action);
+      } catch (RejectedExecutionException x) {
+        return reject(ctx, x);
+      }
+    };
+  }
+
+  private void submit(Context ctx, Runnable task) {
+    try {
+      executor.execute(task);
+    } catch (RejectedExecutionException x) {
+      reject(ctx, x);
+    }
+  }
+
+  private Context reject(Context ctx, RejectedExecutionException cause) {
+    listener.onReject(ctx, name, cause);
+    return ctx.sendError(
+        new StatusCodeException(StatusCode.SERVICE_UNAVAILABLE, "Rejected by: " + name, cause));
+  }
+
+  @Override
+  public String toString() {
+    return "dispatch(" + name + ")";
+  }
+}
@@ -0,0 +1,210 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal.handler;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * Bounded table of rate limit state per key. Keys are spread across lock stripes, each stripe is
+ * an access ordered (LRU) map. Least recently used entries are evicted when a stripe goes over
+ * capacity, and entries idle for longer than the idle timeout are evicted too.
+ *
+ * @param <V> Value type.
+ */
+public class RateLimitTable<V> {
+
+  /**
+   * Table entry. Besides the value, it holds a primitive state that can be updated atomically
+   * with {@link #compareAndSet(long, long)}.
+   *
+   * @param <V> Value type.
+   */
+  public static class Slot<V> {
+    private static final VarHandle STATE;
+
+    static {
+      try {
+        STATE = MethodHandles.lookup().findVarHandle(Slot.class, "state", long.class);
+      } catch (ReflectiveOperationException x) {
+        throw new ExceptionInInitializerError(x);
+      }
+    }
+
+    private final V value;
+
+    private volatile long state;
+
+    // guarded by stripe lock
+    private long accessTime;
+
+    Slot(V value, long state) {
+      this.value = value;
+      this.state = state;
+    }
+
+    /**
+     * Slot value.
+     *
+     * @return Slot value.
+     */
+    public V getValue() {
+      return value;
+    }
+
+    /**
+     * Slot state.
+     *
+     * @return Slot state.
+     */
+    public long getState() {
+      return state;
+    }
+
+    /**
+     * Atomically set the state to the given value if the current state is equal to the expected
+     * value.
+     *
+     * @param expected Expected value.
+     * @param state New value.
+     * @return True when updated.
+     */
+    public boolean compareAndSet(long expected, long state) {
+      return STATE.compareAndSet(this, expected, state);
+    }
+  }
+
+  private static final int STRIPES = 16;
+
+  private final Stripe<V>[] stripes;
+
+  private final LongAdder evictions = new LongAdder();
+
+  private volatile int stripeCapacity;
+
+  private volatile long idleTimeout;
+
+  /**
+   * Creates a new table.
+   *
+   * @param capacity Max number of keys.
+   * @param idleTimeout Idle timeout in millis or <code>0</code> for no idle timeout.
+   */
+  @SuppressWarnings("unchecked")
+  public RateLimitTable(int capacity, long idleTimeout) {
+    this.stripes = new Stripe[STRIPES];
+    for (int i = 0; i < STRIPES; i++) {
+      stripes[i] = new Stripe<>();
+    }
+    setCapacity(capacity);
+    setIdleTimeout(idleTimeout);
+  }
+
+  /**
+   * Set max number of keys.
+   *
+   * @param capacity Max number of keys.
+   */
+  public void setCapacity(int capacity) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Capacity must be greater than zero: " + capacity);
+    }
+    this.stripeCapacity = Math.max(1, (capacity + STRIPES - 1) / STRIPES);
+  }
+
+  /**
+   * Set idle timeout.
+   *
+   * @param idleTimeout Idle timeout in millis or <code>0</code> for no idle timeout.
+   */
+  public void setIdleTimeout(long idleTimeout) {
+    this.idleTimeout = Math.max(0, idleTimeout);
+  }
+
+  /**
+   * Find or create a slot for the given key.
+   *
+   * @param key Key.
+   * @param factory Value factory.
+   * @param initialState Initial state for new slots.
+   * @return Slot.
+   */
+  public @NonNull Slot<V> slot(
+      @NonNull String key, @NonNull Function<String, V> factory, long initialState) {
+    int h = key.hashCode();
+    Stripe<V> stripe = stripes[(h ^ (h >>> 16)) & (STRIPES - 1)];
+    long now = System.currentTimeMillis();
+    long idleTimeout = this.idleTimeout;
+    synchronized (stripe) {
+      Slot<V> slot = stripe.get(key);
+      if (slot != null && idleTimeout > 0 && now - slot.accessTime > idleTimeout) {
+        stripe.remove(key);
+        evictions.increment();
+        slot = null;
+      }
+      if (slot == null) {
+        slot = new Slot<>(factory.apply(key), initialState);
+        slot.accessTime = now;
+        stripe.put(key, slot);
+        evict(stripe, now, idleTimeout);
+      } else {
+        slot.accessTime = now;
+      }
+      return slot;
+    }
+  }
+
+  /**
+   * Number of keys.
+   *
+   * @return Number of keys.
+   */
+  public int size() {
+    int size = 0;
+    for (Stripe<V> stripe : stripes) {
+      synchronized (stripe) {
+        size += stripe.size();
+      }
+    }
+    return size;
+  }
+
+  /**
+   * Number of evicted keys.
+   *
+   * @return Number of evicted keys.
+   */
+  public long getEvictions() {
+    return evictions.sum();
+  }
+
+  private void evict(Stripe<V> stripe, long now, long idleTimeout) {
+    int capacity = stripeCapacity;
+    Iterator<Map.Entry<String, Slot<V>>> iterator = stripe.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Slot<V> eldest = iterator.next().getValue();
+      if (stripe.size() > capacity || (idleTimeout > 0 && now - eldest.accessTime > idleTimeout)) {
+        iterator.remove();
+        evictions.increment();
+      } else {
+        break;
+      }
+    }
+  }
+
+  private static class Stripe<V> extends LinkedHashMap<String, Slot<V>> {
+    Stripe() {
+      super(16, 0.75f, true);
+    }
+  }
+}
@@ -28,6 +28,11 @@ module io.jooby {
    */
   requires static io.github.bucket4j.core;
 
+  /*
+   * Optional dependency for reporting virtual thread pinning events
+   */
+  requires static jdk.jfr;
+
   // SHADED: All content after this line will be removed at build time
   requires static unbescape;
   requires static ch.qos.logback.classic;
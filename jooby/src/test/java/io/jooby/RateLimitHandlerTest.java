@@ -0,0 +1,73 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import io.jooby.handler.RateLimitHandler;
+
+public class RateLimitHandlerTest {
+
+  @Test
+  public void tokenBucket() throws Exception {
+    RateLimitHandler handler = RateLimitHandler.of(3, Duration.ofHours(1));
+
+    Context ctx = ctx("10.0.0.1");
+    handler.apply(ctx);
+    verify(ctx).setResponseHeader("X-Rate-Limit-Remaining", 2L);
+    handler.apply(ctx);
+    verify(ctx).setResponseHeader("X-Rate-Limit-Remaining", 1L);
+    handler.apply(ctx);
+    verify(ctx).setResponseHeader("X-Rate-Limit-Remaining", 0L);
+    verify(ctx, never()).send(StatusCode.TOO_MANY_REQUESTS);
+
+    handler.apply(ctx);
+    verify(ctx, times(1)).send(StatusCode.TOO_MANY_REQUESTS);
+
+    // another key has its own bucket
+    Context other = ctx("10.0.0.2");
+    handler.apply(other);
+    verify(other, never()).send(StatusCode.TOO_MANY_REQUESTS);
+
+    assertEquals(4, handler.getHits());
+    assertEquals(1, handler.getRejections());
+  }
+
+  @Test
+  public void evictLeastRecentlyUsedKeys() throws Exception {
+    RateLimitHandler handler = RateLimitHandler.of(1, Duration.ofHours(1)).setMaxKeys(16);
+
+    for (int i = 0; i < 1000; i++) {
+      handler.apply(ctx("10.0.0." + i));
+    }
+    assertEquals(1000, handler.getHits());
+    assertTrue(handler.getEvictions() >= 1000 - 16);
+  }
+
+  @Test
+  public void clusterBucketsRejectMaxKeys() {
+    RateLimitHandler handler = RateLimitHandler.cluster(key -> null);
+    assertThrows(IllegalStateException.class, () -> handler.setMaxKeys(10));
+    assertEquals(0, handler.getEvictions());
+  }
+
+  private Context ctx(String remoteAddress) {
+    Context ctx = mock(Context.class);
+    when(ctx.getRemoteAddress()).thenReturn(remoteAddress);
+    return ctx;
+  }
+}
@@ -0,0 +1,64 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class ServerHeadersTest {
+
+  @Test
+  public void date() {
+    String value = new String(ServerHeaders.date(), StandardCharsets.US_ASCII);
+    ZonedDateTime date = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME);
+    long diff = Math.abs(ChronoUnit.SECONDS.between(date, ZonedDateTime.now()));
+    assertTrue(diff <= 1, value);
+  }
+
+  @Test
+  public void encode() {
+    List<String> names = new ArrayList<>();
+    ServerHeaders.Encoded<String> headers =
+        ServerHeaders.encode(
+            "S",
+            (name, value) -> {
+              names.add(name);
+              return name + ": " + new String(value, StandardCharsets.US_ASCII);
+            });
+    assertEquals("Server: S", headers.server());
+    assertEquals("Content-Type: text/plain", headers.contentType());
+    assertEquals(List.of("Server", "Content-Type"), names);
+
+    String date = headers.date();
+    assertTrue(date.startsWith("Date: "), date);
+    // encoded again only once the second changes
+    assertTrue(date == headers.date() || Collections.frequency(names, "Date") == 2);
+  }
+
+  @Test
+  public void contentType() {
+    assertEquals(
+        "application/json;charset=UTF-8",
+        MediaType.json.toContentTypeHeader(StandardCharsets.UTF_8));
+    assertSame(
+        MediaType.json.toContentTypeHeader(StandardCharsets.UTF_8),
+        MediaType.json.toContentTypeHeader(StandardCharsets.UTF_8));
+    assertEquals(
+        "text/plain;charset=ISO-8859-1",
+        MediaType.text.toContentTypeHeader(StandardCharsets.ISO_8859_1));
+  }
+}
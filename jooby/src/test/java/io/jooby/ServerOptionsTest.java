@@ -7,6 +7,11 @@ package io.jooby;
 
 import static com.typesafe.config.ConfigValueFactory.fromAnyRef;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
 
 import org.junit.jupiter.api.Test;
 
@@ -44,6 +49,33 @@ public class ServerOptionsTest {
     assertEquals(true, options.isHttpsOnly());
   }
 
+  @Test
+  public void compression() {
+    ServerOptions options =
+        ServerOptions.from(
+                ConfigFactory.empty()
+                    .withValue("server.compressionLevel", fromAnyRef(6))
+                    .withValue("server.compressionEncodings", fromAnyRef(List.of("BR", "gzip")))
+                    .withValue("server.compressionMinSize", fromAnyRef("1k"))
+                    .resolve())
+            .get();
+    assertEquals(List.of("br", "gzip"), options.getCompressionEncodings());
+    assertEquals(1024, options.getCompressionMinSize());
+
+    assertTrue(options.isCompressible("text/html; charset=utf-8"));
+    assertTrue(options.isCompressible("application/json"));
+    assertTrue(options.isCompressible("image/svg+xml"));
+    assertFalse(options.isCompressible("image/png"));
+    assertFalse(options.isCompressible("application/zip"));
+    assertFalse(options.isCompressible(null));
+
+    options.setCompressionMediaTypes(List.of(MediaType.valueOf("text/*")));
+    assertTrue(options.isCompressible("text/css"));
+    assertFalse(options.isCompressible("application/json"));
+
+    assertThrows(IllegalArgumentException.class, () -> options.setCompressionEncodings("lzma"));
+  }
+
   @Test
   public void shouldSetCorrectLocalHost() {
     ServerOptions options = new ServerOptions();
@@ -0,0 +1,166 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+public class StreamingBodyTest {
+
+  private static class Flag implements StreamingBody.FlowControl {
+    boolean paused;
+
+    @Override
+    public void pause() {
+      paused = true;
+    }
+
+    @Override
+    public void resume() {
+      paused = false;
+    }
+  }
+
+  @Test
+  public void stream() throws IOException {
+    Flag flow = new Flag();
+    StreamingBody body = new StreamingBody(mock(Context.class), -1, flow);
+    body.offer(ByteBuffer.wrap("Hello ".getBytes(StandardCharsets.UTF_8)));
+    body.offer(ByteBuffer.wrap("World".getBytes(StandardCharsets.UTF_8)));
+    body.complete();
+
+    assertFalse(body.isInMemory());
+    assertEquals("Hello World", body.value());
+  }
+
+  @Test
+  public void backpressure() throws IOException {
+    Flag flow = new Flag();
+    StreamingBody body = new StreamingBody(mock(Context.class), -1, flow);
+    byte[] chunk = new byte[ServerOptions._16KB];
+    for (int i = 0; i < 4; i++) {
+      body.offer(ByteBuffer.wrap(chunk));
+    }
+    assertTrue(flow.paused);
+
+    InputStream in = body.stream();
+    byte[] buffer = new byte[ServerOptions._16KB];
+    assertEquals(buffer.length, in.read(buffer));
+    assertTrue(flow.paused);
+    assertEquals(buffer.length, in.read(buffer));
+    assertFalse(flow.paused);
+
+    // closing the stream drops unread content and keeps reading from connection
+    body.offer(ByteBuffer.wrap(chunk));
+    body.offer(ByteBuffer.wrap(chunk));
+    assertTrue(flow.paused);
+    in.close();
+    assertFalse(flow.paused);
+    assertEquals(-1, in.read(buffer));
+  }
+
+  @Test
+  public void releaseOnceConsumed() throws IOException {
+    StreamingBody body = new StreamingBody(mock(Context.class), -1, new Flag());
+    AtomicInteger released = new AtomicInteger();
+    ByteBuffer chunk = ByteBuffer.wrap("Hello".getBytes(StandardCharsets.UTF_8));
+    body.offer(chunk, released::incrementAndGet);
+    body.offer(ByteBuffer.wrap(new byte[0]), released::incrementAndGet);
+    // empty chunk is released right away
+    assertEquals(1, released.get());
+
+    InputStream in = body.stream();
+    byte[] buffer = new byte[3];
+    assertEquals(3, in.read(buffer));
+    assertEquals(1, released.get());
+    assertEquals(2, in.read(buffer));
+    assertEquals(2, released.get());
+
+    // dropped content is released too
+    body.offer(ByteBuffer.wrap(new byte[1]), released::incrementAndGet);
+    in.close();
+    assertEquals(3, released.get());
+    body.offer(ByteBuffer.wrap(new byte[1]), released::incrementAndGet);
+    assertEquals(4, released.get());
+  }
+
+  @Test
+  public void failure() {
+    StreamingBody body = new StreamingBody(mock(Context.class), 10, new Flag());
+    body.offer(ByteBuffer.wrap(new byte[5]));
+    body.fail(new IOException("connection lost"));
+
+    InputStream in = body.stream();
+    assertThrows(IOException.class, () -> in.readAllBytes());
+  }
+
+  @Test
+  public void publisher() {
+    StreamingBody body = new StreamingBody(mock(Context.class), -1, new Flag());
+    List<byte[]> chunks = new ArrayList<>();
+    List<Object> signals = new ArrayList<>();
+    Flow.Subscription[] subscription = new Flow.Subscription[1];
+    body.publisher()
+        .subscribe(
+            new Flow.Subscriber<>() {
+              @Override
+              public void onSubscribe(Flow.Subscription s) {
+                subscription[0] = s;
+              }
+
+              @Override
+              public void onNext(ByteBuffer item) {
+                byte[] bytes = new byte[item.remaining()];
+                item.get(bytes);
+                chunks.add(bytes);
+              }
+
+              @Override
+              public void onError(Throwable throwable) {
+                signals.add(throwable);
+              }
+
+              @Override
+              public void onComplete() {
+                signals.add("complete");
+              }
+            });
+    AtomicInteger released = new AtomicInteger();
+    body.offer(ByteBuffer.wrap(new byte[] {1}));
+    body.offer(ByteBuffer.wrap(new byte[] {2}), released::incrementAndGet);
+    assertEquals(0, chunks.size());
+
+    subscription[0].request(1);
+    assertEquals(1, chunks.size());
+    assertArrayEquals(new byte[] {1}, chunks.get(0));
+
+    body.complete();
+    assertEquals(0, signals.size());
+
+    subscription[0].request(Long.MAX_VALUE);
+    assertEquals(2, chunks.size());
+    // server memory is copied and released before publishing
+    assertEquals(1, released.get());
+    assertEquals(List.of("complete"), signals);
+
+    assertThrows(IllegalStateException.class, body::stream);
+  }
+}
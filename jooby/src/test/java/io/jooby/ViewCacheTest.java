@@ -0,0 +1,130 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import io.jooby.internal.LayeredMap;
+
+public class ViewCacheTest {
+
+  @Test
+  public void compileOnce() {
+    AtomicInteger compiled = new AtomicInteger();
+    ViewCache<String> cache = new ViewCache<>();
+    SneakyThrows.Function<String, String> compiler = view -> view + compiled.incrementAndGet();
+
+    assertEquals("index.html1", cache.get("index.html", compiler));
+    assertSame(cache.get("index.html", compiler), cache.get("index.html", compiler));
+    assertEquals(1, compiled.get());
+
+    cache.invalidate();
+    assertEquals("index.html2", cache.get("index.html", compiler));
+  }
+
+  @Test
+  public void bounded() {
+    ViewCache<String> cache = new ViewCache<>(2);
+    cache.get("a", view -> view);
+    cache.get("b", view -> view);
+    cache.get("c", view -> view);
+    assertEquals(2, cache.size());
+  }
+
+  @Test
+  public void noCache() {
+    AtomicInteger compiled = new AtomicInteger();
+    ViewCache<Integer> cache = new ViewCache<>(0);
+    cache.get("index.html", view -> compiled.incrementAndGet());
+    cache.get("index.html", view -> compiled.incrementAndGet());
+    assertEquals(2, compiled.get());
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void layeredModel() {
+    Map<String, Object> attributes = new HashMap<>();
+    attributes.put("user", "attribute");
+    attributes.put("local", "var");
+    Map<String, Object> model = new HashMap<>();
+    model.put("user", "model");
+
+    LayeredMap layered = new LayeredMap(model, attributes);
+    assertEquals("model", layered.get("user"));
+    assertEquals("var", layered.get("local"));
+    assertEquals(2, layered.size());
+    assertEquals(Map.of("user", "model", "local", "var"), new HashMap<>(layered));
+
+    layered.put("local", "template");
+    assertEquals("template", layered.get("local"));
+    assertEquals("var", attributes.get("local"));
+    assertEquals(2, layered.size());
+  }
+
+  @Test
+  public void layeredModelRemove() {
+    Map<String, Object> attributes = new HashMap<>();
+    attributes.put("local", "var");
+    Map<String, Object> model = new HashMap<>();
+    model.put("user", "model");
+
+    LayeredMap layered = new LayeredMap(model, attributes);
+    assertEquals("model", layered.remove("user"));
+    assertNull(layered.get("user"));
+    assertFalse(layered.containsKey("user"));
+    assertEquals(1, layered.size());
+    assertEquals(Map.of("local", "var"), new HashMap<>(layered));
+    assertEquals("model", model.get("user"));
+
+    layered.put("user", "template");
+    assertEquals("template", layered.get("user"));
+    assertEquals(2, layered.size());
+
+    layered.put("extra", "value");
+    assertEquals("value", layered.remove("extra"));
+    assertFalse(layered.containsKey("extra"));
+    assertNull(layered.remove("missing"));
+  }
+
+  @Test
+  public void modelWithoutAttributes() {
+    Context ctx = mock(Context.class);
+    when(ctx.getAttributes()).thenReturn(new HashMap<>());
+    Map<String, Object> model = new HashMap<>();
+    model.put("user", "model");
+    ModelAndView modelAndView = new ModelAndView("index.html", model);
+
+    Map<String, Object> result = TemplateEngine.model(ctx, modelAndView);
+    assertEquals("model", result.get("user"));
+    result.put("user", "template");
+    result.put("local", "var");
+    assertEquals("template", result.get("user"));
+    assertEquals(Map.of("user", "model"), model);
+  }
+
+  @Test
+  public void cacheInEveryEnvironment() {
+    AtomicInteger compiled = new AtomicInteger();
+    Jooby application = new Jooby();
+    application.setEnvironmentOptions(new EnvironmentOptions().setActiveNames("prod"));
+    ViewCache<Integer> cache = ViewCache.create(application, Path.of("src", "missing"));
+    cache.get("index.html", view -> compiled.incrementAndGet());
+    cache.get("index.html", view -> compiled.incrementAndGet());
+    assertEquals(1, compiled.get());
+  }
+}
@@ -7,10 +7,14 @@ package io.jooby.internal;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import org.junit.jupiter.api.Test;
 
 import io.jooby.Context;
@@ -226,6 +230,83 @@ public class ChiTest {
         });
   }
 
+  @Test
+  public void pathVariables() {
+    Chi router = new Chi();
+
+    router.insert(route("GET", "/users/{id}/orders/{orderId}", stringHandler("order")));
+    router.insert(route("GET", "/users/{id}/orders/{orderId}/items", stringHandler("items")));
+    router.insert(route("GET", "/users/{id:[0-9]+}/x", stringHandler("x")));
+    router.insert(route("GET", "/files/*path", stringHandler("files")));
+
+    Router.Match result = router.find("GET", "/users/123/orders/abc");
+    assertTrue(result.matches());
+    assertEquals(2, result.pathMap().size());
+    assertEquals("123", result.pathMap().get("id"));
+    assertEquals("abc", result.pathMap().get("orderId"));
+    assertEquals(null, result.pathMap().get("missing"));
+    assertEquals("{id=123, orderId=abc}", result.pathMap().toString());
+    assertEquals(Map.of("id", "123", "orderId", "abc"), new HashMap<>(result.pathMap()));
+
+    result = router.find("GET", "/users/123/orders/abc/items");
+    assertTrue(result.matches());
+    assertEquals(Map.of("id", "123", "orderId", "abc"), result.pathMap());
+
+    result = router.find("GET", "/users/123/x");
+    assertTrue(result.matches());
+    assertEquals(Map.of("id", "123"), result.pathMap());
+
+    result = router.find("GET", "/files/a/b/c.txt");
+    assertTrue(result.matches());
+    assertEquals(Map.of("path", "a/b/c.txt"), result.pathMap());
+
+    result = router.find("GET", "/users/123/orders");
+    assertFalse(result.matches());
+    assertTrue(result.pathMap().isEmpty());
+
+    // static routes don't capture anything
+    router.insert(route("GET", "/users/me", stringHandler("me")));
+    assertTrue(router.find("GET", "/users/me").pathMap().isEmpty());
+  }
+
+  @Test
+  public void freeze() {
+    Chi router = new Chi();
+
+    Route get = route("GET", "/static", stringHandler("get"));
+    Route post = route("POST", "/static", stringHandler("post"));
+    Route custom = route("PROPFIND", "/static", stringHandler("propfind"));
+    Route param = route("GET", "/users/{id}", stringHandler("user"));
+    router.insert(get);
+    router.insert(post);
+    router.insert(custom);
+    router.insert(param);
+    for (int i = 0; i < 100; i++) {
+      router.insert(route("GET", "/static/" + i, stringHandler("static" + i)));
+    }
+
+    router.freeze();
+
+    assertEquals(get, router.find("GET", "/static").route());
+    assertEquals(post, router.find("POST", "/static").route());
+    assertEquals(custom, router.find("PROPFIND", "/static").route());
+    assertFalse(router.find("PUT", "/static").matches());
+    for (int i = 0; i < 100; i++) {
+      Router.Match match = router.find("GET", "/static/" + i);
+      assertTrue(match.matches());
+      assertEquals("/static/" + i, match.route().getPattern());
+    }
+    assertFalse(router.find("GET", "/static/100").matches());
+
+    Router.Match match = router.find("GET", "/users/123");
+    assertEquals(param, match.route());
+    assertEquals(Map.of("id", "123"), match.pathMap());
+    assertFalse(router.find("DELETE", "/users/123").matches());
+
+    assertThrows(
+        IllegalStateException.class, () -> router.insert(route("GET", "/new", stringHandler(""))));
+  }
+
   private void find(
       Chi router, String pattern, SneakyThrows.Consumer2<Context, Router.Match> consumer) {
     Router.Match result = router.find("GET", pattern);
@@ -237,7 +318,9 @@ public class ChiTest {
   }
 
   private Route route(String method, String pattern, Route.Handler handler) {
-    return new Route(method, pattern, handler).setEncoder(MessageEncoder.TO_STRING);
+    return new Route(method, pattern, handler)
+        .setPathKeys(Router.pathKeys(pattern))
+        .setEncoder(MessageEncoder.TO_STRING);
   }
 
   private Context ctx(String path) {
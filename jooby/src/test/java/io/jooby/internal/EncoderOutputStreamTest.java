@@ -0,0 +1,118 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import io.jooby.Context;
+import io.jooby.ServerOptions;
+
+public class EncoderOutputStreamTest {
+
+  @Test
+  public void sendBufferedOutput() throws IOException {
+    Context ctx = mock(Context.class);
+
+    EncoderOutputStream output = new EncoderOutputStream(ctx);
+    output.write(new byte[100], 0, 100);
+    output.send();
+
+    verify(ctx).send(any(ByteBuffer.class));
+    verify(ctx, never()).responseStream();
+  }
+
+  @Test
+  public void sendFixedLengthUpTo16KB() throws IOException {
+    Context ctx = mock(Context.class);
+
+    EncoderOutputStream output = new EncoderOutputStream(ctx);
+    int size = ServerOptions._16KB;
+    output.write(new byte[size], 0, size);
+    output.send();
+
+    ArgumentCaptor<ByteBuffer> buffer = ArgumentCaptor.forClass(ByteBuffer.class);
+    verify(ctx).send(buffer.capture());
+    assertEquals(size, buffer.getValue().remaining());
+    verify(ctx, never()).responseStream();
+  }
+
+  @Test
+  public void streamChunkedOver16KB() throws IOException {
+    Context ctx = mock(Context.class);
+    ByteArrayOutputStream stream = spy(new ByteArrayOutputStream());
+    when(ctx.responseStream()).thenReturn(stream);
+
+    EncoderOutputStream output = new EncoderOutputStream(ctx);
+    int size = ServerOptions._16KB + 1;
+    output.write(new byte[ServerOptions._16KB], 0, ServerOptions._16KB);
+    output.write(1);
+    output.send();
+
+    // response length is unknown when the buffer overflows: no Content-Length, chunked response
+    assertEquals(size, stream.size());
+    verify(stream).close();
+    verify(ctx, never()).send(any(ByteBuffer.class));
+    verify(ctx, never()).setResponseLength(anyLong());
+  }
+
+  @Test
+  public void abortBufferedOutput() throws IOException {
+    Context ctx = mock(Context.class);
+
+    EncoderOutputStream output = new EncoderOutputStream(ctx);
+    output.write(new byte[100], 0, 100);
+    output.abort();
+
+    // nothing was sent, error handler is free to send a response
+    verify(ctx, never()).send(any(ByteBuffer.class));
+    verify(ctx, never()).responseStream();
+    verify(ctx, never()).abort();
+  }
+
+  @Test
+  public void abortStreamedOutput() throws IOException {
+    Context ctx = mock(Context.class);
+    ByteArrayOutputStream stream = new ByteArrayOutputStream();
+    when(ctx.responseStream()).thenReturn(stream);
+
+    EncoderOutputStream output = new EncoderOutputStream(ctx);
+    int size = ServerOptions._16KB + 1;
+    output.write(new byte[size], 0, size);
+    assertEquals(size, stream.size());
+    output.abort();
+
+    verify(ctx).abort();
+    verify(ctx, never()).send(any(ByteBuffer.class));
+  }
+
+  @Test
+  public void ioThreadNeverStreams() throws IOException {
+    Context ctx = mock(Context.class);
+    when(ctx.isInIoThread()).thenReturn(true);
+
+    EncoderOutputStream output = new EncoderOutputStream(ctx);
+    int size = ServerOptions._16KB * 2;
+    output.write(new byte[size], 0, size);
+    output.abort();
+
+    verify(ctx, never()).responseStream();
+    verify(ctx, never()).abort();
+  }
+}
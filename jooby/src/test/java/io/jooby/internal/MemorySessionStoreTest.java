@@ -0,0 +1,132 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.jooby.Context;
+import io.jooby.Router;
+import io.jooby.Session;
+import io.jooby.SessionToken;
+
+public class MemorySessionStoreTest {
+
+  @Test
+  public void expireOnLookup() throws InterruptedException {
+    Context ctx = mock(Context.class);
+    SessionToken token = mock(SessionToken.class);
+    when(token.newToken()).thenReturn("sid");
+    when(token.findToken(ctx)).thenReturn("sid");
+
+    MemorySessionStore store = new MemorySessionStore(token, Duration.ofMillis(50));
+    Session session = store.newSession(ctx);
+    assertEquals("sid", session.getId());
+    assertNotNull(store.findSession(ctx));
+
+    Thread.sleep(100);
+    assertNull(store.findSession(ctx));
+  }
+
+  @Test
+  public void sweepOnWorker() throws InterruptedException {
+    Context ctx = mock(Context.class);
+    SessionToken token = mock(SessionToken.class);
+    when(token.newToken()).thenReturn("expired");
+
+    MemorySessionStore store = new MemorySessionStore(token, Duration.ofMillis(50));
+    store.newSession(ctx);
+    Thread.sleep(100);
+
+    List<Runnable> tasks = new ArrayList<>();
+    Router router = mock(Router.class);
+    when(router.getWorker()).thenReturn(tasks::add);
+    Context request = mock(Context.class);
+    when(request.getRouter()).thenReturn(router);
+    when(token.findToken(request)).thenReturn("sid");
+
+    assertNull(store.findSession(request));
+    assertEquals(1, tasks.size());
+    // sweep runs once per interval
+    store.findSession(request);
+    assertEquals(1, tasks.size());
+
+    tasks.get(0).run();
+    assertNull(store.remove("expired"));
+  }
+
+  @Test
+  public void noTimeout() throws InterruptedException {
+    Context ctx = mock(Context.class);
+    SessionToken token = mock(SessionToken.class);
+    when(token.newToken()).thenReturn("sid");
+    when(token.findToken(ctx)).thenReturn("sid");
+
+    MemorySessionStore store = new MemorySessionStore(token, null);
+    store.newSession(ctx);
+
+    Thread.sleep(10);
+    assertNotNull(store.findSession(ctx));
+  }
+
+  @Test
+  public void touchOnSave() throws InterruptedException {
+    Context ctx = mock(Context.class);
+    SessionToken token = mock(SessionToken.class);
+    when(token.newToken()).thenReturn("sid");
+    when(token.findToken(ctx)).thenReturn("sid");
+
+    MemorySessionStore store = new MemorySessionStore(token, Duration.ofMillis(150));
+    store.newSession(ctx);
+
+    for (int i = 0; i < 3; i++) {
+      Thread.sleep(75);
+      Session session = store.findSession(ctx);
+      assertNotNull(session);
+      assertFalse(session.isModify());
+      store.saveSession(ctx, session);
+    }
+  }
+
+  @Test
+  public void modifyTracking() {
+    Context ctx = mock(Context.class);
+    Router router = mock(Router.class);
+    SessionToken token = mock(SessionToken.class);
+    when(token.newToken()).thenReturn("sid");
+    when(token.findToken(ctx)).thenReturn("sid");
+    MemorySessionStore store = new MemorySessionStore(token, null);
+    when(ctx.getRouter()).thenReturn(router);
+    when(router.getSessionStore()).thenReturn(store);
+
+    Session session = store.newSession(ctx);
+    assertTrue(session.isNew());
+    session.put("foo", "bar");
+    store.saveSession(ctx, session);
+
+    session = store.findSession(ctx);
+    assertFalse(session.isNew());
+    session.put("foo", "bar");
+    session.remove("missing");
+    assertFalse(session.isModify());
+
+    session.put("foo", "baz");
+    assertTrue(session.isModify());
+    store.saveSession(ctx, session);
+    assertEquals("baz", store.findSession(ctx).get("foo").value());
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+public class SegmentMatcherTest {
+
+  private static final List<String> INPUTS =
+      List.of(
+          "0",
+          "7",
+          "123",
+          "00123",
+          "12a",
+          "abc",
+          "ABC",
+          "aBc",
+          "deadBEEF",
+          "xyz",
+          "a_b",
+          "a-b",
+          "a.b",
+          "1.0.3",
+          "ab",
+          "abcd",
+          "1234567",
+          "12345678",
+          "123456789",
+          "0123abcd-0123-4567-89ab-0123456789AB",
+          "0123abcd-0123-4567-89ab-0123456789A",
+          "0123abcd-0123-4567-89ab-0123456789ABC",
+          "0123abcd_0123-4567-89ab-0123456789AB",
+          "12\u00e9",
+          "\u0661\u0662");
+
+  @Test
+  public void charClassMatchers() {
+    assertCharClass("^[0-9]+$");
+    assertCharClass("^\\d+$");
+    assertCharClass("^[0-9]*$");
+    assertCharClass("^[0-9]{8}$");
+    assertCharClass("^\\d{2,7}$");
+    assertCharClass("^[0-9]{3,}$");
+    assertCharClass("^[a-fA-F0-9]+$");
+    assertCharClass("^[a-z]+$");
+    assertCharClass("^[a-zA-Z]+$");
+    assertCharClass("^[A-Z]+$");
+    assertCharClass("^[a-zA-Z0-9]+$");
+    assertCharClass("^\\w+$");
+    assertCharClass("^[a-z-]+$");
+    assertCharClass("^[0-9.]+$");
+    assertCharClass("^[0-9\\.]+$");
+    assertCharClass("^ab?$");
+    assertCharClass("^a[0-9]+b$");
+    assertCharClass(
+        "^[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}$");
+  }
+
+  @Test
+  public void regexFallback() {
+    assertRegex("^.+$");
+    assertRegex("^[^/]+$");
+    assertRegex("^(foo|bar)$");
+    assertRegex("^(?i)abc$");
+    assertRegex("^[a-z]+[0-9]+$");
+    assertRegex("^[0-9]+?$");
+    assertRegex("^\\p{Alpha}+$");
+    assertRegex("^abc\\$");
+  }
+
+  private void assertCharClass(String regex) {
+    SegmentMatcher matcher = SegmentMatcher.create(regex);
+    assertTrue(matcher instanceof SegmentMatcher.CharClassMatcher, regex);
+    assertSameAsRegex(regex, matcher);
+  }
+
+  private void assertRegex(String regex) {
+    SegmentMatcher matcher = SegmentMatcher.create(regex);
+    assertTrue(matcher instanceof SegmentMatcher.RegexMatcher, regex);
+    assertSameAsRegex(regex, matcher);
+  }
+
+  private void assertSameAsRegex(String regex, SegmentMatcher matcher) {
+    Pattern pattern = Pattern.compile(regex);
+    for (String input : INPUTS) {
+      String path = "/x/" + input + "/y";
+      int start = 3;
+      int end = start + input.length();
+      assertEquals(
+          pattern.matcher(input).matches(),
+          matcher.matches(path, start, end),
+          regex + " -> " + input);
+    }
+  }
+}
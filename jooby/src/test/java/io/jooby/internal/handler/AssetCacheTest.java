@@ -0,0 +1,120 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal.handler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.jooby.handler.AssetSource;
+
+public class AssetCacheTest {
+
+  @Test
+  public void gzipOnLoad(@TempDir Path dir) throws Exception {
+    String js = "function hello() { return 'hello'; }\n".repeat(20);
+    Files.writeString(dir.resolve("app.js"), js);
+    AssetSource source = AssetSource.create(dir);
+
+    AssetCache cache = new AssetCache(1024 * 1024);
+    AssetCache.Entry entry = cache.load("app.js", source.resolve("app.js"), source::resolve);
+    assertNotNull(entry);
+    assertTrue(entry.getContentType().isTextual());
+    assertTrue(entry.isCompressed());
+    assertEquals(entry, cache.get("app.js"));
+
+    assertNull(entry.encoding(null));
+    assertNull(entry.encoding("br, deflate"));
+    assertNull(entry.encoding("gzip;q=0"));
+    assertEquals("gzip", entry.encoding("deflate, gzip;q=0.8"));
+    assertEquals("gzip", entry.encoding("*"));
+    assertNull(entry.encoding("gzip; q=0.000"));
+    assertNull(entry.encoding("gzip;Q = 0."));
+    assertEquals("gzip", entry.encoding("gzip;q=0.01"));
+    assertEquals("gzip", entry.encoding("gzip;q=1"));
+
+    // each encoding has its own e-tag
+    String etag = entry.getEtag(null);
+    assertTrue(etag.endsWith("\""));
+    assertEquals(etag.substring(0, etag.length() - 1) + "-gzip\"", entry.getEtag("gzip"));
+
+    assertEquals(js, string(entry.content(null)));
+    byte[] gzip = bytes(entry.content("gzip"));
+    try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+      assertEquals(js, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+    }
+  }
+
+  @Test
+  public void precompressedSiblings(@TempDir Path dir) throws Exception {
+    Files.writeString(dir.resolve("app.css"), "body {}");
+    Files.writeString(dir.resolve("app.css.br"), "br");
+    AssetSource source = AssetSource.create(dir);
+
+    AssetCache cache = new AssetCache(1024);
+    AssetCache.Entry entry = cache.load("app.css", source.resolve("app.css"), source::resolve);
+    assertTrue(entry.isCompressed());
+    assertEquals("br", entry.encoding("gzip, deflate, br"));
+    assertNull(entry.encoding("gzip"));
+    assertEquals("br", string(entry.content("br")));
+    // content is a view
+    assertEquals("body {}", string(entry.content(null)));
+    assertEquals("body {}", string(entry.content(null)));
+  }
+
+  @Test
+  public void evictLeastRecentlyUsed(@TempDir Path dir) throws Exception {
+    for (String name : new String[] {"a.png", "b.png", "c.png", "big.png"}) {
+      Files.write(dir.resolve(name), new byte[name.equals("big.png") ? 200 : 100]);
+    }
+    AssetSource source = AssetSource.create(dir);
+
+    AssetCache cache = new AssetCache(500);
+    for (String name : new String[] {"a.png", "b.png", "c.png", "big.png"}) {
+      cache.load(name, source.resolve(name), source::resolve);
+    }
+    // too large
+    assertNull(cache.get("big.png"));
+    assertEquals(3, cache.size());
+    assertEquals(300, cache.getMemory());
+
+    cache.get("a.png");
+    Files.write(dir.resolve("d.png"), new byte[100]);
+    Files.write(dir.resolve("e.png"), new byte[100]);
+    cache.load("d.png", source.resolve("d.png"), source::resolve);
+    cache.load("e.png", source.resolve("e.png"), source::resolve);
+    assertEquals(500, cache.getMemory());
+    Files.write(dir.resolve("f.png"), new byte[100]);
+    cache.load("f.png", source.resolve("f.png"), source::resolve);
+
+    assertEquals(500, cache.getMemory());
+    assertNull(cache.get("b.png"));
+    assertNotNull(cache.get("a.png"));
+    assertFalse(cache.get("f.png").isCompressed());
+  }
+
+  private static byte[] bytes(ByteBuffer buffer) {
+    byte[] bytes = new byte[buffer.remaining()];
+    buffer.get(bytes);
+    return bytes;
+  }
+
+  private static String string(ByteBuffer buffer) {
+    return new String(bytes(buffer), StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,147 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal.handler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import io.jooby.Context;
+import io.jooby.DispatchListener;
+import io.jooby.Route;
+import io.jooby.StatusCode;
+import io.jooby.exception.StatusCodeException;
+
+public class InstrumentedDispatchHandlerTest {
+
+  private static class Events implements DispatchListener {
+    List<String> events = new ArrayList<>();
+
+    @Override
+    public void onEnqueue(Context ctx, String executor) {
+      events.add("enqueue:" + executor);
+    }
+
+    @Override
+    public void onStart(Context ctx, String executor, long waitNanos) {
+      events.add("start:" + executor);
+    }
+
+    @Override
+    public void onEnd(Context ctx, String executor, long runNanos) {
+      events.add("end:" + executor);
+    }
+
+    @Override
+    public void onReject(Context ctx, String executor, Throwable cause) {
+      events.add("reject:" + executor);
+    }
+  }
+
+  @Test
+  public void dispatch() throws Exception {
+    Executor executor = Runnable::run;
+    Context ctx = mock(Context.class);
+    when(ctx.dispatch(any(Executor.class), any(Runnable.class)))
+        .thenAnswer(
+            invocation -> {
+              invocation.getArgument(1, Runnable.class).run();
+              return ctx;
+            });
+    Events events = new Events();
+    Route.Handler handler = ctx2 -> events.events.add("handler");
+
+    new InstrumentedDispatchHandler(executor, "io", events).apply(handler).apply(ctx);
+
+    assertEquals(List.of("enqueue:io", "start:io", "handler", "end:io"), events.events);
+  }
+
+  @Test
+  public void shedLoad() throws Exception {
+    Executor executor = Runnable::run;
+    Context ctx = mock(Context.class);
+    when(ctx.dispatch(any(Executor.class), any(Runnable.class)))
+        .thenAnswer(
+            invocation -> {
+              Thread.sleep(5);
+              invocation.getArgument(1, Runnable.class).run();
+              return ctx;
+            });
+    Events events = new Events();
+    Route.Handler handler = ctx2 -> events.events.add("handler");
+    DispatchListener listener = DispatchListener.maxQueueWait(Duration.ofMillis(1)).then(events);
+
+    new InstrumentedDispatchHandler(executor, "worker", listener).apply(handler).apply(ctx);
+
+    assertEquals(List.of("enqueue:worker", "start:worker", "end:worker"), events.events);
+    ArgumentCaptor<Throwable> cause = ArgumentCaptor.forClass(Throwable.class);
+    verify(ctx).sendError(cause.capture());
+    assertEquals(
+        StatusCode.SERVICE_UNAVAILABLE, ((StatusCodeException) cause.getValue()).getStatusCode());
+  }
+
+  @Test
+  public void rejectOnDeferredSubmit() throws Exception {
+    Executor executor =
+        task -> {
+          throw new RejectedExecutionException();
+        };
+    Context ctx = mock(Context.class);
+    List<Runnable> deferred = new ArrayList<>();
+    // like undertow: the executor is invoked after dispatch returns
+    when(ctx.dispatch(any(Executor.class), any(Runnable.class)))
+        .thenAnswer(
+            invocation -> {
+              Executor target = invocation.getArgument(0, Executor.class);
+              Runnable action = invocation.getArgument(1, Runnable.class);
+              deferred.add(() -> target.execute(action));
+              return ctx;
+            });
+    Events events = new Events();
+    Route.Handler handler = mock(Route.Handler.class);
+
+    new InstrumentedDispatchHandler(executor, "single", events).apply(handler).apply(ctx);
+    assertEquals(List.of("enqueue:single"), events.events);
+
+    deferred.forEach(Runnable::run);
+
+    assertEquals(List.of("enqueue:single", "reject:single"), events.events);
+    verify(handler, never()).apply(ctx);
+    ArgumentCaptor<Throwable> cause = ArgumentCaptor.forClass(Throwable.class);
+    verify(ctx).sendError(cause.capture());
+    assertEquals(
+        StatusCode.SERVICE_UNAVAILABLE, ((StatusCodeException) cause.getValue()).getStatusCode());
+  }
+
+  @Test
+  public void reject() throws Exception {
+    Context ctx = mock(Context.class);
+    when(ctx.dispatch(any(Runnable.class))).thenThrow(new RejectedExecutionException());
+    Events events = new Events();
+    Route.Handler handler = mock(Route.Handler.class);
+
+    new InstrumentedDispatchHandler(null, "worker", events).apply(handler).apply(ctx);
+
+    assertEquals(List.of("enqueue:worker", "reject:worker"), events.events);
+    verify(handler, never()).apply(ctx);
+    ArgumentCaptor<Throwable> cause = ArgumentCaptor.forClass(Throwable.class);
+    verify(ctx).sendError(cause.capture());
+    assertEquals(
+        StatusCode.SERVICE_UNAVAILABLE, ((StatusCodeException) cause.getValue()).getStatusCode());
+  }
+}
@@ -214,17 +214,12 @@ public class HandlerCompiler {
       throws Exception {
     for (VariableElement var : executable.getParameters()) {
       if (isSuspendFunction(var)) {
-        visitor.visitVarInsn(ALOAD, 1);
-        visitor.visitMethodInsn(
-            INVOKEINTERFACE, "io/jooby/Context", "getAttributes", "()Ljava/util/Map;", true);
-        visitor.visitLdcInsn("___continuation");
         visitor.visitMethodInsn(
-            INVOKEINTERFACE,
-            "java/util/Map",
-            "remove",
-            "(Ljava/lang/Object;)Ljava/lang/Object;",
-            true);
-        visitor.visitTypeInsn(CHECKCAST, "kotlin/coroutines/Continuation");
+            INVOKESTATIC,
+            "io/jooby/internal/kt/CoroutineLauncher",
+            "continuation",
+            "()Lkotlin/coroutines/Continuation;",
+            false);
       } else {
         visitor.visitVarInsn(ALOAD, 1);
         ParamDefinition param = ParamDefinition.create(environment, var);
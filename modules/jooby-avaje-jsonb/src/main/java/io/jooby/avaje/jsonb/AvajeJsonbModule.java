@@ -16,6 +16,7 @@ import io.jooby.MessageDecoder;
 import io.jooby.MessageEncoder;
 import io.jooby.ServiceRegistry;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.lang.reflect.Type;
 
 /**
@@ -109,4 +110,11 @@ public class AvajeJsonbModule implements Extension, MessageDecoder, MessageEncod
         ctx.setDefaultResponseType(MediaType.json);
         return jsonb.toJsonBytes(value);
     }
+
+    @Override
+    public boolean encode(@NonNull Context ctx, @NonNull Object value, @NonNull OutputStream output) {
+        ctx.setDefaultResponseType(MediaType.json);
+        jsonb.toJson(value, output);
+        return true;
+    }
 }
@@ -16,12 +16,14 @@ import com.typesafe.config.ConfigValueType;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import io.ebean.Database;
 import io.ebean.DatabaseFactory;
+import io.ebean.Transaction;
 import io.ebean.config.DatabaseConfig;
 import io.jooby.Environment;
 import io.jooby.Extension;
 import io.jooby.Jooby;
 import io.jooby.ServiceKey;
 import io.jooby.ServiceRegistry;
+import io.jooby.internal.ebean.TransactionProvider;
 
 /**
  * Persistence module using Ebean: https://ebean.io.
@@ -96,6 +98,10 @@ public class EbeanModule implements Extension {
     ServiceRegistry services = application.getServices();
     services.putIfAbsent(Database.class, database);
     services.put(ServiceKey.key(Database.class, name), database);
+
+    TransactionProvider transaction = new TransactionProvider(database);
+    services.putIfAbsent(Transaction.class, transaction);
+    services.put(ServiceKey.key(Transaction.class, name), transaction);
   }
 
   /**
@@ -11,11 +11,16 @@ import io.ebean.Transaction;
 import io.jooby.Route;
 import io.jooby.ServiceKey;
 import io.jooby.annotation.Transactional;
+import io.jooby.internal.ebean.LazyTransaction;
 
 /**
  * Start a new transaction on each incoming request. Its commit the transaction is no exception is
  * thrown or rollback in case of an exception.
  *
+ * <p>The current transaction is available via <code>require(Transaction.class)</code>. The time the
+ * transaction was active is available as {@link Transactional#HOLD_TIME} context attribute. See
+ * {@link #lazy(boolean)} to start it on first use.
+ *
  * @author edgar.
  */
 public class TransactionalRequest implements Route.Filter {
@@ -24,6 +29,8 @@ public class TransactionalRequest implements Route.Filter {
 
   private boolean enabledByDefault = true;
 
+  private boolean lazy;
+
   /**
    * Creates a transactional request.
    *
@@ -55,15 +62,36 @@ public class TransactionalRequest implements Route.Filter {
     return this;
   }
 
+  /**
+   * Sets whether the transaction should be started the first time a {@link Transaction} is
+   * required ({@code false} by default). Routes that never ask for a transaction don't check out a
+   * connection.
+   *
+   * <p>In lazy mode, database operations executed before requiring the {@link Transaction} run in
+   * their own (implicit) transaction.
+   *
+   * @param lazy whether transaction should be started on first use.
+   * @return this instance
+   */
+  public TransactionalRequest lazy(boolean lazy) {
+    this.lazy = lazy;
+    return this;
+  }
+
   @NonNull @Override
   public Route.Handler apply(@NonNull Route.Handler next) {
     return ctx -> {
       if (ctx.getRoute().isTransactional(enabledByDefault)) {
-        Database db = ctx.require(key);
-        try (Transaction transaction = db.beginTransaction()) {
+        LazyTransaction transaction = LazyTransaction.bind(ctx.require(key));
+        try {
+          if (!lazy) {
+            transaction.begin();
+          }
           Object result = next.apply(ctx);
           transaction.commit();
           return result;
+        } finally {
+          transaction.close(ctx);
         }
       } else {
         return next.apply(ctx);
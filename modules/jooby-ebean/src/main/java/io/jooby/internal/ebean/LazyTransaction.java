@@ -0,0 +1,95 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal.ebean;
+
+import io.ebean.Database;
+import io.ebean.Transaction;
+import io.jooby.Context;
+import io.jooby.RequestScope;
+import io.jooby.annotation.Transactional;
+
+/**
+ * Request bound transaction which begins the first time is required. Routes that never ask for a
+ * {@link Transaction} never check out a connection.
+ */
+public class LazyTransaction {
+
+  private record Key(Database database) {}
+
+  private final Database database;
+
+  private Transaction transaction;
+
+  private long beganAt;
+
+  private LazyTransaction(Database database) {
+    this.database = database;
+  }
+
+  /**
+   * Attach a lazy transaction to the current request.
+   *
+   * @param database Database.
+   * @return Lazy transaction.
+   */
+  public static LazyTransaction bind(Database database) {
+    LazyTransaction transaction = new LazyTransaction(database);
+    RequestScope.bind(new Key(database), transaction);
+    return transaction;
+  }
+
+  /**
+   * Begin the lazy transaction attached to current request or <code>null</code> when there is
+   * none.
+   *
+   * @param database Database.
+   * @return Transaction or <code>null</code>.
+   */
+  public static Transaction begin(Database database) {
+    LazyTransaction lazy = RequestScope.get(new Key(database));
+    return lazy == null ? null : lazy.begin();
+  }
+
+  /**
+   * Begin the transaction (if it wasn't).
+   *
+   * @return Transaction.
+   */
+  public Transaction begin() {
+    if (transaction == null) {
+      beganAt = System.nanoTime();
+      transaction = database.beginTransaction();
+    }
+    return transaction;
+  }
+
+  /** Commit the transaction, if it was started. */
+  public void commit() {
+    if (transaction != null && transaction.isActive()) {
+      transaction.commit();
+    }
+  }
+
+  /**
+   * Detach from current request, end the transaction (rollback when still active) and report the
+   * time it was active.
+   *
+   * @param ctx Web context.
+   */
+  public void close(Context ctx) {
+    RequestScope.unbind(new Key(database));
+    if (transaction != null) {
+      try {
+        transaction.close();
+      } finally {
+        long holdTime = System.nanoTime() - beganAt;
+        Long previous = (Long) ctx.getAttributes().get(Transactional.HOLD_TIME);
+        ctx.setAttribute(
+            Transactional.HOLD_TIME, previous == null ? holdTime : previous + holdTime);
+      }
+    }
+  }
+}
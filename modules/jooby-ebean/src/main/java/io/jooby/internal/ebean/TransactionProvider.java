@@ -0,0 +1,34 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal.ebean;
+
+import io.ebean.Database;
+import io.ebean.Transaction;
+import io.jooby.ebean.TransactionalRequest;
+import jakarta.inject.Provider;
+
+public class TransactionProvider implements Provider<Transaction> {
+  private final Database database;
+
+  public TransactionProvider(Database database) {
+    this.database = database;
+  }
+
+  @Override
+  public Transaction get() {
+    Transaction transaction = LazyTransaction.begin(database);
+    if (transaction == null) {
+      transaction = database.currentTransaction();
+    }
+    if (transaction == null) {
+      throw new IllegalStateException(
+          "No transaction was attached to current request. Make sure `"
+              + TransactionalRequest.class.getName()
+              + "` is installed and the route is transactional");
+    }
+    return transaction;
+  }
+}
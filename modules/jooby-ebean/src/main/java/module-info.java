@@ -13,4 +13,5 @@ module io.jooby.ebean {
   requires static com.github.spotbugs.annotations;
   requires typesafe.config;
   requires io.ebean;
+  requires jakarta.inject;
 }
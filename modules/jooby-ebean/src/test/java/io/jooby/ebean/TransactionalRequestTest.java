@@ -0,0 +1,149 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.ebean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.ebean.Database;
+import io.ebean.Transaction;
+import io.jooby.Context;
+import io.jooby.Route;
+import io.jooby.ServiceKey;
+import io.jooby.annotation.Transactional;
+import io.jooby.internal.ebean.TransactionProvider;
+
+public class TransactionalRequestTest {
+
+  private Map<String, Object> attributes;
+
+  private Context ctx;
+
+  private Database database;
+
+  private Transaction transaction;
+
+  @BeforeEach
+  public void setup() {
+    attributes = new HashMap<>();
+    database = mock(Database.class);
+    transaction = mock(Transaction.class);
+    when(database.beginTransaction()).thenReturn(transaction);
+    when(transaction.isActive()).thenReturn(true);
+
+    ctx = mock(Context.class);
+    when(ctx.getRoute()).thenReturn(new Route("GET", "/", c -> c));
+    when(ctx.require(ServiceKey.key(Database.class))).thenReturn(database);
+    when(ctx.getAttributes()).thenReturn(attributes);
+    when(ctx.setAttribute(anyString(), any()))
+        .thenAnswer(
+            i -> {
+              attributes.put(i.getArgument(0), i.getArgument(1));
+              return ctx;
+            });
+  }
+
+  @Test
+  public void noTransactionWhenNotRequired() throws Exception {
+    assertEquals("OK", new TransactionalRequest().lazy(true).apply(c -> "OK").apply(ctx));
+
+    verify(database, never()).beginTransaction();
+    assertNull(attributes.get(Transactional.HOLD_TIME));
+  }
+
+  @Test
+  public void eagerTransaction() throws Exception {
+    assertEquals("OK", new TransactionalRequest().apply(c -> "OK").apply(ctx));
+
+    verify(database).beginTransaction();
+    verify(transaction).commit();
+    verify(transaction).close();
+    assertTrue(attributes.get(Transactional.HOLD_TIME) instanceof Long);
+  }
+
+  @Test
+  public void commitOnFirstUse() throws Exception {
+    TransactionProvider provider = new TransactionProvider(database);
+    Object result =
+        new TransactionalRequest()
+            .lazy(true)
+            .apply(
+                c -> {
+                  Transaction transaction = provider.get();
+                  // same transaction for the rest of the request
+                  assertSame(transaction, provider.get());
+                  return transaction;
+                })
+            .apply(ctx);
+
+    assertSame(transaction, result);
+    verify(database).beginTransaction();
+    verify(transaction).commit();
+    verify(transaction).close();
+    assertTrue(attributes.get(Transactional.HOLD_TIME) instanceof Long);
+  }
+
+  @Test
+  public void rollbackOnError() {
+    TransactionProvider provider = new TransactionProvider(database);
+    Route.Handler handler =
+        new TransactionalRequest()
+            .lazy(true)
+            .apply(
+                c -> {
+                  provider.get();
+                  throw new IllegalStateException("intentional error");
+                });
+
+    assertThrows(IllegalStateException.class, () -> handler.apply(ctx));
+    // close() rollbacks an active transaction
+    verify(transaction, never()).commit();
+    verify(transaction).close();
+  }
+
+  @Test
+  public void noTransactionOutsideOfRequest() {
+    TransactionProvider provider = new TransactionProvider(database);
+    assertThrows(IllegalStateException.class, provider::get);
+  }
+
+  @Test
+  public void accumulateHoldTime() throws Exception {
+    long previous = TimeUnit.SECONDS.toNanos(1);
+    long sleep = TimeUnit.MILLISECONDS.toNanos(5);
+    attributes.put(Transactional.HOLD_TIME, previous);
+    doAnswer(
+            i -> {
+              Thread.sleep(TimeUnit.NANOSECONDS.toMillis(sleep));
+              return null;
+            })
+        .when(transaction)
+        .close();
+
+    TransactionProvider provider = new TransactionProvider(database);
+    new TransactionalRequest().lazy(true).apply(c -> provider.get()).apply(ctx);
+
+    long holdTime = (Long) attributes.get(Transactional.HOLD_TIME);
+    assertTrue(holdTime >= previous + sleep, Long.toString(holdTime));
+  }
+}
@@ -25,6 +25,7 @@ import freemarker.core.HTMLOutputFormat;
 import freemarker.core.OutputFormat;
 import freemarker.template.Configuration;
 import freemarker.template.DefaultObjectWrapperBuilder;
+import freemarker.template.Template;
 import freemarker.template.TemplateException;
 import io.jooby.Environment;
 import io.jooby.Extension;
@@ -32,6 +33,7 @@ import io.jooby.Jooby;
 import io.jooby.ServiceRegistry;
 import io.jooby.SneakyThrows;
 import io.jooby.TemplateEngine;
+import io.jooby.ViewCache;
 
 /**
  * Freemarker module: https://jooby.io/modules/freemarker.
@@ -278,12 +280,26 @@ public class FreemarkerModule implements Extension {
               .setTemplatesPath(templatesPath)
               .build(application.getEnvironment());
     }
-    application.encoder(new FreemarkerTemplateEngine(freemarker, EXT));
+    ViewCache<Template> cache = ViewCache.create(application, templatesPath(application));
+    application.encoder(new FreemarkerTemplateEngine(freemarker, EXT, cache));
 
     ServiceRegistry services = application.getServices();
     services.put(Configuration.class, freemarker);
   }
 
+  private Path templatesPath(Jooby application) {
+    if (templatesPath != null) {
+      return templatesPath;
+    }
+    String path =
+        application
+            .getEnvironment()
+            .getProperty(
+                TEMPLATE_PATH,
+                Optional.ofNullable(templatesPathString).orElse(TemplateEngine.PATH));
+    return Paths.get(System.getProperty("user.dir"), normalizePath(path));
+  }
+
   /**
    * Creates a new freemarker builder.
    *
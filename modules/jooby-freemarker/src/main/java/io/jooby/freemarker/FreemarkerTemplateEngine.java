@@ -5,12 +5,14 @@
  */
 package io.jooby.freemarker;
 
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
 import freemarker.core.Environment;
@@ -19,15 +21,23 @@ import freemarker.template.Template;
 import io.jooby.Context;
 import io.jooby.ModelAndView;
 import io.jooby.TemplateEngine;
+import io.jooby.ViewCache;
 
 class FreemarkerTemplateEngine implements TemplateEngine {
 
   private final Configuration freemarker;
   private final List<String> extensions;
+  private final ViewCache<Template> cache;
 
   FreemarkerTemplateEngine(Configuration freemarker, List<String> extensions) {
+    this(freemarker, extensions, new ViewCache<>());
+  }
+
+  FreemarkerTemplateEngine(
+      Configuration freemarker, List<String> extensions, ViewCache<Template> cache) {
     this.freemarker = freemarker;
     this.extensions = Collections.unmodifiableList(extensions);
+    this.cache = cache;
   }
 
   @NonNull @Override
@@ -37,17 +47,29 @@ class FreemarkerTemplateEngine implements TemplateEngine {
 
   @Override
   public String render(Context ctx, ModelAndView modelAndView) throws Exception {
-    Template template = freemarker.getTemplate(modelAndView.getView());
     StringWriter writer = new StringWriter();
-    Map<String, Object> model = new HashMap<>(ctx.getAttributes());
-    model.putAll(modelAndView.getModel());
+    render(ctx, modelAndView, writer);
+    return writer.toString();
+  }
+
+  @Override
+  public boolean render(Context ctx, ModelAndView modelAndView, OutputStream output)
+      throws Exception {
+    Writer writer = new OutputStreamWriter(output, StandardCharsets.UTF_8);
+    render(ctx, modelAndView, writer);
+    writer.flush();
+    return true;
+  }
+
+  private void render(Context ctx, ModelAndView modelAndView, Writer writer) throws Exception {
+    Template template = cache.get(modelAndView.getView(), freemarker::getTemplate);
     Locale locale = modelAndView.getLocale();
     if (locale == null) {
       locale = ctx.locale();
     }
-    Environment env = template.createProcessingEnvironment(model, writer);
+    Environment env =
+        template.createProcessingEnvironment(TemplateEngine.model(ctx, modelAndView), writer);
     env.setLocale(locale);
     env.process();
-    return writer.toString();
   }
 }
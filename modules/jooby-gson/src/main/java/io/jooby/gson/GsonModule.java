@@ -10,6 +10,9 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.lang.reflect.Type;
 
 import com.google.gson.Gson;
@@ -112,4 +115,14 @@ public class GsonModule implements Extension, MessageDecoder, MessageEncoder {
     ctx.setDefaultResponseType(MediaType.json);
     return gson.toJson(value).getBytes(UTF_8);
   }
+
+  @Override
+  public boolean encode(@NonNull Context ctx, @NonNull Object value, @NonNull OutputStream output)
+      throws Exception {
+    ctx.setDefaultResponseType(MediaType.json);
+    Writer writer = new OutputStreamWriter(output, UTF_8);
+    gson.toJson(value, writer);
+    writer.flush();
+    return true;
+  }
 }
@@ -18,6 +18,7 @@ import java.util.List;
 import java.util.Optional;
 
 import com.github.jknack.handlebars.Handlebars;
+import com.github.jknack.handlebars.Template;
 import com.github.jknack.handlebars.cache.HighConcurrencyTemplateCache;
 import com.github.jknack.handlebars.cache.NullTemplateCache;
 import com.github.jknack.handlebars.cache.TemplateCache;
@@ -30,6 +31,7 @@ import io.jooby.Extension;
 import io.jooby.Jooby;
 import io.jooby.ServiceRegistry;
 import io.jooby.TemplateEngine;
+import io.jooby.ViewCache;
 
 /**
  * Handlebars module: https://jooby.io/modules/handlebars.
@@ -240,12 +242,26 @@ public class HandlebarsModule implements Extension {
               .setTemplatesPath(templatesPath)
               .build(application.getEnvironment());
     }
-    application.encoder(new HbsTemplateEngine(handlebars, EXT));
+    ViewCache<Template> cache = ViewCache.create(application, templatesPath(application));
+    application.encoder(new HbsTemplateEngine(handlebars, EXT, cache));
 
     ServiceRegistry services = application.getServices();
     services.put(Handlebars.class, handlebars);
   }
 
+  private Path templatesPath(Jooby application) {
+    if (templatesPath != null) {
+      return templatesPath;
+    }
+    String path =
+        application
+            .getEnvironment()
+            .getProperty(
+                TEMPLATE_PATH,
+                Optional.ofNullable(templatesPathString).orElse(TemplateEngine.PATH));
+    return Paths.get(System.getProperty("user.dir"), normalizePath(path));
+  }
+
   /**
    * Creates a new freemarker builder.
    *
@@ -5,10 +5,12 @@
  */
 package io.jooby.handlebars;
 
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 import com.github.jknack.handlebars.Handlebars;
 import com.github.jknack.handlebars.Template;
@@ -16,15 +18,22 @@ import edu.umd.cs.findbugs.annotations.NonNull;
 import io.jooby.Context;
 import io.jooby.ModelAndView;
 import io.jooby.TemplateEngine;
+import io.jooby.ViewCache;
 
 class HbsTemplateEngine implements TemplateEngine {
 
   private final List<String> extensions;
   private final Handlebars handlebars;
+  private final ViewCache<Template> cache;
 
   HbsTemplateEngine(Handlebars handlebars, List<String> extensions) {
+    this(handlebars, extensions, new ViewCache<>());
+  }
+
+  HbsTemplateEngine(Handlebars handlebars, List<String> extensions, ViewCache<Template> cache) {
     this.handlebars = handlebars;
     this.extensions = Collections.unmodifiableList(extensions);
+    this.cache = cache;
   }
 
   @NonNull @Override
@@ -34,9 +43,17 @@ class HbsTemplateEngine implements TemplateEngine {
 
   @Override
   public String render(Context ctx, ModelAndView modelAndView) throws Exception {
-    Template template = handlebars.compile(modelAndView.getView());
-    Map<String, Object> model = new HashMap<>(ctx.getAttributes());
-    model.putAll(modelAndView.getModel());
-    return template.apply(model);
+    Template template = cache.get(modelAndView.getView(), handlebars::compile);
+    return template.apply(TemplateEngine.model(ctx, modelAndView));
+  }
+
+  @Override
+  public boolean render(Context ctx, ModelAndView modelAndView, OutputStream output)
+      throws Exception {
+    Template template = cache.get(modelAndView.getView(), handlebars::compile);
+    Writer writer = new OutputStreamWriter(output, StandardCharsets.UTF_8);
+    template.apply(TemplateEngine.model(ctx, modelAndView), writer);
+    writer.flush();
+    return true;
   }
 }
@@ -6,7 +6,10 @@
 package io.jooby.handlebars;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Paths;
 import java.util.Arrays;
 
@@ -53,6 +56,23 @@ public class HandlebarsModuleTest {
     assertEquals("Hello foo bar var!", output.trim());
   }
 
+  @Test
+  public void renderToOutput() throws Exception {
+    Handlebars handlebars =
+        HandlebarsModule.create()
+            .build(new Environment(getClass().getClassLoader(), ConfigFactory.empty()));
+    HbsTemplateEngine engine = new HbsTemplateEngine(handlebars, Arrays.asList(".hbs"));
+    MockContext ctx = new MockContext();
+    ctx.getAttributes().put("local", "var");
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    assertTrue(
+        engine.render(
+            ctx,
+            new ModelAndView("index.hbs").put("user", new User("foo", "bar")).put("sign", "!"),
+            output));
+    assertEquals("Hello foo bar var!", output.toString(StandardCharsets.UTF_8).trim());
+  }
+
   @Test
   public void renderFileSystem() throws Exception {
     Handlebars handlebars =
@@ -8,7 +8,6 @@ package io.jooby.hibernate;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.hibernate.Transaction;
-import org.hibernate.context.internal.ManagedSessionContext;
 import org.hibernate.resource.transaction.spi.TransactionStatus;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -18,6 +17,7 @@ import io.jooby.Route;
 import io.jooby.ServiceKey;
 import io.jooby.SneakyThrows;
 import io.jooby.annotation.Transactional;
+import io.jooby.internal.hibernate.LazySession;
 
 /**
  * Attaches a {@link Session} and {@link jakarta.persistence.EntityManager} to the current request
@@ -29,6 +29,9 @@ import io.jooby.annotation.Transactional;
  * <p>Applies the {@link SessionRequest} decorator, so there is no need to use session request in
  * addition to transactional request.
  *
+ * <p>The time the transaction was open is available as {@link Transactional#HOLD_TIME} context
+ * attribute. See {@link #lazy(boolean)} to start it on first use.
+ *
  * <p>Usage:
  *
  * <pre>{@code
@@ -60,6 +63,8 @@ public class TransactionalRequest implements Route.Filter {
 
   private boolean enabledByDefault = true;
 
+  private boolean lazy;
+
   /**
    * Creates a new transactional request and attach the to a named session factory.
    *
@@ -99,6 +104,22 @@ public class TransactionalRequest implements Route.Filter {
     return this;
   }
 
+  /**
+   * Sets whether the session should be opened (and the transaction started) the first time it is
+   * required ({@code false} by default). Routes that never ask for a {@link Session} or {@link
+   * jakarta.persistence.EntityManager} don't check out a connection.
+   *
+   * <p>In lazy mode the session must be obtained via {@link io.jooby.Registry#require(Class)} or
+   * injection, {@link SessionFactory#getCurrentSession()} fails until then.
+   *
+   * @param lazy whether session should be opened on first use.
+   * @return this instance
+   */
+  public TransactionalRequest lazy(boolean lazy) {
+    this.lazy = lazy;
+    return this;
+  }
+
   @NonNull @Override
   public Route.Handler apply(@NonNull Route.Handler next) {
     return ctx -> {
@@ -106,33 +127,37 @@ public class TransactionalRequest implements Route.Filter {
         SessionFactory sessionFactory = ctx.require(sessionFactoryKey);
         SessionProvider sessionProvider = ctx.require(sessionProviderKey);
 
-        try (Session session = sessionProvider.newSession(sessionFactory.withOptions())) {
-          ManagedSessionContext.bind(session);
+        LazySession session = LazySession.bind(sessionFactory, sessionProvider);
+        try {
+          if (!lazy) {
+            session.open();
+          }
 
           Object result;
 
-          Transaction trx = null;
           try {
-            trx = session.getTransaction();
-            trx.begin();
-
             result = next.apply(ctx);
 
-            if (trx.isActive()) {
+            Transaction trx = session.getTransaction();
+            if (trx != null && trx.isActive()) {
               trx.commit();
             }
           } catch (Throwable ex) {
+            Transaction trx = session.getTransaction();
             if (trx != null && trx.isActive()) {
               trx.rollback();
             }
             throw SneakyThrows.propagate(ex);
           }
 
-          ensureCompletion(session.getTransaction());
+          Transaction trx = session.getTransaction();
+          if (trx != null) {
+            ensureCompletion(trx);
+          }
 
           return result;
         } finally {
-          ManagedSessionContext.unbind(sessionFactory);
+          session.close(ctx);
         }
       } else {
         return next.apply(ctx);
@@ -0,0 +1,117 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal.hibernate;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.hibernate.context.internal.ManagedSessionContext;
+
+import io.jooby.Context;
+import io.jooby.RequestScope;
+import io.jooby.annotation.Transactional;
+import io.jooby.hibernate.SessionProvider;
+
+/**
+ * Request bound session which is opened (and joins a new transaction) the first time is required.
+ * Once opened the session is bound to {@link ManagedSessionContext}.
+ */
+public class LazySession {
+
+  private record Key(SessionFactory sessionFactory) {}
+
+  private final SessionFactory sessionFactory;
+
+  private final SessionProvider sessionProvider;
+
+  private Session session;
+
+  private long openedAt;
+
+  private LazySession(SessionFactory sessionFactory, SessionProvider sessionProvider) {
+    this.sessionFactory = sessionFactory;
+    this.sessionProvider = sessionProvider;
+  }
+
+  /**
+   * Attach a lazy session to the current request.
+   *
+   * @param sessionFactory Session factory.
+   * @param sessionProvider Session provider.
+   * @return Lazy session.
+   */
+  public static LazySession bind(SessionFactory sessionFactory, SessionProvider sessionProvider) {
+    LazySession session = new LazySession(sessionFactory, sessionProvider);
+    RequestScope.bind(new Key(sessionFactory), session);
+    return session;
+  }
+
+  /**
+   * True when a lazy session is attached to the current request.
+   *
+   * @param sessionFactory Session factory.
+   * @return True when a lazy session is attached to the current request.
+   */
+  public static boolean hasBind(SessionFactory sessionFactory) {
+    return RequestScope.hasBind(new Key(sessionFactory));
+  }
+
+  /**
+   * Open the lazy session attached to current request or <code>null</code> when there is none.
+   *
+   * @param sessionFactory Session factory.
+   * @return Session or <code>null</code>.
+   */
+  public static Session open(SessionFactory sessionFactory) {
+    LazySession lazy = RequestScope.get(new Key(sessionFactory));
+    return lazy == null ? null : lazy.open();
+  }
+
+  /**
+   * Open the session (if it wasn't), bind it to the current thread and begin a transaction.
+   *
+   * @return Session.
+   */
+  public Session open() {
+    if (session == null) {
+      openedAt = System.nanoTime();
+      Session session = sessionProvider.newSession(sessionFactory.withOptions());
+      ManagedSessionContext.bind(session);
+      this.session = session;
+      session.getTransaction().begin();
+    }
+    return session;
+  }
+
+  /**
+   * Session transaction or <code>null</code> when the session was never opened.
+   *
+   * @return Session transaction or <code>null</code>.
+   */
+  public Transaction getTransaction() {
+    return session == null ? null : session.getTransaction();
+  }
+
+  /**
+   * Detach from current request, close the session and report the time it was open.
+   *
+   * @param ctx Web context.
+   */
+  public void close(Context ctx) {
+    RequestScope.unbind(new Key(sessionFactory));
+    if (session != null) {
+      try {
+        session.close();
+      } finally {
+        ManagedSessionContext.unbind(sessionFactory);
+        long holdTime = System.nanoTime() - openedAt;
+        Long previous = (Long) ctx.getAttributes().get(Transactional.HOLD_TIME);
+        ctx.setAttribute(
+            Transactional.HOLD_TIME, previous == null ? holdTime : previous + holdTime);
+      }
+    }
+  }
+}
@@ -23,8 +23,10 @@ public class SessionServiceProvider implements Provider<Session> {
 
   @Override
   public Session get() {
-    return ManagedSessionContext.hasBind(sessionFactory)
-        ? sessionFactory.getCurrentSession()
-        : sessionProvider.newSession(sessionFactory.withOptions());
+    if (ManagedSessionContext.hasBind(sessionFactory)) {
+      return sessionFactory.getCurrentSession();
+    }
+    Session session = LazySession.open(sessionFactory);
+    return session == null ? sessionProvider.newSession(sessionFactory.withOptions()) : session;
   }
 }
@@ -26,7 +26,7 @@ public class UnitOfWorkProvider implements Provider<UnitOfWork> {
 
   @Override
   public UnitOfWork get() {
-    if (ManagedSessionContext.hasBind(sessionFactory)) {
+    if (ManagedSessionContext.hasBind(sessionFactory) || LazySession.hasBind(sessionFactory)) {
       throw new IllegalStateException(
           "A session is already bound to the current thread. Don't nest "
               + UnitOfWork.class.getSimpleName()
@@ -0,0 +1,161 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.hibernate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.hibernate.context.internal.ManagedSessionContext;
+import org.hibernate.resource.transaction.spi.TransactionStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.jooby.Context;
+import io.jooby.Route;
+import io.jooby.ServiceKey;
+import io.jooby.annotation.Transactional;
+import io.jooby.internal.hibernate.SessionServiceProvider;
+
+public class TransactionalRequestTest {
+
+  private Map<String, Object> attributes;
+
+  private Context ctx;
+
+  private SessionFactory sessionFactory;
+
+  private SessionProvider sessionProvider;
+
+  private Session session;
+
+  private Transaction transaction;
+
+  @BeforeEach
+  public void setup() {
+    attributes = new HashMap<>();
+    sessionFactory = mock(SessionFactory.class);
+    session = mock(Session.class);
+    transaction = mock(Transaction.class);
+    sessionProvider = mock(SessionProvider.class);
+    when(sessionProvider.newSession(any())).thenReturn(session);
+    when(session.getSessionFactory()).thenReturn(sessionFactory);
+    when(session.getTransaction()).thenReturn(transaction);
+    when(transaction.isActive()).thenReturn(true);
+    when(transaction.getStatus()).thenReturn(TransactionStatus.COMMITTED);
+
+    ctx = mock(Context.class);
+    when(ctx.getRoute()).thenReturn(new Route("GET", "/", c -> c));
+    when(ctx.require(ServiceKey.key(SessionFactory.class))).thenReturn(sessionFactory);
+    when(ctx.require(ServiceKey.key(SessionProvider.class))).thenReturn(sessionProvider);
+    when(ctx.getAttributes()).thenReturn(attributes);
+    when(ctx.setAttribute(anyString(), any()))
+        .thenAnswer(
+            i -> {
+              attributes.put(i.getArgument(0), i.getArgument(1));
+              return ctx;
+            });
+  }
+
+  @Test
+  public void noSessionWhenNotRequired() throws Exception {
+    assertEquals("OK", new TransactionalRequest().lazy(true).apply(c -> "OK").apply(ctx));
+
+    verify(sessionProvider, never()).newSession(any());
+    assertNull(attributes.get(Transactional.HOLD_TIME));
+  }
+
+  @Test
+  public void eagerSession() throws Exception {
+    assertEquals("OK", new TransactionalRequest().apply(c -> "OK").apply(ctx));
+
+    verify(transaction).begin();
+    verify(transaction).commit();
+    verify(session).close();
+    assertFalse(ManagedSessionContext.hasBind(sessionFactory));
+    assertTrue(attributes.get(Transactional.HOLD_TIME) instanceof Long);
+  }
+
+  @Test
+  public void commitOnFirstUse() throws Exception {
+    SessionServiceProvider provider = new SessionServiceProvider(sessionFactory, sessionProvider);
+    Object result =
+        new TransactionalRequest()
+            .lazy(true)
+            .apply(
+                c -> {
+                  Session session = provider.get();
+                  // bound to the current thread for the rest of the request
+                  assertTrue(ManagedSessionContext.hasBind(sessionFactory));
+                  return session;
+                })
+            .apply(ctx);
+
+    assertSame(session, result);
+    verify(transaction).begin();
+    verify(transaction).commit();
+    verify(transaction, never()).rollback();
+    verify(session).close();
+    assertFalse(ManagedSessionContext.hasBind(sessionFactory));
+    assertTrue(attributes.get(Transactional.HOLD_TIME) instanceof Long);
+  }
+
+  @Test
+  public void rollbackOnError() {
+    SessionServiceProvider provider = new SessionServiceProvider(sessionFactory, sessionProvider);
+    Route.Handler handler =
+        new TransactionalRequest()
+            .lazy(true)
+            .apply(
+                c -> {
+                  provider.get();
+                  throw new IllegalStateException("intentional error");
+                });
+
+    assertThrows(IllegalStateException.class, () -> handler.apply(ctx));
+    verify(transaction).rollback();
+    verify(transaction, never()).commit();
+    verify(session).close();
+    assertFalse(ManagedSessionContext.hasBind(sessionFactory));
+  }
+
+  @Test
+  public void accumulateHoldTime() throws Exception {
+    long previous = TimeUnit.SECONDS.toNanos(1);
+    long sleep = TimeUnit.MILLISECONDS.toNanos(5);
+    attributes.put(Transactional.HOLD_TIME, previous);
+    doAnswer(
+            i -> {
+              Thread.sleep(TimeUnit.NANOSECONDS.toMillis(sleep));
+              return null;
+            })
+        .when(session)
+        .close();
+
+    SessionServiceProvider provider = new SessionServiceProvider(sessionFactory, sessionProvider);
+    new TransactionalRequest().lazy(true).apply(c -> provider.get()).apply(ctx);
+
+    long holdTime = (Long) attributes.get(Transactional.HOLD_TIME);
+    assertTrue(holdTime >= previous + sleep, Long.toString(holdTime));
+  }
+}
@@ -6,6 +6,7 @@
 package io.jooby.jackson;
 
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.lang.reflect.Type;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -157,6 +158,14 @@ public class JacksonModule implements Extension, MessageDecoder, MessageEncoder
     return mapper.writer().writeValueAsBytes(value);
   }
 
+  @Override
+  public boolean encode(@NonNull Context ctx, @NonNull Object value, @NonNull OutputStream output)
+      throws Exception {
+    ctx.setDefaultResponseType(mediaType);
+    mapper.writer().writeValue(output, value);
+    return true;
+  }
+
   @Override
   public Object decode(Context ctx, Type type) throws Exception {
     Body body = ctx.body();
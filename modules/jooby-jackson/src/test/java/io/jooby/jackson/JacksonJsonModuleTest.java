@@ -6,10 +6,12 @@
 package io.jooby.jackson;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayOutputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
@@ -36,6 +38,19 @@ public class JacksonJsonModuleTest {
     verify(ctx).setDefaultResponseType(MediaType.json);
   }
 
+  @Test
+  public void streamJson() throws Exception {
+    Context ctx = mock(Context.class);
+
+    JacksonModule jackson = new JacksonModule(new ObjectMapper());
+
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    assertTrue(jackson.encode(ctx, mapOf("k", "v"), output));
+    assertEquals("{\"k\":\"v\"}", output.toString(StandardCharsets.UTF_8));
+
+    verify(ctx).setDefaultResponseType(MediaType.json);
+  }
+
   @Test
   public void parseJson() throws Exception {
     byte[] bytes = "{\"k\":\"v\"}".getBytes(StandardCharsets.UTF_8);
@@ -8,7 +8,6 @@ package io.jooby.internal.jdbi;
 import org.jdbi.v3.core.Handle;
 import org.jdbi.v3.core.Jdbi;
 
-import io.jooby.RequestScope;
 import jakarta.inject.Provider;
 
 public class HandleProvider implements Provider<Handle> {
@@ -20,7 +19,7 @@ public class HandleProvider implements Provider<Handle> {
 
   @Override
   public Handle get() {
-    Handle handle = RequestScope.get(jdbi);
+    Handle handle = LazyHandle.get(jdbi);
     if (handle == null) {
       handle = jdbi.open();
     }
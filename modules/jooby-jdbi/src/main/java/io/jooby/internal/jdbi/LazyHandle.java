@@ -0,0 +1,109 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal.jdbi;
+
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.Jdbi;
+
+import io.jooby.Context;
+import io.jooby.RequestScope;
+import io.jooby.annotation.Transactional;
+
+/**
+ * Request bound handle which is opened (and joins a new transaction) the first time is required.
+ * Routes that never ask for a handle never check out a connection.
+ */
+public class LazyHandle {
+
+  private record Key(Jdbi jdbi) {}
+
+  private final Jdbi jdbi;
+
+  private Handle handle;
+
+  private long openedAt;
+
+  private LazyHandle(Jdbi jdbi) {
+    this.jdbi = jdbi;
+  }
+
+  /**
+   * Attach a lazy handle to the current request.
+   *
+   * @param jdbi Jdbi.
+   * @return Lazy handle.
+   */
+  public static LazyHandle bind(Jdbi jdbi) {
+    LazyHandle handle = new LazyHandle(jdbi);
+    RequestScope.bind(new Key(jdbi), handle);
+    return handle;
+  }
+
+  /**
+   * Get the handle attached to the current request (opening it if required) or <code>null</code>.
+   *
+   * @param jdbi Jdbi.
+   * @return Handle or <code>null</code>.
+   */
+  public static Handle get(Jdbi jdbi) {
+    Handle handle = RequestScope.get(jdbi);
+    if (handle == null) {
+      LazyHandle lazy = RequestScope.get(new Key(jdbi));
+      if (lazy != null) {
+        handle = lazy.open();
+      }
+    }
+    return handle;
+  }
+
+  /** Commit the transaction, if the handle was opened. */
+  public void commit() {
+    if (handle != null && handle.isInTransaction()) {
+      handle.commit();
+    }
+  }
+
+  /** Rollback the transaction, if the handle was opened. */
+  public void rollback() {
+    if (handle != null && handle.isInTransaction()) {
+      handle.rollback();
+    }
+  }
+
+  /**
+   * Detach from current request, close the handle and report the time it was open.
+   *
+   * @param ctx Web context.
+   */
+  public void close(Context ctx) {
+    RequestScope.unbind(new Key(jdbi));
+    if (handle != null) {
+      RequestScope.unbind(jdbi);
+      try {
+        handle.close();
+      } finally {
+        long holdTime = System.nanoTime() - openedAt;
+        Long previous = (Long) ctx.getAttributes().get(Transactional.HOLD_TIME);
+        ctx.setAttribute(
+            Transactional.HOLD_TIME, previous == null ? holdTime : previous + holdTime);
+      }
+    }
+  }
+
+  private Handle open() {
+    openedAt = System.nanoTime();
+    Handle handle = jdbi.open();
+    try {
+      handle.begin();
+    } catch (RuntimeException x) {
+      handle.close();
+      throw x;
+    }
+    this.handle = handle;
+    RequestScope.bind(jdbi, handle);
+    return handle;
+  }
+}
@@ -8,7 +8,6 @@ package io.jooby.internal.jdbi;
 import org.jdbi.v3.core.Handle;
 import org.jdbi.v3.core.Jdbi;
 
-import io.jooby.RequestScope;
 import io.jooby.jdbi.TransactionalRequest;
 import jakarta.inject.Provider;
 
@@ -23,7 +22,7 @@ public class SqlObjectProvider implements Provider {
 
   @Override
   public Object get() {
-    Handle handle = RequestScope.get(jdbi);
+    Handle handle = LazyHandle.get(jdbi);
     if (handle == null) {
       // TODO: Replace with a Usage exception
       throw new IllegalStateException(
@@ -9,17 +9,22 @@ import org.jdbi.v3.core.Handle;
 import org.jdbi.v3.core.Jdbi;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
-import io.jooby.RequestScope;
 import io.jooby.Route;
 import io.jooby.Route.Filter;
 import io.jooby.ServiceKey;
+import io.jooby.SneakyThrows;
 import io.jooby.annotation.Transactional;
+import io.jooby.internal.jdbi.LazyHandle;
 
 /**
  * Attach {@link Handle} to the current request. The route pipeline runs inside a transaction which
  * is commit on success or rollback in case of exception.
  *
+ * <p>The handle is opened (and the transaction started) the first time it is required, so routes
+ * that never ask for a {@link Handle} or SQL Object don't check out a connection.
+ *
  * <p>Once route pipeline is executed the handle is detached from current request and closed it.
+ * The time the handle was open is available as {@link Transactional#HOLD_TIME} context attribute.
  *
  * <p>Usage:
  *
@@ -108,12 +113,16 @@ public class TransactionalRequest implements Filter {
   public Route.Handler apply(@NonNull Route.Handler next) {
     return ctx -> {
       if (ctx.getRoute().isTransactional(enabledByDefault)) {
-        Jdbi jdbi = ctx.require(key);
-        try (Handle handle = jdbi.open()) {
-          RequestScope.bind(jdbi, handle);
-          return handle.inTransaction(h -> next.apply(ctx));
+        LazyHandle handle = LazyHandle.bind(ctx.require(key));
+        try {
+          Object result = next.apply(ctx);
+          handle.commit();
+          return result;
+        } catch (Throwable x) {
+          handle.rollback();
+          throw SneakyThrows.propagate(x);
         } finally {
-          RequestScope.unbind(jdbi);
+          handle.close(ctx);
         }
       } else {
         return next.apply(ctx);
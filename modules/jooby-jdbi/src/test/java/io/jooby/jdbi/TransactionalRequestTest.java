@@ -0,0 +1,133 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.jdbi;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.Jdbi;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.jooby.Context;
+import io.jooby.Route;
+import io.jooby.ServiceKey;
+import io.jooby.annotation.Transactional;
+import io.jooby.internal.jdbi.HandleProvider;
+
+public class TransactionalRequestTest {
+
+  private Map<String, Object> attributes;
+
+  private Context ctx;
+
+  private Jdbi jdbi;
+
+  private Handle handle;
+
+  @BeforeEach
+  public void setup() {
+    attributes = new HashMap<>();
+    jdbi = mock(Jdbi.class);
+    handle = mock(Handle.class);
+    when(jdbi.open()).thenReturn(handle);
+    when(handle.isInTransaction()).thenReturn(true);
+
+    ctx = mock(Context.class);
+    when(ctx.getRoute()).thenReturn(new Route("GET", "/", c -> c));
+    when(ctx.require(ServiceKey.key(Jdbi.class))).thenReturn(jdbi);
+    when(ctx.getAttributes()).thenReturn(attributes);
+    when(ctx.setAttribute(anyString(), any()))
+        .thenAnswer(
+            i -> {
+              attributes.put(i.getArgument(0), i.getArgument(1));
+              return ctx;
+            });
+  }
+
+  @Test
+  public void noHandleWhenNotRequired() throws Exception {
+    assertEquals("OK", new TransactionalRequest().apply(c -> "OK").apply(ctx));
+
+    verify(jdbi, never()).open();
+    assertNull(attributes.get(Transactional.HOLD_TIME));
+  }
+
+  @Test
+  public void commitOnFirstUse() throws Exception {
+    HandleProvider provider = new HandleProvider(jdbi);
+    Object result =
+        new TransactionalRequest()
+            .apply(
+                c -> {
+                  Handle handle = provider.get();
+                  // same handle for the rest of the request
+                  assertSame(handle, provider.get());
+                  return handle;
+                })
+            .apply(ctx);
+
+    assertSame(handle, result);
+    verify(jdbi).open();
+    verify(handle).begin();
+    verify(handle).commit();
+    verify(handle, never()).rollback();
+    verify(handle).close();
+    assertTrue(attributes.get(Transactional.HOLD_TIME) instanceof Long);
+  }
+
+  @Test
+  public void rollbackOnError() {
+    HandleProvider provider = new HandleProvider(jdbi);
+    Route.Handler handler =
+        new TransactionalRequest()
+            .apply(
+                c -> {
+                  provider.get();
+                  throw new IllegalStateException("intentional error");
+                });
+
+    assertThrows(IllegalStateException.class, () -> handler.apply(ctx));
+    verify(handle).rollback();
+    verify(handle, never()).commit();
+    verify(handle).close();
+  }
+
+  @Test
+  public void accumulateHoldTime() throws Exception {
+    long previous = TimeUnit.SECONDS.toNanos(1);
+    long sleep = TimeUnit.MILLISECONDS.toNanos(5);
+    attributes.put(Transactional.HOLD_TIME, previous);
+    doAnswer(
+            i -> {
+              Thread.sleep(TimeUnit.NANOSECONDS.toMillis(sleep));
+              return null;
+            })
+        .when(handle)
+        .close();
+
+    HandleProvider provider = new HandleProvider(jdbi);
+    new TransactionalRequest().apply(c -> provider.get()).apply(ctx);
+
+    long holdTime = (Long) attributes.get(Transactional.HOLD_TIME);
+    assertTrue(holdTime >= previous + sleep, Long.toString(holdTime));
+  }
+}
@@ -80,6 +80,8 @@ import jakarta.servlet.http.Part;
 
 public class JettyContext implements DefaultContext {
   private static final ByteBuffer EMPTY_BUFFER = ByteBuffer.wrap(new byte[0]);
+  /** Files are mapped and sent in chunks of this size. */
+  private static final long MAX_MAPPED_SIZE = 64 * 1024 * 1024;
   private final int bufferSize;
   private final long maxRequestSize;
   Request request;
@@ -141,7 +143,8 @@ public class JettyContext implements DefaultContext {
     try {
       InputStream in = request.getInputStream();
       long len = request.getContentLengthLong();
-      if (maxRequestSize > 0) {
+      // streaming routes read straight from the (blocking) servlet input, no size limit
+      if (maxRequestSize > 0 && (route == null || !route.isStreamingBody())) {
         in = new LimitedInputStream(in, maxRequestSize);
       }
       return Body.of(this, in, len);
@@ -563,14 +566,11 @@ public class JettyContext implements DefaultContext {
 
   @NonNull @Override
   public Context send(@NonNull InputStream in) {
-    try {
-      if (in instanceof FileInputStream) {
-        response.setLongContentLength(((FileInputStream) in).getChannel().size());
-      }
-      return sendStreamInternal(in);
-    } catch (IOException x) {
-      throw SneakyThrows.propagate(x);
+    if (in instanceof FileInputStream) {
+      // use channel
+      return send(((FileInputStream) in).getChannel());
     }
+    return sendStreamInternal(in);
   }
 
   private Context sendStreamInternal(@NonNull InputStream in) {
@@ -599,12 +599,28 @@ public class JettyContext implements DefaultContext {
   @NonNull @Override
   public Context send(@NonNull FileChannel file) {
     try (FileChannel channel = file) {
-      response.setLongContentLength(channel.size());
-      return sendStreamInternal(Channels.newInputStream(file));
+      long len = channel.size();
+      response.setLongContentLength(len);
+      ByteRange range =
+          ByteRange.parse(request.getHeader(HttpHeader.RANGE.asString()), len).apply(this);
+      try {
+        responseStarted = true;
+        HttpOutput output = response.getHttpOutput();
+        // mapped buffers are written straight from the page cache, without copying to the heap
+        long position = range.getStart();
+        long remaining = range.getEnd();
+        while (remaining > MAX_MAPPED_SIZE) {
+          output.write(channel.map(FileChannel.MapMode.READ_ONLY, position, MAX_MAPPED_SIZE));
+          position += MAX_MAPPED_SIZE;
+          remaining -= MAX_MAPPED_SIZE;
+        }
+        output.sendContent(channel.map(FileChannel.MapMode.READ_ONLY, position, remaining));
+        return this;
+      } finally {
+        responseDone();
+      }
     } catch (IOException x) {
       throw SneakyThrows.propagate(x);
-    } finally {
-      responseDone();
     }
   }
 
@@ -626,6 +642,17 @@ public class JettyContext implements DefaultContext {
     return this;
   }
 
+  @NonNull @Override
+  public Context abort() {
+    responseStarted = true;
+    try {
+      request.getHttpChannel().abort(new IOException("Response aborted"));
+    } finally {
+      responseDone();
+    }
+    return this;
+  }
+
   @NonNull @Override
   public Context onComplete(@NonNull Route.Complete task) {
     if (listeners == null) {
@@ -688,7 +715,7 @@ public class JettyContext implements DefaultContext {
 
   private void ifSaveSession() {
     Session session = (Session) getAttributes().get(Session.NAME);
-    if (session != null && (session.isNew() || session.isModify())) {
+    if (session != null) {
       SessionStore store = router.getSessionStore();
       store.saveSession(this, session);
     }
@@ -5,16 +5,29 @@
  */
 package io.jooby.internal.jetty;
 
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.jetty.http.HttpField;
+import org.eclipse.jetty.http.HttpFields;
 import org.eclipse.jetty.http.HttpHeader;
+import org.eclipse.jetty.http.PreEncodedHttpField;
 import org.eclipse.jetty.server.Request;
 
 import io.jooby.Router;
+import io.jooby.ServerHeaders;
 import jakarta.servlet.GenericServlet;
 import jakarta.servlet.ServletRequest;
 import jakarta.servlet.ServletResponse;
 import jakarta.servlet.http.HttpServletResponse;
 
 public class JettyServlet extends GenericServlet {
+  private static final ServerHeaders.Encoded<HttpField> HEADERS =
+      ServerHeaders.encode(
+          "J",
+          (name, value) ->
+              new PreEncodedHttpField(
+                  HttpHeader.CACHE.get(name), new String(value, StandardCharsets.US_ASCII)));
+
   private Router router;
   private boolean defaultHeaders;
   private int bufferSize;
@@ -34,7 +47,9 @@ public class JettyServlet extends GenericServlet {
       HttpServletResponse response = (HttpServletResponse) rsp;
       response.setContentType("text/plain");
       if (defaultHeaders) {
-        response.setHeader(HttpHeader.SERVER.asString(), "J");
+        HttpFields.Mutable fields = request.getResponse().getHttpFields();
+        fields.put(HEADERS.date());
+        fields.put(HEADERS.server());
       }
       JettyContext context = new JettyContext(request, router, bufferSize, maxRequestSize);
       router.match(context).execute(context);
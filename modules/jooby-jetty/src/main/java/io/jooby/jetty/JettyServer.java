@@ -126,7 +126,8 @@ public class JettyServer extends io.jooby.Server.Base {
       httpConf.setOutputBufferSize(options.getBufferSize());
       httpConf.setOutputAggregationSize(options.getBufferSize());
       httpConf.setSendXPoweredBy(false);
-      httpConf.setSendDateHeader(options.getDefaultHeaders());
+      // Date header is set by JettyServlet from ServerHeaders
+      httpConf.setSendDateHeader(false);
       httpConf.setSendServerVersion(false);
       httpConf.setMultiPartFormDataCompliance(MultiPartFormDataCompliance.RFC7578);
 
@@ -199,7 +200,9 @@ public class JettyServer extends io.jooby.Server.Base {
           application.getRoutes().stream().anyMatch(it -> it.getMethod().equals(Router.WS));
 
       /* ********************************* Compression *************************************/
-      boolean gzip = options.getCompressionLevel() != null;
+      boolean gzip =
+          options.getCompressionLevel() != null
+              && compressionEncodings(application).contains("gzip");
       boolean compress = gzip || webSockets;
       if (compress) {
         int compressionLevel =
@@ -222,8 +225,17 @@ public class JettyServer extends io.jooby.Server.Base {
       if (gzip) {
         DeflaterPool deflater = server.getBean(DeflaterPool.class);
 
-        GzipHandler gzipHandler = new GzipHandler();
+        GzipHandler gzipHandler =
+            new GzipHandler() {
+              @Override
+              public boolean isMimeTypeGzipable(String mimetype) {
+                return options.isCompressible(mimetype);
+              }
+            };
         gzipHandler.setDeflaterPool(deflater);
+        if (options.getCompressionMinSize() > 0) {
+          gzipHandler.setMinGzipSize(options.getCompressionMinSize());
+        }
 
         context.insertHandler(gzipHandler);
       }
@@ -271,6 +283,16 @@ public class JettyServer extends io.jooby.Server.Base {
         "org.eclipse.jetty.server.Server");
   }
 
+  private List<String> compressionEncodings(Jooby application) {
+    List<String> encodings = options.getCompressionEncodings();
+    for (String encoding : encodings) {
+      if (!encoding.equals("gzip")) {
+        application.getLog().warn("{} compression is not supported by jetty", encoding);
+      }
+    }
+    return encodings;
+  }
+
   private DeflaterPool newDeflater(int compressionLevel) {
     ThreadPool.SizedThreadPool threads = server.getBean(ThreadPool.SizedThreadPool.class);
     int capacity = threads == null ? CompressionPool.DEFAULT_CAPACITY : threads.getMaxThreads();
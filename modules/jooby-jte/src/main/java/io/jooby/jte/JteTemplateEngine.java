@@ -7,9 +7,8 @@ package io.jooby.jte;
 
 import static java.util.Collections.singletonList;
 
-import java.util.HashMap;
+import java.io.OutputStream;
 import java.util.List;
-import java.util.Map;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
 import gg.jte.TemplateEngine;
@@ -34,16 +33,15 @@ class JteTemplateEngine implements io.jooby.TemplateEngine {
   @Override
   public String render(Context ctx, ModelAndView modelAndView) {
     var output = new StringOutput();
-    var attributes = ctx.getAttributes();
-    Map<String, Object> model;
-    if (attributes.isEmpty()) {
-      model = modelAndView.getModel();
-    } else {
-      model = new HashMap<>();
-      model.putAll(attributes);
-      model.putAll(model);
-    }
+    var model = io.jooby.TemplateEngine.model(ctx, modelAndView);
     jte.render(modelAndView.getView(), model, output);
     return output.toString();
   }
+
+  @Override
+  public boolean render(Context ctx, ModelAndView modelAndView, OutputStream output) {
+    var model = io.jooby.TemplateEngine.model(ctx, modelAndView);
+    jte.render(modelAndView.getView(), model, new OutputStreamOutput(output));
+    return true;
+  }
 }
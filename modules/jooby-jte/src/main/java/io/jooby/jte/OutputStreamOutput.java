@@ -0,0 +1,131 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.jte;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+import gg.jte.TemplateOutput;
+
+/**
+ * Write template output straight into the response, <code>UTF-8</code> encoded. Precompiled
+ * templates with binary static content write their static parts as bytes, so they are copied
+ * without encoding.
+ *
+ * <p>Text is encoded from the given char range into a small reusable buffer, no intermediate
+ * string or byte array is created. Unpaired surrogates are written as <code>?</code>, like {@link
+ * String#getBytes(java.nio.charset.Charset)} does.
+ *
+ * <p>{@link #getWriter()} writes through the same encoder, so there is no extra buffer to flush
+ * between writer and template output.
+ */
+class OutputStreamOutput implements TemplateOutput {
+  private static final int BUFFER_SIZE = 512;
+
+  private final OutputStream output;
+
+  private final byte[] buffer = new byte[BUFFER_SIZE];
+
+  private Writer writer;
+
+  OutputStreamOutput(OutputStream output) {
+    this.output = output;
+  }
+
+  @Override
+  public void writeContent(String value) {
+    writeContent(value, 0, value.length());
+  }
+
+  @Override
+  public Writer getWriter() {
+    if (writer == null) {
+      writer =
+          new Writer() {
+            @Override
+            public void write(String str, int off, int len) {
+              writeContent(str, off, off + len);
+            }
+
+            @Override
+            public void write(char[] cbuf, int off, int len) {
+              writeContent(new String(cbuf, off, len));
+            }
+
+            @Override
+            public void flush() throws IOException {
+              output.flush();
+            }
+
+            @Override
+            public void close() {
+              // NOOP, output stream is owned by the response
+            }
+          };
+    }
+    return writer;
+  }
+
+  /**
+   * Write a range of the given value.
+   *
+   * @param value Value.
+   * @param beginIndex Begin index (inclusive).
+   * @param endIndex End index (exclusive).
+   */
+  public void writeContent(String value, int beginIndex, int endIndex) {
+    byte[] buffer = this.buffer;
+    int position = 0;
+    for (int i = beginIndex; i < endIndex; i++) {
+      // room for the longest sequence (4 bytes)
+      if (position > BUFFER_SIZE - 4) {
+        write(buffer, position);
+        position = 0;
+      }
+      char c = value.charAt(i);
+      if (c < 0x80) {
+        buffer[position++] = (byte) c;
+      } else if (c < 0x800) {
+        buffer[position++] = (byte) (0xC0 | (c >> 6));
+        buffer[position++] = (byte) (0x80 | (c & 0x3F));
+      } else if (Character.isSurrogate(c)) {
+        if (Character.isHighSurrogate(c)
+            && i + 1 < endIndex
+            && Character.isLowSurrogate(value.charAt(i + 1))) {
+          int codePoint = Character.toCodePoint(c, value.charAt(++i));
+          buffer[position++] = (byte) (0xF0 | (codePoint >> 18));
+          buffer[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+          buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+          buffer[position++] = (byte) (0x80 | (codePoint & 0x3F));
+        } else {
+          buffer[position++] = '?';
+        }
+      } else {
+        buffer[position++] = (byte) (0xE0 | (c >> 12));
+        buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+        buffer[position++] = (byte) (0x80 | (c & 0x3F));
+      }
+    }
+    if (position > 0) {
+      write(buffer, position);
+    }
+  }
+
+  @Override
+  public void writeBinaryContent(byte[] value) {
+    write(value, value.length);
+  }
+
+  private void write(byte[] value, int length) {
+    try {
+      output.write(value, 0, length);
+    } catch (IOException x) {
+      throw new UncheckedIOException(x);
+    }
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.jte;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import gg.jte.ContentType;
+import gg.jte.TemplateEngine;
+import gg.jte.output.StringOutput;
+import gg.jte.resolve.ResourceCodeResolver;
+
+public class OutputStreamOutputTest {
+
+  /** Same as the response buffer of template engines. */
+  private static final int BUFFER_SIZE = 16 * 1024;
+
+  @Test
+  public void encodeUtf8() {
+    String value = "a é € 😀 \uD800 z";
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    OutputStreamOutput output = new OutputStreamOutput(bytes);
+
+    output.writeContent(value);
+    output.writeContent("[" + value + "]", 1, value.length() + 1);
+
+    byte[] expected = value.getBytes(StandardCharsets.UTF_8);
+    byte[] twice = new byte[expected.length * 2];
+    System.arraycopy(expected, 0, twice, 0, expected.length);
+    System.arraycopy(expected, 0, twice, expected.length, expected.length);
+    assertArrayEquals(twice, bytes.toByteArray());
+  }
+
+  @Test
+  public void writer() throws Exception {
+    String value = "a é € 😀 z";
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    OutputStreamOutput output = new OutputStreamOutput(bytes);
+
+    output.writeContent("<");
+    output.getWriter().write(value);
+    output.getWriter().write(value.toCharArray(), 0, value.length());
+    output.writeContent(">");
+
+    assertEquals("<" + value + value + ">", bytes.toString(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void encodeLargeContent() {
+    StringBuilder value = new StringBuilder();
+    while (value.length() < BUFFER_SIZE) {
+      value.append("é€😀 ascii ");
+    }
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+    new OutputStreamOutput(bytes).writeContent(value.toString());
+
+    assertEquals(value.toString(), bytes.toString(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void failAfterBufferIsFlushed(@TempDir Path classes) {
+    TemplateEngine jte =
+        TemplateEngine.create(new ResourceCodeResolver("views"), classes, ContentType.Html);
+    int size = 1000;
+
+    StringOutput expected = new StringOutput();
+    jte.render("large.jte", model(size, ""), expected);
+    byte[] content = expected.toString().getBytes(StandardCharsets.UTF_8);
+    assertTrue(content.length > BUFFER_SIZE);
+
+    ByteArrayOutputStream response = new ByteArrayOutputStream();
+    BufferedOutputStream buffer = new BufferedOutputStream(response, BUFFER_SIZE);
+    assertThrows(
+        RuntimeException.class,
+        () -> jte.render("large.jte", model(size, null), new OutputStreamOutput(buffer)));
+
+    // response was committed before the failure and it is well encoded
+    byte[] sent = response.toByteArray();
+    assertTrue(sent.length >= BUFFER_SIZE, Integer.toString(sent.length));
+    assertArrayEquals(Arrays.copyOf(content, sent.length), sent);
+  }
+
+  private static Map<String, Object> model(int size, String fail) {
+    Map<String, Object> model = new HashMap<>();
+    model.put("size", size);
+    model.put("fail", fail);
+    return model;
+  }
+}
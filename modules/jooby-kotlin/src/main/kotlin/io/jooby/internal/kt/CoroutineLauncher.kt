@@ -9,18 +9,28 @@ import io.jooby.Context
 import io.jooby.Route
 import io.jooby.kt.CoroutineRouter
 import io.jooby.kt.HandlerContext
+import kotlin.coroutines.Continuation
 import kotlin.coroutines.intrinsics.suspendCoroutineUninterceptedOrReturn
 
 /** Used by compiled MVC-style routes with suspend functions */
 class CoroutineLauncher(val next: Route.Handler) : Route.Handler {
+  @Volatile private var router: CoroutineRouter? = null
+
   override fun apply(ctx: Context) =
     ctx.also {
-      val router = ctx.router.attribute<CoroutineRouter>("coroutineRouter")
+      val router =
+        this.router
+          ?: ctx.router.attribute<CoroutineRouter>("coroutineRouter").also { this.router = it }
       router.launch(HandlerContext(ctx)) {
         val result =
           suspendCoroutineUninterceptedOrReturn<Any> {
-            ctx.setAttribute("___continuation", it)
-            next.apply(ctx)
+            // generated code calls next synchronously, see continuation()
+            CONTINUATION.set(it)
+            try {
+              next.apply(ctx)
+            } finally {
+              CONTINUATION.set(null)
+            }
           }
         ctx.route.after?.apply(ctx, result, null)
         if (!ctx.isResponseStarted) {
@@ -28,4 +38,21 @@ class CoroutineLauncher(val next: Route.Handler) : Route.Handler {
         }
       }
     }
+
+  companion object {
+    private val CONTINUATION = ThreadLocal<Continuation<*>>()
+
+    /**
+     * Continuation of the suspend function being invoked by the current thread. Used by generated
+     * code, it is set right before calling the route handler and consumed on the same thread.
+     *
+     * @return Current continuation.
+     */
+    @JvmStatic
+    fun continuation(): Continuation<*> {
+      val continuation = CONTINUATION.get()
+      CONTINUATION.set(null)
+      return continuation
+    }
+  }
 }
@@ -5,6 +5,9 @@
  */
 package io.jooby.kt
 
+import io.jooby.Context
+import io.jooby.ExecutionMode
+import io.jooby.Jooby
 import io.jooby.RequestScope
 import io.jooby.Route
 import io.jooby.Router
@@ -16,22 +19,54 @@ import io.jooby.Router.PATCH
 import io.jooby.Router.POST
 import io.jooby.Router.PUT
 import io.jooby.Router.TRACE
+import io.jooby.VirtualThreads
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.Executor
 import kotlin.coroutines.CoroutineContext
 import kotlin.coroutines.EmptyCoroutineContext
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.CoroutineDispatcher
 import kotlinx.coroutines.CoroutineExceptionHandler
 import kotlinx.coroutines.CoroutineScope
 import kotlinx.coroutines.CoroutineStart
+import kotlinx.coroutines.SupervisorJob
 import kotlinx.coroutines.asContextElement
 import kotlinx.coroutines.asCoroutineDispatcher
+import kotlinx.coroutines.cancel
 import kotlinx.coroutines.launch
 
 internal class RouterCoroutineScope(override val coroutineContext: CoroutineContext) :
   CoroutineScope
 
+/**
+ * Suspend routes. Each route picks the dispatcher where the coroutine runs (and resumes) using an
+ * [ExecutionMode]:
+ * - [ExecutionMode.EVENT_LOOP]: IO thread handling the request. For routes that only await
+ *   non-blocking operations, it saves a thread hop per request. Must never block. Servers without
+ *   IO thread executor (Jetty) fallback to the worker.
+ * - [ExecutionMode.VIRTUAL]: a new virtual thread per task. Requires Java 21, otherwise fallback to
+ *   the worker.
+ * - [ExecutionMode.WORKER] and [ExecutionMode.DEFAULT]: worker executor. This is the default.
+ *
+ * Coroutines are children of a supervisor job, cancelled when the application stops. A coroutine
+ * is also cancelled when the client closes the connection before the response was sent (where the
+ * server supports it, see [Context.onDisconnect]).
+ */
 class CoroutineRouter(val coroutineStart: CoroutineStart, val router: Router) {
 
-  val coroutineScope: CoroutineScope by lazy {
-    RouterCoroutineScope(router.worker.asCoroutineDispatcher())
+  /** Default execution mode for routes. Default is: [ExecutionMode.WORKER]. */
+  var executionMode: ExecutionMode = ExecutionMode.WORKER
+
+  private val worker: CoroutineDispatcher by lazy { router.worker.asCoroutineDispatcher() }
+
+  private val virtual: CoroutineDispatcher by lazy { virtualThreadDispatcher() }
+
+  private val eventLoops = ConcurrentHashMap<Executor, CoroutineDispatcher>()
+
+  val coroutineScope: CoroutineScope by lazy { RouterCoroutineScope(SupervisorJob() + worker) }
+
+  init {
+    (router as? Jooby)?.onStop { coroutineScope.cancel() }
   }
 
   private var extraCoroutineContextProvider: HandlerContext.() -> CoroutineContext = {
@@ -42,40 +77,82 @@ class CoroutineRouter(val coroutineStart: CoroutineStart, val router: Router) {
   }
 
   @RouterDsl
-  fun get(pattern: String, handler: suspend HandlerContext.() -> Any) = route(GET, pattern, handler)
+  @JvmOverloads
+  fun get(
+    pattern: String,
+    mode: ExecutionMode = executionMode,
+    handler: suspend HandlerContext.() -> Any
+  ) = route(GET, pattern, mode, handler)
 
   @RouterDsl
-  fun post(pattern: String, handler: suspend HandlerContext.() -> Any) =
-    route(POST, pattern, handler)
+  @JvmOverloads
+  fun post(
+    pattern: String,
+    mode: ExecutionMode = executionMode,
+    handler: suspend HandlerContext.() -> Any
+  ) = route(POST, pattern, mode, handler)
 
   @RouterDsl
-  fun put(pattern: String, handler: suspend HandlerContext.() -> Any) = route(PUT, pattern, handler)
+  @JvmOverloads
+  fun put(
+    pattern: String,
+    mode: ExecutionMode = executionMode,
+    handler: suspend HandlerContext.() -> Any
+  ) = route(PUT, pattern, mode, handler)
 
   @RouterDsl
-  fun delete(pattern: String, handler: suspend HandlerContext.() -> Any) =
-    route(DELETE, pattern, handler)
+  @JvmOverloads
+  fun delete(
+    pattern: String,
+    mode: ExecutionMode = executionMode,
+    handler: suspend HandlerContext.() -> Any
+  ) = route(DELETE, pattern, mode, handler)
 
   @RouterDsl
-  fun patch(pattern: String, handler: suspend HandlerContext.() -> Any) =
-    route(PATCH, pattern, handler)
+  @JvmOverloads
+  fun patch(
+    pattern: String,
+    mode: ExecutionMode = executionMode,
+    handler: suspend HandlerContext.() -> Any
+  ) = route(PATCH, pattern, mode, handler)
 
   @RouterDsl
-  fun head(pattern: String, handler: suspend HandlerContext.() -> Any) =
-    route(HEAD, pattern, handler)
+  @JvmOverloads
+  fun head(
+    pattern: String,
+    mode: ExecutionMode = executionMode,
+    handler: suspend HandlerContext.() -> Any
+  ) = route(HEAD, pattern, mode, handler)
 
   @RouterDsl
-  fun trace(pattern: String, handler: suspend HandlerContext.() -> Any) =
-    route(TRACE, pattern, handler)
+  @JvmOverloads
+  fun trace(
+    pattern: String,
+    mode: ExecutionMode = executionMode,
+    handler: suspend HandlerContext.() -> Any
+  ) = route(TRACE, pattern, mode, handler)
 
   @RouterDsl
-  fun options(pattern: String, handler: suspend HandlerContext.() -> Any) =
-    route(OPTIONS, pattern, handler)
+  @JvmOverloads
+  fun options(
+    pattern: String,
+    mode: ExecutionMode = executionMode,
+    handler: suspend HandlerContext.() -> Any
+  ) = route(OPTIONS, pattern, mode, handler)
 
   fun route(method: String, pattern: String, handler: suspend HandlerContext.() -> Any): Route =
+    route(method, pattern, executionMode, handler)
+
+  fun route(
+    method: String,
+    pattern: String,
+    mode: ExecutionMode,
+    handler: suspend HandlerContext.() -> Any
+  ): Route =
     router
       .route(method, pattern) { ctx ->
         val handlerContext = HandlerContext(ctx)
-        launch(handlerContext) {
+        launch(handlerContext, mode) {
           val result = handler(handlerContext)
           ctx.route.after?.apply(ctx, result, null)
           if (result != ctx && !ctx.isResponseStarted) {
@@ -87,15 +164,47 @@ class CoroutineRouter(val coroutineStart: CoroutineStart, val router: Router) {
       }
       .setHandle(handler)
 
-  internal fun launch(handlerContext: HandlerContext, block: suspend CoroutineScope.() -> Unit) {
+  internal fun launch(
+    handlerContext: HandlerContext,
+    mode: ExecutionMode = executionMode,
+    block: suspend CoroutineScope.() -> Unit
+  ) {
+    val ctx = handlerContext.ctx
     val exceptionHandler = CoroutineExceptionHandler { _, x ->
-      val ctx = handlerContext.ctx
       ctx.route.after?.apply(ctx, null, x)
       ctx.sendError(x)
     }
     val requestScope = RequestScope.threadLocal().asContextElement()
     val coroutineContext =
-      exceptionHandler + requestScope + handlerContext.extraCoroutineContextProvider()
-    coroutineScope.launch(coroutineContext, coroutineStart, block)
+      dispatcher(ctx, mode) +
+        exceptionHandler +
+        requestScope +
+        handlerContext.extraCoroutineContextProvider()
+    val job = coroutineScope.launch(coroutineContext, coroutineStart, block)
+    if (job.isActive) {
+      ctx.onDisconnect { job.cancel(CancellationException("Client disconnected")) }
+    }
+  }
+
+  private fun dispatcher(ctx: Context, mode: ExecutionMode): CoroutineDispatcher =
+    when (mode) {
+      ExecutionMode.EVENT_LOOP ->
+        ctx.ioExecutor?.let { eventLoops.computeIfAbsent(it) { it.asCoroutineDispatcher() } }
+          ?: worker
+      ExecutionMode.VIRTUAL -> virtual
+      else -> worker
+    }
+
+  private fun virtualThreadDispatcher(): CoroutineDispatcher {
+    if (!VirtualThreads.isSupported()) {
+      router.log.warn(
+        "virtual threads require Java 21 or higher, found: {}. Using worker dispatcher",
+        Runtime.version().feature()
+      )
+      return worker
+    }
+    val executor = VirtualThreads.newExecutor()
+    (router as? Jooby)?.onStop(executor::shutdown)
+    return executor.asCoroutineDispatcher()
   }
 }
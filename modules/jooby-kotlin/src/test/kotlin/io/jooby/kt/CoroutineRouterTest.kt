@@ -7,14 +7,21 @@ package io.jooby.kt
 
 import io.jooby.*
 import io.jooby.Router.GET
+import java.util.concurrent.Executor
+import java.util.concurrent.atomic.AtomicInteger
 import kotlin.coroutines.AbstractCoroutineContextElement
 import kotlin.coroutines.CoroutineContext
+import kotlinx.coroutines.CancellationException
 import kotlinx.coroutines.CoroutineStart
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.awaitCancellation
 import kotlinx.coroutines.coroutineScope
+import org.junit.jupiter.api.Assertions.assertEquals
 import org.junit.jupiter.api.Assertions.assertSame
 import org.junit.jupiter.api.Assertions.assertTrue
 import org.junit.jupiter.api.Test
 import org.mockito.ArgumentCaptor
+import org.mockito.ArgumentMatchers.any
 import org.mockito.Mockito.RETURNS_DEEP_STUBS
 import org.mockito.Mockito.eq
 import org.mockito.Mockito.mock
@@ -59,6 +66,59 @@ class CoroutineRouterTest {
     assertTrue(coroutineRouteCalled)
   }
 
+  @Test
+  fun eventLoopDispatcher() {
+    val route = mock(Route::class.java)
+    `when`(ctx.route).thenReturn(route)
+    val ioTasks = AtomicInteger()
+    `when`(ctx.ioExecutor).thenReturn(
+      Executor {
+        ioTasks.incrementAndGet()
+        it.run()
+      }
+    )
+    CoroutineRouter(CoroutineStart.DEFAULT, router).apply {
+      get("/path", ExecutionMode.EVENT_LOOP) { "Result" }
+    }
+
+    val handlerCaptor = ArgumentCaptor.forClass(Route.Handler::class.java)
+    verify(router).route(eq(GET), eq("/path"), handlerCaptor.capture())
+    handlerCaptor.value.apply(ctx)
+
+    assertEquals(1, ioTasks.get())
+    verify(ctx).render("Result")
+  }
+
+  @Test
+  fun cancelOnDisconnect() {
+    val route = mock(Route::class.java)
+    `when`(ctx.route).thenReturn(route)
+    var disconnect: Runnable? = null
+    `when`(ctx.onDisconnect(any(Runnable::class.java))).thenAnswer {
+      disconnect = it.getArgument(0)
+      ctx
+    }
+    var cancelled = false
+    CoroutineRouter(CoroutineStart.UNDISPATCHED, router).apply {
+      launchContext { Dispatchers.Unconfined }
+      get("/path") {
+        try {
+          awaitCancellation()
+        } catch (x: CancellationException) {
+          cancelled = true
+          throw x
+        }
+      }
+    }
+
+    val handlerCaptor = ArgumentCaptor.forClass(Route.Handler::class.java)
+    verify(router).route(eq(GET), eq("/path"), handlerCaptor.capture())
+    handlerCaptor.value.apply(ctx)
+    disconnect!!.run()
+
+    assertTrue(cancelled)
+  }
+
   class SampleCoroutineContext(val ctx: Context) : AbstractCoroutineContextElement(Key) {
     companion object Key : CoroutineContext.Key<SampleCoroutineContext>
   }
@@ -0,0 +1,100 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.metrics;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Reservoir;
+import com.codahale.metrics.Timer;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import io.jooby.Context;
+import io.jooby.DispatchListener;
+import io.jooby.Route;
+
+/**
+ * Worker executor instrumentation. For an executor named <code>worker</code> it publishes:
+ *
+ * <ul>
+ *   <li><code>executors.worker.queued</code>: requests waiting for a worker thread.
+ *   <li><code>executors.worker.active</code>: requests running on a worker thread.
+ *   <li><code>executors.worker.wait</code>: time spent waiting for a worker thread.
+ *   <li><code>executors.worker.rejected</code>: requests rejected by the executor.
+ * </ul>
+ *
+ * Plus the wait time of each route: <code>routes.GET /users/{id}.queue</code>. Metrics are
+ * resolved once per route at startup.
+ */
+class DispatchMetrics implements DispatchListener {
+
+  private static class RouteDispatch implements DispatchListener {
+    private final Counter queued;
+
+    private final Counter active;
+
+    private final Timer wait;
+
+    private final Meter rejected;
+
+    private final Timer queue;
+
+    RouteDispatch(
+        MetricRegistry registry, Route route, String executor, Supplier<Reservoir> reservoir) {
+      String prefix = name("executors", executor);
+      this.queued = registry.counter(name(prefix, "queued"));
+      this.active = registry.counter(name(prefix, "active"));
+      this.wait = registry.timer(name(prefix, "wait"), () -> new Timer(reservoir.get()));
+      this.rejected = registry.meter(name(prefix, "rejected"));
+      this.queue =
+          registry.timer(
+              name(RouteMetrics.prefix(route), "queue"), () -> new Timer(reservoir.get()));
+    }
+
+    @Override
+    public void onEnqueue(@NonNull Context ctx, @NonNull String executor) {
+      queued.inc();
+    }
+
+    @Override
+    public void onStart(@NonNull Context ctx, @NonNull String executor, long waitNanos) {
+      queued.dec();
+      active.inc();
+      wait.update(waitNanos, TimeUnit.NANOSECONDS);
+      queue.update(waitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void onEnd(@NonNull Context ctx, @NonNull String executor, long runNanos) {
+      active.dec();
+    }
+
+    @Override
+    public void onReject(
+        @NonNull Context ctx, @NonNull String executor, @NonNull Throwable cause) {
+      queued.dec();
+      rejected.mark();
+    }
+  }
+
+  private final MetricRegistry registry;
+
+  private final Supplier<Reservoir> reservoir;
+
+  DispatchMetrics(MetricRegistry registry, Supplier<Reservoir> reservoir) {
+    this.registry = registry;
+    this.reservoir = reservoir;
+  }
+
+  @NonNull @Override
+  public DispatchListener forRoute(@NonNull Route route, @NonNull String executor) {
+    return new RouteDispatch(registry, route, executor, reservoir);
+  }
+}
@@ -5,20 +5,54 @@
  */
 package io.jooby.metrics;
 
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
 import com.codahale.metrics.Counter;
+import com.codahale.metrics.Meter;
 import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.Timer;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import io.jooby.Context;
 import io.jooby.Route;
 
 public class MetricsFilter implements Route.Filter {
 
+  private static final class Metrics {
+    private final MetricRegistry registry;
+
+    private final Counter actives;
+
+    private final Timer request;
+
+    private final AtomicReferenceArray<Meter> responses = new AtomicReferenceArray<>(600);
+
+    private Metrics(MetricRegistry registry) {
+      this.registry = registry;
+      this.actives = registry.counter("request.actives");
+      this.request = registry.timer("request");
+    }
+
+    private Meter response(int code) {
+      if (code < 0 || code >= responses.length()) {
+        return registry.meter("responses." + code);
+      }
+      Meter meter = responses.get(code);
+      if (meter == null) {
+        meter = registry.meter("responses." + code);
+        responses.set(code, meter);
+      }
+      return meter;
+    }
+  }
+
+  private volatile Metrics metrics;
+
   @NonNull @Override
   public Route.Handler apply(@NonNull Route.Handler next) {
     return ctx -> {
-      MetricRegistry registry = ctx.require(MetricRegistry.class);
-      Counter counter = registry.counter("request.actives");
-      Timer.Context timer = registry.timer("request").time();
+      Metrics metrics = metrics(ctx);
+      Counter counter = metrics.actives;
+      Timer.Context timer = metrics.request.time();
 
       counter.inc();
 
@@ -26,10 +60,20 @@ public class MetricsFilter implements Route.Filter {
           context -> {
             timer.stop();
             counter.dec();
-            registry.meter("responses." + context.getResponseCode().value()).mark();
+            metrics.response(context.getResponseCode().value()).mark();
           });
 
       return next.apply(ctx);
     };
   }
+
+  private Metrics metrics(Context ctx) {
+    Metrics metrics = this.metrics;
+    if (metrics == null) {
+      // registry lookups are idempotent, a concurrent first call is harmless
+      metrics = new Metrics(ctx.require(MetricRegistry.class));
+      this.metrics = metrics;
+    }
+    return metrics;
+  }
 }
@@ -19,16 +19,20 @@ import java.util.Set;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
+import com.codahale.metrics.ExponentiallyDecayingReservoir;
 import com.codahale.metrics.Metric;
 import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.Reporter;
+import com.codahale.metrics.Reservoir;
 import com.codahale.metrics.health.HealthCheck;
 import com.codahale.metrics.health.HealthCheckRegistry;
 import com.typesafe.config.Config;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import io.jooby.Extension;
 import io.jooby.Jooby;
+import io.jooby.Route;
 import io.jooby.Router;
 import io.jooby.ServiceRegistry;
 
@@ -53,6 +57,8 @@ public class MetricsModule implements Extension {
   private final MetricRegistry metricRegistry;
   private final HealthCheckRegistry healthCheckRegistry;
 
+  private Supplier<Reservoir> routeReservoir;
+
   /**
    * Creates a new {@link MetricsModule}.
    *
@@ -146,6 +152,36 @@ public class MetricsModule implements Extension {
     return this;
   }
 
+  /**
+   * Instrument every HTTP route with its own metrics: active requests, time until the handler
+   * returns (<code>handler</code>), time until the response is fully sent (<code>total</code>) and
+   * responses by status class. Metrics are named after the route, like <code>
+   * routes.GET /users/{id}.total</code>.
+   *
+   * <p>Blocking routes also publish the time spent waiting for a worker thread (<code>queue</code>)
+   * and worker executors their queued/active requests, wait time and rejections, like <code>
+   * executors.worker.queued</code>.
+   *
+   * <p>Metrics are created at application startup, request processing does no registry lookup.
+   *
+   * @return This metrics module.
+   */
+  public MetricsModule routeMetrics() {
+    return routeMetrics(ExponentiallyDecayingReservoir::new);
+  }
+
+  /**
+   * Instrument every HTTP route with its own metrics, see {@link #routeMetrics()}. Timers use the
+   * given reservoir, like a HdrHistogram or sliding time window reservoir for accurate percentiles.
+   *
+   * @param reservoir Reservoir factory, invoked once per timer.
+   * @return This metrics module.
+   */
+  public MetricsModule routeMetrics(final Supplier<Reservoir> reservoir) {
+    this.routeReservoir = requireNonNull(reservoir, "Reservoir is required.");
+    return this;
+  }
+
   /**
    * Append a metric to the {@link MetricRegistry}, this call is identical to {@link
    * MetricRegistry#register(String, Metric)}.
@@ -239,6 +275,12 @@ public class MetricsModule implements Extension {
     metrics.forEach(metricRegistry::register);
     healthChecks.forEach(healthCheckRegistry::register);
 
+    if (routeReservoir != null) {
+      // before router start, so the filter becomes part of the route pipeline
+      application.onStarting(() -> application.getRoutes().forEach(this::instrument));
+      application.dispatchListener(new DispatchMetrics(metricRegistry, routeReservoir));
+    }
+
     final Set<Reporter> reporters = new HashSet<>();
 
     application.onStarted(
@@ -267,4 +309,14 @@ public class MetricsModule implements Extension {
                   }
                 }));
   }
+
+  private void instrument(Route route) {
+    String method = route.getMethod();
+    if (method.equals(Router.WS) || method.equals(Router.SSE)) {
+      return;
+    }
+    RouteMetrics metrics = new RouteMetrics(metricRegistry, route, routeReservoir);
+    Route.Filter filter = route.getFilter();
+    route.setFilter(filter == null ? metrics : metrics.then(filter));
+  }
 }
@@ -0,0 +1,110 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.metrics;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Reservoir;
+import com.codahale.metrics.Timer;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import io.jooby.Route;
+import io.jooby.annotation.Transactional;
+
+/**
+ * Per route instrumentation, one instance per route. All the metrics are resolved at startup, so
+ * a request only updates them. For a route <code>GET /users/{id}</code> it publishes:
+ *
+ * <ul>
+ *   <li><code>routes.GET /users/{id}.actives</code>: active requests.
+ *   <li><code>routes.GET /users/{id}.handler</code>: time until the route handler returns. This is
+ *       not time to first byte: the response might not have been written yet (or might still be
+ *       streaming) when the handler returns.
+ *   <li><code>routes.GET /users/{id}.total</code>: time until the response has been fully sent.
+ *   <li><code>routes.GET /users/{id}.responses.2xx</code>: responses by status class.
+ *   <li><code>routes.GET /users/{id}.connection</code>: time a database connection/transaction was
+ *       held, as reported by {@link Transactional#HOLD_TIME}. Created on first report.
+ * </ul>
+ *
+ * Time is measured from the moment the route pipeline starts running, after dispatching to a worker
+ * thread (if any). Time spent waiting for a worker is published by {@link DispatchMetrics}.
+ */
+class RouteMetrics implements Route.Filter {
+
+  private final Counter actives;
+
+  private final Timer handler;
+
+  private final Timer total;
+
+  private final Meter[] responses = new Meter[6];
+
+  private final MetricRegistry registry;
+
+  private final String prefix;
+
+  private final Supplier<Reservoir> reservoir;
+
+  private volatile Timer connection;
+
+  RouteMetrics(MetricRegistry registry, Route route, Supplier<Reservoir> reservoir) {
+    this.registry = registry;
+    this.prefix = prefix(route);
+    this.reservoir = reservoir;
+    this.actives = registry.counter(name(prefix, "actives"));
+    this.handler = registry.timer(name(prefix, "handler"), () -> new Timer(reservoir.get()));
+    this.total = registry.timer(name(prefix, "total"), () -> new Timer(reservoir.get()));
+    for (int i = 1; i < responses.length; i++) {
+      responses[i] = registry.meter(name(prefix, "responses", i + "xx"));
+    }
+  }
+
+  private Timer connection() {
+    Timer timer = connection;
+    if (timer == null) {
+      timer = registry.timer(name(prefix, "connection"), () -> new Timer(reservoir.get()));
+      connection = timer;
+    }
+    return timer;
+  }
+
+  static String prefix(Route route) {
+    return name("routes", route.getMethod() + " " + route.getPattern());
+  }
+
+  @NonNull @Override
+  public Route.Handler apply(@NonNull Route.Handler next) {
+    return ctx -> {
+      long start = System.nanoTime();
+      actives.inc();
+
+      ctx.onComplete(
+          context -> {
+            total.update(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            actives.dec();
+            int statusClass = context.getResponseCode().value() / 100;
+            if (statusClass > 0 && statusClass < responses.length) {
+              responses[statusClass].mark();
+            }
+            Long holdTime = (Long) context.getAttributes().get(Transactional.HOLD_TIME);
+            if (holdTime != null) {
+              connection().update(holdTime, TimeUnit.NANOSECONDS);
+            }
+          });
+
+      try {
+        return next.apply(ctx);
+      } finally {
+        handler.update(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      }
+    };
+  }
+}
@@ -0,0 +1,62 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+import com.codahale.metrics.MetricRegistry;
+import io.jooby.Jooby;
+import io.jooby.StatusCode;
+import io.jooby.test.MockRouter;
+
+public class MetricsFilterTest {
+
+  @Test
+  public void publishRequestMetrics() {
+    MetricRegistry registry = new MetricRegistry();
+    Jooby app = new Jooby();
+    app.getServices().put(MetricRegistry.class, registry);
+
+    app.use(new MetricsFilter());
+    app.get(
+        "/ok",
+        ctx -> {
+          assertEquals(1, registry.counter("request.actives").getCount());
+          return ctx.send("OK");
+        });
+    app.get("/missing", ctx -> ctx.setResponseCode(StatusCode.NOT_FOUND).send("Not found"));
+
+    MockRouter router = new MockRouter(app).setFullExecution(true);
+    router.get("/ok");
+    router.get("/ok");
+    router.get("/missing");
+
+    assertEquals(0, registry.counter("request.actives").getCount());
+    assertEquals(3, registry.timer("request").getCount());
+    assertEquals(2, registry.meter("responses.200").getCount());
+    assertEquals(1, registry.meter("responses.404").getCount());
+  }
+
+  @Test
+  public void cacheResponseMeters() {
+    MetricRegistry registry = new MetricRegistry();
+    Jooby app = new Jooby();
+    app.getServices().put(MetricRegistry.class, registry);
+
+    app.use(new MetricsFilter());
+    app.get("/ok", ctx -> ctx.send("OK"));
+
+    MockRouter router = new MockRouter(app).setFullExecution(true);
+    router.get("/ok");
+
+    // cached meter is the registered one, removing it from the registry doesn't affect the filter
+    registry.remove("responses.200");
+    router.get("/ok");
+    assertEquals(0, registry.meter("responses.200").getCount());
+  }
+}
@@ -0,0 +1,82 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.codahale.metrics.ExponentiallyDecayingReservoir;
+import com.codahale.metrics.MetricRegistry;
+import io.jooby.Route;
+import io.jooby.StatusCode;
+import io.jooby.annotation.Transactional;
+import io.jooby.test.MockContext;
+
+public class RouteMetricsTest {
+
+  private static final String PREFIX = "routes.GET /users/{id}";
+
+  @Test
+  public void publishRouteMetrics() throws Exception {
+    MetricRegistry registry = new MetricRegistry();
+    Route route = new Route("GET", "/users/{id}", ctx -> ctx);
+    RouteMetrics metrics = new RouteMetrics(registry, route, ExponentiallyDecayingReservoir::new);
+
+    Route.Handler ok =
+        metrics.apply(
+            ctx -> {
+              assertEquals(1, registry.counter(PREFIX + ".actives").getCount());
+              return ctx.send("OK");
+            });
+    ok.apply(new MockContext());
+    ok.apply(new MockContext());
+
+    metrics
+        .apply(ctx -> ctx.setResponseCode(StatusCode.NOT_FOUND).send("Not found"))
+        .apply(new MockContext());
+
+    // not sent yet
+    MockContext pending = new MockContext();
+    metrics.apply(ctx -> ctx).apply(pending);
+    assertEquals(1, registry.counter(PREFIX + ".actives").getCount());
+    pending.setResponseCode(StatusCode.SERVER_ERROR).send("Server error");
+
+    assertEquals(0, registry.counter(PREFIX + ".actives").getCount());
+    assertEquals(4, registry.timer(PREFIX + ".handler").getCount());
+    assertEquals(4, registry.timer(PREFIX + ".total").getCount());
+    assertEquals(0, registry.meter(PREFIX + ".responses.1xx").getCount());
+    assertEquals(2, registry.meter(PREFIX + ".responses.2xx").getCount());
+    assertEquals(0, registry.meter(PREFIX + ".responses.3xx").getCount());
+    assertEquals(1, registry.meter(PREFIX + ".responses.4xx").getCount());
+    assertEquals(1, registry.meter(PREFIX + ".responses.5xx").getCount());
+    // no transaction was reported
+    assertNull(registry.getTimers().get(PREFIX + ".connection"));
+  }
+
+  @Test
+  public void publishConnectionHoldTime() throws Exception {
+    MetricRegistry registry = new MetricRegistry();
+    Route route = new Route("GET", "/users/{id}", ctx -> ctx);
+    RouteMetrics metrics = new RouteMetrics(registry, route, ExponentiallyDecayingReservoir::new);
+
+    metrics
+        .apply(
+            ctx -> {
+              ctx.setAttribute(Transactional.HOLD_TIME, TimeUnit.MILLISECONDS.toNanos(5));
+              return ctx.send("OK");
+            })
+        .apply(new MockContext());
+
+    assertEquals(1, registry.timer(PREFIX + ".connection").getCount());
+    assertEquals(
+        TimeUnit.MILLISECONDS.toNanos(5),
+        registry.timer(PREFIX + ".connection").getSnapshot().getMax());
+  }
+}
@@ -5,15 +5,31 @@
  */
 package io.jooby.internal.netty;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.jooby.ServerOptions;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelPromise;
+import io.netty.handler.codec.compression.Brotli;
+import io.netty.handler.codec.compression.CompressionOptions;
+import io.netty.handler.codec.compression.StandardCompressionOptions;
+import io.netty.handler.codec.compression.Zstd;
 import io.netty.handler.codec.http.DefaultHttpContent;
 import io.netty.handler.codec.http.HttpContentCompressor;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpResponse;
 
 class HttpChunkContentCompressor extends HttpContentCompressor {
-  public HttpChunkContentCompressor(int compressionLevel) {
-    super(compressionLevel < 0 ? 0 : compressionLevel);
+  private final ServerOptions options;
+
+  public HttpChunkContentCompressor(ServerOptions options) {
+    super(options.getCompressionMinSize(), compressionOptions(options));
+    this.options = options;
   }
 
   @Override
@@ -33,4 +49,52 @@ class HttpChunkContentCompressor extends HttpContentCompressor {
     }
     super.write(ctx, msg, promise);
   }
+
+  @Override
+  protected Result beginEncode(HttpResponse response, String acceptEncoding) throws Exception {
+    if (!options.isCompressible(response.headers().get(HttpHeaderNames.CONTENT_TYPE))) {
+      return null;
+    }
+    // threshold from super class applies to full responses only
+    String len = response.headers().get(HttpHeaderNames.CONTENT_LENGTH);
+    if (len != null && Long.parseLong(len) < options.getCompressionMinSize()) {
+      return null;
+    }
+    return super.beginEncode(response, acceptEncoding);
+  }
+
+  private static CompressionOptions[] compressionOptions(ServerOptions options) {
+    int level = Math.max(0, options.getCompressionLevel());
+    List<CompressionOptions> result = new ArrayList<>();
+    for (String encoding : options.getCompressionEncodings()) {
+      switch (encoding) {
+        case "br":
+          if (Brotli.isAvailable()) {
+            result.add(StandardCompressionOptions.brotli());
+          } else {
+            unavailable(encoding, "com.aayushatharva.brotli4j:brotli4j");
+          }
+          break;
+        case "zstd":
+          if (Zstd.isAvailable()) {
+            result.add(StandardCompressionOptions.zstd());
+          } else {
+            unavailable(encoding, "com.github.luben:zstd-jni");
+          }
+          break;
+        case "gzip":
+          result.add(StandardCompressionOptions.gzip(level, 15, 8));
+          break;
+        case "deflate":
+          result.add(StandardCompressionOptions.deflate(level, 15, 8));
+          break;
+      }
+    }
+    return result.toArray(new CompressionOptions[0]);
+  }
+
+  private static void unavailable(String encoding, String dependency) {
+    Logger log = LoggerFactory.getLogger(HttpChunkContentCompressor.class);
+    log.warn("{} compression is off, add {} to the classpath", encoding, dependency);
+  }
 }
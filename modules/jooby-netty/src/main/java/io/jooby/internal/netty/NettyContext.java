@@ -68,6 +68,7 @@ import io.jooby.Session;
 import io.jooby.SessionStore;
 import io.jooby.SneakyThrows;
 import io.jooby.StatusCode;
+import io.jooby.StreamingBody;
 import io.jooby.Value;
 import io.jooby.ValueNode;
 import io.jooby.WebSocket;
@@ -106,6 +107,9 @@ import io.netty.handler.stream.ChunkedStream;
 import io.netty.handler.stream.ChunkedWriteHandler;
 import io.netty.handler.timeout.IdleStateHandler;
 import io.netty.util.ReferenceCounted;
+import io.netty.util.ResourceLeakDetector;
+import io.netty.util.ResourceLeakDetectorFactory;
+import io.netty.util.ResourceLeakTracker;
 
 public class NettyContext implements DefaultContext, ChannelFutureListener {
 
@@ -113,10 +117,20 @@ public class NettyContext implements DefaultContext, ChannelFutureListener {
   private static final String STREAM_ID = "x-http2-stream-id";
   private static final boolean DISABLE_HTTP_HEADERS_VALIDATION =
       Boolean.parseBoolean(System.getProperty("io.netty.disableHttpHeadersValidation", "false"));
-  private final String streamId;
+  /**
+   * Debug mode, enabled with <code>-Dio.netty.leakDetection.level=paranoid</code>: contexts
+   * garbage collected without completing the response are reported and contexts are never
+   * recycled.
+   */
+  private static final boolean PARANOID =
+      ResourceLeakDetector.getLevel() == ResourceLeakDetector.Level.PARANOID;
+  private static final ResourceLeakDetector<NettyContext> LEAK_DETECTOR =
+      ResourceLeakDetectorFactory.instance().newResourceLeakDetector(NettyContext.class);
+  private String streamId;
   DefaultHttpHeaders setHeaders = new DefaultHttpHeaders(!DISABLE_HTTP_HEADERS_VALIDATION);
   private final int bufferSize;
   InterfaceHttpPostRequestDecoder decoder;
+  StreamingBody streamingBody;
   private Router router;
   private Route route;
   ChannelHandlerContext ctx;
@@ -132,17 +146,21 @@ public class NettyContext implements DefaultContext, ChannelFutureListener {
   private MediaType responseType;
   private Map<String, Object> attributes = new HashMap<>();
   private long contentLength = -1;
-  private boolean needsFlush;
   private Map<String, String> cookies;
   private Map<String, String> responseCookies;
   private Boolean resetHeadersOnError;
   NettyWebSocket webSocket;
   private String method;
   private CompletionListeners listeners;
+  private volatile Runnable disconnectListener;
+  private NettyOutputStream outputStream;
   private String remoteAddress;
   private String host;
   private String scheme;
   private int port;
+  private boolean recyclable;
+  private boolean flusherRemoved;
+  private ResourceLeakTracker<NettyContext> leak;
 
   public NettyContext(
       ChannelHandlerContext ctx,
@@ -164,6 +182,60 @@ public class NettyContext implements DefaultContext, ChannelFutureListener {
     } else {
       this.streamId = null;
     }
+    this.leak = PARANOID ? LEAK_DETECTOR.track(this) : null;
+  }
+
+  /**
+   * True when the response was fully written from the event loop and nothing else references
+   * this context, so it can be {@link #reset(HttpRequest, String) reused} for the next request on
+   * the same connection.
+   *
+   * @return True when this context can be reused.
+   */
+  boolean isRecyclable() {
+    return recyclable;
+  }
+
+  /**
+   * Clear request/response state and bind this context to a new (HTTP/1.1) request on the same
+   * connection. Must be called from the event loop and only if {@link #isRecyclable()}.
+   *
+   * @param req New request.
+   * @param path Request path.
+   */
+  void reset(HttpRequest req, String path) {
+    this.req = req;
+    this.path = path;
+    this.method = req.method().name().toUpperCase();
+    restoreFlusher();
+    setHeaders.clear();
+    decoder = null;
+    streamingBody = null;
+    route = null;
+    status = HttpResponseStatus.OK;
+    responseStarted = false;
+    query = null;
+    formdata = null;
+    files = null;
+    headers = null;
+    pathMap = Collections.EMPTY_MAP;
+    responseType = null;
+    attributes.clear();
+    contentLength = -1;
+    cookies = null;
+    responseCookies = null;
+    resetHeadersOnError = null;
+    webSocket = null;
+    listeners = null;
+    disconnectListener = null;
+    outputStream = null;
+    remoteAddress = null;
+    host = null;
+    scheme = null;
+    port = 0;
+    streamId = null;
+    recyclable = false;
+    leak = PARANOID ? LEAK_DETECTOR.track(this) : null;
   }
 
   boolean isHttpGet() {
@@ -237,6 +309,11 @@ public class NettyContext implements DefaultContext, ChannelFutureListener {
     return ctx.channel().eventLoop().inEventLoop();
   }
 
+  @NonNull @Override
+  public Executor getIoExecutor() {
+    return ctx.channel().eventLoop();
+  }
+
   @NonNull @Override
   public Context dispatch(@NonNull Runnable action) {
     return dispatch(router.getWorker(), action);
@@ -373,6 +450,9 @@ public class NettyContext implements DefaultContext, ChannelFutureListener {
 
   @NonNull @Override
   public Body body() {
+    if (streamingBody != null) {
+      return streamingBody;
+    }
     if (decoder != null && decoder.hasNext()) {
       return new NettyBody(this, (HttpData) decoder.next(), HttpUtil.getContentLength(req, -1L));
     }
@@ -407,6 +487,49 @@ public class NettyContext implements DefaultContext, ChannelFutureListener {
     return this;
   }
 
+  @NonNull @Override
+  public Context onDisconnect(@NonNull Runnable task) {
+    Runnable listener = disconnectListener;
+    disconnectListener =
+        listener == null
+            ? task
+            : () -> {
+              listener.run();
+              task.run();
+            };
+    if (!ctx.channel().isActive()) {
+      // client might be gone before registering the task
+      fireDisconnect();
+    }
+    return this;
+  }
+
+  @NonNull @Override
+  public Context abort() {
+    responseStarted = true;
+    if (outputStream != null) {
+      // never completed, so never flushed
+      outputStream.discard();
+      outputStream = null;
+    }
+    requestComplete();
+    ctx.channel().close().addListener(this);
+    return this;
+  }
+
+  /** Run disconnect listeners when the connection was closed before sending a response. */
+  void fireDisconnect() {
+    Runnable listener = disconnectListener;
+    disconnectListener = null;
+    if (listener != null && !responseStarted) {
+      try {
+        listener.run();
+      } catch (Exception x) {
+        router.getLog().debug("disconnect listener resulted in exception", x);
+      }
+    }
+  }
+
   @NonNull @Override
   public Context upgrade(WebSocket.Initializer handler) {
     try {
@@ -424,6 +547,7 @@ public class NettyContext implements DefaultContext, ChannelFutureListener {
               .withUTF8Validator(false)
               .maxFramePayloadLength(maxSize)
               .build();
+      closeLeak();
       webSocket = new NettyWebSocket(this);
       handler.init(Context.readOnly(this), webSocket);
       FullHttpRequest webSocketRequest =
@@ -456,6 +580,7 @@ public class NettyContext implements DefaultContext, ChannelFutureListener {
   @NonNull @Override
   public Context upgrade(@NonNull ServerSentEmitter.Handler handler) {
     responseStarted = true;
+    closeLeak();
     ctx.writeAndFlush(new DefaultHttpResponse(HTTP_1_1, status, setHeaders));
 
     //    ctx.executor().execute(() -> {
@@ -618,25 +743,22 @@ public class NettyContext implements DefaultContext, ChannelFutureListener {
       setHeaders.set(CONTENT_LENGTH, Long.toString(data.readableBytes()));
       DefaultFullHttpResponse response =
           new DefaultFullHttpResponse(HTTP_1_1, status, data, setHeaders, NO_TRAILING);
-      if (ctx.channel().eventLoop().inEventLoop()) {
-        needsFlush = true;
-        ctx.write(response, promise(this));
-      } else {
-        ctx.writeAndFlush(response, promise(this));
-      }
+      ChannelPromise promise = promise(this);
+      // flusher coalesces all the flushes of a read batch (or from worker threads) into one
+      ctx.writeAndFlush(response, promise);
+      // response was encoded and nobody will call us back. With a chunk writer in the pipeline
+      // the response might be queued (not encoded yet) and still references the headers
+      recyclable =
+          !PARANOID
+              && promise.isVoid()
+              && ctx.channel().eventLoop().inEventLoop()
+              && ctx.pipeline().get("chunker") == null;
       return this;
     } finally {
       requestComplete();
     }
   }
 
-  public void flush() {
-    if (needsFlush) {
-      needsFlush = false;
-      ctx.flush();
-    }
-  }
-
   @NonNull @Override
   public Context send(@NonNull ReadableByteChannel channel) {
     try {
@@ -787,10 +909,19 @@ public class NettyContext implements DefaultContext, ChannelFutureListener {
   }
 
   void requestComplete() {
+    closeLeak();
     fireCompleteEvent();
     ifSaveSession();
   }
 
+  private void closeLeak() {
+    ResourceLeakTracker<NettyContext> leak = this.leak;
+    if (leak != null) {
+      this.leak = null;
+      leak.close(this);
+    }
+  }
+
   @Override
   public void operationComplete(ChannelFuture future) {
     try {
@@ -798,6 +929,9 @@ public class NettyContext implements DefaultContext, ChannelFutureListener {
     } finally {
       if (!isKeepAlive(req)) {
         future.channel().close();
+      } else {
+        // streaming/chunked response is done, next requests on this connection get the flusher
+        restoreFlusher();
       }
     }
   }
@@ -832,6 +966,7 @@ public class NettyContext implements DefaultContext, ChannelFutureListener {
         || (listeners != null)
         || (files != null && files.size() > 0)
         || (decoder != null)
+        || (streamingBody != null)
         || shouldRelease(req);
   }
 
@@ -873,13 +1008,23 @@ public class NettyContext implements DefaultContext, ChannelFutureListener {
       }
       decoder = null;
     }
+    if (streamingBody != null) {
+      // unread content must not leave the connection suspended
+      streamingBody.discard();
+      streamingBody = null;
+    }
     release(req);
   }
 
   private NettyOutputStream newOutputStream() {
     prepareChunked();
-    return new NettyOutputStream(
-        this, ctx, bufferSize, new DefaultHttpResponse(req.protocolVersion(), status, setHeaders));
+    outputStream =
+        new NettyOutputStream(
+            this,
+            ctx,
+            bufferSize,
+            new DefaultHttpResponse(req.protocolVersion(), status, setHeaders));
+    return outputStream;
   }
 
   private FileUpload register(FileUpload upload) {
@@ -939,10 +1084,28 @@ public class NettyContext implements DefaultContext, ChannelFutureListener {
     return len == null ? -1 : Long.parseLong(len);
   }
 
+  /**
+   * Put back the flusher removed by a streaming/chunked response, so next requests on the same
+   * connection get their flushes coalesced again. Must be called from the event loop.
+   */
+  void restoreFlusher() {
+    if (flusherRemoved) {
+      flusherRemoved = false;
+      ChannelPipeline pipeline = ctx.pipeline();
+      if (!ctx.isRemoved() && pipeline.get("flusher") == null) {
+        pipeline.addBefore(ctx.name(), "flusher", NettyPipeline.flusher());
+      }
+    }
+  }
+
   private void prepareChunked() {
     responseStarted = true;
     // remove flusher, doesn't play well with streaming/chunked responses
     ChannelPipeline pipeline = ctx.pipeline();
+    if (pipeline.get("flusher") != null) {
+      pipeline.remove("flusher");
+      flusherRemoved = true;
+    }
     if (pipeline.get("chunker") == null) {
       String base =
           Stream.of("compressor", "codec", "http2")
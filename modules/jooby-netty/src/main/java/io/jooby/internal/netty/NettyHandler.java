@@ -5,14 +5,8 @@
  */
 package io.jooby.internal.netty;
 
+import java.nio.channels.ClosedChannelException;
 import java.nio.charset.StandardCharsets;
-import java.time.ZoneOffset;
-import java.time.ZonedDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.concurrent.RejectedExecutionException;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicReference;
 
 import org.slf4j.Logger;
 
@@ -20,14 +14,16 @@ import io.jooby.MediaType;
 import io.jooby.Route;
 import io.jooby.Router;
 import io.jooby.Server;
-import io.jooby.SneakyThrows;
+import io.jooby.ServerHeaders;
 import io.jooby.StatusCode;
+import io.jooby.StreamingBody;
 import io.jooby.WebSocketCloseStatus;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.handler.codec.http.HttpContent;
 import io.netty.handler.codec.http.HttpHeaderNames;
-import io.netty.handler.codec.http.HttpHeaderValues;
 import io.netty.handler.codec.http.HttpRequest;
 import io.netty.handler.codec.http.HttpUtil;
 import io.netty.handler.codec.http.LastHttpContent;
@@ -42,14 +38,9 @@ import io.netty.util.AsciiString;
 import io.netty.util.ReferenceCounted;
 
 public class NettyHandler extends ChannelInboundHandlerAdapter {
-  private static final AtomicReference<String> cachedDateString = new AtomicReference<>();
-
-  private static final Runnable INVALIDATE_TASK = () -> cachedDateString.set(null);
-
-  private static final AsciiString server = AsciiString.cached("N");
-  private final ScheduledExecutorService scheduler;
-
-  private static final int DATE_INTERVAL = 1000;
+  /** Default headers, values wrap the ASCII bytes without copying. */
+  private static final ServerHeaders.Encoded<AsciiString> HEADERS =
+      ServerHeaders.encode("N", (name, value) -> new AsciiString(value, false));
 
   private final Router router;
   private final int bufferSize;
@@ -58,6 +49,8 @@ public class NettyHandler extends ChannelInboundHandlerAdapter {
 
   private final HttpDataFactory factory;
   private InterfaceHttpPostRequestDecoder decoder;
+  private Router.Match match;
+  private StreamingBody streamingBody;
 
   private final long maxRequestSize;
   private long contentLength;
@@ -66,14 +59,12 @@ public class NettyHandler extends ChannelInboundHandlerAdapter {
   private boolean http2;
 
   public NettyHandler(
-      ScheduledExecutorService scheduler,
       Router router,
       long maxRequestSize,
       int bufferSize,
       HttpDataFactory factory,
       boolean defaultHeaders,
       boolean http2) {
-    this.scheduler = scheduler;
     this.router = router;
     this.maxRequestSize = maxRequestSize;
     this.factory = factory;
@@ -88,13 +79,18 @@ public class NettyHandler extends ChannelInboundHandlerAdapter {
       if (msg instanceof HttpRequest) {
         HttpRequest req = (HttpRequest) msg;
 
-        context = new NettyContext(ctx, req, router, pathOnly(req.uri()), bufferSize, http2);
+        if (!http2 && context != null && context.isRecyclable()) {
+          // keep-alive: previous request on this connection is done, reuse its context
+          context.reset(req, pathOnly(req.uri()));
+        } else {
+          context = new NettyContext(ctx, req, router, pathOnly(req.uri()), bufferSize, http2);
+        }
 
         if (defaultHeaders) {
-          context.setHeaders.set(HttpHeaderNames.DATE, date(router.getLog(), scheduler));
-          context.setHeaders.set(HttpHeaderNames.SERVER, server);
+          context.setHeaders.set(HttpHeaderNames.DATE, HEADERS.date());
+          context.setHeaders.set(HttpHeaderNames.SERVER, HEADERS.server());
         }
-        context.setHeaders.set(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.TEXT_PLAIN);
+        context.setHeaders.set(HttpHeaderNames.CONTENT_TYPE, HEADERS.contentType());
 
         if (context.isHttpGet()) {
           router.match(context).execute(context);
@@ -102,12 +98,35 @@ public class NettyHandler extends ChannelInboundHandlerAdapter {
           // possibly body:
           contentLength = contentLength(req);
           if (contentLength > 0 || HttpUtil.isTransferEncodingChunked(req)) {
-            decoder = newDecoder(req, factory);
+            match = router.match(context);
+            if (match.matches() && match.route().isStreamingBody()) {
+              // run now, body is consumed while it is being received
+              streamingBody = newStreamingBody(ctx, context, contentLength);
+              Router.Match route = match;
+              match = null;
+              route.execute(context);
+            } else {
+              decoder = newDecoder(req, factory);
+            }
           } else {
             // no body, move on
             router.match(context).execute(context);
           }
         }
+      } else if (streamingBody != null && msg instanceof HttpContent) {
+        HttpContent chunk = (HttpContent) msg;
+        ByteBuf content = chunk.content();
+        int len = content.readableBytes();
+        if (len > 0) {
+          chunkSize += len;
+          // no copy: body reads from the netty buffer and releases it once consumed
+          ByteBuf retained = content.retain();
+          streamingBody.offer(content.nioBuffer(), retained::release);
+        }
+        if (chunk instanceof LastHttpContent || contentLength == chunkSize) {
+          streamingBody.complete();
+          resetStreamingState();
+        }
       } else if (decoder != null && msg instanceof HttpContent) {
         HttpContent chunk = (HttpContent) msg;
         chunkSize += chunk.content().readableBytes();
@@ -126,7 +145,7 @@ public class NettyHandler extends ChannelInboundHandlerAdapter {
 
         if (chunk instanceof LastHttpContent) {
           context.decoder = decoder;
-          Router.Match route = router.match(context);
+          Router.Match route = match == null ? router.match(context) : match;
           resetDecoderState(!route.matches());
           route.execute(context);
         }
@@ -146,10 +165,15 @@ public class NettyHandler extends ChannelInboundHandlerAdapter {
   }
 
   @Override
-  public void channelReadComplete(ChannelHandlerContext ctx) throws Exception {
+  public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+    if (streamingBody != null) {
+      streamingBody.fail(new ClosedChannelException());
+      resetStreamingState();
+    }
     if (context != null) {
-      context.flush();
+      context.fireDisconnect();
     }
+    super.channelInactive(ctx);
   }
 
   @Override
@@ -203,12 +227,41 @@ public class NettyHandler extends ChannelInboundHandlerAdapter {
   private void resetDecoderState(boolean destroy) {
     chunkSize = 0;
     contentLength = -1;
+    match = null;
     if (destroy && decoder != null) {
       decoder.destroy();
     }
     decoder = null;
   }
 
+  private void resetStreamingState() {
+    chunkSize = 0;
+    contentLength = -1;
+    streamingBody = null;
+  }
+
+  private static StreamingBody newStreamingBody(
+      ChannelHandlerContext ctx, NettyContext context, long contentLength) {
+    Channel channel = ctx.channel();
+    StreamingBody body =
+        new StreamingBody(
+            context,
+            contentLength,
+            new StreamingBody.FlowControl() {
+              @Override
+              public void pause() {
+                channel.config().setAutoRead(false);
+              }
+
+              @Override
+              public void resume() {
+                channel.config().setAutoRead(true);
+              }
+            });
+    context.streamingBody = body;
+    return body;
+  }
+
   private static InterfaceHttpPostRequestDecoder newDecoder(
       HttpRequest request, HttpDataFactory factory) {
     String contentType = request.headers().get(HttpHeaderNames.CONTENT_TYPE);
@@ -239,30 +292,4 @@ public class NettyHandler extends ChannelInboundHandlerAdapter {
       return -1;
     }
   }
-
-  private static String date(Logger log, ScheduledExecutorService scheduler) {
-    String dateString = cachedDateString.get();
-    if (dateString == null) {
-      // set the time and register a timer to invalidate it
-      // note that this is racey, it does not matter if multiple threads do this
-      // the perf cost of synchronizing would be more than the perf cost of multiple threads running
-      // it
-      long realTime = System.currentTimeMillis();
-      long mod = realTime % DATE_INTERVAL;
-      long toGo = DATE_INTERVAL - mod;
-      dateString = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC));
-      if (cachedDateString.compareAndSet(null, dateString)) {
-        try {
-          scheduler.schedule(INVALIDATE_TASK, toGo, TimeUnit.MILLISECONDS);
-        } catch (RejectedExecutionException rejected) {
-          if (scheduler.isShutdown()) {
-            log.trace("server is shutting down", rejected);
-          } else {
-            throw SneakyThrows.propagate(rejected);
-          }
-        }
-      }
-    }
-    return dateString;
-  }
 }
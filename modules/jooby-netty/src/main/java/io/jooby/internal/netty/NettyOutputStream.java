@@ -104,6 +104,13 @@ public class NettyOutputStream extends OutputStream {
     }
   }
 
+  /** Release buffered output without writing it, used when the response is aborted. */
+  void discard() {
+    if (buffer.refCnt() > 0) {
+      buffer.release();
+    }
+  }
+
   @Override
   public void close() {
     try {
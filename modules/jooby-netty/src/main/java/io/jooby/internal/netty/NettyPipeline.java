@@ -8,10 +8,10 @@ package io.jooby.internal.netty;
 import static io.jooby.ServerOptions._4KB;
 import static io.jooby.ServerOptions._8KB;
 
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.function.Supplier;
 
 import io.jooby.Router;
+import io.jooby.ServerOptions;
 import io.jooby.internal.netty.http2.NettyHttp2Configurer;
 import io.netty.channel.ChannelInboundHandler;
 import io.netty.channel.ChannelInitializer;
@@ -22,6 +22,7 @@ import io.netty.handler.codec.http.HttpServerCodec;
 import io.netty.handler.codec.http.HttpServerExpectContinueHandler;
 import io.netty.handler.codec.http.HttpServerUpgradeHandler;
 import io.netty.handler.codec.http.multipart.HttpDataFactory;
+import io.netty.handler.flush.FlushConsolidationHandler;
 import io.netty.handler.ssl.SslContext;
 
 public class NettyPipeline extends ChannelInitializer<SocketChannel> {
@@ -29,33 +30,32 @@ public class NettyPipeline extends ChannelInitializer<SocketChannel> {
 
   private final Router router;
   private final HttpDataFactory factory;
+  private final ServerOptions compression;
   private final Integer compressionLevel;
   private final int bufferSize;
   private final long maxRequestSize;
   private final boolean defaultHeaders;
-  private final ScheduledExecutorService service;
   private final SslContext sslContext;
   private final boolean http2;
   private final boolean is100ContinueExpected;
 
   public NettyPipeline(
-      ScheduledExecutorService service,
       Router router,
       HttpDataFactory factory,
       SslContext sslContext,
       boolean http2,
       boolean defaultHeaders,
-      Integer compressionLevel,
+      ServerOptions compression,
       int bufferSize,
       long maxRequestSize,
       boolean is100ContinueExpected) {
-    this.service = service;
     this.router = router;
     this.factory = factory;
     this.sslContext = sslContext;
     this.http2 = http2;
     this.defaultHeaders = defaultHeaders;
-    this.compressionLevel = compressionLevel;
+    this.compression = compression;
+    this.compressionLevel = compression.getCompressionLevel();
     this.bufferSize = bufferSize;
     this.maxRequestSize = maxRequestSize;
     this.is100ContinueExpected = is100ContinueExpected;
@@ -83,6 +83,8 @@ public class NettyPipeline extends ChannelInitializer<SocketChannel> {
 
       setupExpectContinue(p);
 
+      setupFlusher(p);
+
       p.addLast("handler", createHandler(true));
     }
   }
@@ -93,9 +95,23 @@ public class NettyPipeline extends ChannelInitializer<SocketChannel> {
     }
   }
 
+  /**
+   * Flushes issued while reading are deferred until the read batch completes, so responses to
+   * pipelined requests go out in a single write. Flushes from outside the event loop (worker
+   * threads) are coalesced by a single event loop task.
+   */
+  private void setupFlusher(ChannelPipeline p) {
+    p.addLast("flusher", flusher());
+  }
+
+  static FlushConsolidationHandler flusher() {
+    return new FlushConsolidationHandler(
+        FlushConsolidationHandler.DEFAULT_EXPLICIT_FLUSH_AFTER_FLUSHES, true);
+  }
+
   private void setupCompression(ChannelPipeline p) {
     if (compressionLevel != null) {
-      p.addLast("compressor", new HttpChunkContentCompressor(compressionLevel));
+      p.addLast("compressor", new HttpChunkContentCompressor(compression));
       p.addLast("ws-compressor", new NettyWebSocketCompressor(compressionLevel));
     }
   }
@@ -127,6 +143,7 @@ public class NettyPipeline extends ChannelInitializer<SocketChannel> {
     p.addLast("codec", codec);
     setupCompression(p);
     setupExpectContinue(p);
+    setupFlusher(p);
     p.addLast("handler", createHandler(false));
   }
 
@@ -135,7 +152,6 @@ public class NettyPipeline extends ChannelInitializer<SocketChannel> {
   }
 
   private NettyHandler createHandler(boolean http2) {
-    return new NettyHandler(
-        service, router, maxRequestSize, bufferSize, factory, defaultHeaders, http2);
+    return new NettyHandler(router, maxRequestSize, bufferSize, factory, defaultHeaders, http2);
   }
 }
@@ -8,11 +8,14 @@ package io.jooby.internal.netty;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -27,8 +30,10 @@ import io.jooby.WebSocketConfigurer;
 import io.jooby.WebSocketMessage;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.EventLoop;
 import io.netty.handler.codec.http.websocketx.BinaryWebSocketFrame;
 import io.netty.handler.codec.http.websocketx.CloseWebSocketFrame;
 import io.netty.handler.codec.http.websocketx.ContinuationWebSocketFrame;
@@ -142,6 +147,84 @@ public class NettyWebSocket implements WebSocketConfigurer, WebSocket {
     return this;
   }
 
+  @NonNull @Override
+  public WebSocket broadcast(@NonNull Object value, @NonNull WriteCallback callback) {
+    return broadcastMessage(value, false, callback);
+  }
+
+  @NonNull @Override
+  public WebSocket broadcastBinary(@NonNull Object value, @NonNull WriteCallback callback) {
+    return broadcastMessage(value, true, callback);
+  }
+
+  /**
+   * Encode value once and share the (read-only) buffer across all the channels. Sessions are
+   * grouped by event loop, each event loop runs a single task that writes the message to all its
+   * channels and then flush them. Channels that aren't writable (outbound buffer is full) are
+   * skipped and reported to the callback.
+   */
+  private WebSocket broadcastMessage(Object value, boolean binary, WriteCallback callback) {
+    ByteBuf buffer;
+    try {
+      buffer = Unpooled.wrappedBuffer(encode(value, binary)).asReadOnly();
+    } catch (Throwable x) {
+      handleError(x);
+      return this;
+    }
+    try {
+      Map<EventLoop, List<NettyWebSocket>> groups = new IdentityHashMap<>();
+      for (NettyWebSocket ws : all.getOrDefault(key, Collections.emptyList())) {
+        if (ws.isOpen()) {
+          groups
+              .computeIfAbsent(ws.netty.ctx.channel().eventLoop(), loop -> new ArrayList<>())
+              .add(ws);
+        }
+      }
+      for (Map.Entry<EventLoop, List<NettyWebSocket>> group : groups.entrySet()) {
+        List<NettyWebSocket> sockets = group.getValue();
+        ByteBuf[] payloads = new ByteBuf[sockets.size()];
+        for (int i = 0; i < payloads.length; i++) {
+          payloads[i] = buffer.retainedDuplicate();
+        }
+        try {
+          group.getKey().execute(() -> writeAndFlush(sockets, payloads, binary, callback));
+        } catch (RejectedExecutionException cause) {
+          for (int i = 0; i < payloads.length; i++) {
+            payloads[i].release();
+            callback.operationComplete(sockets.get(i), cause);
+          }
+        }
+      }
+    } finally {
+      buffer.release();
+    }
+    return this;
+  }
+
+  private static void writeAndFlush(
+      List<NettyWebSocket> sockets, ByteBuf[] payloads, boolean binary, WriteCallback callback) {
+    for (int i = 0; i < payloads.length; i++) {
+      NettyWebSocket ws = sockets.get(i);
+      Channel channel = ws.netty.ctx.channel();
+      if (channel.isWritable()) {
+        WebSocketFrame frame =
+            binary ? new BinaryWebSocketFrame(payloads[i]) : new TextWebSocketFrame(payloads[i]);
+        channel.write(frame).addListener(new WriteCallbackAdaptor(ws, callback));
+      } else {
+        // slow consumer: don't queue more data on it
+        payloads[i].release();
+        callback.operationComplete(
+            ws,
+            new IllegalStateException(
+                "Broadcast skipped, websocket is not writable: "
+                    + ws.netty.getRequestPath()));
+      }
+    }
+    for (NettyWebSocket ws : sockets) {
+      ws.netty.ctx.channel().flush();
+    }
+  }
+
   private WebSocket sendMessage(ByteBuf buffer, boolean binary, WriteCallback callback) {
     if (isOpen()) {
       WebSocketFrame frame =
@@ -185,13 +185,12 @@ public class NettyServer extends Server.Base {
 
   private NettyPipeline newPipeline(HttpDataFactory factory, SslContext sslContext, boolean http2) {
     return new NettyPipeline(
-        acceptorloop.next(),
         applications.get(0),
         factory,
         sslContext,
         http2,
         options.getDefaultHeaders(),
-        options.getCompressionLevel(),
+        options,
         options.getBufferSize(),
         options.getMaxRequestSize(),
         options.isExpectContinue() == Boolean.TRUE);
@@ -0,0 +1,216 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal.netty;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.jooby.Context;
+import io.jooby.Route;
+import io.jooby.Router;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http.DefaultHttpRequest;
+import io.netty.handler.codec.http.DefaultLastHttpContent;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpServerCodec;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.LastHttpContent;
+
+public class NettyContextTest {
+
+  private EmbeddedChannel channel;
+
+  @BeforeEach
+  public void setup() {
+    channel = new EmbeddedChannel();
+    channel
+        .pipeline()
+        .addLast("codec", new HttpServerCodec())
+        .addLast("flusher", NettyPipeline.flusher())
+        .addLast("handler", new ChannelInboundHandlerAdapter());
+  }
+
+  @AfterEach
+  public void release() {
+    channel.finishAndReleaseAll();
+  }
+
+  @Test
+  public void restoreFlusherOnceChunkedResponseIsDone() throws Exception {
+    NettyContext context = newContext("/stream");
+
+    OutputStream out = context.responseStream();
+    assertNull(channel.pipeline().get("flusher"));
+    assertNotNull(channel.pipeline().get("chunker"));
+
+    out.write("chunked".getBytes(UTF_8));
+    out.close();
+
+    assertFlusherBeforeHandler();
+    assertFalse(context.isRecyclable());
+  }
+
+  @Test
+  public void restoreFlusherOnReset() {
+    NettyContext context = newContext("/stream");
+    context.responseSender();
+    assertNull(channel.pipeline().get("flusher"));
+
+    context.reset(request("/next"), "/next");
+    assertFlusherBeforeHandler();
+
+    // nothing to restore
+    context.reset(request("/next"), "/next");
+    assertFlusherBeforeHandler();
+  }
+
+  @Test
+  public void reuseResponseHeaders() {
+    NettyContext context = newContext("/first");
+    DefaultHttpHeaders headers = context.setHeaders;
+
+    context.setResponseHeader("X-State", "first");
+    context.send("first");
+    assertTrue(context.isRecyclable());
+
+    context.reset(request("/second"), "/second");
+    assertSame(headers, context.setHeaders);
+    assertTrue(context.setHeaders.isEmpty());
+    assertEquals("/second", context.getRequestPath());
+  }
+
+  @Test
+  public void reallocateContextAfterChunkedResponse() {
+    List<Context> contexts = new ArrayList<>();
+    Router router = mock(Router.class);
+    when(router.match(any()))
+        .thenAnswer(
+            invocation -> {
+              Router.Match match = mock(Router.Match.class);
+              when(match.execute(any()))
+                  .thenAnswer(
+                      execute -> {
+                        Context ctx = execute.getArgument(0);
+                        contexts.add(ctx);
+                        if (ctx.getRequestPath().equals("/stream")) {
+                          // finish the chunked response
+                          ctx.responseSender()
+                              .write("chunked".getBytes(UTF_8), (c, x) -> {})
+                              .close();
+                        } else {
+                          ctx.send(ctx.getRequestPath());
+                        }
+                        return ctx;
+                      });
+              return match;
+            });
+    EmbeddedChannel channel = new EmbeddedChannel();
+    channel
+        .pipeline()
+        .addLast("codec", new HttpServerCodec())
+        .addLast("flusher", NettyPipeline.flusher())
+        .addLast("handler", new NettyHandler(router, 1024, 1024, null, false, false));
+    try {
+      channel.writeInbound(request("/first"), LastHttpContent.EMPTY_LAST_CONTENT);
+      channel.writeInbound(request("/second"), LastHttpContent.EMPTY_LAST_CONTENT);
+      // plain responses: context is reused
+      assertSame(contexts.get(0), contexts.get(1));
+
+      channel.writeInbound(request("/stream"), LastHttpContent.EMPTY_LAST_CONTENT);
+      assertSame(contexts.get(1), contexts.get(2));
+      // chunker stays in the pipeline after a chunked response
+      assertNotNull(channel.pipeline().get("chunker"));
+
+      channel.writeInbound(request("/next"), LastHttpContent.EMPTY_LAST_CONTENT);
+      // not recyclable while the chunk writer is present: a new context was allocated
+      assertNotSame(contexts.get(2), contexts.get(3));
+      assertEquals("/next", contexts.get(3).getRequestPath());
+    } finally {
+      channel.finishAndReleaseAll();
+    }
+  }
+
+  @Test
+  public void streamingBodyReadsNettyBuffers() throws Exception {
+    List<Context> contexts = new ArrayList<>();
+    Route route = new Route("POST", "/upload", ctx -> ctx).setStreamingBody(true);
+    Router.Match match = mock(Router.Match.class);
+    when(match.matches()).thenReturn(true);
+    when(match.route()).thenReturn(route);
+    when(match.execute(any()))
+        .thenAnswer(
+            execute -> {
+              contexts.add(execute.getArgument(0));
+              return execute.getArgument(0);
+            });
+    Router router = mock(Router.class);
+    when(router.match(any())).thenReturn(match);
+    EmbeddedChannel channel = new EmbeddedChannel();
+    channel
+        .pipeline()
+        .addLast("codec", new HttpServerCodec())
+        .addLast("flusher", NettyPipeline.flusher())
+        .addLast("handler", new NettyHandler(router, 1024, 1024, null, false, false));
+    try {
+      HttpRequest request =
+          new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/upload");
+      request.headers().set(HttpHeaderNames.CONTENT_LENGTH, 5);
+      ByteBuf content = Unpooled.copiedBuffer("Hello", UTF_8);
+      channel.writeInbound(request, new DefaultLastHttpContent(content));
+
+      // body holds the netty buffer until it is read
+      assertEquals(1, content.refCnt());
+      Context ctx = contexts.get(0);
+      assertEquals("Hello", new String(ctx.body().stream().readAllBytes(), UTF_8));
+      assertEquals(0, content.refCnt());
+      ctx.send("done");
+    } finally {
+      channel.finishAndReleaseAll();
+    }
+  }
+
+  private void assertFlusherBeforeHandler() {
+    List<String> names = channel.pipeline().names();
+    assertEquals(names.indexOf("handler") - 1, names.indexOf("flusher"), names.toString());
+  }
+
+  private NettyContext newContext(String path) {
+    return new NettyContext(
+        channel.pipeline().context("handler"),
+        request(path),
+        mock(Router.class),
+        path,
+        1024,
+        false);
+  }
+
+  private static HttpRequest request(String path) {
+    return new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, path);
+  }
+}
@@ -0,0 +1,98 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal.netty;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.jooby.MessageEncoder;
+import io.jooby.Route;
+import io.jooby.Router;
+import io.jooby.WebSocket;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.WriteBufferWaterMark;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.DefaultHttpRequest;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.websocketx.TextWebSocketFrame;
+
+public class NettyWebSocketTest {
+
+  private static final String PATH = "/ws";
+
+  @AfterEach
+  public void release() {
+    NettyWebSocket.all.remove(PATH);
+  }
+
+  @Test
+  public void broadcastSkipsNotWritableChannels() {
+    EmbeddedChannel fast = channel();
+    EmbeddedChannel slow = channel();
+    try {
+      NettyWebSocket sender = webSocket(fast);
+      NettyWebSocket receiver = webSocket(slow);
+
+      // fill the outbound buffer of the slow channel
+      slow.config().setWriteBufferWaterMark(new WriteBufferWaterMark(8, 16));
+      slow.write(Unpooled.wrappedBuffer(new byte[32]));
+      assertFalse(slow.isWritable());
+
+      Map<WebSocket, Throwable> results = new IdentityHashMap<>();
+      sender.broadcast("hi", results::put);
+      fast.runPendingTasks();
+      slow.runPendingTasks();
+
+      TextWebSocketFrame frame = fast.readOutbound();
+      assertEquals("hi", frame.content().toString(UTF_8));
+      frame.release();
+      assertNull(results.get(sender));
+
+      ByteBuf filler = slow.readOutbound();
+      filler.release();
+      assertNull(slow.readOutbound());
+      assertInstanceOf(IllegalStateException.class, results.get(receiver));
+      assertEquals(2, results.size());
+    } finally {
+      fast.finishAndReleaseAll();
+      slow.finishAndReleaseAll();
+    }
+  }
+
+  private static EmbeddedChannel channel() {
+    EmbeddedChannel channel = new EmbeddedChannel();
+    channel.pipeline().addLast("handler", new ChannelInboundHandlerAdapter());
+    return channel;
+  }
+
+  private static NettyWebSocket webSocket(EmbeddedChannel channel) {
+    NettyContext ctx =
+        new NettyContext(
+            channel.pipeline().context("handler"),
+            new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, PATH),
+            mock(Router.class),
+            PATH,
+            1024,
+            false);
+    ctx.setRoute(new Route("GET", PATH, c -> c).setEncoder(MessageEncoder.TO_STRING));
+    NettyWebSocket ws = new NettyWebSocket(ctx);
+    ws.fireConnect();
+    return ws;
+  }
+}
@@ -13,6 +13,7 @@ import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.Optional;
 import java.util.concurrent.ExecutorService;
 
 import com.typesafe.config.Config;
@@ -22,6 +23,7 @@ import io.jooby.Extension;
 import io.jooby.Jooby;
 import io.jooby.ServiceRegistry;
 import io.jooby.TemplateEngine;
+import io.jooby.ViewCache;
 import io.pebbletemplates.pebble.PebbleEngine;
 import io.pebbletemplates.pebble.attributes.methodaccess.BlacklistMethodAccessValidator;
 import io.pebbletemplates.pebble.attributes.methodaccess.NoOpMethodAccessValidator;
@@ -289,14 +291,30 @@ public class PebbleModule implements Extension {
   @Override
   public void install(@NonNull Jooby application) throws Exception {
     if (builder == null) {
-      builder = create().setTemplatesPath(templatesPath).build(application.getEnvironment());
+      builder =
+          create()
+              .setTemplatesPath(templatesPath(application))
+              .build(application.getEnvironment());
     }
-    application.encoder(new PebbleTemplateEngine(builder, EXT));
+    ViewCache<PebbleTemplate> cache =
+        ViewCache.create(
+            application, Paths.get(System.getProperty("user.dir"), templatesPath(application)));
+    application.encoder(new PebbleTemplateEngine(builder.build(), EXT, cache));
 
     ServiceRegistry services = application.getServices();
     services.put(PebbleEngine.Builder.class, builder);
   }
 
+  private String templatesPath(Jooby application) {
+    String path =
+        application
+            .getEnvironment()
+            .getProperty(
+                TemplateEngine.TEMPLATE_PATH,
+                Optional.ofNullable(templatesPath).orElse(TemplateEngine.PATH));
+    return stripLeadingSlash(path);
+  }
+
   /**
    * Creates a new PebbleModule.Builder.
    *
@@ -5,18 +5,20 @@
  */
 package io.jooby.pebble;
 
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.StringWriter;
 import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
 import io.jooby.Context;
 import io.jooby.ModelAndView;
 import io.jooby.TemplateEngine;
+import io.jooby.ViewCache;
 import io.pebbletemplates.pebble.PebbleEngine;
 import io.pebbletemplates.pebble.template.PebbleTemplate;
 
@@ -24,10 +26,17 @@ class PebbleTemplateEngine implements TemplateEngine {
 
   private final List<String> extensions;
   private final PebbleEngine engine;
+  private final ViewCache<PebbleTemplate> cache;
 
   PebbleTemplateEngine(PebbleEngine.Builder builder, List<String> extensions) {
-    this.engine = builder.build();
+    this(builder.build(), extensions, new ViewCache<>());
+  }
+
+  PebbleTemplateEngine(
+      PebbleEngine engine, List<String> extensions, ViewCache<PebbleTemplate> cache) {
+    this.engine = engine;
     this.extensions = Collections.unmodifiableList(extensions);
+    this.cache = cache;
   }
 
   @NonNull @Override
@@ -37,15 +46,26 @@ class PebbleTemplateEngine implements TemplateEngine {
 
   @Override
   public String render(Context ctx, ModelAndView modelAndView) throws Exception {
-    PebbleTemplate template = engine.getTemplate(modelAndView.getView());
     Writer writer = new StringWriter();
-    Map<String, Object> model = new HashMap<>(ctx.getAttributes());
-    model.putAll(modelAndView.getModel());
+    render(ctx, modelAndView, writer);
+    return writer.toString();
+  }
+
+  @Override
+  public boolean render(Context ctx, ModelAndView modelAndView, OutputStream output)
+      throws Exception {
+    Writer writer = new OutputStreamWriter(output, StandardCharsets.UTF_8);
+    render(ctx, modelAndView, writer);
+    writer.flush();
+    return true;
+  }
+
+  private void render(Context ctx, ModelAndView modelAndView, Writer writer) throws Exception {
+    PebbleTemplate template = cache.get(modelAndView.getView(), engine::getTemplate);
     Locale locale = modelAndView.getLocale();
     if (locale == null) {
       locale = ctx.locale();
     }
-    template.evaluate(writer, model, locale);
-    return writer.toString();
+    template.evaluate(writer, TemplateEngine.model(ctx, modelAndView), locale);
   }
 }
@@ -7,7 +7,10 @@ package io.jooby.pebble;
 
 import static java.util.Collections.singletonList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Paths;
 import java.util.Collections;
 import java.util.Locale;
@@ -58,6 +61,25 @@ public class PebbleModuleTest {
     assertEquals("Hello foo bar var!", output);
   }
 
+  @Test
+  public void renderToOutput() throws Exception {
+    PebbleEngine.Builder builder =
+        PebbleModule.create()
+            .build(new Environment(getClass().getClassLoader(), ConfigFactory.empty()));
+    PebbleTemplateEngine engine =
+        new PebbleTemplateEngine(builder, Collections.singletonList(".peb"));
+    MockContext ctx =
+        new MockContext().setRouter(new Jooby().setLocales(singletonList(Locale.ENGLISH)));
+    ctx.getAttributes().put("local", "var");
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    assertTrue(
+        engine.render(
+            ctx,
+            new ModelAndView("index.peb").put("user", new User("foo", "bar")).put("sign", "!"),
+            output));
+    assertEquals("Hello foo bar var!", output.toString(StandardCharsets.UTF_8));
+  }
+
   @Test
   public void renderFileSystem() throws Exception {
     PebbleEngine.Builder builder =
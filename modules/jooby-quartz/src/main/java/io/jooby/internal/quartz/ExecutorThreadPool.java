@@ -0,0 +1,163 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal.quartz;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+import org.quartz.SchedulerConfigException;
+import org.quartz.spi.ThreadPool;
+
+import io.jooby.VirtualThreads;
+
+/**
+ * Quartz thread pool backed by an {@link Executor}: a new virtual thread per job (Java 21+) or an
+ * application executor, like the worker executor. Quartz instantiates this class and set its
+ * properties from <code>org.quartz.threadPool.*</code>.
+ *
+ * <p>The <code>threadCount</code> property is the maximum number of jobs running at the same
+ * time. Threads are owned by the executor, so the thread properties of the quartz <code>
+ * SimpleThreadPool</code> (<code>threadNamePrefix</code>, <code>threadPriority</code>, <code>
+ * makeThreadsDaemons</code>, etc.) are accepted, but ignored.
+ */
+public class ExecutorThreadPool implements ThreadPool {
+
+  /** Executor name for virtual threads. */
+  public static final String VIRTUAL = "virtual";
+
+  private static final ConcurrentMap<String, Executor> executors = new ConcurrentHashMap<>();
+
+  private String executorName = VIRTUAL;
+
+  private int threadCount = Runtime.getRuntime().availableProcessors();
+
+  private Executor executor;
+
+  private Semaphore permits;
+
+  private volatile boolean shutdown;
+
+  /**
+   * Register an executor by name, so it can be referenced from <code>
+   * org.quartz.threadPool.executor</code>.
+   *
+   * @param name Executor name.
+   * @param executor Executor.
+   */
+  public static void register(String name, Executor executor) {
+    executors.put(name, executor);
+  }
+
+  public void setExecutor(String executor) {
+    this.executorName = executor;
+  }
+
+  public void setThreadCount(int threadCount) {
+    this.threadCount = threadCount;
+  }
+
+  public void setThreadNamePrefix(String threadNamePrefix) {
+    // NOOP, threads are owned by the executor
+  }
+
+  public void setThreadPriority(int threadPriority) {
+    // NOOP, threads are owned by the executor
+  }
+
+  public void setMakeThreadsDaemons(boolean makeThreadsDaemons) {
+    // NOOP, threads are owned by the executor
+  }
+
+  public void setThreadsInheritGroupOfInitializingThread(boolean inheritGroup) {
+    // NOOP, threads are owned by the executor
+  }
+
+  public void setThreadsInheritContextClassLoaderOfInitializingThread(boolean inheritLoader) {
+    // NOOP, threads are owned by the executor
+  }
+
+  @Override
+  public void initialize() throws SchedulerConfigException {
+    if (threadCount <= 0) {
+      throw new SchedulerConfigException("Thread count must be > 0");
+    }
+    if (executorName.equals(VIRTUAL)) {
+      if (!VirtualThreads.isSupported()) {
+        throw new SchedulerConfigException(
+            "Virtual threads require Java 21 or higher, found: " + Runtime.version().feature());
+      }
+      executor = VirtualThreads.newExecutor();
+    } else {
+      executor = executors.get(executorName);
+      if (executor == null) {
+        throw new SchedulerConfigException("Executor not found: " + executorName);
+      }
+    }
+    permits = new Semaphore(threadCount);
+  }
+
+  @Override
+  public boolean runInThread(Runnable runnable) {
+    if (runnable == null || shutdown) {
+      return false;
+    }
+    permits.acquireUninterruptibly();
+    try {
+      executor.execute(
+          () -> {
+            try {
+              runnable.run();
+            } finally {
+              permits.release();
+            }
+          });
+      return true;
+    } catch (RejectedExecutionException x) {
+      permits.release();
+      return false;
+    }
+  }
+
+  @Override
+  public int blockForAvailableThreads() {
+    try {
+      // wait for a job to complete
+      permits.acquire();
+      permits.release();
+    } catch (InterruptedException x) {
+      Thread.currentThread().interrupt();
+    }
+    return permits.availablePermits();
+  }
+
+  @Override
+  public void shutdown(boolean waitForJobsToComplete) {
+    shutdown = true;
+    if (waitForJobsToComplete) {
+      permits.acquireUninterruptibly(threadCount);
+      permits.release(threadCount);
+    }
+    // Application executors are shutdown by application
+    if (executorName.equals(VIRTUAL)) {
+      ((ExecutorService) executor).shutdown();
+    }
+  }
+
+  @Override
+  public int getPoolSize() {
+    return threadCount;
+  }
+
+  @Override
+  public void setInstanceId(String schedInstId) {}
+
+  @Override
+  public void setInstanceName(String schedName) {}
+}
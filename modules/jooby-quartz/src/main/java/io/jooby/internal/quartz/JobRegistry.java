@@ -5,25 +5,84 @@
  */
 package io.jooby.internal.quartz;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import org.quartz.JobExecutionContext;
 import org.quartz.JobKey;
 
 import io.jooby.Registry;
+import io.jooby.SneakyThrows;
+import io.jooby.exception.RegistryException;
 
+/**
+ * Job method registry. Everything a job execution needs (method handle, argument kinds and how to
+ * get a job instance) is resolved once at registration time, so a job execution doesn't perform any
+ * reflective lookup.
+ */
 public class JobRegistry {
 
+  private enum Argument {
+    CONTEXT,
+    REGISTRY,
+    INTERRUPTED
+  }
+
   private static final ConcurrentMap<JobKey, JobRegistry> jobs = new ConcurrentHashMap<>();
 
+  private static final Object[] NO_ARGS = new Object[0];
+
+  private static final MethodType INVOKER =
+      MethodType.methodType(Object.class, Object.class, Object[].class);
+
   private Registry registry;
 
   private Method jobMethod;
 
+  /** Job method as <code>(Object job, Object[] args) -> Object</code>. */
+  private final MethodHandle invoker;
+
+  private final Argument[] arguments;
+
+  private final boolean hasResult;
+
+  /** No-args constructor or <code>null</code>. */
+  private final MethodHandle constructor;
+
+  /**
+   * Set to false the first time the registry is unable to provide a job instance. Shared by all the
+   * job methods of the same class and registry.
+   */
+  private final AtomicBoolean provisioned;
+
   public JobRegistry(Registry registry, Method jobMethod) {
+    this(registry, jobMethod, new AtomicBoolean(true));
+  }
+
+  private JobRegistry(Registry registry, Method jobMethod, AtomicBoolean provisioned) {
     this.registry = registry;
+    this.provisioned = provisioned;
     this.jobMethod = jobMethod;
+    this.arguments = arguments(jobMethod);
+    this.hasResult = jobMethod.getReturnType() != void.class;
+    MethodHandles.Lookup lookup = MethodHandles.lookup();
+    try {
+      MethodHandle handle = lookup.unreflect(jobMethod);
+      this.invoker =
+          handle
+              .asType(handle.type().generic())
+              .asSpreader(Object[].class, arguments.length)
+              .asType(INVOKER);
+    } catch (IllegalAccessException x) {
+      throw SneakyThrows.propagate(x);
+    }
+    this.constructor = constructor(lookup, jobMethod.getDeclaringClass());
   }
 
   public Registry getRegistry() {
@@ -34,11 +93,107 @@ public class JobRegistry {
     return jobMethod;
   }
 
+  /**
+   * True when the job method produces a result.
+   *
+   * @return True when the job method produces a result.
+   */
+  public boolean hasResult() {
+    return hasResult;
+  }
+
+  /**
+   * Creates a job instance and invokes the job method.
+   *
+   * @param context Execution context.
+   * @param interrupted Interrupted flag.
+   * @return Job method result or <code>null</code> for void methods.
+   * @throws Exception Exception thrown by the job method.
+   */
+  public Object invoke(JobExecutionContext context, AtomicBoolean interrupted) throws Exception {
+    Object job = newInstance();
+    Object[] args = arguments.length == 0 ? NO_ARGS : new Object[arguments.length];
+    for (int i = 0; i < args.length; i++) {
+      switch (arguments[i]) {
+        case CONTEXT:
+          args[i] = new ExtendedJobExecutionContextImpl(context, registry);
+          break;
+        case REGISTRY:
+          args[i] = registry;
+          break;
+        default:
+          args[i] = interrupted;
+      }
+    }
+    try {
+      return (Object) invoker.invokeExact(job, args);
+    } catch (Throwable x) {
+      throw SneakyThrows.propagate(x);
+    }
+  }
+
+  private Object newInstance() {
+    if (provisioned.get()) {
+      try {
+        return registry.require(jobMethod.getDeclaringClass());
+      } catch (RegistryException x) {
+        if (constructor == null) {
+          throw x;
+        }
+        // Don't ask again, a missing service is reported via exception which is expensive
+        provisioned.set(false);
+      }
+    }
+    try {
+      return (Object) constructor.invokeExact();
+    } catch (Throwable x) {
+      throw SneakyThrows.propagate(x);
+    }
+  }
+
   public static void put(JobKey jobKey, Registry registry, Method jobMethod) {
-    jobs.put(jobKey, new JobRegistry(registry, jobMethod));
+    Class<?> jobClass = jobMethod.getDeclaringClass();
+    AtomicBoolean provisioned =
+        jobs.values().stream()
+            .filter(it -> it.registry == registry && it.jobMethod.getDeclaringClass() == jobClass)
+            .map(it -> it.provisioned)
+            .findFirst()
+            .orElseGet(() -> new AtomicBoolean(true));
+    jobs.put(jobKey, new JobRegistry(registry, jobMethod, provisioned));
   }
 
   public static JobRegistry get(JobKey jobKey) {
     return jobs.get(jobKey);
   }
+
+  private static Argument[] arguments(Method method) {
+    Class<?>[] parameterTypes = method.getParameterTypes();
+    Argument[] result = new Argument[parameterTypes.length];
+    for (int i = 0; i < result.length; i++) {
+      Class<?> parameterType = parameterTypes[i];
+      if (JobExecutionContext.class.isAssignableFrom(parameterType)) {
+        result[i] = Argument.CONTEXT;
+      } else if (parameterType == Registry.class) {
+        result[i] = Argument.REGISTRY;
+      } else {
+        // must be AtomicBoolean we already check at early stage
+        result[i] = Argument.INTERRUPTED;
+      }
+    }
+    return result;
+  }
+
+  private static MethodHandle constructor(MethodHandles.Lookup lookup, Class<?> jobClass) {
+    Constructor<?>[] constructors = jobClass.getDeclaredConstructors();
+    if (constructors.length == 1 && constructors[0].getParameterCount() == 0) {
+      try {
+        return lookup
+            .unreflectConstructor(constructors[0])
+            .asType(MethodType.methodType(Object.class));
+      } catch (IllegalAccessException x) {
+        return null;
+      }
+    }
+    return null;
+  }
 }
@@ -0,0 +1,252 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.quartz;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.quartz.JobKey;
+import org.quartz.JobListener;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.quartz.Trigger;
+import org.quartz.TriggerListener;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import io.jooby.SneakyThrows;
+
+/**
+ * Per job execution metrics. Installed by {@link QuartzModule} on the scheduler as job and trigger
+ * listener:
+ *
+ * <pre>{@code
+ * {
+ *   install(new QuartzModule(SampleJob.class));
+ *
+ *   get("/jobs/metrics", ctx -> {
+ *     Scheduler scheduler = require(Scheduler.class);
+ *     return JobMetrics.get(scheduler).getAll();
+ *   });
+ * }
+ * }</pre>
+ *
+ * For each job it reports: number of executions, failures and misfires; latency (time between the
+ * scheduled fire time and the actual fire time) and execution time.
+ *
+ * @author edgar
+ * @since 3.0.0
+ */
+public class JobMetrics implements JobListener, TriggerListener {
+
+  /** Metrics of a job. */
+  public static class Stats {
+    private final LongAdder executions = new LongAdder();
+
+    private final LongAdder failures = new LongAdder();
+
+    private final LongAdder misfires = new LongAdder();
+
+    private final LongAdder latency = new LongAdder();
+
+    private final LongAccumulator maxLatency = new LongAccumulator(Math::max, 0);
+
+    private final LongAdder runTime = new LongAdder();
+
+    private final LongAccumulator maxRunTime = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Number of completed executions.
+     *
+     * @return Number of completed executions.
+     */
+    public long getExecutions() {
+      return executions.sum();
+    }
+
+    /**
+     * Number of executions that failed with an exception.
+     *
+     * @return Number of executions that failed with an exception.
+     */
+    public long getFailures() {
+      return failures.sum();
+    }
+
+    /**
+     * Number of misfires.
+     *
+     * @return Number of misfires.
+     */
+    public long getMisfires() {
+      return misfires.sum();
+    }
+
+    /**
+     * Average time in millis between scheduled fire time and actual fire time.
+     *
+     * @return Average latency in millis.
+     */
+    public long getLatency() {
+      long executions = getExecutions();
+      return executions == 0 ? 0 : latency.sum() / executions;
+    }
+
+    /**
+     * Max time in millis between scheduled fire time and actual fire time.
+     *
+     * @return Max latency in millis.
+     */
+    public long getMaxLatency() {
+      return maxLatency.get();
+    }
+
+    /**
+     * Average execution time in millis.
+     *
+     * @return Average execution time in millis.
+     */
+    public long getRunTime() {
+      long executions = getExecutions();
+      return executions == 0 ? 0 : runTime.sum() / executions;
+    }
+
+    /**
+     * Max execution time in millis.
+     *
+     * @return Max execution time in millis.
+     */
+    public long getMaxRunTime() {
+      return maxRunTime.get();
+    }
+
+    /**
+     * Metrics as map.
+     *
+     * @return Metrics as map.
+     */
+    public @NonNull Map<String, Object> toMap() {
+      Map<String, Object> result = new LinkedHashMap<>();
+      result.put("executions", getExecutions());
+      result.put("failures", getFailures());
+      result.put("misfires", getMisfires());
+      result.put("latency", getLatency());
+      result.put("maxLatency", getMaxLatency());
+      result.put("runTime", getRunTime());
+      result.put("maxRunTime", getMaxRunTime());
+      return result;
+    }
+
+    @Override
+    public String toString() {
+      return toMap().toString();
+    }
+  }
+
+  /** Listener name. */
+  public static final String NAME = "jooby.metrics";
+
+  private final ConcurrentMap<JobKey, Stats> jobs = new ConcurrentHashMap<>();
+
+  /**
+   * Metrics installed on the given scheduler or <code>null</code>.
+   *
+   * @param scheduler Scheduler.
+   * @return Metrics installed on the given scheduler or <code>null</code>.
+   */
+  public static @Nullable JobMetrics get(@NonNull Scheduler scheduler) {
+    try {
+      return (JobMetrics) scheduler.getListenerManager().getJobListener(NAME);
+    } catch (SchedulerException x) {
+      throw SneakyThrows.propagate(x);
+    }
+  }
+
+  /**
+   * Metrics of the given job or <code>null</code> when the job didn't run yet.
+   *
+   * @param key Job key.
+   * @return Metrics of the given job or <code>null</code>.
+   */
+  public @Nullable Stats get(@NonNull JobKey key) {
+    return jobs.get(key);
+  }
+
+  /**
+   * Metrics of all the jobs.
+   *
+   * @return Metrics of all the jobs.
+   */
+  public @NonNull Map<JobKey, Stats> getAll() {
+    return Collections.unmodifiableMap(jobs);
+  }
+
+  @Override
+  public String getName() {
+    return NAME;
+  }
+
+  @Override
+  public void jobToBeExecuted(JobExecutionContext context) {}
+
+  @Override
+  public void jobExecutionVetoed(JobExecutionContext context) {}
+
+  @Override
+  public void jobWasExecuted(JobExecutionContext context, JobExecutionException jobException) {
+    Stats stats = stats(context.getJobDetail().getKey());
+    stats.executions.increment();
+    if (jobException != null) {
+      stats.failures.increment();
+    }
+    Date scheduledFireTime = context.getScheduledFireTime();
+    if (scheduledFireTime != null) {
+      long latency = Math.max(0, context.getFireTime().getTime() - scheduledFireTime.getTime());
+      stats.latency.add(latency);
+      stats.maxLatency.accumulate(latency);
+    }
+    long runTime = context.getJobRunTime();
+    if (runTime >= 0) {
+      stats.runTime.add(runTime);
+      stats.maxRunTime.accumulate(runTime);
+    }
+  }
+
+  @Override
+  public void triggerFired(Trigger trigger, JobExecutionContext context) {}
+
+  @Override
+  public boolean vetoJobExecution(Trigger trigger, JobExecutionContext context) {
+    return false;
+  }
+
+  @Override
+  public void triggerMisfired(Trigger trigger) {
+    stats(trigger.getJobKey()).misfires.increment();
+  }
+
+  @Override
+  public void triggerComplete(
+      Trigger trigger,
+      JobExecutionContext context,
+      Trigger.CompletedExecutionInstruction triggerInstructionCode) {}
+
+  private Stats stats(JobKey key) {
+    Stats stats = jobs.get(key);
+    if (stats == null) {
+      stats = jobs.computeIfAbsent(key, k -> new Stats());
+    }
+    return stats;
+  }
+}
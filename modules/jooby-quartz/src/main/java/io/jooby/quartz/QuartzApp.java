@@ -172,6 +172,9 @@ public class QuartzApp extends Jooby {
     json.put("persistJobDataAfterExecution", detail.isPersistJobDataAfterExecution());
     json.put("requestsRecovery", detail.requestsRecovery());
     json.put("triggers", toJson(triggers, zoneId));
+    Optional.ofNullable(JobMetrics.get(getScheduler()))
+        .map(metrics -> metrics.get(detail.getKey()))
+        .ifPresent(stats -> json.put("metrics", stats.toMap()));
 
     return json;
   }
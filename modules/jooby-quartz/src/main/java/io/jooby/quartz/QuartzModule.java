@@ -15,6 +15,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Properties;
+import java.util.concurrent.Executor;
 import java.util.stream.Stream;
 
 import javax.sql.DataSource;
@@ -26,6 +27,7 @@ import org.quartz.SchedulerException;
 import org.quartz.Trigger;
 import org.quartz.impl.StdSchedulerFactory;
 import org.quartz.impl.jdbcjobstore.JobStoreTX;
+import org.quartz.impl.matchers.EverythingMatcher;
 import org.quartz.simpl.PropertySettingJobFactory;
 import org.quartz.utils.DBConnectionManager;
 
@@ -36,7 +38,9 @@ import io.jooby.Jooby;
 import io.jooby.ServiceKey;
 import io.jooby.ServiceRegistry;
 import io.jooby.SneakyThrows;
+import io.jooby.VirtualThreads;
 import io.jooby.internal.quartz.ConnectionProviderImpl;
+import io.jooby.internal.quartz.ExecutorThreadPool;
 import io.jooby.internal.quartz.JobFactoryImpl;
 import io.jooby.internal.quartz.JobGenerator;
 import io.jooby.internal.quartz.JobMethodDetail;
@@ -92,6 +96,15 @@ import io.jooby.internal.quartz.JobRegistry;
  *
  * Now the <code>SampleJob.execute</code> is going to be paused at startup time.
  *
+ * <p>Jobs run on the Quartz thread pool. To run them on virtual threads (Java 21+) or on an
+ * application executor:
+ *
+ * <pre>
+ *   org.quartz.threadPool.executor = virtual
+ * </pre>
+ *
+ * Execution metrics of each job are available via {@link JobMetrics}.
+ *
  * <p>The {@link QuartzApp} added a REST API to trigger, interrupt, pause, resume jobs.
  *
  * @author edgar
@@ -99,6 +112,8 @@ import io.jooby.internal.quartz.JobRegistry;
  */
 public class QuartzModule implements Extension {
 
+  private static final int VIRTUAL_THREAD_COUNT = 1024;
+
   private List<Class<?>> jobs;
   private Scheduler scheduler;
 
@@ -162,6 +177,10 @@ public class QuartzModule implements Extension {
               JobRegistry.put(detail.getKey(), application, detail.getJobMethod());
             });
 
+    JobMetrics metrics = new JobMetrics();
+    scheduler.getListenerManager().addJobListener(metrics, EverythingMatcher.allJobs());
+    scheduler.getListenerManager().addTriggerListener(metrics, EverythingMatcher.allTriggers());
+
     ServiceRegistry services = application.getServices();
     services.putIfAbsent(Scheduler.class, scheduler);
     String schedulerName = scheduler.getSchedulerName();
@@ -226,6 +245,10 @@ public class QuartzModule implements Extension {
       if (JobStoreTX.class.getName().equals(properties.getProperty("org.quartz.jobStore.class"))) {
         configureJdbcStore(application, properties);
       }
+      String executor = properties.getProperty("org.quartz.threadPool.executor");
+      if (executor != null) {
+        configureThreadPool(application, properties, executor);
+      }
       return new StdSchedulerFactory(properties);
     } catch (SchedulerException e) {
       throw SneakyThrows.propagate(e);
@@ -278,6 +301,30 @@ public class QuartzModule implements Extension {
     }
   }
 
+  private static void configureThreadPool(Jooby application, Properties properties, String name) {
+    if (name.equals(ExecutorThreadPool.VIRTUAL)) {
+      if (!VirtualThreads.isSupported()) {
+        application
+            .getLog()
+            .warn(
+                "virtual threads require Java 21 or higher, found: {}. Using quartz thread pool",
+                Runtime.version().feature());
+        properties.remove("org.quartz.threadPool.executor");
+        return;
+      }
+      if (!application.getConfig().hasPath("org.quartz.threadPool.threadCount")) {
+        // virtual threads are cheap, allow more concurrent (usually I/O bound) jobs
+        properties.setProperty(
+            "org.quartz.threadPool.threadCount", Integer.toString(VIRTUAL_THREAD_COUNT));
+      }
+    } else {
+      Executor executor =
+          name.equals("worker") ? application.getWorker() : application.executor(name);
+      ExecutorThreadPool.register(name, executor);
+    }
+    properties.setProperty("org.quartz.threadPool.class", ExecutorThreadPool.class.getName());
+  }
+
   private static void configureJdbcStore(Jooby application, Properties properties) {
     String dataSourceName = properties.getProperty("org.quartz.jobStore.dataSource");
     ServiceRegistry registry = application.getServices();
@@ -0,0 +1,114 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal.quartz;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.quartz.SchedulerConfigException;
+
+public class ExecutorThreadPoolTest {
+
+  private ExecutorService executor;
+
+  @BeforeEach
+  public void setup() {
+    executor = Executors.newFixedThreadPool(2);
+    ExecutorThreadPool.register("test", executor);
+  }
+
+  @AfterEach
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void runInThread() throws Exception {
+    ExecutorThreadPool pool = newPool(1);
+    assertEquals(1, pool.getPoolSize());
+
+    CountDownLatch running = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    assertTrue(
+        pool.runInThread(
+            () -> {
+              running.countDown();
+              await(release);
+            }));
+    assertTrue(running.await(5, TimeUnit.SECONDS));
+
+    // blocks until the running job completes
+    CompletableFuture<Integer> available =
+        CompletableFuture.supplyAsync(pool::blockForAvailableThreads);
+    Thread.sleep(100);
+    assertFalse(available.isDone());
+
+    release.countDown();
+    assertEquals(1, available.get(5, TimeUnit.SECONDS));
+
+    CountDownLatch done = new CountDownLatch(1);
+    assertTrue(pool.runInThread(done::countDown));
+    assertTrue(done.await(5, TimeUnit.SECONDS));
+
+    pool.shutdown(true);
+    assertFalse(pool.runInThread(() -> {}));
+    assertFalse(executor.isShutdown());
+  }
+
+  @Test
+  public void rejectedJob() throws Exception {
+    ExecutorThreadPool pool = newPool(1);
+    executor.shutdown();
+    assertFalse(pool.runInThread(() -> {}));
+    // permit was released
+    assertEquals(1, pool.blockForAvailableThreads());
+  }
+
+  @Test
+  public void initialize() {
+    ExecutorThreadPool missing = new ExecutorThreadPool();
+    missing.setExecutor("missing");
+    assertThrows(SchedulerConfigException.class, missing::initialize);
+
+    ExecutorThreadPool noThreads = new ExecutorThreadPool();
+    noThreads.setExecutor("test");
+    noThreads.setThreadCount(0);
+    assertThrows(SchedulerConfigException.class, noThreads::initialize);
+  }
+
+  private static ExecutorThreadPool newPool(int threadCount) throws SchedulerConfigException {
+    ExecutorThreadPool pool = new ExecutorThreadPool();
+    pool.setExecutor("test");
+    pool.setThreadCount(threadCount);
+    // SimpleThreadPool properties are accepted
+    pool.setThreadNamePrefix("test");
+    pool.setThreadPriority(Thread.NORM_PRIORITY);
+    pool.setMakeThreadsDaemons(true);
+    pool.setThreadsInheritContextClassLoaderOfInitializingThread(true);
+    pool.setThreadsInheritGroupOfInitializingThread(true);
+    pool.initialize();
+    return pool;
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException x) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal.quartz;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobKey;
+
+import io.jooby.Registry;
+import io.jooby.exception.RegistryException;
+
+public class JobRegistryTest {
+
+  public static class SampleJob {
+    private static Object last;
+
+    public String context(JobExecutionContext ctx, AtomicBoolean interrupted, Registry registry) {
+      last = this;
+      return ctx.getClass().getSimpleName() + ":" + interrupted.get() + ":" + (registry != null);
+    }
+
+    public void noResult() {
+      last = this;
+    }
+
+    public void fail() throws IOException {
+      throw new IOException("failed");
+    }
+  }
+
+  @Test
+  public void invoke() throws Exception {
+    Registry registry = mock(Registry.class);
+    when(registry.require(SampleJob.class)).thenThrow(new RegistryException("missing"));
+
+    JobRegistry job = new JobRegistry(registry, method("context"));
+    assertTrue(job.hasResult());
+    assertEquals(
+        "ExtendedJobExecutionContextImpl:true:true",
+        job.invoke(mock(JobExecutionContext.class), new AtomicBoolean(true)));
+
+    JobRegistry noResult = new JobRegistry(registry, method("noResult"));
+    assertFalse(noResult.hasResult());
+    assertNull(noResult.invoke(mock(JobExecutionContext.class), new AtomicBoolean()));
+  }
+
+  @Test
+  public void invokeJobFromRegistry() throws Exception {
+    SampleJob instance = new SampleJob();
+    Registry registry = mock(Registry.class);
+    when(registry.require(SampleJob.class)).thenReturn(instance);
+
+    JobRegistry job = new JobRegistry(registry, method("noResult"));
+    job.invoke(mock(JobExecutionContext.class), new AtomicBoolean());
+    job.invoke(mock(JobExecutionContext.class), new AtomicBoolean());
+    assertSame(instance, SampleJob.last);
+    verify(registry, times(2)).require(SampleJob.class);
+  }
+
+  @Test
+  public void askRegistryOncePerJobClass() throws Exception {
+    Registry registry = mock(Registry.class);
+    when(registry.require(SampleJob.class)).thenThrow(new RegistryException("missing"));
+
+    JobKey noResult = JobKey.jobKey("noResult", "askRegistryOncePerJobClass");
+    JobKey context = JobKey.jobKey("context", "askRegistryOncePerJobClass");
+    JobRegistry.put(noResult, registry, method("noResult"));
+    JobRegistry.put(context, registry, method("context"));
+
+    JobRegistry.get(noResult).invoke(mock(JobExecutionContext.class), new AtomicBoolean());
+    JobRegistry.get(noResult).invoke(mock(JobExecutionContext.class), new AtomicBoolean());
+    JobRegistry.get(context).invoke(mock(JobExecutionContext.class), new AtomicBoolean());
+    verify(registry, times(1)).require(SampleJob.class);
+  }
+
+  @Test
+  public void propagateJobException() throws Exception {
+    Registry registry = mock(Registry.class);
+    when(registry.require(SampleJob.class)).thenReturn(new SampleJob());
+
+    JobRegistry job = new JobRegistry(registry, method("fail"));
+    IOException x =
+        assertThrows(
+            IOException.class,
+            () -> job.invoke(mock(JobExecutionContext.class), new AtomicBoolean()));
+    assertEquals("failed", x.getMessage());
+  }
+
+  private static Method method(String name) {
+    for (Method method : SampleJob.class.getDeclaredMethods()) {
+      if (method.getName().equals(name)) {
+        return method;
+      }
+    }
+    throw new IllegalArgumentException(name);
+  }
+}
@@ -119,6 +119,13 @@ public class RedisModule implements Extension {
     application.onStop(connection::close);
     application.onStop(connectPubSub::close);
     application.onStop(client::shutdown);
+    // Stop callbacks run in reverse order: session store is closed before the client shutdown
+    application.onStop(
+        () -> {
+          if (application.getSessionStore() instanceof RedisSessionStore store) {
+            store.close();
+          }
+        });
 
     ServiceRegistry registry = application.getServices();
 
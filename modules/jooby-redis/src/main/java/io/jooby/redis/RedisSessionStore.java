@@ -5,16 +5,24 @@
  */
 package io.jooby.redis;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 import org.apache.commons.pool2.impl.GenericObjectPool;
-import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -25,32 +33,62 @@ import io.jooby.Session;
 import io.jooby.SessionStore;
 import io.jooby.SessionToken;
 import io.jooby.SneakyThrows;
+import io.lettuce.core.LettuceFutures;
 import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.RedisNoScriptException;
+import io.lettuce.core.ScriptOutputType;
 import io.lettuce.core.api.StatefulRedisConnection;
 import io.lettuce.core.api.async.RedisAsyncCommands;
-import io.lettuce.core.api.sync.RedisCommands;
-import io.lettuce.core.support.ConnectionPoolSupport;
 
 /**
  * Redis session store.
  *
+ * <p>Operations are pipelined, so each one takes a single round trip: find runs <code>HGETALL
+ * </code> and <code>EXPIRE</code> together and save runs a script that replaces the session hash
+ * and sets the expiration. Sessions that weren't modified during the request only refresh their
+ * last accessed time and expiration, there is no <code>HSET</code> of the whole session.
+ *
+ * <p>The save script is invoked by its SHA1 digest (<code>EVALSHA</code>), so the script body is
+ * sent only when Redis doesn't know it yet (<code>NOSCRIPT</code> reply). Reads wait for the reply
+ * up to the connection timeout; writes don't wait and failures are logged.
+ *
+ * <p>When created from a {@link RedisClient} or a {@link StatefulRedisConnection}, all the
+ * requests share a single (thread-safe) connection: commands from concurrent requests are
+ * multiplexed and flushed together by Lettuce.
+ *
+ * <p>Call {@link #close()} on shutdown to release the connection opened from a {@link
+ * RedisClient}. The {@link RedisModule} does it for the application session store. Pools and
+ * connections given to the store are owned by the caller and never closed by the store.
+ *
  * @author edgar
  * @since 2.8.5
  */
-public class RedisSessionStore implements SessionStore {
+public class RedisSessionStore implements SessionStore, AutoCloseable {
 
   private static final String LAST_ACCESSED_AT = "__accessed_at";
   private static final String CREATED_AT = "__created_at";
 
+  /** Replace session hash and set expiration. ARGV[1] is timeout in seconds (0 = no timeout). */
+  private static final String SAVE_SCRIPT =
+      "redis.call('DEL', KEYS[1]) "
+          + "redis.call('HSET', KEYS[1], unpack(ARGV, 2)) "
+          + "if tonumber(ARGV[1]) > 0 then redis.call('EXPIRE', KEYS[1], ARGV[1]) end "
+          + "return 1";
+
+  private static final String SAVE_SCRIPT_SHA = sha1(SAVE_SCRIPT);
+
   private Logger log = LoggerFactory.getLogger(getClass());
 
   private SessionToken token = SessionToken.cookieId(SessionToken.SID);
   private String namespace = "sessions";
   private Duration timeout = Duration.ofMinutes(DEFAULT_TIMEOUT);
   private GenericObjectPool<StatefulRedisConnection<String, String>> pool;
+  private Supplier<StatefulRedisConnection<String, String>> connectionFactory;
+  private volatile StatefulRedisConnection<String, String> connection;
 
   /**
-   * Creates a new session store.
+   * Creates a new session store. Each operation borrows a connection from the pool.
    *
    * @param pool Redis connection pool.
    */
@@ -60,14 +98,22 @@ public class RedisSessionStore implements SessionStore {
   }
 
   /**
-   * Creates a new session store.
+   * Creates a new session store. All the operations share a single multiplexed connection, opened
+   * on first use.
    *
-   * @param redis Redis connection.
+   * @param redis Redis client.
    */
   public RedisSessionStore(@NonNull RedisClient redis) {
-    this(
-        ConnectionPoolSupport.createGenericObjectPool(
-            () -> redis.connect(), new GenericObjectPoolConfig()));
+    this.connectionFactory = redis::connect;
+  }
+
+  /**
+   * Creates a new session store. All the operations share the given multiplexed connection.
+   *
+   * @param connection Redis connection.
+   */
+  public RedisSessionStore(@NonNull StatefulRedisConnection<String, String> connection) {
+    this.connection = connection;
   }
 
   /**
@@ -145,13 +191,8 @@ public class RedisSessionStore implements SessionStore {
     String sessionId = token.newToken();
 
     Instant now = Instant.now();
-    String isoNow = DateTimeFormatter.ISO_INSTANT.format(now);
 
-    Map<String, String> data = new HashMap<>();
-    data.put(LAST_ACCESSED_AT, isoNow);
-    data.put(CREATED_AT, isoNow);
-
-    saveSession(sessionId, data);
+    saveSession(sessionId, new HashMap<>(), now, now);
 
     token.saveToken(ctx, sessionId);
 
@@ -168,15 +209,19 @@ public class RedisSessionStore implements SessionStore {
     }
     return withConnection(
         connection -> {
-          RedisCommands<String, String> commands = connection.sync();
+          RedisAsyncCommands<String, String> commands = connection.async();
           String redisId = key(sessionId);
-          Map<String, String> data = commands.hgetall(redisId);
+          // pipelined: both commands are sent before waiting for the reply
+          RedisFuture<Map<String, String>> future = commands.hgetall(redisId);
+          if (timeout != null) {
+            logFailure(commands.expire(redisId, timeout.getSeconds()), "touch", sessionId);
+          }
+          Map<String, String> data =
+              LettuceFutures.awaitOrCancel(
+                  future, connection.getTimeout().toNanos(), TimeUnit.NANOSECONDS);
           if (data == null || data.isEmpty()) {
             return null;
           }
-          Optional.ofNullable(timeout)
-              .map(Duration::getSeconds)
-              .ifPresent(seconds -> commands.expire(redisId, seconds));
           Instant lastAccessedTime = Instant.parse(data.remove(LAST_ACCESSED_AT));
           Instant createdAt = Instant.parse(data.remove(CREATED_AT));
 
@@ -192,62 +237,133 @@ public class RedisSessionStore implements SessionStore {
   public void deleteSession(@NonNull Context ctx, @NonNull Session session) {
     String sessionId = session.getId();
 
-    withConnection(connection -> connection.async().del(key(sessionId)));
+    withConnection(
+        connection -> logFailure(connection.async().del(key(sessionId)), "delete", sessionId));
 
     token.deleteToken(ctx, sessionId);
   }
 
   @Override
   public void touchSession(@NonNull Context ctx, @NonNull Session session) {
-    saveSession(ctx, session);
-
+    // Session is marked as modified and saved once at the end of the request, see saveSession
     token.saveToken(ctx, session.getId());
   }
 
   @Override
   public void saveSession(@NonNull Context ctx, @NonNull Session session) {
-    saveSession(session.getId(), new HashMap<>(session.toMap()));
+    Instant now = Instant.now();
+    if (session.isNew() || session.isModify()) {
+      saveSession(
+          session.getId(), new HashMap<>(session.toMap()), session.getCreationTime(), now);
+    } else {
+      // Nothing changed, just update last accessed time and expiration
+      withConnection(
+          connection -> {
+            RedisAsyncCommands<String, String> commands = connection.async();
+            String sessionId = session.getId();
+            String redisId = key(sessionId);
+            logFailure(
+                commands.hset(redisId, LAST_ACCESSED_AT, DateTimeFormatter.ISO_INSTANT.format(now)),
+                "touch",
+                sessionId);
+            if (timeout != null) {
+              logFailure(commands.expire(redisId, timeout.getSeconds()), "touch", sessionId);
+            }
+            return null;
+          });
+    }
   }
 
   @Override
   public void renewSessionId(@NonNull Context ctx, @NonNull Session session) {}
 
-  private void saveSession(String sessionId, Map<String, String> data) {
+  /**
+   * Close the connection opened by this store from a {@link RedisClient}, if any. Pools and
+   * connections given to the store are not closed.
+   */
+  @Override
+  public void close() {
+    if (connectionFactory != null) {
+      StatefulRedisConnection<String, String> connection;
+      synchronized (this) {
+        connection = this.connection;
+        this.connection = null;
+      }
+      if (connection != null) {
+        connection.close();
+      }
+    }
+  }
+
+  private void saveSession(
+      String sessionId, Map<String, String> data, Instant createdAt, Instant lastAccessedAt) {
     withConnection(
         connection -> {
-          Instant now = Instant.now();
-          String isoNow = DateTimeFormatter.ISO_INSTANT.format(now);
-
-          data.put(LAST_ACCESSED_AT, isoNow);
-          data.put(CREATED_AT, isoNow);
+          data.put(LAST_ACCESSED_AT, DateTimeFormatter.ISO_INSTANT.format(lastAccessedAt));
+          data.put(
+              CREATED_AT,
+              DateTimeFormatter.ISO_INSTANT.format(
+                  createdAt == null ? lastAccessedAt : createdAt));
+
+          String[] args = new String[data.size() * 2 + 1];
+          args[0] = Long.toString(timeout == null ? 0 : timeout.getSeconds());
+          int i = 1;
+          for (Map.Entry<String, String> e : data.entrySet()) {
+            args[i++] = e.getKey();
+            args[i++] = e.getValue();
+          }
 
+          String[] keys = {key(sessionId)};
           RedisAsyncCommands<String, String> commands = connection.async();
-          String redisId = key(sessionId);
-          // start transaction
-          commands.multi();
-          // delete existing
-          commands.del(redisId);
-          // save again
-          commands.hset(redisId, data);
-          // commit
-          return commands
-              .exec()
-              .handle(
-                  (value, cause) -> {
-                    if (cause != null) {
-                      log.error("unable to create session: {}", sessionId, cause);
-                      return sessionId;
-                    } else {
-                      Optional.ofNullable(timeout)
-                          .map(Duration::getSeconds)
-                          .ifPresent(seconds -> commands.expire(redisId, seconds));
-                      return value;
-                    }
-                  });
+          // delete existing, save again and set expiration atomically in a single round trip
+          CompletionStage<Long> save =
+              commands
+                  .<Long>evalsha(SAVE_SCRIPT_SHA, ScriptOutputType.INTEGER, keys, args)
+                  .exceptionallyCompose(
+                      cause -> {
+                        if (isNoScript(cause)) {
+                          // script cache was flushed (or first time), EVAL loads it again
+                          return commands.eval(SAVE_SCRIPT, ScriptOutputType.INTEGER, keys, args);
+                        }
+                        return CompletableFuture.failedFuture(cause);
+                      });
+          return logFailure(save, "save", sessionId);
+        });
+  }
+
+  private <T> CompletionStage<T> logFailure(
+      CompletionStage<T> future, String operation, String sessionId) {
+    return future.whenComplete(
+        (value, cause) -> {
+          if (cause != null) {
+            log.error("unable to {} session: {}", operation, sessionId, cause);
+          }
         });
   }
 
-  private <T> T withConnection(SneakyThrows.Function<StatefulRedisConnection, T> callback) {
+  private static boolean isNoScript(Throwable cause) {
+    Throwable x = cause instanceof CompletionException ? cause.getCause() : cause;
+    return x instanceof RedisNoScriptException;
+  }
+
+  private static String sha1(String script) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-1");
+      return HexFormat.of().formatHex(digest.digest(script.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException x) {
+      throw SneakyThrows.propagate(x);
+    }
+  }
+
+  private <T> T withConnection(
+      SneakyThrows.Function<StatefulRedisConnection<String, String>, T> callback) {
+    if (pool == null) {
+      try {
+        return callback.apply(connection());
+      } catch (Exception cause) {
+        throw SneakyThrows.propagate(cause);
+      }
+    }
     try (StatefulRedisConnection<String, String> connection = pool.borrowObject()) {
       return callback.apply(connection);
     } catch (Exception cause) {
@@ -255,6 +371,20 @@ public class RedisSessionStore implements SessionStore {
     }
   }
 
+  private StatefulRedisConnection<String, String> connection() {
+    StatefulRedisConnection<String, String> connection = this.connection;
+    if (connection == null) {
+      synchronized (this) {
+        connection = this.connection;
+        if (connection == null) {
+          connection = connectionFactory.get();
+          this.connection = connection;
+        }
+      }
+    }
+    return connection;
+  }
+
   private String key(String id) {
     return namespace + ":" + id;
   }
@@ -0,0 +1,215 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.redis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.jooby.Context;
+import io.jooby.Session;
+import io.jooby.SessionToken;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisCommandTimeoutException;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.RedisNoScriptException;
+import io.lettuce.core.ScriptOutputType;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.async.RedisAsyncCommands;
+
+public class RedisSessionStoreTest {
+
+  private static class Future<T> extends CompletableFuture<T> implements RedisFuture<T> {
+    static <T> Future<T> of(T value) {
+      Future<T> future = new Future<>();
+      future.complete(value);
+      return future;
+    }
+
+    static <T> Future<T> failed(Throwable cause) {
+      Future<T> future = new Future<>();
+      future.completeExceptionally(cause);
+      return future;
+    }
+
+    @Override
+    public String getError() {
+      return null;
+    }
+
+    @Override
+    public boolean await(long timeout, TimeUnit unit) {
+      try {
+        get(timeout, unit);
+        return true;
+      } catch (Exception x) {
+        return isDone();
+      }
+    }
+  }
+
+  private StatefulRedisConnection<String, String> connection;
+
+  private RedisAsyncCommands<String, String> commands;
+
+  private SessionToken token;
+
+  private Context ctx;
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  public void setup() {
+    connection = mock(StatefulRedisConnection.class);
+    commands = mock(RedisAsyncCommands.class);
+    when(connection.async()).thenReturn(commands);
+    when(connection.getTimeout()).thenReturn(Duration.ofMillis(50));
+    when(commands.expire(anyString(), anyLong())).thenReturn(Future.of(true));
+
+    token = mock(SessionToken.class);
+    when(token.findToken(any())).thenReturn("abc");
+    ctx = mock(Context.class);
+  }
+
+  @Test
+  public void findSession() {
+    Map<String, String> data = new HashMap<>();
+    data.put("foo", "bar");
+    data.put("__accessed_at", "2023-01-01T00:00:10Z");
+    data.put("__created_at", "2023-01-01T00:00:00Z");
+    when(commands.hgetall("sessions:abc")).thenReturn(Future.of(data));
+
+    RedisSessionStore store = new RedisSessionStore(connection).setToken(token);
+    Session session = store.findSession(ctx);
+
+    assertEquals("abc", session.getId());
+    assertEquals("bar", session.get("foo").value());
+    assertEquals(Instant.parse("2023-01-01T00:00:00Z"), session.getCreationTime());
+    assertEquals(Instant.parse("2023-01-01T00:00:10Z"), session.getLastAccessedTime());
+    verify(commands).expire("sessions:abc", Duration.ofMinutes(30).getSeconds());
+    verify(token).saveToken(ctx, "abc");
+  }
+
+  @Test
+  public void missingSession() {
+    when(commands.hgetall("sessions:abc")).thenReturn(Future.of(new HashMap<>()));
+
+    RedisSessionStore store = new RedisSessionStore(connection).setToken(token);
+    assertNull(store.findSession(ctx));
+    verify(token, never()).saveToken(any(), anyString());
+  }
+
+  @Test
+  public void findSessionWaitsUpToConnectionTimeout() {
+    when(commands.hgetall("sessions:abc")).thenReturn(new Future<>());
+
+    RedisSessionStore store = new RedisSessionStore(connection).setToken(token);
+    assertThrows(RedisCommandTimeoutException.class, () -> store.findSession(ctx));
+  }
+
+  @Test
+  public void saveModifiedSessionWithScriptDigest() {
+    when(commands.<Long>evalsha(anyString(), eq(ScriptOutputType.INTEGER), strings(), strings()))
+        .thenReturn(Future.of(1L));
+
+    RedisSessionStore store = new RedisSessionStore(connection).setToken(token);
+    store.saveSession(ctx, modified());
+
+    verify(commands).evalsha(anyString(), eq(ScriptOutputType.INTEGER), strings(), strings());
+    verify(commands, never()).eval(anyString(), any(), strings(), strings());
+  }
+
+  @Test
+  public void loadScriptOnNoScript() {
+    when(commands.<Long>evalsha(anyString(), eq(ScriptOutputType.INTEGER), strings(), strings()))
+        .thenReturn(Future.failed(new RedisNoScriptException("NOSCRIPT No matching script")));
+    when(commands.<Long>eval(anyString(), eq(ScriptOutputType.INTEGER), strings(), strings()))
+        .thenReturn(Future.of(1L));
+
+    RedisSessionStore store = new RedisSessionStore(connection).setToken(token);
+    store.saveSession(ctx, modified());
+
+    verify(commands).eval(anyString(), eq(ScriptOutputType.INTEGER), strings(), strings());
+  }
+
+  @Test
+  public void touchDoesNotWaitForReply() {
+    Future<Boolean> hset = new Future<>();
+    when(commands.hset(eq("sessions:abc"), eq("__accessed_at"), anyString())).thenReturn(hset);
+
+    RedisSessionStore store = new RedisSessionStore(connection).setToken(token);
+    Session session =
+        Session.create(ctx, "abc", new HashMap<>())
+            .setCreationTime(Instant.now())
+            .setLastAccessedTime(Instant.now());
+    store.saveSession(ctx, session);
+
+    verify(commands).expire("sessions:abc", Duration.ofMinutes(30).getSeconds());
+    verify(commands, never()).evalsha(anyString(), any(), strings(), strings());
+    // failure is logged, never reported to the request
+    assertTrue(hset.completeExceptionally(new IllegalStateException("Intentional error")));
+  }
+
+  @Test
+  public void closeConnectionOpenedFromClient() {
+    when(commands.hgetall("sessions:abc")).thenReturn(Future.of(new HashMap<>()));
+    RedisClient client = mock(RedisClient.class);
+    when(client.connect()).thenReturn(connection);
+
+    RedisSessionStore store = new RedisSessionStore(client).setToken(token);
+    // nothing to close before first use
+    store.close();
+    verify(connection, never()).close();
+
+    store.findSession(ctx);
+    store.findSession(ctx);
+    verify(client).connect();
+    store.close();
+    verify(connection).close();
+  }
+
+  @Test
+  public void neverCloseGivenConnection() {
+    when(commands.hgetall("sessions:abc")).thenReturn(Future.of(new HashMap<>()));
+
+    RedisSessionStore store = new RedisSessionStore(connection).setToken(token);
+    store.findSession(ctx);
+    store.close();
+    verify(connection, never()).close();
+  }
+
+  /** Matches keys and arguments of script commands. */
+  private static String[] strings() {
+    return any(String[].class);
+  }
+
+  private Session modified() {
+    Map<String, String> data = new HashMap<>();
+    data.put("foo", "bar");
+    return Session.create(ctx, "abc", data)
+        .setModify(true)
+        .setCreationTime(Instant.now())
+        .setLastAccessedTime(Instant.now());
+  }
+}
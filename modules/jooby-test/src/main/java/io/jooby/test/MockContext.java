@@ -98,6 +98,8 @@ public class MockContext implements DefaultContext {
 
   private boolean responseStarted;
 
+  private boolean aborted;
+
   private boolean resetHeadersOnError = true;
 
   private CompletionListeners listeners = new CompletionListeners();
@@ -802,6 +804,23 @@ public class MockContext implements DefaultContext {
     return this;
   }
 
+  @NonNull @Override
+  public MockContext abort() {
+    responseStarted = true;
+    aborted = true;
+    listeners.run(this);
+    return this;
+  }
+
+  /**
+   * True when the response was {@link #abort() aborted}.
+   *
+   * @return True when the response was aborted.
+   */
+  public boolean isAborted() {
+    return aborted;
+  }
+
   @NonNull @Override
   public Context onComplete(@NonNull Route.Complete task) {
     listeners.addListener(task);
@@ -5,11 +5,13 @@
  */
 package io.jooby.internal.thymeleaf;
 
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
 
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
@@ -34,20 +36,33 @@ public class ThymeleafTemplateEngine implements io.jooby.TemplateEngine {
 
   @Override
   public String render(io.jooby.Context ctx, ModelAndView modelAndView) {
-    Map<String, Object> model = new HashMap<>(ctx.getAttributes());
-    model.putAll(modelAndView.getModel());
+    return templateEngine.process(templateName(modelAndView), context(ctx, modelAndView));
+  }
+
+  @Override
+  public boolean render(io.jooby.Context ctx, ModelAndView modelAndView, OutputStream output)
+      throws Exception {
+    Writer writer = new OutputStreamWriter(output, StandardCharsets.UTF_8);
+    templateEngine.process(templateName(modelAndView), context(ctx, modelAndView), writer);
+    writer.flush();
+    return true;
+  }
 
+  private Context context(io.jooby.Context ctx, ModelAndView modelAndView) {
     // Locale:
     Locale locale = modelAndView.getLocale();
     if (locale == null) {
       locale = ctx.locale();
     }
 
-    Context context = new Context(locale, model);
+    return new Context(locale, io.jooby.TemplateEngine.model(ctx, modelAndView));
+  }
+
+  private String templateName(ModelAndView modelAndView) {
     String templateName = modelAndView.getView();
     if (!templateName.startsWith("/")) {
       templateName = "/" + templateName;
     }
-    return templateEngine.process(templateName, context);
+    return templateName;
   }
 }
@@ -39,6 +39,7 @@ import java.util.concurrent.Executor;
 import javax.net.ssl.SSLPeerUnverifiedException;
 
 import org.slf4j.Logger;
+import org.xnio.IoUtils;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
@@ -197,6 +198,11 @@ public class UndertowContext implements DefaultContext, IoCallback {
     return exchange.isInIoThread();
   }
 
+  @NonNull @Override
+  public Executor getIoExecutor() {
+    return exchange.getIoThread();
+  }
+
   @NonNull @Override
   public String getHost() {
     return host == null ? DefaultContext.super.getHost() : host;
@@ -542,7 +548,12 @@ public class UndertowContext implements DefaultContext, IoCallback {
       ByteRange range =
           ByteRange.parse(exchange.getRequestHeaders().getFirst(RANGE), len).apply(this);
       file.position(range.getStart());
-      new UndertowChunkedStream(range.getEnd()).send(file, exchange, this);
+      if (range.getStart() + range.getEnd() == len) {
+        // up to the end of file: zero-copy transfer (sendfile)
+        exchange.getResponseSender().transferFrom(file, new FileTransferCallback(file, this));
+      } else {
+        new UndertowChunkedStream(range.getEnd()).send(file, exchange, this);
+      }
       return this;
     } catch (IOException x) {
       throw SneakyThrows.propagate(x);
@@ -574,6 +585,13 @@ public class UndertowContext implements DefaultContext, IoCallback {
     //    this.exchange.endExchange();
   }
 
+  @NonNull @Override
+  public Context abort() {
+    IoUtils.safeClose(exchange.getConnection());
+    exchange.endExchange();
+    return this;
+  }
+
   @NonNull @Override
   public Context onComplete(@NonNull Route.Complete task) {
     if (completionListener == null) {
@@ -597,7 +615,7 @@ public class UndertowContext implements DefaultContext, IoCallback {
   private void ifSaveSession() {
     if (attributes != null) {
       Session session = (Session) attributes.get(Session.NAME);
-      if (session != null && (session.isNew() || session.isModify())) {
+      if (session != null) {
         SessionStore store = router.getSessionStore();
         store.saveSession(this, session);
       }
@@ -5,12 +5,15 @@
  */
 package io.jooby.internal.undertow;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 
 import io.jooby.Context;
 import io.jooby.Route;
 import io.jooby.Router;
+import io.jooby.ServerHeaders;
 import io.jooby.StatusCode;
+import io.jooby.StreamingBody;
 import io.undertow.io.Receiver;
 import io.undertow.server.HttpHandler;
 import io.undertow.server.HttpServerExchange;
@@ -22,6 +25,9 @@ import io.undertow.util.HeaderMap;
 import io.undertow.util.Headers;
 
 public class UndertowHandler implements HttpHandler {
+  private static final ServerHeaders.Encoded<String> HEADERS =
+      ServerHeaders.encode("U", (name, value) -> new String(value, StandardCharsets.US_ASCII));
+
   protected final Router router;
   private final long maxRequestSize;
   private final int bufferSize;
@@ -41,9 +47,10 @@ public class UndertowHandler implements HttpHandler {
 
     /** default headers: */
     HeaderMap responseHeaders = exchange.getResponseHeaders();
-    responseHeaders.put(Headers.CONTENT_TYPE, "text/plain");
+    responseHeaders.put(Headers.CONTENT_TYPE, HEADERS.contentType());
     if (defaultHeaders) {
-      responseHeaders.put(Headers.SERVER, "U");
+      responseHeaders.put(Headers.DATE, HEADERS.date());
+      responseHeaders.put(Headers.SERVER, HEADERS.server());
     }
 
     if (context.isHttpGet()) {
@@ -54,8 +61,15 @@ public class UndertowHandler implements HttpHandler {
       long len = parseLen(headers.getFirst(Headers.CONTENT_LENGTH));
       String chunked = headers.getFirst(Headers.TRANSFER_ENCODING);
       if (len > 0 || chunked != null) {
+        Router.Match route = router.match(context);
+        if (route.matches() && route.route().isStreamingBody()) {
+          // run now, body is consumed while it is being received
+          streamBody(exchange, context, len);
+          route.execute(context);
+          return;
+        }
+
         if (len > maxRequestSize) {
-          Router.Match route = router.match(context);
           if (route.matches()) {
             route.execute(context, Route.REQUEST_ENTITY_TOO_LARGE);
           } else {
@@ -79,7 +93,6 @@ public class UndertowHandler implements HttpHandler {
         if (parser == null) {
           // Read raw body
           Receiver receiver = exchange.getRequestReceiver();
-          Router.Match route = router.match(context);
           UndertowBodyHandler reader =
               new UndertowBodyHandler(route, context, bufferSize, maxRequestSize);
           if (len > 0 && len <= bufferSize) {
@@ -89,7 +102,7 @@ public class UndertowHandler implements HttpHandler {
           }
         } else {
           try {
-            parser.parse(execute(router, context));
+            parser.parse(execute(route, context));
           } catch (Exception x) {
             context.sendError(x, StatusCode.BAD_REQUEST);
           }
@@ -109,7 +122,49 @@ public class UndertowHandler implements HttpHandler {
     }
   }
 
-  private static HttpHandler execute(Router router, Context ctx) {
-    return exchange -> router.match(ctx).execute(ctx);
+  private static HttpHandler execute(Router.Match route, Context ctx) {
+    return exchange -> route.execute(ctx);
+  }
+
+  private static void streamBody(HttpServerExchange exchange, UndertowContext context, long len) {
+    Receiver receiver = exchange.getRequestReceiver();
+    StreamingBody body =
+        new StreamingBody(
+            context,
+            len,
+            new StreamingBody.FlowControl() {
+              @Override
+              public void pause() {
+                inIoThread(exchange, receiver::pause);
+              }
+
+              @Override
+              public void resume() {
+                inIoThread(exchange, receiver::resume);
+              }
+            });
+    context.body = body;
+    // unread content must not leave the connection suspended
+    exchange.addExchangeCompleteListener(
+        (ex, next) -> {
+          body.discard();
+          next.proceed();
+        });
+    receiver.receivePartialBytes(
+        (ex, chunk, last) -> {
+          body.offer(ByteBuffer.wrap(chunk));
+          if (last) {
+            body.complete();
+          }
+        },
+        (ex, cause) -> body.fail(cause));
+  }
+
+  private static void inIoThread(HttpServerExchange exchange, Runnable task) {
+    if (exchange.isInIoThread()) {
+      task.run();
+    } else {
+      exchange.getIoThread().execute(task);
+    }
   }
 }
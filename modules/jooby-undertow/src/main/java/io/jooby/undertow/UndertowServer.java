@@ -30,12 +30,15 @@ import io.jooby.internal.undertow.UndertowHandler;
 import io.jooby.internal.undertow.UndertowWebSocket;
 import io.undertow.Undertow;
 import io.undertow.UndertowOptions;
+import io.undertow.predicate.Predicate;
 import io.undertow.server.HttpHandler;
 import io.undertow.server.handlers.HttpContinueReadHandler;
 import io.undertow.server.handlers.encoding.ContentEncodingRepository;
 import io.undertow.server.handlers.encoding.DeflateEncodingProvider;
 import io.undertow.server.handlers.encoding.EncodingHandler;
 import io.undertow.server.handlers.encoding.GzipEncodingProvider;
+import io.undertow.util.HeaderMap;
+import io.undertow.util.Headers;
 
 /**
  * Web server implementation using <a href="http://undertow.io/">Undertow</a>.
@@ -89,14 +92,7 @@ public class UndertowServer extends Server.Base {
               options.getDefaultHeaders());
 
       if (options.getCompressionLevel() != null) {
-        int compressionLevel = options.getCompressionLevel();
-        handler =
-            new EncodingHandler(
-                handler,
-                new ContentEncodingRepository()
-                    .addEncodingHandler("gzip", new GzipEncodingProvider(compressionLevel), _100)
-                    .addEncodingHandler(
-                        "deflate", new DeflateEncodingProvider(compressionLevel), _10));
+        handler = new EncodingHandler(handler, contentEncodings(application));
       }
 
       if (options.isExpectContinue() == Boolean.TRUE) {
@@ -112,7 +108,8 @@ public class UndertowServer extends Server.Base {
               // HTTP/1.1 is keep-alive by default, turn this option off
               .setServerOption(UndertowOptions.ALWAYS_SET_KEEP_ALIVE, false)
               .setServerOption(UndertowOptions.ALLOW_EQUALS_IN_COOKIE_VALUE, true)
-              .setServerOption(UndertowOptions.ALWAYS_SET_DATE, options.getDefaultHeaders())
+              // Date header is set by UndertowHandler from ServerHeaders
+              .setServerOption(UndertowOptions.ALWAYS_SET_DATE, false)
               .setServerOption(UndertowOptions.RECORD_REQUEST_START_TIME, false)
               .setServerOption(UndertowOptions.DECODE_URL, false)
               /** Worker: */
@@ -160,6 +157,39 @@ public class UndertowServer extends Server.Base {
     }
   }
 
+  private ContentEncodingRepository contentEncodings(Jooby application) {
+    int compressionLevel = options.getCompressionLevel();
+    // evaluated once response headers are set
+    Predicate compressible =
+        exchange -> {
+          HeaderMap headers = exchange.getResponseHeaders();
+          if (!options.isCompressible(headers.getFirst(Headers.CONTENT_TYPE))) {
+            return false;
+          }
+          String len = headers.getFirst(Headers.CONTENT_LENGTH);
+          return len == null || Long.parseLong(len) >= options.getCompressionMinSize();
+        };
+    ContentEncodingRepository repository = new ContentEncodingRepository();
+    int priority = _100;
+    for (String encoding : options.getCompressionEncodings()) {
+      switch (encoding) {
+        case "gzip":
+          repository.addEncodingHandler(
+              encoding, new GzipEncodingProvider(compressionLevel), priority, compressible);
+          break;
+        case "deflate":
+          repository.addEncodingHandler(
+              encoding, new DeflateEncodingProvider(compressionLevel), priority, compressible);
+          break;
+        default:
+          application.getLog().warn("{} compression is not supported by undertow", encoding);
+          continue;
+      }
+      priority = Math.max(1, priority - _10);
+    }
+    return repository;
+  }
+
   @NonNull @Override
   public List<String> getLoggerOff() {
     return List.of("org.xnio", "io.undertow", "org.jboss.threads");
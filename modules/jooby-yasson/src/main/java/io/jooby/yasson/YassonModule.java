@@ -10,6 +10,7 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.lang.reflect.Type;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
@@ -106,4 +107,12 @@ public class YassonModule implements Extension, MessageDecoder, MessageEncoder {
     ctx.setDefaultResponseType(MediaType.json);
     return jsonb.toJson(value).getBytes(UTF_8);
   }
+
+  @Override
+  public boolean encode(
+      @NonNull final Context ctx, @NonNull final Object value, @NonNull final OutputStream output) {
+    ctx.setDefaultResponseType(MediaType.json);
+    jsonb.toJson(value, output);
+    return true;
+  }
 }
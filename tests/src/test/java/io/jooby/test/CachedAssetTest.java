@@ -0,0 +1,123 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.test;
+
+import static io.jooby.test.TestSupport.userdir;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import io.jooby.handler.AssetHandler;
+import io.jooby.handler.AssetSource;
+import io.jooby.junit.ServerTest;
+import io.jooby.junit.ServerTestRunner;
+
+public class CachedAssetTest {
+
+  @ServerTest
+  public void shouldUseOneEtagPerEncoding(ServerTestRunner runner) {
+    runner
+        .define(
+            app -> {
+              AssetSource source = AssetSource.create(userdir("src", "test", "resources", "files"));
+              app.assets("/files/?*", new AssetHandler(source).setCacheSize(1024 * 1024));
+            })
+        .ready(
+            client -> {
+              String[] etags = new String[2];
+              client.header("Accept-Encoding", "gzip");
+              client.get(
+                  "/files/19kb.txt",
+                  rsp -> {
+                    assertEquals(200, rsp.code());
+                    assertEquals("gzip", rsp.header("Content-Encoding"));
+                    etags[0] = rsp.header("ETag");
+                    assertTrue(etags[0].endsWith("-gzip\""), etags[0]);
+                  });
+
+              client.header("Accept-Encoding", "identity");
+              client.get(
+                  "/files/19kb.txt",
+                  rsp -> {
+                    assertEquals(200, rsp.code());
+                    assertNull(rsp.header("Content-Encoding"));
+                    etags[1] = rsp.header("ETag");
+                    assertNotEquals(etags[0], etags[1]);
+                  });
+
+              // gzip e-tag doesn't validate identity content
+              client.header("Accept-Encoding", "identity");
+              client.header("If-None-Match", etags[0]);
+              client.get(
+                  "/files/19kb.txt",
+                  rsp -> {
+                    assertEquals(200, rsp.code());
+                  });
+
+              client.header("Accept-Encoding", "gzip");
+              client.header("If-None-Match", etags[0]);
+              client.get(
+                  "/files/19kb.txt",
+                  rsp -> {
+                    assertEquals(304, rsp.code());
+                  });
+            });
+  }
+
+  @ServerTest
+  public void shouldApplyRangeToCachedAsset(ServerTestRunner runner) throws IOException {
+    String content =
+        Files.readString(
+            userdir("src", "test", "resources", "files", "19kb.txt"), StandardCharsets.UTF_8);
+    runner
+        .define(
+            app -> {
+              AssetSource source = AssetSource.create(userdir("src", "test", "resources", "files"));
+              app.assets("/files/?*", new AssetHandler(source).setCacheSize(1024 * 1024));
+            })
+        .ready(
+            client -> {
+              // load into cache
+              client.get(
+                  "/files/19kb.txt",
+                  rsp -> {
+                    assertEquals(200, rsp.code());
+                  });
+
+              client.header("Accept-Encoding", "gzip");
+              client.header("Range", "bytes=0-99");
+              client.get(
+                  "/files/19kb.txt",
+                  rsp -> {
+                    assertEquals(206, rsp.code());
+                    assertNull(rsp.header("Content-Encoding"));
+                    assertEquals("bytes 0-99/" + content.length(), rsp.header("Content-Range"));
+                    assertEquals("100", rsp.header("Content-Length"));
+                    assertEquals(content.substring(0, 100), rsp.body().string());
+                  });
+
+              client.header("Range", "bytes=-100");
+              client.get(
+                  "/files/19kb.txt",
+                  rsp -> {
+                    assertEquals(206, rsp.code());
+                    assertEquals(content.substring(content.length() - 100), rsp.body().string());
+                  });
+
+              client.header("Range", "bytes=" + content.length() + "-");
+              client.get(
+                  "/files/19kb.txt",
+                  rsp -> {
+                    assertEquals(416, rsp.code());
+                  });
+            });
+  }
+}
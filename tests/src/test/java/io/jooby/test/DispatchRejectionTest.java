@@ -0,0 +1,79 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import io.jooby.Context;
+import io.jooby.DispatchListener;
+import io.jooby.junit.ServerTest;
+import io.jooby.junit.ServerTestRunner;
+
+public class DispatchRejectionTest {
+
+  @ServerTest
+  public void shouldRejectWhenExecutorIsSaturated(ServerTestRunner runner) {
+    // one thread, no queue: busy once the single thread is taken
+    ThreadPoolExecutor executor =
+        new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new SynchronousQueue<>());
+    CountDownLatch release = new CountDownLatch(1);
+    List<String> events = new CopyOnWriteArrayList<>();
+    try {
+      runner
+          .define(
+              app -> {
+                app.executor("single", executor);
+                app.dispatchListener(
+                    new DispatchListener() {
+                      @Override
+                      public void onEnqueue(Context ctx, String executor) {
+                        events.add("enqueue:" + executor);
+                      }
+
+                      @Override
+                      public void onStart(Context ctx, String executor, long waitNanos) {
+                        events.add("start:" + executor);
+                      }
+
+                      @Override
+                      public void onReject(Context ctx, String executor, Throwable cause) {
+                        events.add("reject:" + executor);
+                      }
+                    });
+                app.dispatch(executor, () -> app.get("/rejected", ctx -> "never"));
+              })
+          .ready(
+              client -> {
+                executor.execute(
+                    () -> {
+                      try {
+                        release.await();
+                      } catch (InterruptedException x) {
+                        Thread.currentThread().interrupt();
+                      }
+                    });
+
+                client.get(
+                    "/rejected",
+                    rsp -> {
+                      assertEquals(503, rsp.code());
+                    });
+                // queued/enqueued requests must be balanced by a start or a reject
+                assertEquals(List.of("enqueue:single", "reject:single"), events);
+              });
+    } finally {
+      release.countDown();
+      executor.shutdown();
+    }
+  }
+}
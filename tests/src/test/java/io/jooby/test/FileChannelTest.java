@@ -0,0 +1,95 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.test;
+
+import static io.jooby.test.TestSupport.userdir;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import io.jooby.AttachedFile;
+import io.jooby.junit.ServerTest;
+import io.jooby.junit.ServerTestRunner;
+
+public class FileChannelTest {
+
+  private static final Path FILE = userdir("src", "test", "resources", "files", "19kb.txt");
+
+  @ServerTest
+  public void shouldSendDiskAssetsThroughFileChannel(ServerTestRunner runner) throws IOException {
+    String content = Files.readString(FILE, StandardCharsets.UTF_8);
+    runner
+        .define(
+            app -> {
+              app.assets("/files/?*", userdir("src", "test", "resources", "files"));
+            })
+        .ready(
+            client -> {
+              client.get(
+                  "/files/19kb.txt",
+                  rsp -> {
+                    assertEquals(200, rsp.code());
+                    assertEquals(Integer.toString(content.length()), rsp.header("Content-Length"));
+                    assertEquals(content, rsp.body().string());
+                  });
+
+              // open range (runs to the end of the file)
+              client.header("Range", "bytes=100-");
+              client.get(
+                  "/files/19kb.txt",
+                  rsp -> {
+                    assertEquals(206, rsp.code());
+                    assertEquals(
+                        "bytes 100-" + (content.length() - 1) + "/" + content.length(),
+                        rsp.header("Content-Range"));
+                    assertEquals(content.substring(100), rsp.body().string());
+                  });
+
+              // bounded range
+              client.header("Range", "bytes=100-199");
+              client.get(
+                  "/files/19kb.txt",
+                  rsp -> {
+                    assertEquals(206, rsp.code());
+                    assertEquals("100", rsp.header("Content-Length"));
+                    assertEquals(content.substring(100, 200), rsp.body().string());
+                  });
+            });
+  }
+
+  @ServerTest
+  public void shouldSendFileDownloadThroughFileChannel(ServerTestRunner runner)
+      throws IOException {
+    String content = Files.readString(FILE, StandardCharsets.UTF_8);
+    runner
+        .define(
+            app -> {
+              app.get("/download", ctx -> new AttachedFile(FILE));
+            })
+        .ready(
+            client -> {
+              client.get(
+                  "/download",
+                  rsp -> {
+                    assertEquals(200, rsp.code());
+                    assertEquals(
+                        "attachment;filename=\"19kb.txt\"", rsp.header("Content-Disposition"));
+                    assertEquals(content, rsp.body().string());
+                  });
+
+              client.header("Range", "bytes=-100");
+              client.get(
+                  "/download",
+                  rsp -> {
+                    assertEquals(206, rsp.code());
+                    assertEquals(content.substring(content.length() - 100), rsp.body().string());
+                  });
+            });
+  }
+}
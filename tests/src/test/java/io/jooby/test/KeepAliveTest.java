@@ -0,0 +1,71 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import io.jooby.StatusCode;
+import io.jooby.junit.ServerTest;
+import io.jooby.junit.ServerTestRunner;
+
+public class KeepAliveTest {
+
+  @ServerTest
+  public void shouldNotLeakStateAcrossKeepAliveRequests(ServerTestRunner runner) {
+    runner
+        .define(
+            app -> {
+              // non-blocking: responses are written from the event loop, so Netty recycles the
+              // context of the connection
+              app.get(
+                      "/dirty/{id}",
+                      ctx -> {
+                        ctx.setResponseHeader("X-State", ctx.path("id").value());
+                        ctx.setResponseCode(StatusCode.CREATED);
+                        ctx.setAttribute("state", ctx.query("q").value());
+                        return ctx.path("id").value() + ":" + ctx.query("q").value();
+                      })
+                  .setNonBlocking(true);
+
+              app.get(
+                      "/clean",
+                      ctx ->
+                          ctx.getResponseHeader("X-State")
+                              + ":"
+                              + ctx.getResponseCode().value()
+                              + ":"
+                              + ctx.getAttributes().get("state")
+                              + ":"
+                              + ctx.query("q").valueOrNull()
+                              + ":"
+                              + ctx.pathMap())
+                  .setNonBlocking(true);
+            })
+        .ready(
+            client -> {
+              // same client, same (keep-alive) connection
+              for (int i = 0; i < 20; i++) {
+                String id = Integer.toString(i);
+                client.get(
+                    "/dirty/" + id + "?q=v" + id,
+                    rsp -> {
+                      assertEquals(201, rsp.code());
+                      assertEquals(id, rsp.header("X-State"));
+                      assertEquals(id + ":v" + id, rsp.body().string());
+                    });
+
+                client.get(
+                    "/clean",
+                    rsp -> {
+                      assertEquals(200, rsp.code());
+                      assertNull(rsp.header("X-State"));
+                      assertEquals("null:200:null:null:{}", rsp.body().string());
+                    });
+              }
+            });
+  }
+}
@@ -0,0 +1,125 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.Flow;
+import java.util.zip.CRC32;
+
+import io.jooby.junit.ServerTest;
+import io.jooby.junit.ServerTestRunner;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+
+public class StreamingBodyTest {
+
+  /** Larger than the 64KB high watermark, so reading is suspended/resumed many times. */
+  private static final byte[] BODY = body(1024 * 1024);
+
+  @ServerTest
+  public void shouldStreamRequestBody(ServerTestRunner runner) {
+    runner
+        .define(
+            app -> {
+              app.post(
+                      "/stream",
+                      ctx -> {
+                        CRC32 crc = new CRC32();
+                        long size = 0;
+                        byte[] buffer = new byte[8192];
+                        try (InputStream in = ctx.body().stream()) {
+                          int n;
+                          while ((n = in.read(buffer)) != -1) {
+                            crc.update(buffer, 0, n);
+                            size += n;
+                          }
+                        }
+                        return size + ":" + crc.getValue();
+                      })
+                  .setStreamingBody(true);
+
+              app.post(
+                      "/publisher",
+                      ctx -> {
+                        ctx.body()
+                            .publisher()
+                            .subscribe(
+                                new Flow.Subscriber<>() {
+                                  private final CRC32 crc = new CRC32();
+
+                                  private long size;
+
+                                  private Flow.Subscription subscription;
+
+                                  @Override
+                                  public void onSubscribe(Flow.Subscription subscription) {
+                                    this.subscription = subscription;
+                                    subscription.request(1);
+                                  }
+
+                                  @Override
+                                  public void onNext(ByteBuffer item) {
+                                    size += item.remaining();
+                                    crc.update(item);
+                                    subscription.request(1);
+                                  }
+
+                                  @Override
+                                  public void onError(Throwable cause) {
+                                    ctx.sendError(cause);
+                                  }
+
+                                  @Override
+                                  public void onComplete() {
+                                    ctx.send(size + ":" + crc.getValue());
+                                  }
+                                });
+                        return ctx;
+                      })
+                  .setNonBlocking(true)
+                  .setStreamingBody(true);
+            })
+        .ready(
+            client -> {
+              String expected = BODY.length + ":" + crc(BODY);
+              RequestBody body =
+                  RequestBody.create(BODY, MediaType.parse("application/octet-stream"));
+
+              client.post(
+                  "/stream",
+                  body,
+                  rsp -> {
+                    assertEquals(200, rsp.code());
+                    assertEquals(expected, rsp.body().string());
+                  });
+
+              client.post(
+                  "/publisher",
+                  body,
+                  rsp -> {
+                    assertEquals(200, rsp.code());
+                    assertEquals(expected, rsp.body().string());
+                  });
+            });
+  }
+
+  private static byte[] body(int size) {
+    byte[] bytes = new byte[size];
+    for (int i = 0; i < size; i++) {
+      bytes[i] = (byte) (i % 251);
+    }
+    return bytes;
+  }
+
+  private static long crc(byte[] bytes) {
+    CRC32 crc = new CRC32();
+    crc.update(bytes);
+    return crc.getValue();
+  }
+}
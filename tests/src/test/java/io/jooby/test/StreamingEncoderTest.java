@@ -0,0 +1,118 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import io.jooby.Context;
+import io.jooby.MediaType;
+import io.jooby.MessageEncoder;
+import io.jooby.ServerOptions;
+import io.jooby.junit.ServerTest;
+import io.jooby.junit.ServerTestRunner;
+
+public class StreamingEncoderTest {
+
+  /** Writes the requested number of bytes, then fails when asked to. */
+  private static class FailingEncoder implements MessageEncoder {
+    @Override
+    public byte[] encode(@NonNull Context ctx, @NonNull Object value) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean encode(
+        @NonNull Context ctx, @NonNull Object value, @NonNull OutputStream output)
+        throws Exception {
+      Map<String, Object> options = (Map<String, Object>) value;
+      ctx.setDefaultResponseType(MediaType.text);
+      int size = (Integer) options.get("size");
+      for (int i = 0; i < size; i++) {
+        output.write('a');
+      }
+      if ((Boolean) options.get("fail")) {
+        throw new IllegalStateException("Intentional error");
+      }
+      return true;
+    }
+  }
+
+  @ServerTest
+  public void shouldStreamLargeOutput(ServerTestRunner runner) {
+    int size = ServerOptions._16KB * 4;
+    runner
+        .define(
+            app -> {
+              app.encoder(MediaType.text, new FailingEncoder());
+              app.dispatch(
+                  () -> {
+                    app.get("/small", ctx -> Map.of("size", 100, "fail", false));
+                    app.get("/large", ctx -> Map.of("size", size, "fail", false));
+                  });
+            })
+        .ready(
+            http -> {
+              http.get(
+                  "/small",
+                  rsp -> {
+                    assertEquals(200, rsp.code());
+                    assertEquals("100", rsp.header("Content-Length"));
+                    assertEquals(100, rsp.body().bytes().length);
+                  });
+              http.get(
+                  "/large",
+                  rsp -> {
+                    assertEquals(200, rsp.code());
+                    assertEquals(size, rsp.body().bytes().length);
+                  });
+            });
+  }
+
+  @ServerTest
+  public void shouldSendErrorWhenBufferedEncodingFails(ServerTestRunner runner) {
+    runner
+        .define(
+            app -> {
+              app.encoder(MediaType.text, new FailingEncoder());
+              app.dispatch(
+                  () -> app.get("/buffered", ctx -> Map.of("size", 100, "fail", true)));
+            })
+        .ready(
+            http -> {
+              http.get(
+                  "/buffered",
+                  rsp -> {
+                    assertEquals(500, rsp.code());
+                  });
+            });
+  }
+
+  @ServerTest
+  public void shouldAbortWhenEncodingFailsAfterStreaming(ServerTestRunner runner) {
+    runner
+        .define(
+            app -> {
+              app.encoder(MediaType.text, new FailingEncoder());
+              app.dispatch(
+                  () ->
+                      app.get(
+                          "/streamed",
+                          ctx -> Map.of("size", ServerOptions._16KB + 1024, "fail", true)));
+            })
+        .ready(
+            http -> {
+              // part of the body was sent (or not), but the response must never look complete
+              assertThrows(
+                  IOException.class, () -> http.get("/streamed", rsp -> rsp.body().bytes()));
+            });
+  }
+}
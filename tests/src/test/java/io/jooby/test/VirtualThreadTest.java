@@ -0,0 +1,64 @@
+/*
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import io.jooby.ExecutionMode;
+import io.jooby.junit.ServerTest;
+import io.jooby.junit.ServerTestRunner;
+
+public class VirtualThreadTest {
+
+  private static final boolean SUPPORTED = Runtime.version().feature() >= 21;
+
+  @ServerTest(executionMode = ExecutionMode.VIRTUAL)
+  public void shouldRunBlockingRoutesOnVirtualThreads(ServerTestRunner runner) {
+    runner
+        .define(
+            app -> {
+              app.get("/blocking", ctx -> isVirtual(Thread.currentThread()));
+              app.get("/nonblocking", ctx -> isVirtual(Thread.currentThread()))
+                  .setNonBlocking(true);
+              app.get("/executor", ctx -> isVirtual(Thread.currentThread()))
+                  .setExecutorKey("single");
+              ExecutorService single = Executors.newSingleThreadExecutor();
+              app.executor("single", single);
+              app.onStop(single::shutdown);
+            })
+        .ready(
+            http -> {
+              http.get(
+                  "/blocking",
+                  rsp -> {
+                    assertEquals(200, rsp.code());
+                    assertEquals(String.valueOf(SUPPORTED), rsp.body().string());
+                  });
+              // reactive/non-blocking routes stay on the event loop
+              http.get(
+                  "/nonblocking",
+                  rsp -> {
+                    assertEquals(200, rsp.code());
+                    assertEquals("false", rsp.body().string());
+                  });
+              // explicit executor wins
+              http.get(
+                  "/executor",
+                  rsp -> {
+                    assertEquals(200, rsp.code());
+                    assertEquals("false", rsp.body().string());
+                  });
+            });
+  }
+
+  private static String isVirtual(Thread thread) {
+    // Thread.isVirtual() is Java 21+
+    return String.valueOf(thread.getClass().getSimpleName().equals("VirtualThread"));
+  }
+}
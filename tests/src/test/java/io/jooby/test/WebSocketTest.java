@@ -8,6 +8,7 @@ package io.jooby.test;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import java.nio.charset.StandardCharsets;
+import java.util.Map;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import io.jooby.jackson.JacksonModule;
@@ -166,6 +167,38 @@ public class WebSocketTest {
             });
   }
 
+  @ServerTest
+  public void webSocketBroadcast(ServerTestRunner runner) {
+    runner
+        .define(
+            app -> {
+              app.install(new JacksonModule());
+
+              app.ws(
+                  "/broadcast",
+                  (ctx, initializer) -> {
+                    initializer.onMessage(
+                        (ws, message) -> {
+                          // encoded once, sent to every session (sender included)
+                          ws.broadcast(Map.of("message", message.value()));
+                        });
+                  });
+            })
+        .ready(
+            client -> {
+              client.syncWebSocket(
+                  "/broadcast",
+                  first -> {
+                    client.syncWebSocket(
+                        "/broadcast",
+                        second -> {
+                          assertEquals("{\"message\":\"hi\"}", second.send("hi"));
+                          assertEquals("{\"message\":\"hi\"}", first.lastMessage());
+                        });
+                  });
+            });
+  }
+
   private String sid(String setCookie) {
     return setCookie.substring("jooby.sid=".length(), setCookie.indexOf(';'));
   }